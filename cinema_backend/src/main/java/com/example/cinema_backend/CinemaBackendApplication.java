@@ -2,8 +2,12 @@ package com.example.cinema_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@PropertySource("classpath:cinema-defaults.properties")
 public class CinemaBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.example.cinema_backend.configs;
+
+import com.example.cinema_backend.entities.User;
+
+import java.security.Principal;
+
+/**
+ * The user behind the bearer token of the current request, set by
+ * JwtAuthFilter. Controllers take it with @AuthenticationPrincipal instead of
+ * trusting a user id sent by the client.
+ */
+public record AuthenticatedUser(Long id, String email, User.Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isAdmin() {
+        return role == User.Role.ADMIN;
+    }
+}
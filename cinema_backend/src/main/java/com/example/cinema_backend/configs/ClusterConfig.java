@@ -0,0 +1,65 @@
+package com.example.cinema_backend.configs;
+
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.services.PricingService;
+import com.example.cinema_backend.services.SeatMapService;
+import com.example.cinema_backend.services.TicketScanService;
+import com.example.cinema_backend.services.WaitlistService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cluster mode, enabled by cluster.enabled=true. Each showtime is owned by one
+ * node, chosen by consistent hashing over the cluster members, and requests
+ * touching its in-memory state are forwarded there. Without it every node
+ * serves every showtime, as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    public ClusterMembership clusterMembership(JdbcTemplate jdbcTemplate,
+                                               @Value("${cluster.self-url}") String selfUrl,
+                                               @Value("${cluster.members:}") String members,
+                                               @Value("${cluster.virtual-nodes:128}") int virtualNodes,
+                                               @Value("${cluster.member-timeout-ms:10000}") long memberTimeoutMillis,
+                                               @Value("${cluster.secret:}") String secret,
+                                               SeatMapService seatMapService,
+                                               PricingService pricingService,
+                                               TicketScanService ticketScanService,
+                                               WaitlistService waitlistService) {
+        // Anyone who knows it can make every node drop its caches
+        if (secret.isBlank()) {
+            throw new IllegalStateException("cluster.secret must be set to a key shared by all nodes in cluster mode");
+        }
+        List<String> staticMembers = Arrays.stream(members.split(","))
+                .map(String::trim)
+                .filter(member -> !member.isEmpty())
+                .toList();
+        ClusterMembership membership = new ClusterMembership(selfUrl, staticMembers, jdbcTemplate, virtualNodes, memberTimeoutMillis, secret);
+
+        // Showtimes that moved to another node are reloaded from the database if they ever move back
+        membership.onChange(ring -> {
+            seatMapService.retainShowtimes(membership::isLocal);
+            pricingService.retainShowtimes(membership::isLocal);
+            ticketScanService.retainShowtimes(membership::isLocal);
+            waitlistService.retainShowtimes(membership::isLocal);
+        });
+        membership.refresh();
+        return membership;
+    }
+
+    @Bean
+    public ShowtimeRoutingFilter showtimeRoutingFilter(ClusterMembership clusterMembership,
+                                                       BookingRepository bookingRepository,
+                                                       @Value("${cluster.forward-timeout-ms:5000}") long timeoutMillis) {
+        return new ShowtimeRoutingFilter(clusterMembership, bookingRepository, timeoutMillis);
+    }
+}
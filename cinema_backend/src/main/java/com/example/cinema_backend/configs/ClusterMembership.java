@@ -0,0 +1,131 @@
+package com.example.cinema_backend.configs;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The nodes of the cluster and which of them owns each showtime.
+ *
+ * Members are either a static list or, when none is configured, every node
+ * whose heartbeat in the cluster_members table is recent. Each refresh rebuilds
+ * the {@link HashRing} if the member list changed and tells the listeners, so
+ * nodes drop the in-memory state of showtimes they no longer own.
+ */
+public class ClusterMembership {
+
+    /** Carries cluster.secret on calls between nodes, which have no user token of their own. */
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final String selfUrl;
+    private final String secret;
+    private final List<String> staticMembers;
+    private final JdbcTemplate jdbcTemplate;
+    private final int virtualNodes;
+    private final long memberTimeoutMillis;
+    private final List<Consumer<HashRing>> listeners = new ArrayList<>();
+    private volatile HashRing ring;
+
+    /**
+     * @param staticMembers member base URLs, or empty to register in the database
+     * @param secret shared by all nodes of the cluster
+     */
+    public ClusterMembership(String selfUrl, List<String> staticMembers, JdbcTemplate jdbcTemplate,
+                             int virtualNodes, long memberTimeoutMillis, String secret) {
+        this.selfUrl = selfUrl;
+        this.secret = secret;
+        this.staticMembers = staticMembers;
+        this.jdbcTemplate = jdbcTemplate;
+        this.virtualNodes = virtualNodes;
+        this.memberTimeoutMillis = memberTimeoutMillis;
+        this.ring = new HashRing(List.of(selfUrl), virtualNodes);
+    }
+
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+
+    String getSecret() {
+        return secret;
+    }
+
+    /**
+     * Whether a request presented the cluster's shared secret, i.e. comes from another node.
+     */
+    public boolean isMemberSecret(String presented) {
+        return presented != null && MessageDigest.isEqual(
+                secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<String> getMembers() {
+        return ring.getMembers();
+    }
+
+    public String ownerOf(long showtimeId) {
+        String owner = ring.ownerOf(showtimeId);
+        return owner != null ? owner : selfUrl;
+    }
+
+    public boolean isLocal(long showtimeId) {
+        return selfUrl.equals(ownerOf(showtimeId));
+    }
+
+    public synchronized void onChange(Consumer<HashRing> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval-ms:2000}")
+    public void refresh() {
+        List<String> members;
+        try {
+            members = staticMembers.isEmpty() ? heartbeat() : staticMembers;
+        } catch (Exception e) {
+            // Keep the last known ring; the database is still the source of truth for seats
+            System.out.println("⚠️ Cluster heartbeat failed: " + e.getMessage());
+            return;
+        }
+        if (!members.contains(selfUrl)) {
+            members = new ArrayList<>(members);
+            members.add(selfUrl);
+        }
+
+        HashRing next = new HashRing(members, virtualNodes);
+        if (next.getMembers().equals(ring.getMembers())) return;
+        ring = next;
+        System.out.println("🔗 Cluster members changed: " + next.getMembers());
+        List<Consumer<HashRing>> current;
+        synchronized (this) {
+            current = List.copyOf(listeners);
+        }
+        current.forEach(listener -> listener.accept(next));
+    }
+
+    private List<String> heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO cluster_members (url, heartbeat_at) VALUES (?, ?) "
+                + "ON DUPLICATE KEY UPDATE heartbeat_at = VALUES(heartbeat_at)", selfUrl, Timestamp.valueOf(now));
+        return jdbcTemplate.queryForList("SELECT url FROM cluster_members WHERE heartbeat_at >= ?", String.class,
+                Timestamp.valueOf(now.minusNanos(memberTimeoutMillis * 1_000_000)));
+    }
+
+    /**
+     * Leaves the cluster right away instead of waiting for the heartbeat to time out.
+     */
+    @PreDestroy
+    public void leave() {
+        if (!staticMembers.isEmpty()) return;
+        try {
+            jdbcTemplate.update("DELETE FROM cluster_members WHERE url = ?", selfUrl);
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not leave the cluster: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.cinema_backend.configs;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent hash ring mapping showtime ids to cluster members.
+ *
+ * Every member is placed on the ring at a number of virtual points, so keys
+ * spread evenly and adding or removing a member only moves the keys of the
+ * points next to it. Immutable; a membership change builds a new ring.
+ */
+public final class HashRing {
+
+    private final List<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(List<String> members, int virtualNodes) {
+        this.members = members.stream().distinct().sorted().toList();
+        int size = this.members.size() * virtualNodes;
+        long[] hashes = new long[size];
+        String[] pointOwners = new String[size];
+        int i = 0;
+        for (String member : this.members) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hashPoint(member + "#" + v);
+                pointOwners[i] = member;
+                i++;
+            }
+        }
+
+        // Sort the points and carry their owners along
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) order[j] = j;
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = pointOwners[order[j]];
+        }
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * @return the member owning the key, or null if the ring is empty
+     */
+    public String ownerOf(long key) {
+        if (points.length == 0) return null;
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) index = -index - 1;
+        return owners[index == points.length ? 0 : index];
+    }
+
+    private static long hashPoint(String point) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(point.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) hash = hash << 8 | (digest[i] & 0xff);
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    // Sequential showtime ids would otherwise land next to each other
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.cinema_backend.configs;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.cinema_backend.entities.User;
 import com.example.cinema_backend.repositories.UserRepository;
 import jakarta.servlet.FilterChain;
@@ -37,17 +38,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        if (!jwtUtil.validateToken(token)) {
+        DecodedJWT jwt = jwtUtil.verifyAccessToken(token);
+        if (jwt == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String email = jwtUtil.extractEmail(token);
+        String email = jwt.getSubject();
         User user = userRepository.findByEmail(email).orElse(null);
 
         if (user != null) {
             var auth = new UsernamePasswordAuthenticationToken(
-                    email,
+                    new AuthenticatedUser(user.getId(), email, user.getRole()),
                     null,
                     List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
             );
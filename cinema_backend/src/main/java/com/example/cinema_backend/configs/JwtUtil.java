@@ -1,49 +1,162 @@
 package com.example.cinema_backend.configs;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Issues and verifies JWTs against a keyring of HMAC keys.
+ *
+ * Every token carries the id of the key that signed it in its "kid" header, so
+ * a new key can be made active while tokens signed by older keys in the ring
+ * stay valid until they expire. Tokens issued before key ids existed have no
+ * "kid"; they are only accepted while jwt.secret is set, and stop working once
+ * it is removed. There is no built-in key.
+ *
+ * Keyring format: jwt.keys=2026-10:newSecret,2026-04:oldSecret
+ */
 @Component
 public class JwtUtil {
 
-    private static final String SECRET = "super_secret_key_123"; // store in env var later
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60; // 1 hour
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private static final String LEGACY_KEY_ID = "legacy";
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+
+    private final Map<String, Algorithm> signingKeys;
+    private final Map<String, JWTVerifier> verifiers;
+    private final String activeKeyId;
+    private final long accessExpirationMillis;
+    private final long refreshExpirationMillis;
+
+    public JwtUtil(@Value("${jwt.secret:}") String legacySecret,
+                   @Value("${jwt.keys:}") String keyring,
+                   @Value("${jwt.active-key-id:}") String activeKeyId,
+                   @Value("${jwt.expiration:3600000}") long accessExpirationMillis,
+                   @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMillis) {
+        Map<String, Algorithm> keys = new LinkedHashMap<>();
+        for (String entry : keyring.split(",")) {
+            if (entry.isBlank()) continue;
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1)
+                throw new IllegalStateException("jwt.keys entries must look like <kid>:<secret>");
+            keys.put(entry.substring(0, separator).trim(), Algorithm.HMAC256(entry.substring(separator + 1).trim()));
+        }
+        if (!legacySecret.isBlank()) keys.putIfAbsent(LEGACY_KEY_ID, Algorithm.HMAC256(legacySecret));
+        // Anyone who knows a key can sign tokens for any user, so a public default is no option
+        if (keys.isEmpty())
+            throw new IllegalStateException("jwt.keys must list at least one private signing key");
+
+        // Without an explicit choice, sign with the first configured key (or the legacy secret)
+        String active = activeKeyId.isBlank() ? keys.keySet().iterator().next() : activeKeyId;
+        if (!keys.containsKey(active))
+            throw new IllegalStateException("jwt.active-key-id '" + active + "' is not in jwt.keys");
+
+        // Verifiers are immutable and thread-safe, so build one per key up front
+        Map<String, JWTVerifier> keyVerifiers = new LinkedHashMap<>();
+        keys.forEach((kid, algorithm) -> keyVerifiers.put(kid, JWT.require(algorithm).build()));
+
+        this.signingKeys = Collections.unmodifiableMap(keys);
+        this.verifiers = Collections.unmodifiableMap(keyVerifiers);
+        this.activeKeyId = active;
+        this.accessExpirationMillis = accessExpirationMillis;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+    }
 
     public String generateToken(String email, String role) {
         return JWT.create()
+                .withKeyId(activeKeyId)
                 .withSubject(email)
                 .withClaim("role", role)
+                .withClaim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .sign(Algorithm.HMAC256(SECRET));
+                .withExpiresAt(new Date(System.currentTimeMillis() + accessExpirationMillis))
+                .sign(signingKeys.get(activeKeyId));
     }
 
     public String generateToken(Long userId, String email, String role) {
         return JWT.create()
+                .withKeyId(activeKeyId)
                 .withSubject(email)
                 .withClaim("userId", userId)
                 .withClaim("role", role)
+                .withClaim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .sign(Algorithm.HMAC256(SECRET));
+                .withExpiresAt(new Date(System.currentTimeMillis() + accessExpirationMillis))
+                .sign(signingKeys.get(activeKeyId));
+    }
+
+    /**
+     * Long-lived token that can only be exchanged for a new access token at
+     * /api/auth/refresh; it is rejected as a bearer token.
+     */
+    public String generateRefreshToken(Long userId, String email) {
+        return JWT.create()
+                .withKeyId(activeKeyId)
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(email)
+                .withClaim("userId", userId)
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN)
+                .withIssuedAt(new Date())
+                .withExpiresAt(new Date(System.currentTimeMillis() + refreshExpirationMillis))
+                .sign(signingKeys.get(activeKeyId));
     }
 
     public String extractEmail(String token) {
-        return JWT.require(Algorithm.HMAC256(SECRET))
-                .build()
-                .verify(token)
-                .getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean validateToken(String token) {
+        return verifyAccessToken(token) != null;
+    }
+
+    /**
+     * Verifies a bearer token in one pass.
+     * @return the decoded token, or null if it is invalid, expired or not an access token
+     */
+    public DecodedJWT verifyAccessToken(String token) {
         try {
-            JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
-            return true;
+            DecodedJWT jwt = verify(token);
+            // Tokens issued before refresh tokens existed carry no type and are access tokens
+            String type = jwt.getClaim(TOKEN_TYPE_CLAIM).asString();
+            return type == null || ACCESS_TOKEN.equals(type) ? jwt : null;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
+
+    /**
+     * Verifies a refresh token.
+     * @throws RuntimeException if the token is invalid, expired or not a refresh token
+     */
+    public DecodedJWT verifyRefreshToken(String token) {
+        DecodedJWT jwt;
+        try {
+            jwt = verify(token);
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        if (!REFRESH_TOKEN.equals(jwt.getClaim(TOKEN_TYPE_CLAIM).asString()))
+            throw new RuntimeException("Invalid refresh token");
+        return jwt;
+    }
+
+    private DecodedJWT verify(String token) {
+        DecodedJWT decoded = JWT.decode(token);
+        String kid = decoded.getKeyId() == null ? LEGACY_KEY_ID : decoded.getKeyId();
+        JWTVerifier verifier = verifiers.get(kid);
+        if (verifier == null)
+            throw new IllegalArgumentException("Unknown signing key: " + kid);
+        return verifier.verify(decoded);
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.cinema_backend.configs;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the BCrypt cost for this machine and decides when a stored hash
+ * was produced with different parameters and should be re-hashed.
+ */
+public final class PasswordCostCalibrator {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 14;
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+    private static final int WARMUP_ROUNDS = 3;
+
+    private PasswordCostCalibrator() {
+    }
+
+    /**
+     * Times a verify at increasing costs and returns the highest cost whose
+     * verify stays within the target. Never goes below {@link #MIN_STRENGTH},
+     * even on slow hardware.
+     */
+    public static int calibrate(long targetVerifyMillis) {
+        BCryptPasswordEncoder warmup = new BCryptPasswordEncoder(4);
+        String warmupHash = warmup.encode(SAMPLE_PASSWORD);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            warmup.matches(SAMPLE_PASSWORD, warmupHash);
+        }
+
+        int chosen = MIN_STRENGTH;
+        for (int cost = MIN_STRENGTH; cost <= MAX_STRENGTH; cost++) {
+            long elapsedMillis = timeVerify(cost);
+            System.out.println("🔐 BCrypt cost " + cost + " verifies in " + elapsedMillis + " ms");
+            if (elapsedMillis > targetVerifyMillis) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+
+    /**
+     * Returns the cost a BCrypt hash was produced with, or -1 if the value
+     * is not a BCrypt hash.
+     */
+    public static int costOf(String bcryptHash) {
+        if (bcryptHash == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(bcryptHash);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private static long timeVerify(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.matches(SAMPLE_PASSWORD, hash);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * BCrypt encoder that asks for a re-hash whenever the stored cost differs
+     * from the configured one. The stock encoder only upgrades upwards, which
+     * would make lowering the cost ineffective for existing users.
+     */
+    public static class TunedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int strength;
+
+        public TunedBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        public int getStrength() {
+            return strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            int storedCost = costOf(encodedPassword);
+            return storedCost != -1 && storedCost != strength;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.cinema_backend.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary/replica datasource routing, enabled by setting app.datasource.replica.url.
+ * Without it the application uses the single auto-configured datasource.
+ *
+ * Service methods annotated with @Transactional(readOnly = true) read from the
+ * replica; everything else goes to the primary configured by spring.datasource.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setJdbcUrl(url);
+        if (!username.isEmpty()) dataSource.setUsername(username);
+        if (!password.isEmpty()) dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${app.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                               @Value("${app.datasource.replica.max-lag-seconds:2}") long maxLagSeconds,
+                                               @Value("${app.datasource.replica.allow-unreplicated:false}") boolean allowUnreplicated) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLagSeconds, allowUnreplicated);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                      @Qualifier("replicaDataSource") DataSource replica,
+                                                      ReplicaLagMonitor replicaLagMonitor,
+                                                      @Value("${app.datasource.replica.sticky-ms:5000}") long stickyMillis) {
+        return new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor::isUsable, stickyMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.cinema_backend.configs;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+
+/**
+ * Periodically checks that the replica is reachable and within the allowed
+ * replication lag. Reads are only routed to the replica while it is usable.
+ *
+ * A lag query that returns no rows means the server is not replicating, so
+ * it is unusable: its data may be arbitrarily stale. Single-server local setups
+ * that point the replica at a plain database can set allowUnreplicated, which
+ * accepts no rows as healthy. An empty lag query only checks that the replica
+ * answers.
+ */
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final boolean allowUnreplicated;
+    private volatile boolean usable = false;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds, boolean allowUnreplicated) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.allowUnreplicated = allowUnreplicated;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection()) {
+            usable = lagQuery.isBlank() ? connection.isValid(2) : withinLag(connection);
+        } catch (Exception e) {
+            usable = false;
+        }
+        if (wasUsable != usable) {
+            System.out.println(usable
+                    ? "✅ Replica is healthy, routing read-only transactions to it"
+                    : "⚠️ Replica unavailable or lagging, routing all reads to the primary");
+        }
+    }
+
+    private boolean withinLag(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) return allowUnreplicated;
+            Long lag = readLagSeconds(rs);
+            // NULL lag means replication is stopped
+            return lag != null && lag <= maxLagSeconds;
+        }
+    }
+
+    private static Long readLagSeconds(ResultSet rs) throws Exception {
+        ResultSetMetaData meta = rs.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String column = meta.getColumnLabel(i);
+            if (column.equalsIgnoreCase("Seconds_Behind_Source") || column.equalsIgnoreCase("Seconds_Behind_Master")) {
+                long lag = rs.getLong(i);
+                return rs.wasNull() ? null : lag;
+            }
+        }
+        // Custom lag queries return the lag in seconds as their first column
+        long lag = rs.getLong(1);
+        return rs.wasNull() ? null : lag;
+    }
+}
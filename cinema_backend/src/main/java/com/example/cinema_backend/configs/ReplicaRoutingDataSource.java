@@ -0,0 +1,74 @@
+package com.example.cinema_backend.configs;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything
+ * else to the primary.
+ *
+ * Reads fall back to the primary when the replica is unhealthy or lagging, and
+ * for a short window after the current user wrote something, so users always
+ * see their own bookings. Must be wrapped in a LazyConnectionDataSourceProxy,
+ * otherwise the connection is fetched before the transaction's read-only flag
+ * is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final BooleanSupplier replicaUsable;
+    private final long stickyMillis;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(Object primary, Object replica, BooleanSupplier replicaUsable, long stickyMillis) {
+        this.replicaUsable = replicaUsable;
+        this.stickyMillis = stickyMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) lastWriteByUser.put(user, System.currentTimeMillis());
+            return Route.PRIMARY;
+        }
+
+        if (user != null && isSticky(user)) return Route.PRIMARY;
+        return replicaUsable.getAsBoolean() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    private boolean isSticky(String user) {
+        Long lastWrite = lastWriteByUser.get(user);
+        if (lastWrite == null) return false;
+        if (System.currentTimeMillis() - lastWrite < stickyMillis) return true;
+        lastWriteByUser.remove(user, lastWrite);
+        return false;
+    }
+
+    /**
+     * Drops expired read-your-writes entries for users that never read again.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredStickiness() {
+        long cutoff = System.currentTimeMillis() - stickyMillis;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.cinema_backend.configs;
 
+import com.example.cinema_backend.controllers.AuthController;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,6 +19,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 
 
 @Configuration
@@ -25,9 +28,24 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
 
+    /**
+     * Hashes are stored as "{bcrypt}$2a$..." so the algorithm or cost can change
+     * later; AuthService.login re-hashes stored passwords on the next successful
+     * login when they were produced with different parameters.
+     * A strength of 0 runs a startup benchmark that picks the cost for this host.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:0}") int strength,
+                                           @Value("${security.password.target-verify-ms:100}") long targetVerifyMillis) {
+        int effectiveStrength = strength > 0 ? strength : PasswordCostCalibrator.calibrate(targetVerifyMillis);
+        System.out.println("🔐 Using BCrypt cost " + effectiveStrength
+                + (strength > 0 ? " (configured)" : " (calibrated for " + targetVerifyMillis + " ms verify)"));
+
+        PasswordEncoder bcrypt = new PasswordCostCalibrator.TunedBCryptPasswordEncoder(effectiveStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes written before the "{id}" prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -41,6 +59,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173", "http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(AuthController.REFRESH_TOKEN_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -69,17 +88,20 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints - Authentication (MUST be first)
-                        .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/refresh", "/api/auth/logout").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
 
                         // Public endpoints - Read operations (GET)
                         .requestMatchers("GET", "/api/movies/public/**").permitAll()
                         .requestMatchers("GET", "/api/movies/*").permitAll()
+                        .requestMatchers("GET", "/api/movies/*/page").permitAll()
                         .requestMatchers("GET", "/api/halls/all").permitAll()
                         .requestMatchers("GET", "/api/halls/*/seats").permitAll()
                         .requestMatchers("GET", "/api/seats/available/**").permitAll()
                         .requestMatchers("GET", "/api/showtimes/upcoming").permitAll()
                         .requestMatchers("GET", "/api/showtimes/movie/**").permitAll()
+                        .requestMatchers("GET", "/api/showtimes/date/**").permitAll()
+                        .requestMatchers("GET", "/api/showtimes/*/seats", "/api/showtimes/*/best-seats", "/api/showtimes/*/prices").permitAll()
                         .requestMatchers("GET", "/api/showtimes/*").permitAll()
 
                         // Admin endpoints - CRUD operations
@@ -92,11 +114,17 @@ public class SecurityConfig {
                         .requestMatchers("POST", "/api/showtimes/add").hasRole("ADMIN")
                         .requestMatchers("PUT", "/api/showtimes/**").hasRole("ADMIN")
                         .requestMatchers("DELETE", "/api/showtimes/**").hasRole("ADMIN")
+                        .requestMatchers("PUT", "/api/seats/*/category").hasRole("ADMIN")
+                        // Takes a seat out of service for every showtime of its hall
+                        .requestMatchers("PUT", "/api/seats/*/availability").hasRole("ADMIN")
 
                         // Authenticated endpoints - User operations
                         .requestMatchers("POST", "/api/bookings/book").authenticated()
+                        .requestMatchers("POST", "/api/bookings/best-available").authenticated()
+                        .requestMatchers("/api/bookings/waitlist").authenticated()
+                        .requestMatchers("POST", "/api/bookings/*/confirm", "/api/bookings/*/decline").authenticated()
                         .requestMatchers("GET", "/api/bookings/user/**").authenticated()
-                        .requestMatchers("PUT", "/api/seats/*/availability").authenticated()
+                        .requestMatchers("GET", "/api/bookings/*/ticket").authenticated()
 
                         // Admin endpoints - Booking management
                         .requestMatchers("GET", "/api/bookings/all").hasRole("ADMIN")
@@ -110,6 +138,28 @@ public class SecurityConfig {
                         .requestMatchers("PUT", "/api/users/**").hasRole("ADMIN")
                         .requestMatchers("DELETE", "/api/users/**").hasRole("ADMIN")
 
+                        // Admin endpoints - Reporting
+                        .requestMatchers("/api/reports/**").hasRole("ADMIN")
+
+                        // Admin endpoints - Bulk showtime cancel/reschedule jobs
+                        .requestMatchers("/api/showtime-jobs", "/api/showtime-jobs/**").hasRole("ADMIN")
+
+                        // Admin endpoints - Ticket scanning at the door
+                        .requestMatchers("/api/tickets/**").hasRole("ADMIN")
+
+                        // Cache eviction between nodes - checked against cluster.secret by the controller
+                        .requestMatchers("POST", "/api/cluster/evict").permitAll()
+
+                        // Admin endpoints - Cluster membership
+                        .requestMatchers("/api/cluster/**").hasRole("ADMIN")
+
+                        // Actuator - health is public, metrics are admin-only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // Error page: a failed request is forwarded here and would otherwise turn into a 401
+                        .requestMatchers("/error").permitAll()
+
                         // Swagger/API Docs
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
@@ -0,0 +1,212 @@
+package com.example.cinema_backend.configs;
+
+import com.example.cinema_backend.repositories.BookingRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends requests that read or change a showtime's in-memory state (seat map,
+ * waitlist, door list) to the node that owns the showtime, so those requests
+ * for any one showtime are served by a single node.
+ *
+ * Runs after Spring Security, so only authenticated requests are forwarded; the
+ * owner checks the same token again. Forwarded requests are marked and always
+ * handled where they arrive, which stops loops while nodes disagree about the
+ * ring. The mark only counts alongside the cluster's shared secret, so clients
+ * cannot skip routing by sending it. If the owner cannot be reached the
+ * request is handled locally: the database still guarantees a seat is sold once.
+ *
+ * Hall and seat changes evict hall-wide caches, so after one succeeds the
+ * other members are told to drop theirs. Movie, showtime and hall writes
+ * likewise make them drop their cached catalogue responses, and a reschedule
+ * job makes them reload the seats of each showtime it moved. Those calls carry
+ * the cluster's shared secret, whoever made the change, and are retried until
+ * the member accepts them or leaves the cluster.
+ */
+public class ShowtimeRoutingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+
+    // Showtime id in the query string
+    private static final List<String> SHOWTIME_PARAM_PATHS = List.of(
+            "/api/bookings/book", "/api/bookings/best-available", "/api/bookings/waitlist", "/api/tickets/scan");
+    // Showtime id in the path
+    private static final Pattern SHOWTIME_PATH = Pattern.compile(
+            "^/api/(?:showtimes|tickets/showtime)/(\\d+)(?:/(?:seats|best-seats|prices|open))?$");
+    // Booking id in the path
+    private static final Pattern BOOKING_PATH = Pattern.compile("^/api/bookings/(\\d+)(?:/(?:confirm|decline))?$");
+    private static final Pattern HALL_OR_SEAT_PATH = Pattern.compile("^/api/(?:halls|seats)/\\d+(?:/.*)?$");
+    private static final Pattern CATALOG_PATH = Pattern.compile("^/api/(?:movies|showtimes|halls)/.*$");
+
+    private final ClusterMembership membership;
+    private final BookingRepository bookingRepository;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    // Evictions a member has not accepted yet, by member, as query strings of /api/cluster/evict
+    private final Map<String, Set<String>> pendingEvictions = new ConcurrentHashMap<>();
+
+    public ShowtimeRoutingFilter(ClusterMembership membership, BookingRepository bookingRepository, long timeoutMillis) {
+        this.membership = membership;
+        this.bookingRepository = bookingRepository;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getHeader(FORWARDED_HEADER) != null
+                && membership.isMemberSecret(request.getHeader(ClusterMembership.SECRET_HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long showtimeId = showtimeOf(request);
+        if (showtimeId != null && !membership.isLocal(showtimeId)) {
+            String owner = membership.ownerOf(showtimeId);
+            if (forward(owner, request, response)) {
+                // The owner made the change, so this node's caches are as stale as the rest
+                broadcastAfterWrite(request, response, true);
+                return;
+            }
+            System.out.println("⚠️ Owner " + owner + " of showtime " + showtimeId + " unreachable, handling locally");
+        }
+
+        filterChain.doFilter(request, response);
+        broadcastAfterWrite(request, response, false);
+    }
+
+    private void broadcastAfterWrite(HttpServletRequest request, HttpServletResponse response, boolean includeSelf) {
+        if (response.getStatus() >= 300 || "GET".equals(request.getMethod())) return;
+        String path = request.getRequestURI();
+        if (HALL_OR_SEAT_PATH.matcher(path).matches()) {
+            broadcastEviction("scope=halls", includeSelf);
+        } else if (CATALOG_PATH.matcher(path).matches()) {
+            broadcastEviction("scope=catalog", includeSelf);
+        }
+    }
+
+    /**
+     * Tells the other members to reload a showtime's seat map, journaled seats
+     * and prices from the database, for changes made outside a request.
+     */
+    public void broadcastShowtimeEviction(Long showtimeId) {
+        broadcastEviction("scope=showtime&showtimeId=" + showtimeId, false);
+    }
+
+    private Long showtimeOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (SHOWTIME_PARAM_PATHS.contains(path)) {
+            return parseId(request.getParameter("showtimeId"));
+        }
+        Matcher matcher = SHOWTIME_PATH.matcher(path);
+        if (matcher.matches()) {
+            // Plain GET /api/showtimes/{id} reads nothing in memory
+            boolean plainShowtime = path.startsWith("/api/showtimes/") && path.indexOf('/', "/api/showtimes/".length()) < 0;
+            return plainShowtime && "GET".equals(method) ? null : parseId(matcher.group(1));
+        }
+        matcher = BOOKING_PATH.matcher(path);
+        if (matcher.matches() && !"GET".equals(method)) {
+            Long bookingId = parseId(matcher.group(1));
+            return bookingId != null ? bookingRepository.findShowtimeIdById(bookingId) : null;
+        }
+        return null;
+    }
+
+    private boolean forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + request.getRequestURI() + (query != null ? "?" + query : "")))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, membership.getSelfUrl())
+                .header(ClusterMembership.SECRET_HEADER, membership.getSecret())
+                .method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(request.getInputStream().readAllBytes()));
+        copyHeader(request, builder, "Authorization");
+        copyHeader(request, builder, "Content-Type");
+        copyHeader(request, builder, "Accept");
+
+        HttpResponse<byte[]> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        response.getOutputStream().write(forwarded.body());
+        return true;
+    }
+
+    private void broadcastEviction(String query, boolean includeSelf) {
+        for (String member : membership.getMembers()) {
+            if (!includeSelf && member.equals(membership.getSelfUrl())) continue;
+            sendEviction(member, query);
+        }
+    }
+
+    /**
+     * Sends the evictions that failed again. A member that left the cluster
+     * loses its in-memory state anyway, so its evictions are dropped.
+     */
+    @Scheduled(fixedDelayString = "${cluster.evict-retry-interval-ms:5000}")
+    public void retryEvictions() {
+        pendingEvictions.keySet().retainAll(membership.getMembers());
+        pendingEvictions.forEach((member, queries) -> List.copyOf(queries).forEach(query -> sendEviction(member, query)));
+    }
+
+    private void sendEviction(String member, String query) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(member + "/api/cluster/evict?" + query))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, membership.getSelfUrl())
+                .header(ClusterMembership.SECRET_HEADER, membership.getSecret())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+            if (e == null && response.statusCode() < 300) {
+                pendingEvictions.computeIfPresent(member, (m, queries) -> {
+                    queries.remove(query);
+                    return queries.isEmpty() ? null : queries;
+                });
+                return;
+            }
+            String reason = e != null ? e.getMessage() : "HTTP " + response.statusCode();
+            System.out.println("⚠️ Could not tell " + member + " to evict caches (" + query + "), will retry: " + reason);
+            pendingEvictions.computeIfAbsent(member, m -> ConcurrentHashMap.newKeySet()).add(query);
+        });
+    }
+
+    private static void copyHeader(HttpServletRequest request, HttpRequest.Builder builder, String name) {
+        String value = request.getHeader(name);
+        if (value != null) builder.header(name, value);
+    }
+
+    private static Long parseId(String value) {
+        if (value == null) return null;
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.cinema_backend.configs;
+
+import com.example.cinema_backend.services.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the startup warm-up as the {@code warmup} health component:
+ * OUT_OF_SERVICE while it runs, so the readiness probe keeps the node out of
+ * the load balancer, and UP with what was loaded once it is over, also when
+ * it failed.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        WarmupService.Progress progress = warmupService.getProgress();
+        Health.Builder health = switch (progress.state()) {
+            case PENDING, PRELOADING, EXERCISING -> Health.outOfService();
+            case DONE, FAILED, DISABLED -> Health.up();
+        };
+        health.withDetail("state", progress.state())
+                .withDetail("showtimes", progress.showtimesWarmed() + "/" + progress.showtimes())
+                .withDetail("halls", progress.halls())
+                .withDetail("requests", progress.requestsSent() + "/" + progress.requests())
+                .withDetail("failedRequests", progress.requestsFailed())
+                .withDetail("elapsedMs", progress.elapsedMillis());
+        if (progress.error() != null) health.withDetail("error", progress.error());
+        return health.build();
+    }
+}
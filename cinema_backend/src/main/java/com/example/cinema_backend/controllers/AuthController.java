@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
 
+    public static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+
     private final AuthService authService;
 
     @PostMapping("/register")
@@ -18,8 +20,35 @@ public class AuthController {
         return ResponseEntity.ok(authService.register(user.getEmail(), user.getPassword(), user.getName(), user.getRole()));
     }
 
+    /**
+     * Returns the access token as the body and a refresh token in the X-Refresh-Token header.
+     */
     @PostMapping("/login")
     public ResponseEntity<String> login(@RequestParam String email, @RequestParam String password) {
-        return ResponseEntity.ok(authService.login(email, password));
+        return withTokens(authService.login(email, password));
+    }
+
+    /**
+     * Exchanges the refresh token in the X-Refresh-Token header for a new
+     * access token (body) and refresh token (header). The old one stops working.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<String> refresh(@RequestHeader(REFRESH_TOKEN_HEADER) String refreshToken) {
+        return withTokens(authService.refresh(refreshToken));
+    }
+
+    /**
+     * Revokes the refresh token in the X-Refresh-Token header.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestHeader(REFRESH_TOKEN_HEADER) String refreshToken) {
+        authService.logout(refreshToken);
+        return ResponseEntity.ok("Logged out");
+    }
+
+    private ResponseEntity<String> withTokens(AuthService.AuthTokens tokens) {
+        return ResponseEntity.ok()
+                .header(REFRESH_TOKEN_HEADER, tokens.refreshToken())
+                .body(tokens.accessToken());
     }
 }
@@ -1,10 +1,20 @@
 package com.example.cinema_backend.controllers;
 
+import com.example.cinema_backend.configs.AuthenticatedUser;
+import com.example.cinema_backend.entities.ArchivedBooking;
 import com.example.cinema_backend.entities.Booking;
 import com.example.cinema_backend.services.BookingService;
+import com.example.cinema_backend.services.TicketRenderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,20 +24,100 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final TicketRenderService ticketRenderService;
 
+    /**
+     * Books one seat at the server-side price; see GET /api/showtimes/{id}/prices.
+     */
     @PostMapping("/book")
     public ResponseEntity<Booking> bookSeat(@RequestParam Long userId,
                                             @RequestParam Long showtimeId,
-                                            @RequestParam String seatNumber,
-                                            @RequestParam double price) {
-        return ResponseEntity.ok(bookingService.bookSeat(userId, showtimeId, seatNumber, price));
+                                            @RequestParam String seatNumber) {
+        return ResponseEntity.ok(bookingService.bookSeat(userId, showtimeId, seatNumber));
     }
 
+    /**
+     * Books the best block of {@code count} adjacent seats in one step, for the caller.
+     */
+    @PostMapping("/best-available")
+    public ResponseEntity<List<Booking>> bookBestAvailable(@AuthenticationPrincipal AuthenticatedUser user,
+                                                           @RequestParam Long showtimeId,
+                                                           @RequestParam int count) {
+        return ResponseEntity.ok(bookingService.bookBestAvailable(userIdOf(user), showtimeId, count));
+    }
+
+    /**
+     * Joins the waitlist of a sold-out showtime; returns the position in line.
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<Integer> joinWaitlist(@AuthenticationPrincipal AuthenticatedUser user, @RequestParam Long showtimeId) {
+        return ResponseEntity.ok(bookingService.joinWaitlist(userIdOf(user), showtimeId));
+    }
+
+    /**
+     * Position in line, or 0 if the user is not waiting (or has been offered a seat).
+     */
+    @GetMapping("/waitlist")
+    public ResponseEntity<Integer> getWaitlistPosition(@AuthenticationPrincipal AuthenticatedUser user, @RequestParam Long showtimeId) {
+        return ResponseEntity.ok(bookingService.getWaitlistPosition(userIdOf(user), showtimeId));
+    }
+
+    @DeleteMapping("/waitlist")
+    public ResponseEntity<String> leaveWaitlist(@AuthenticationPrincipal AuthenticatedUser user, @RequestParam Long showtimeId) {
+        bookingService.leaveWaitlist(userIdOf(user), showtimeId);
+        return ResponseEntity.ok("Left the waitlist");
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<Booking> confirmHold(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(bookingService.confirmHold(id, userIdOf(user)));
+    }
+
+    @PostMapping("/{id}/decline")
+    public ResponseEntity<String> declineHold(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        bookingService.declineHold(id, userIdOf(user));
+        return ResponseEntity.ok("Seat passed on to the next user");
+    }
+
+    /**
+     * The user's bookings with their ticket codes; only for that user or an admin.
+     */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Booking>> getUserBookings(@PathVariable Long userId) {
+    public ResponseEntity<List<Booking>> getUserBookings(@PathVariable Long userId,
+                                                         @AuthenticationPrincipal AuthenticatedUser user) {
+        requireSelfOrAdmin(user, userId);
         return ResponseEntity.ok(bookingService.getBookingsByUser(userId));
     }
 
+    /**
+     * Bookings of past showtimes, from the archive; only for that user or an admin.
+     */
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<ArchivedBooking>> getUserBookingHistory(@PathVariable Long userId,
+                                                                       @AuthenticationPrincipal AuthenticatedUser user) {
+        requireSelfOrAdmin(user, userId);
+        return ResponseEntity.ok(bookingService.getBookingHistory(userId));
+    }
+
+    /**
+     * The caller's PDF ticket for one of their bookings, streamed from the
+     * ticket store. The ETag is the file's content hash, so a client that
+     * already has it gets a 304.
+     */
+    @GetMapping("/{id}/ticket")
+    public ResponseEntity<Resource> getTicket(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user,
+                                              WebRequest request) {
+        TicketRenderService.TicketDetails ticket = bookingService.getTicket(id, userIdOf(user));
+        String etag = "\"" + ticketRenderService.keyOf(ticket) + "\"";
+        if (request.checkNotModified(etag)) return null;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header("Content-Disposition", "inline; filename=\"ticket-" + id + ".pdf\"")
+                .body(new FileSystemResource(ticketRenderService.documentFor(ticket)));
+    }
+
     @GetMapping("/all")
     public ResponseEntity<List<Booking>> getAllBookings() {
         System.out.println("🎬 Fetching all bookings (Admin)");
@@ -52,4 +142,17 @@ public class BookingController {
         System.out.println("🎬 Updating booking with ID: " + id);
         return ResponseEntity.ok(bookingService.updateBooking(id, bookingDetails));
     }
+
+    // Waitlists, holds and tickets always act for the caller, never for a client-supplied id
+    private static Long userIdOf(AuthenticatedUser user) {
+        if (user == null) throw new AccessDeniedException("Not signed in");
+        return user.id();
+    }
+
+    // Answered with 403 by the security config's access denied handler
+    private static void requireSelfOrAdmin(AuthenticatedUser user, Long userId) {
+        if (user == null || (!user.id().equals(userId) && !user.isAdmin())) {
+            throw new AccessDeniedException("Bookings of another user");
+        }
+    }
 }
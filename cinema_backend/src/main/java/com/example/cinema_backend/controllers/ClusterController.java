@@ -0,0 +1,66 @@
+package com.example.cinema_backend.controllers;
+
+import com.example.cinema_backend.configs.ClusterMembership;
+import com.example.cinema_backend.services.JsonResponseCache;
+import com.example.cinema_backend.services.MoviePageService;
+import com.example.cinema_backend.services.PricingService;
+import com.example.cinema_backend.services.SeatMapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cluster")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ClusterMembership clusterMembership;
+    private final SeatMapService seatMapService;
+    private final PricingService pricingService;
+    private final JsonResponseCache responseCache;
+    private final MoviePageService moviePageService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCluster() {
+        List<String> members = clusterMembership.getMembers();
+        return ResponseEntity.ok(Map.of("self", clusterMembership.getSelfUrl(), "members", members));
+    }
+
+    @GetMapping("/owner/{showtimeId}")
+    public ResponseEntity<String> getOwner(@PathVariable Long showtimeId) {
+        return ResponseEntity.ok(clusterMembership.ownerOf(showtimeId));
+    }
+
+    /**
+     * Called by the member that changed a hall or seat (scope halls), a movie
+     * or showtime (scope catalog), or re-seated a showtime's bookings (scope
+     * showtime); drops this node's caches derived from them. Cached catalogue
+     * responses go in every case. Only accepted with the cluster's shared
+     * secret, not with a user token.
+     */
+    @PostMapping("/evict")
+    public ResponseEntity<String> evict(@RequestHeader(value = ClusterMembership.SECRET_HEADER, required = false) String secret,
+                                        @RequestParam(defaultValue = "halls") String scope,
+                                        @RequestParam(required = false) Long showtimeId) {
+        if (!clusterMembership.isMemberSecret(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not a cluster member");
+        }
+        if (scope.equals("halls")) {
+            seatMapService.evictAll();
+            pricingService.evictAll();
+        } else if (scope.equals("showtime") && showtimeId != null) {
+            // Its journaled seats are stale too
+            seatMapService.invalidate(showtimeId);
+            pricingService.evict(showtimeId);
+        }
+        responseCache.evictAll();
+        moviePageService.evictAll();
+        return ResponseEntity.ok("Evicted");
+    }
+}
@@ -2,11 +2,15 @@ package com.example.cinema_backend.controllers;
 
 import com.example.cinema_backend.entities.Hall;
 import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.services.JsonResponseCache;
 import com.example.cinema_backend.services.HallService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,6 +19,7 @@ import java.util.List;
 public class HallController {
 
     private final HallService hallService;
+    private final JsonResponseCache responseCache;
 
     @PostMapping("/add")
     public ResponseEntity<Hall> addHall(@RequestBody Hall hall) {
@@ -22,11 +27,12 @@ public class HallController {
         return ResponseEntity.ok(hallService.addHall(hall));
     }
 
+    /**
+     * Served from {@link JsonResponseCache}, already serialized and gzipped.
+     */
     @GetMapping("/all")
-    public ResponseEntity<List<Hall>> getAllHalls() {
-        List<Hall> halls = hallService.getAllHalls();
-        System.out.println("🎬 Fetching all halls. Count: " + halls.size());
-        return ResponseEntity.ok(halls);
+    public void getAllHalls(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        responseCache.serve(JsonResponseCache.HALLS, "all", request, response, hallService::getAllHalls);
     }
 
     @GetMapping("/{id}")
@@ -1,11 +1,16 @@
 package com.example.cinema_backend.controllers;
 
 import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.services.JsonResponseCache;
+import com.example.cinema_backend.services.MoviePageService;
 import com.example.cinema_backend.services.MovieService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,6 +19,8 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MoviePageService moviePageService;
+    private final JsonResponseCache responseCache;
 
     @PostMapping("/add")
     public ResponseEntity<Movie> addMovie(@RequestBody Movie movie) {
@@ -21,9 +28,12 @@ public class MovieController {
         return ResponseEntity.ok(movieService.addMovie(movie));
     }
 
+    /**
+     * Served from {@link JsonResponseCache}, already serialized and gzipped.
+     */
     @GetMapping("/public/all")
-    public ResponseEntity<List<Movie>> getAllMovies() {
-        return ResponseEntity.ok(movieService.getAllMovies());
+    public void getAllMovies(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        responseCache.serve(JsonResponseCache.MOVIES, "all", request, response, movieService::getAllMovies);
     }
 
     @GetMapping("/public/search")
@@ -37,6 +47,15 @@ public class MovieController {
         return ResponseEntity.ok(movieService.getMovieById(id));
     }
 
+    /**
+     * The whole movie page in one call: the movie, its upcoming showtimes by day
+     * and hall, seats left and lowest prices. Cached for a few seconds.
+     */
+    @GetMapping("/{id}/page")
+    public ResponseEntity<MoviePageService.MoviePage> getMoviePage(@PathVariable Long id) {
+        return ResponseEntity.ok(moviePageService.getMoviePage(id));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Movie> updateMovie(@PathVariable Long id, @RequestBody Movie movie) {
         System.out.println("🎬 Updating Movie ID: " + id + " with title: " + movie.getTitle());
@@ -0,0 +1,58 @@
+package com.example.cinema_backend.controllers;
+
+import com.example.cinema_backend.services.ReportingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportingController {
+
+    private final ReportingService reportingService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<ReportingService.SalesSummary> getSummary() {
+        return ResponseEntity.ok(reportingService.getSummary());
+    }
+
+    @GetMapping("/movies")
+    public ResponseEntity<List<ReportingService.ReportRow>> getRevenueByMovie() {
+        return ResponseEntity.ok(reportingService.getRevenueByMovie());
+    }
+
+    @GetMapping("/showtimes")
+    public ResponseEntity<List<ReportingService.ReportRow>> getOccupancyByShowtime() {
+        return ResponseEntity.ok(reportingService.getOccupancyByShowtime());
+    }
+
+    @GetMapping("/showtimes/{showtimeId}")
+    public ResponseEntity<ReportingService.ReportRow> getShowtimeStats(@PathVariable Long showtimeId) {
+        return ResponseEntity.ok(reportingService.getShowtimeStats(showtimeId));
+    }
+
+    @GetMapping("/halls")
+    public ResponseEntity<List<ReportingService.ReportRow>> getRevenueByHall() {
+        return ResponseEntity.ok(reportingService.getRevenueByHall());
+    }
+
+    @GetMapping("/days")
+    public ResponseEntity<List<ReportingService.ReportRow>> getSalesByDay() {
+        return ResponseEntity.ok(reportingService.getSalesByDay());
+    }
+
+    @GetMapping("/hours")
+    public ResponseEntity<List<ReportingService.ReportRow>> getPeakHours() {
+        return ResponseEntity.ok(reportingService.getPeakHours());
+    }
+
+    @PostMapping("/reconcile")
+    public ResponseEntity<ReportingService.SalesSummary> reconcile() {
+        System.out.println("📊 Reconciling reporting counters (Admin)");
+        reportingService.reconcile();
+        return ResponseEntity.ok(reportingService.getSummary());
+    }
+}
@@ -25,4 +25,10 @@ public class SeatController {
                                                        @RequestParam boolean available) {
         return ResponseEntity.ok(seatService.updateSeatAvailability(seatId, available));
     }
+
+    @PutMapping("/{seatId}/category")
+    public ResponseEntity<Seat> updateSeatCategory(@PathVariable Long seatId,
+                                                   @RequestParam Seat.Category category) {
+        return ResponseEntity.ok(seatService.updateSeatCategory(seatId, category));
+    }
 }
@@ -1,12 +1,22 @@
 package com.example.cinema_backend.controllers;
 
 import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.services.JsonResponseCache;
+import com.example.cinema_backend.services.PricingService;
+import com.example.cinema_backend.services.SeatMapService;
+import com.example.cinema_backend.services.ShowtimeSeatMap;
 import com.example.cinema_backend.services.ShowtimeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/showtimes")
@@ -14,6 +24,9 @@ import java.util.List;
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final SeatMapService seatMapService;
+    private final PricingService pricingService;
+    private final JsonResponseCache responseCache;
 
     @PostMapping("/add")
     public ResponseEntity<Showtime> addShowtime(@RequestBody Showtime showtime) {
@@ -21,9 +34,12 @@ public class ShowtimeController {
         return ResponseEntity.ok(showtimeService.addShowtime(showtime));
     }
 
+    /**
+     * Served from {@link JsonResponseCache}; seats left can be a second behind.
+     */
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Showtime>> getUpcomingShowtimes() {
-        return ResponseEntity.ok(showtimeService.getUpcomingShowtimes());
+    public void getUpcomingShowtimes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        responseCache.serve(JsonResponseCache.SHOWTIMES, "upcoming", request, response, showtimeService::getUpcomingShowtimes);
     }
 
     @GetMapping("/movie/{movieId}")
@@ -31,12 +47,42 @@ public class ShowtimeController {
         return ResponseEntity.ok(showtimeService.getShowtimesByMovie(movieId));
     }
 
+    @GetMapping("/date/{date}")
+    public ResponseEntity<List<Showtime>> getShowtimesForDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(showtimeService.getShowtimesForDate(date));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Showtime> getShowtimeById(@PathVariable Long id) {
         System.out.println("🎬 Fetching showtime with ID: " + id);
         return ResponseEntity.ok(showtimeService.getShowtimeById(id));
     }
 
+    /**
+     * Seat map of one showtime: every seat of the hall with its availability for this showtime.
+     */
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<List<ShowtimeSeatMap.SeatStatus>> getSeatMap(@PathVariable Long id) {
+        return ResponseEntity.ok(seatMapService.getSeatStatuses(id));
+    }
+
+    /**
+     * Current price of every seat, by seat number; bookings are charged these.
+     */
+    @GetMapping("/{id}/prices")
+    public ResponseEntity<Map<String, Double>> getPrices(@PathVariable Long id) {
+        return ResponseEntity.ok(pricingService.getPrices(id));
+    }
+
+    /**
+     * Best block of {@code count} adjacent free seats, as central as possible.
+     */
+    @GetMapping("/{id}/best-seats")
+    public ResponseEntity<List<String>> getBestSeats(@PathVariable Long id, @RequestParam int count) {
+        return ResponseEntity.ok(seatMapService.findBestBlock(id, count));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Showtime> updateShowtime(@PathVariable Long id, @RequestBody Showtime showtime) {
         System.out.println("🎬 Updating Showtime ID: " + id);
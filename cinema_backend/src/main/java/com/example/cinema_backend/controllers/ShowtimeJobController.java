@@ -0,0 +1,53 @@
+package com.example.cinema_backend.controllers;
+
+import com.example.cinema_backend.entities.ShowtimeJob;
+import com.example.cinema_backend.entities.ShowtimeJobItem;
+import com.example.cinema_backend.entities.ShowtimeJobOutcome;
+import com.example.cinema_backend.services.ShowtimeJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/showtime-jobs")
+@RequiredArgsConstructor
+public class ShowtimeJobController {
+
+    private final ShowtimeJobService showtimeJobService;
+
+    /**
+     * Queues a bulk cancel or reschedule; poll the returned job for progress.
+     */
+    @PostMapping
+    public ResponseEntity<ShowtimeJob> submit(@RequestBody ShowtimeJobService.JobRequest request) {
+        System.out.println("🗓️ Submitting showtime job (Admin)");
+        return ResponseEntity.accepted().body(showtimeJobService.submit(request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ShowtimeJob> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(showtimeJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/showtimes")
+    public ResponseEntity<List<ShowtimeJobItem>> getItems(@PathVariable Long id) {
+        return ResponseEntity.ok(showtimeJobService.getItems(id));
+    }
+
+    /**
+     * What happened to each booking; pass the last id seen as afterId for the next page.
+     */
+    @GetMapping("/{id}/outcomes")
+    public ResponseEntity<List<ShowtimeJobOutcome>> getOutcomes(@PathVariable Long id,
+                                                                @RequestParam(defaultValue = "0") long afterId,
+                                                                @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(showtimeJobService.getOutcomes(id, afterId, limit));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ShowtimeJob> resume(@PathVariable Long id) {
+        return ResponseEntity.ok(showtimeJobService.resume(id));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.cinema_backend.controllers;
+
+import com.example.cinema_backend.services.DoorList;
+import com.example.cinema_backend.services.TicketScanService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tickets")
+@RequiredArgsConstructor
+public class TicketController {
+
+    private final TicketScanService ticketScanService;
+
+    @PostMapping("/scan")
+    public ResponseEntity<TicketScanService.ScanResult> scan(@RequestParam Long showtimeId, @RequestParam String code) {
+        return ResponseEntity.ok(ticketScanService.scan(showtimeId, code));
+    }
+
+    @PostMapping("/showtime/{showtimeId}/open")
+    public ResponseEntity<DoorList.Counts> openDoors(@PathVariable Long showtimeId) {
+        return ResponseEntity.ok(ticketScanService.openDoors(showtimeId).counts());
+    }
+
+    @GetMapping("/showtime/{showtimeId}")
+    public ResponseEntity<DoorList.Counts> getCounts(@PathVariable Long showtimeId) {
+        return ResponseEntity.ok(ticketScanService.getCounts(showtimeId));
+    }
+}
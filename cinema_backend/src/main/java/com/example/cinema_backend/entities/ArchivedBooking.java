@@ -0,0 +1,51 @@
+package com.example.cinema_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+/**
+ * A booking of a past showtime, moved out of the bookings table by the
+ * roll-over job. Read-only; denormalized so it outlives the showtime, movie
+ * and hall it was sold for.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "bookings_archive")
+public class ArchivedBooking {
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    private Long showtimeId;
+
+    private Long movieId;
+
+    private Long hallId;
+
+    private String movieTitle;
+
+    private String hallName;
+
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private String seatNumber;
+
+    private Integer seatCode;
+
+    private double price;
+
+    private LocalDateTime bookingTime;
+
+    private LocalDateTime usedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -31,7 +31,30 @@ public class Booking {
     @Column(nullable = false)
     private String seatNumber;
 
+    // Packed (row, column) of seatNumber, see SeatCode; kept in step on every write
+    @Column(name = "seat_code")
+    @JsonIgnore
+    private Integer seatCode;
+
     private LocalDateTime bookingTime;
 
     private double price;
+
+    // Set when the ticket is scanned at the door
+    private LocalDateTime usedAt;
+
+    // Set while a seat offered from the waitlist awaits the user's confirmation
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime heldUntil;
+
+    // Signed code for the door scanner, filled in by BookingService for the booking's owner
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String ticketCode;
+
+    @PrePersist
+    @PreUpdate
+    void syncSeatCode() {
+        seatCode = SeatCode.toColumn(seatNumber);
+    }
 }
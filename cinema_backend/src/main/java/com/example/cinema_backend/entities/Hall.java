@@ -22,11 +22,28 @@ public class Hall {
 
     private int totalSeats;
 
-    @OneToMany(mappedBy = "hall", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Priced by PricingService; STANDARD unless set
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hall_type", nullable = false, length = 20)
+    private HallType hallType;
+
+    // Seats, showtimes and their bookings are removed with bulk deletes in
+    // HallService.deleteHall, not by cascading through these collections
+    @OneToMany(mappedBy = "hall")
     @JsonIgnore
     private List<Seat> seats;
 
-    @OneToMany(mappedBy = "hall", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "hall")
     @JsonIgnore
     private List<Showtime> showtimes;
+
+    public enum HallType {
+        STANDARD, IMAX, VIP
+    }
+
+    // Not a field default: a hall update without a type must not reset it
+    @PrePersist
+    void defaultHallType() {
+        if (hallType == null) hallType = HallType.STANDARD;
+    }
 }
@@ -27,7 +27,8 @@ public class Movie {
 
     private LocalDate releaseDate;
 
-    @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Removed with bulk deletes in MovieService.deleteMovie, not by cascading
+    @OneToMany(mappedBy = "movie")
     @JsonIgnore
     private List<Showtime> showtimes;
 }
@@ -0,0 +1,55 @@
+package com.example.cinema_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be delivered to downstream consumers. Written in the same
+ * transaction as the booking or showtime change it describes, and deleted once
+ * every sink has taken it.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    public enum Status {
+        PENDING, // waiting for delivery or a retry
+        DEAD     // gave up after too many attempts; kept for inspection
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    // Events of one showtime are delivered in id order
+    private Long showtimeId;
+
+    // JSON
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
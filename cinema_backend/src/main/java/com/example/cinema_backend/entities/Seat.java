@@ -20,11 +20,32 @@ public class Seat {
     @Column(nullable = false)
     private String seatNumber; // e.g., "A1", "B4"
 
+    // Packed (row, column) of seatNumber, see SeatCode; kept in step on every write
+    @Column(name = "seat_code")
+    @JsonIgnore
+    private Integer seatCode;
+
     @JsonProperty("available")
     private boolean isAvailable = true;
 
+    // Priced by PricingService
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Category category = Category.STANDARD;
+
     @ManyToOne
     @JoinColumn(name = "hall_id")
     @JsonIgnore
     private Hall hall;
+
+    public enum Category {
+        ECONOMY, STANDARD, PREMIUM
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncSeatCode() {
+        seatCode = SeatCode.toColumn(seatNumber);
+    }
 }
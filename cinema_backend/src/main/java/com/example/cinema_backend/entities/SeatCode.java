@@ -0,0 +1,65 @@
+package com.example.cinema_backend.entities;
+
+/**
+ * Packs a seat's (row, column) into one int: the row index in the high 16 bits
+ * and the 1-based column in the low 16 bits. Seat numbers like "A1" or "C10"
+ * are parsed once at the API boundary; bookings, seat lookups and seat maps
+ * work on the packed code, which is also stored in the seat_code columns.
+ *
+ * Row index 0 is "A", 1 is "B" and so on, matching how HallService names seats.
+ */
+public final class SeatCode {
+
+    public static final int INVALID = -1;
+
+    private static final int MAX_ROW = Short.MAX_VALUE;
+    private static final int MAX_COLUMN = 0xFFFF;
+
+    private SeatCode() {
+    }
+
+    public static int of(int row, int column) {
+        if (row < 0 || row > MAX_ROW || column < 1 || column > MAX_COLUMN)
+            throw new IllegalArgumentException("Seat position out of range: row " + row + ", column " + column);
+        return row << 16 | column;
+    }
+
+    public static int row(int code) {
+        return code >>> 16;
+    }
+
+    public static int column(int code) {
+        return code & MAX_COLUMN;
+    }
+
+    /**
+     * @return the packed code, or {@link #INVALID} if the seat number is not a
+     * row letter followed by a column number
+     */
+    public static int parse(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2) return INVALID;
+        int row = seatNumber.charAt(0) - 'A';
+        if (row < 0 || row > MAX_ROW || Character.isDigit(seatNumber.charAt(0))) return INVALID;
+
+        int column = 0;
+        for (int i = 1; i < seatNumber.length(); i++) {
+            char c = seatNumber.charAt(i);
+            if (c < '0' || c > '9') return INVALID;
+            column = column * 10 + (c - '0');
+            if (column > MAX_COLUMN) return INVALID;
+        }
+        return column < 1 ? INVALID : row << 16 | column;
+    }
+
+    public static String format(int code) {
+        return (char) ('A' + row(code)) + String.valueOf(column(code));
+    }
+
+    /**
+     * Nullable form for the entity columns.
+     */
+    static Integer toColumn(String seatNumber) {
+        int code = parse(seatNumber);
+        return code == INVALID ? null : code;
+    }
+}
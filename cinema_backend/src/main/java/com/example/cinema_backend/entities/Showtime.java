@@ -28,7 +28,13 @@ public class Showtime {
     @JoinColumn(name = "hall_id")
     private Hall hall;
 
-    @OneToMany(mappedBy = "showtime", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Denormalized "seats left" counter. Only changed through the atomic
+    // update queries in ShowtimeRepository, never by entity dirty-checking.
+    @Column(name = "available_seats", updatable = false)
+    private Integer availableSeats;
+
+    // Removed with bulk deletes in ShowtimeService.deleteShowtimes, not by cascading
+    @OneToMany(mappedBy = "showtime")
     @JsonIgnore
     private List<Booking> bookings;
 }
@@ -0,0 +1,79 @@
+package com.example.cinema_backend.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A bulk cancellation or rescheduling of showtimes, worked through in the
+ * background by ShowtimeJobService. The counters add up the outcomes so far.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "showtime_jobs")
+public class ShowtimeJob {
+
+    public enum Type {
+        CANCEL,    // cancel every booking, then delete the showtimes
+        RESCHEDULE // move the showtimes to another hall and/or time, re-seating bookings
+    }
+
+    public enum Status {
+        PENDING,   // waiting for a worker, also after a resume
+        RUNNING,   // a worker holds the lease
+        COMPLETED,
+        FAILED     // stopped at a chunk that failed; resume continues from the checkpoints
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 10)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    // Reschedule only; null keeps each showtime in its hall
+    private Long targetHallId;
+
+    // Reschedule only
+    @Builder.Default
+    private int shiftMinutes = 0;
+
+    @Builder.Default
+    private int totalShowtimes = 0;
+
+    @Builder.Default
+    private int doneShowtimes = 0;
+
+    @Builder.Default
+    private int kept = 0;
+
+    @Builder.Default
+    private int reseated = 0;
+
+    @Builder.Default
+    private int cancelled = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // Until when the worker that claimed the job owns it; renewed every chunk
+    @JsonIgnore
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 500)
+    private String lastError;
+}
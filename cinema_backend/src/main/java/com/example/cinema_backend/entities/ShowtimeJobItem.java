@@ -0,0 +1,42 @@
+package com.example.cinema_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One showtime of a ShowtimeJob with its checkpoint: bookings up to
+ * lastBookingId have been handled, in id order.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "showtime_job_items")
+public class ShowtimeJobItem {
+
+    public enum Status {
+        PENDING,
+        STARTED, // sales closed and, for a reschedule, the showtime moved
+        DONE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long showtimeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    private long lastBookingId = 0;
+}
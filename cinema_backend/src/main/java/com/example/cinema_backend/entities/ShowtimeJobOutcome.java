@@ -0,0 +1,49 @@
+package com.example.cinema_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * What a ShowtimeJob did to one booking, written in the same transaction as
+ * the change itself.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "showtime_job_outcomes")
+public class ShowtimeJobOutcome {
+
+    public enum Outcome {
+        KEPT,      // same seat in the new layout
+        RESEATED,  // moved to the nearest free seat
+        CANCELLED  // no seat left, or the showtime was cancelled
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long showtimeId;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Outcome outcome;
+
+    private String oldSeat;
+
+    private String newSeat;
+
+    private Double price;
+}
@@ -0,0 +1,40 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * The cold side of booking storage: bookings of past showtimes. Hot-path
+ * queries stay on BookingRepository; only history and reporting read here.
+ */
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // Served by ix_bookings_archive_user_time
+    List<ArchivedBooking> findByUserIdOrderByBookingTimeDesc(Long userId);
+
+    // Same shape as the BookingRepository aggregates, so reporting can add them up.
+    // Labels come from the denormalized columns; capacity from the hall if it still exists.
+    @Query("select a.movieId as groupKey, max(a.movieTitle) as label, count(a) as tickets, sum(a.price) as revenue, 0 as capacity " +
+            "from ArchivedBooking a where a.movieId is not null group by a.movieId")
+    List<BookingRepository.SalesTotal> sumSalesByMovie();
+
+    @Query("select a.showtimeId as groupKey, max(a.movieTitle) as label, count(a) as tickets, sum(a.price) as revenue, " +
+            "coalesce(max(h.totalSeats), 0) as capacity " +
+            "from ArchivedBooking a left join Hall h on h.id = a.hallId where a.showtimeId is not null group by a.showtimeId")
+    List<BookingRepository.SalesTotal> sumSalesByShowtime();
+
+    @Query("select a.hallId as groupKey, max(a.hallName) as label, count(a) as tickets, sum(a.price) as revenue, 0 as capacity " +
+            "from ArchivedBooking a where a.hallId is not null group by a.hallId")
+    List<BookingRepository.SalesTotal> sumSalesByHall();
+
+    @Query("select extract(date from a.bookingTime) as groupKey, '' as label, count(a) as tickets, sum(a.price) as revenue, 0 as capacity " +
+            "from ArchivedBooking a where a.bookingTime is not null group by extract(date from a.bookingTime)")
+    List<BookingRepository.SalesTotal> sumSalesByDay();
+
+    @Query("select extract(hour from a.bookingTime) as groupKey, '' as label, count(a) as tickets, sum(a.price) as revenue, 0 as capacity " +
+            "from ArchivedBooking a where a.bookingTime is not null group by extract(hour from a.bookingTime)")
+    List<BookingRepository.SalesTotal> sumSalesByHour();
+}
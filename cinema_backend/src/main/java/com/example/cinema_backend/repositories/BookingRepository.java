@@ -3,18 +3,173 @@ package com.example.cinema_backend.repositories;
 import com.example.cinema_backend.entities.Booking;
 import com.example.cinema_backend.entities.Showtime;
 import com.example.cinema_backend.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * The hot side of booking storage: bookings of upcoming and recent showtimes.
+ * Older ones are rolled over to bookings_archive (see BookingArchiveService and
+ * ArchivedBookingRepository), so these queries never touch history.
+ */
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    // Find bookings by User entity
+    // Booking listings are serialized with their user, showtime, movie and hall,
+    // so fetch the whole graph in one query instead of one select per association
+    @EntityGraph(attributePaths = {"user", "showtime", "showtime.movie", "showtime.hall"})
     List<Booking> findByUser(User user);
 
+    @Override
+    @EntityGraph(attributePaths = {"user", "showtime", "showtime.movie", "showtime.hall"})
+    List<Booking> findAll();
+
     // Find bookings by Showtime entity
     List<Booking> findByShowtime(Showtime showtime);
 
-    // Check if a seat is already booked for a specific showtime
-    boolean existsByShowtimeAndSeatNumber(Showtime showtime, String seatNumber);
+    long countByShowtime(Showtime showtime);
+
+    @Query("select b.seatCode from Booking b where b.showtime.id = :showtimeId")
+    List<Integer> findSeatCodesByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    // Which of the given seats are already booked for a showtime, in one index range scan
+    @Query("select b.seatCode from Booking b where b.showtime.id = :showtimeId and b.seatCode in :seatCodes")
+    List<Integer> findBookedSeatCodes(@Param("showtimeId") Long showtimeId, @Param("seatCodes") Collection<Integer> seatCodes);
+
+    // ---------- Door scanning ----------
+
+    interface DoorEntry {
+        Long getId();
+        String getSeatNumber();
+        LocalDateTime getUsedAt();
+    }
+
+    // Used by cluster routing to find the node owning a booking's showtime
+    @Query("select b.showtime.id from Booking b where b.id = :id")
+    Long findShowtimeIdById(@Param("id") Long id);
+
+    // Seats held for a waitlisted user get a ticket once confirmed
+    @Query("select b.id as id, b.seatNumber as seatNumber, b.usedAt as usedAt from Booking b where b.showtime.id = :showtimeId and b.heldUntil is null")
+    List<DoorEntry> findDoorEntries(@Param("showtimeId") Long showtimeId);
+
+    @Query("select b.id as id, b.seatNumber as seatNumber, b.usedAt as usedAt from Booking b where b.id = :id and b.showtime.id = :showtimeId and b.heldUntil is null")
+    Optional<DoorEntry> findDoorEntry(@Param("id") Long id, @Param("showtimeId") Long showtimeId);
+
+    // First scan wins; a ticket that is already marked keeps its original time
+    @Modifying
+    @Query("update Booking b set b.usedAt = :usedAt where b.id in :ids and b.usedAt is null")
+    int markUsed(@Param("ids") Collection<Long> ids, @Param("usedAt") LocalDateTime usedAt);
+
+    // ---------- Waitlist holds ----------
+
+    interface ExpiredHold {
+        Long getId();
+        Long getShowtimeId();
+    }
+
+    @Query("select b.id as id, b.showtime.id as showtimeId from Booking b where b.heldUntil < :now order by b.heldUntil")
+    List<ExpiredHold> findExpiredHolds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Confirm and expiry both go through a conditional update, so the row lock
+    // decides which of the two wins when they race
+    @Modifying
+    @Query("update Booking b set b.heldUntil = null where b.id = :id and b.user.id = :userId and b.heldUntil >= :now")
+    int confirmHold(@Param("id") Long id, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.heldUntil = :now where b.id = :id and b.heldUntil < :now")
+    int claimExpiredHold(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // ---------- Showtime jobs ----------
+
+    // The next chunk of a showtime's bookings after a job's checkpoint
+    @EntityGraph(attributePaths = {"user", "showtime"})
+    @Query("select b from Booking b where b.showtime.id = :showtimeId and b.id > :afterId order by b.id")
+    List<Booking> findByShowtimeIdAfter(@Param("showtimeId") Long showtimeId, @Param("afterId") long afterId, Limit limit);
+
+    // ---------- Bulk deletes and archival ----------
+
+    @Modifying
+    @Query("delete from Booking b where b.showtime.id in :showtimeIds")
+    int deleteByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    @Modifying
+    @Query("delete from Booking b where b.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bookings of showtimes that started before the cutoff, driven by the start_time index
+    @Query("select b.id from Booking b join b.showtime s where s.startTime < :cutoff")
+    List<Long> findIdsStartedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    String ARCHIVE_SELECT = "INSERT INTO bookings_archive (id, user_id, showtime_id, movie_id, hall_id, movie_title, hall_name, " +
+            "start_time, seat_number, seat_code, price, booking_time, used_at, archived_at) " +
+            "SELECT b.id, b.user_id, b.showtime_id, s.movie_id, s.hall_id, m.title, h.name, " +
+            "s.start_time, b.seat_number, b.seat_code, b.price, b.booking_time, b.used_at, :archivedAt " +
+            "FROM bookings b LEFT JOIN showtimes s ON s.id = b.showtime_id " +
+            "LEFT JOIN movies m ON m.id = s.movie_id LEFT JOIN halls h ON h.id = s.hall_id ";
+
+    // Copies bookings into bookings_archive; the caller deletes them afterwards
+    @Modifying
+    @Query(value = ARCHIVE_SELECT + "WHERE b.id IN (:ids)", nativeQuery = true)
+    int archiveByIdIn(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Only showtimes that have started: bookings of one that never took place are cancellations
+    @Modifying
+    @Query(value = ARCHIVE_SELECT + "WHERE b.showtime_id IN (:showtimeIds) AND s.start_time < :archivedAt", nativeQuery = true)
+    int archiveStartedByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Aggregates for reporting - one row per group, no entities loaded
+    interface SalesTotal {
+        Object getGroupKey();
+        String getLabel();
+        Long getTickets();
+        Double getRevenue();
+        Integer getCapacity();
+    }
+
+    @Query("select m.id as groupKey, m.title as label, count(b) as tickets, sum(b.price) as revenue, 0 as capacity " +
+            "from Booking b join b.showtime s join s.movie m group by m.id, m.title")
+    List<SalesTotal> sumSalesByMovie();
+
+    @Query("select s.id as groupKey, m.title as label, count(b) as tickets, sum(b.price) as revenue, h.totalSeats as capacity " +
+            "from Booking b join b.showtime s left join s.movie m left join s.hall h group by s.id, m.title, h.totalSeats")
+    List<SalesTotal> sumSalesByShowtime();
+
+    @Query("select h.id as groupKey, h.name as label, count(b) as tickets, sum(b.price) as revenue, 0 as capacity " +
+            "from Booking b join b.showtime s join s.hall h group by h.id, h.name")
+    List<SalesTotal> sumSalesByHall();
+
+    @Query("select extract(date from b.bookingTime) as groupKey, '' as label, count(b) as tickets, sum(b.price) as revenue, 0 as capacity " +
+            "from Booking b where b.bookingTime is not null group by extract(date from b.bookingTime)")
+    List<SalesTotal> sumSalesByDay();
+
+    @Query("select extract(hour from b.bookingTime) as groupKey, '' as label, count(b) as tickets, sum(b.price) as revenue, 0 as capacity " +
+            "from Booking b where b.bookingTime is not null group by extract(hour from b.bookingTime)")
+    List<SalesTotal> sumSalesByHour();
+
+    // The same totals for a few showtimes, split by every key the counters use. For bookings that are
+    // dropped or moved without being loaded; copies already in the archive keep counting from there
+    interface SalesGroup {
+        Long getMovieId();
+        Long getShowtimeId();
+        Long getHallId();
+        Object getBookedOn();
+        Number getBookedAtHour();
+        Long getTickets();
+        Double getRevenue();
+    }
+
+    @Query("select s.movie.id as movieId, s.id as showtimeId, s.hall.id as hallId, extract(date from b.bookingTime) as bookedOn, " +
+            "extract(hour from b.bookingTime) as bookedAtHour, count(b) as tickets, sum(b.price) as revenue " +
+            "from Booking b join b.showtime s where s.id in :showtimeIds " +
+            "and not exists (select a.id from ArchivedBooking a where a.id = b.id) " +
+            "group by s.movie.id, s.id, s.hall.id, extract(date from b.bookingTime), extract(hour from b.bookingTime)")
+    List<SalesGroup> sumSalesByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
 }
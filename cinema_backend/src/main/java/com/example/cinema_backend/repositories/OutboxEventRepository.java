@@ -0,0 +1,31 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Served by ix_outbox_events_status_id. Showtimes with an event waiting for a
+    // retry are left out, so a long backlog behind one failure cannot fill the batch.
+    @Query("select e from OutboxEvent e where e.status = :status " +
+            "and (e.showtimeId is null or e.showtimeId not in :heldBack) order by e.id")
+    List<OutboxEvent> findByStatus(@Param("status") OutboxEvent.Status status,
+                                   @Param("heldBack") Collection<Long> heldBack, Limit limit);
+
+    @Query("select distinct e.showtimeId from OutboxEvent e where e.status = :status and e.nextAttemptAt > :now")
+    List<Long> findShowtimesWaitingForRetry(@Param("status") OutboxEvent.Status status, @Param("now") LocalDateTime now);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,25 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // Only one caller can win; 0 means unknown, already used or logged out
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.jti = :jti and t.revokedAt is null")
+    int revoke(@Param("jti") String jti, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.userId = :userId and t.revokedAt is null")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,10 +2,26 @@ package com.example.cinema_backend.repositories;
 
 import com.example.cinema_backend.entities.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatRepository extends JpaRepository<Seat, Long> {
-    List<Seat> findByHallId(Long hallId);
-    List<Seat> findByIsAvailableTrueAndHallId(Long hallId);
+    // Filter on the hall_id column itself; the derived queries join halls and
+    // filter on halls.id, which keeps the seats(hall_id, ...) index out of play
+    @Query("select s from Seat s where s.hall.id = :hallId")
+    List<Seat> findByHallId(@Param("hallId") Long hallId);
+
+    @Query("select s from Seat s where s.hall.id = :hallId and s.isAvailable = true")
+    List<Seat> findByIsAvailableTrueAndHallId(@Param("hallId") Long hallId);
+
+    @Query("select s from Seat s where s.hall.id = :hallId and s.seatCode in :seatCodes")
+    List<Seat> findByHallIdAndSeatCodeIn(@Param("hallId") Long hallId, @Param("seatCodes") Collection<Integer> seatCodes);
+
+    @Modifying
+    @Query("delete from Seat s where s.hall.id = :hallId")
+    int deleteByHallId(@Param("hallId") Long hallId);
 }
@@ -0,0 +1,13 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.ShowtimeJobItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ShowtimeJobItemRepository extends JpaRepository<ShowtimeJobItem, Long> {
+
+    List<ShowtimeJobItem> findByJobIdOrderById(Long jobId);
+
+    List<ShowtimeJobItem> findByJobIdAndStatusNotOrderById(Long jobId, ShowtimeJobItem.Status status);
+}
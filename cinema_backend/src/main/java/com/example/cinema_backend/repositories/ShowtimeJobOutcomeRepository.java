@@ -0,0 +1,13 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.ShowtimeJobOutcome;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ShowtimeJobOutcomeRepository extends JpaRepository<ShowtimeJobOutcome, Long> {
+
+    // Keyset pages served by ix_showtime_job_outcomes_job_id
+    List<ShowtimeJobOutcome> findByJobIdAndIdGreaterThanOrderById(Long jobId, Long afterId, Limit limit);
+}
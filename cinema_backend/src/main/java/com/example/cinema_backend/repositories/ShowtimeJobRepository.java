@@ -0,0 +1,44 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.ShowtimeJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ShowtimeJobRepository extends JpaRepository<ShowtimeJob, Long> {
+
+    // Pending jobs, and running ones whose worker let the lease run out
+    @Query("select j.id from ShowtimeJob j where j.status in :statuses " +
+            "and (j.leaseUntil is null or j.leaseUntil < :now) order by j.id")
+    List<Long> findClaimable(@Param("statuses") Collection<ShowtimeJob.Status> statuses,
+                             @Param("now") LocalDateTime now, Limit limit);
+
+    // The row lock decides which worker gets the job when two try at once
+    @Modifying
+    @Query("update ShowtimeJob j set j.status = :running, j.leaseUntil = :leaseUntil, j.updatedAt = :now " +
+            "where j.id = :id and j.status in :statuses and (j.leaseUntil is null or j.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("statuses") Collection<ShowtimeJob.Status> statuses,
+              @Param("running") ShowtimeJob.Status running, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Adds a chunk's outcomes and renews the lease, provided the caller still holds it
+    @Modifying
+    @Query("update ShowtimeJob j set j.kept = j.kept + :kept, j.reseated = j.reseated + :reseated, " +
+            "j.cancelled = j.cancelled + :cancelled, j.doneShowtimes = j.doneShowtimes + :done, " +
+            "j.leaseUntil = :renewed, j.updatedAt = :now where j.id = :id and j.leaseUntil = :held")
+    int recordProgress(@Param("id") Long id, @Param("kept") int kept, @Param("reseated") int reseated,
+                       @Param("cancelled") int cancelled, @Param("done") int done, @Param("held") LocalDateTime held,
+                       @Param("renewed") LocalDateTime renewed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update ShowtimeJob j set j.status = :status, j.lastError = :error, j.leaseUntil = null, j.updatedAt = :now " +
+            "where j.id = :id and j.leaseUntil = :held")
+    int finish(@Param("id") Long id, @Param("status") ShowtimeJob.Status status, @Param("error") String error,
+               @Param("held") LocalDateTime held, @Param("now") LocalDateTime now);
+}
@@ -1,13 +1,90 @@
 package com.example.cinema_backend.repositories;
 
 import com.example.cinema_backend.entities.Showtime;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
-    List<Showtime> findByMovieId(Long movieId);
-    List<Showtime> findByHallId(Long hallId);
+
+    // Listings fetch movie and hall in the same query instead of one select per row.
+    // The filters name the foreign key columns so the (movie_id|hall_id, start_time)
+    // indexes apply; derived queries would filter on the joined table's id instead.
+    @EntityGraph(attributePaths = {"movie", "hall"})
+    @Query("select s from Showtime s where s.movie.id = :movieId")
+    List<Showtime> findByMovieId(@Param("movieId") Long movieId);
+
+    // Upcoming showtimes of the movie page, in start order
+    @EntityGraph(attributePaths = {"movie", "hall"})
+    @Query("select s from Showtime s where s.movie.id = :movieId and s.startTime > :from order by s.startTime")
+    List<Showtime> findUpcomingByMovieId(@Param("movieId") Long movieId, @Param("from") LocalDateTime from);
+
+    @Query("select s from Showtime s where s.hall.id = :hallId")
+    List<Showtime> findByHallId(@Param("hallId") Long hallId);
+
+    // Ids only, for bulk deletes
+    @Query("select s.id from Showtime s where s.movie.id = :movieId")
+    List<Long> findIdsByMovieId(@Param("movieId") Long movieId);
+
+    @Query("select s.id from Showtime s where s.hall.id = :hallId")
+    List<Long> findIdsByHallId(@Param("hallId") Long hallId);
+
+    @Query("select s.id from Showtime s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id from Showtime s where s.hall.id = :hallId and s.startTime >= :from and s.startTime < :to order by s.startTime")
+    List<Long> findIdsByHallIdAndStartTimeBetween(@Param("hallId") Long hallId, @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    // Bookings must be deleted first
+    @Modifying
+    @Query("delete from Showtime s where s.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"movie", "hall"})
     List<Showtime> findByStartTimeAfter(LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"movie", "hall"})
+    List<Showtime> findByStartTimeBetweenOrderByStartTime(LocalDateTime from, LocalDateTime to);
+
+    // Takes seats off the counter; returns 0 when fewer than that are left
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = s.availableSeats - :count where s.id = :id and s.availableSeats >= :count")
+    int claimSeats(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = s.availableSeats + 1 where s.id = :id")
+    int releaseSeat(@Param("id") Long id);
+
+    // Stops sales while a showtime job works on the showtime; recountAvailableSeats reopens them
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = 0 where s.id = :id")
+    int closeSales(@Param("id") Long id);
+
+    // Recounts every showtime in a hall after a change in its capacity; a hall
+    // shrunk below the seats already sold has none left, not a negative count
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = " +
+            "case when (select count(b) from Booking b where b.showtime.id = s.id) > :totalSeats then 0 " +
+            "else :totalSeats - (select count(b) from Booking b where b.showtime.id = s.id) end where s.hall.id = :hallId")
+    int recountAvailableSeatsForHall(@Param("hallId") Long hallId, @Param("totalSeats") int totalSeats);
+
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = " +
+            "coalesce((select h.totalSeats from Hall h where h.id = s.hall.id), 0) - " +
+            "(select count(b) from Booking b where b.showtime.id = s.id) where s.id = :id")
+    int recountAvailableSeats(@Param("id") Long id);
+
+    // Initializes the counter for showtimes created before it existed
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = " +
+            "coalesce((select h.totalSeats from Hall h where h.id = s.hall.id), 0) - " +
+            "(select count(b) from Booking b where b.showtime.id = s.id) where s.availableSeats is null")
+    int backfillAvailableSeats();
 }
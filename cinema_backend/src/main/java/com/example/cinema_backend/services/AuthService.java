@@ -1,12 +1,21 @@
 package com.example.cinema_backend.services;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.cinema_backend.configs.JwtUtil;
+import com.example.cinema_backend.entities.RefreshToken;
 import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.RefreshTokenRepository;
 import com.example.cinema_backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 @Service
@@ -16,7 +25,10 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
 
+    @Transactional
     public User register(String email, String password, String name, User.Role role) {
         if (userRepository.existsByEmail(email))
             throw new RuntimeException("Email already registered");
@@ -29,7 +41,11 @@ public class AuthService {
         return userRepository.save(user);
     }
 
-    public String login(String email, String rawPassword) {
+    public record AuthTokens(String accessToken, String refreshToken) {
+    }
+
+    @Transactional
+    public AuthTokens login(String email, String rawPassword) {
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isEmpty()) throw new RuntimeException("User not found");
         User user = userOpt.get();
@@ -37,7 +53,65 @@ public class AuthService {
         if (!passwordEncoder.matches(rawPassword, user.getPassword()))
             throw new RuntimeException("Invalid password");
 
+        // Re-hash with the current algorithm and cost while we still have the raw password
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        }
+
+        return issueTokens(user);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh token pair without
+     * checking the password hash. The user is re-read so that role changes and
+     * deleted accounts take effect at the next refresh.
+     *
+     * Each refresh token can be exchanged once. One that is presented again
+     * may have been copied, so all of its user's refresh tokens are revoked.
+     */
+    public AuthTokens refresh(String refreshToken) {
+        DecodedJWT jwt = jwtUtil.verifyRefreshToken(refreshToken);
+        LocalDateTime now = LocalDateTime.now();
+        Integer revoked = transactionTemplate.execute(status -> refreshTokenRepository.revoke(jwt.getId(), now));
+        if (revoked == null || revoked == 0) {
+            // In its own transaction, so the exception below does not undo it
+            Long userId = jwt.getClaim("userId").asLong();
+            if (userId != null) {
+                transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.revokeAllByUserId(userId, now));
+            }
+            throw new RuntimeException("Invalid refresh token");
+        }
+        User user = userRepository.findByEmail(jwt.getSubject())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return transactionTemplate.execute(status -> issueTokens(user));
+    }
+
+    /**
+     * Revokes a refresh token so that its session ends once the access token expires.
+     */
+    @Transactional
+    public void logout(String refreshToken) {
+        refreshTokenRepository.revoke(jwtUtil.verifyRefreshToken(refreshToken).getId(), LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void deleteExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) System.out.println("🔑 Deleted " + deleted + " expired refresh tokens");
+    }
+
+    private AuthTokens issueTokens(User user) {
         // Generate token with userId, email, and role
-        return jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), user.getEmail());
+        DecodedJWT issued = JWT.decode(refreshToken);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(issued.getId())
+                .userId(user.getId())
+                .expiresAt(LocalDateTime.ofInstant(issued.getExpiresAtAsInstant(), ZoneId.systemDefault()))
+                .build());
+        return new AuthTokens(accessToken, refreshToken);
     }
 }
@@ -0,0 +1,87 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.repositories.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits booking storage into a hot and a cold table by showtime date.
+ *
+ * The bookings table is the hot side: upcoming and recently started showtimes,
+ * which is all that availability checks, seat conflicts and upcoming tickets
+ * ever read, so its rows and indexes stay about one season's sales in size.
+ * A nightly roll-over job moves bookings of showtimes older than
+ * booking-archive.after-days to bookings_archive (the cold side) in fixed-size
+ * batches, one short transaction per batch. Deletes of showtimes, movies and
+ * halls also archive the bookings they take with them, if the showtime has
+ * already started. History and reporting read both sides.
+ */
+@Service
+public class BookingArchiveService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking-archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking-archive.after-days:1}")
+    private int afterDays;
+
+    @Value("${booking-archive.batch-size:1000}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Archives every booking of a showtime that started more than
+     * booking-archive.after-days ago.
+     *
+     * @return the number of bookings archived
+     */
+    @Scheduled(cron = "${booking-archive.cron:0 30 3 * * *}")
+    public int archivePastBookings() {
+        if (!enabled) return 0;
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = bookingRepository.findIdsStartedBefore(cutoff, Limit.of(batchSize));
+                if (ids.isEmpty()) return 0;
+                bookingRepository.archiveByIdIn(ids, LocalDateTime.now());
+                return bookingRepository.deleteByIdIn(ids);
+            });
+            if (moved == null || moved == 0) break;
+            archived += moved;
+        }
+        if (archived > 0) {
+            System.out.println("📦 Archived " + archived + " bookings of showtimes before " + cutoff
+                    + " in " + (System.currentTimeMillis() - start) + " ms");
+        }
+        return archived;
+    }
+
+    /**
+     * Copies the bookings of showtimes about to be deleted into the archive,
+     * if the showtime has started. Bookings of a showtime that never took
+     * place are cancelled with it, so they stay out of history and reports.
+     * Runs in the caller's transaction.
+     */
+    public int archiveShowtimes(Collection<Long> showtimeIds) {
+        return bookingRepository.archiveStartedByShowtimeIdIn(showtimeIds, LocalDateTime.now());
+    }
+}
@@ -1,18 +1,32 @@
 package com.example.cinema_backend.services;
 
+import com.example.cinema_backend.configs.ClusterMembership;
+import com.example.cinema_backend.entities.ArchivedBooking;
 import com.example.cinema_backend.entities.Booking;
 import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
 import com.example.cinema_backend.entities.Showtime;
 import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.ArchivedBookingRepository;
 import com.example.cinema_backend.repositories.BookingRepository;
 import com.example.cinema_backend.repositories.SeatRepository;
 import com.example.cinema_backend.repositories.ShowtimeRepository;
 import com.example.cinema_backend.repositories.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class BookingService {
@@ -20,6 +34,9 @@ public class BookingService {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Autowired
     private SeatRepository seatRepository;
 
@@ -29,15 +46,70 @@ public class BookingService {
     @Autowired
     private ShowtimeRepository showtimeRepository;
 
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private TicketScanService ticketScanService;
+
+    @Autowired
+    private TicketRenderService ticketRenderService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Available in cluster mode only
+    @Autowired
+    private ObjectProvider<ClusterMembership> clusterMembership;
+
+    @Value("${waitlist.hold-minutes:10}")
+    private long holdMinutes;
+
     /**
      * Books a seat for a given user and showtime.
      * @param userId ID of the user
      * @param showtimeId ID of the showtime
      * @param seatNumber Seat identifier
-     * @param price Price of the seat
-     * @return Booking object saved in DB
+     * @return Booking object saved in DB, priced by the PricingService
+     */
+    @Transactional
+    public Booking bookSeat(Long userId, Long showtimeId, String seatNumber) {
+        return bookSeats(userId, showtimeId, new int[]{parseSeatNumber(seatNumber)}).get(0);
+    }
+
+    /**
+     * Books the best block of adjacent seats closest to the centre of the hall.
+     * The block is held in the showtime's seat map while the bookings are
+     * written, so concurrent callers are never offered the same seats.
+     * @param userId ID of the user
+     * @param showtimeId ID of the showtime
+     * @param count Number of adjacent seats
+     * @return Bookings saved in DB, one per seat
      */
-    public Booking bookSeat(Long userId, Long showtimeId, String seatNumber, double price) {
+    public List<Booking> bookBestAvailable(Long userId, Long showtimeId, int count) {
+        int[] seatCodes = seatMapService.holdBestBlock(showtimeId, count);
+        try {
+            return transactionTemplate.execute(status -> bookSeats(userId, showtimeId, seatCodes));
+        } catch (RuntimeException e) {
+            // The seat map no longer matches the database; rebuild it on next use
+            seatMapService.invalidate(showtimeId);
+            throw e;
+        }
+    }
+
+    private List<Booking> bookSeats(Long userId, Long showtimeId, int[] seatCodes) {
         // Fetch User
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -45,36 +117,101 @@ public class BookingService {
         // Fetch Showtime
         Showtime showtime = showtimeRepository.findById(showtimeId)
                 .orElseThrow(() -> new RuntimeException("Showtime not found"));
+        if (showtime.getHall() == null) {
+            throw new RuntimeException("Showtime has no hall");
+        }
+
+        // Surge pricing goes by the occupancy before this sale
+        int seatsLeft = showtime.getAvailableSeats() != null ? showtime.getAvailableSeats() : showtime.getHall().getTotalSeats();
+
+        // Take the seats off the showtime's counter; this also serializes bookings for the showtime
+        if (showtimeRepository.claimSeats(showtimeId, seatCodes.length) == 0) {
+            throw new RuntimeException("Showtime is sold out!");
+        }
+        if (showtime.getAvailableSeats() != null) {
+            showtime.setAvailableSeats(showtime.getAvailableSeats() - seatCodes.length);
+        }
+
+        List<Integer> codes = new ArrayList<>(seatCodes.length);
+        for (int seatCode : seatCodes) codes.add(seatCode);
+
+        // Fetch the hall's seats; seat numbers repeat across halls
+        List<Seat> seats = seatRepository.findByHallIdAndSeatCodeIn(showtime.getHall().getId(), codes);
 
-        // Check if seat is already booked for this showtime
-        if (bookingRepository.existsByShowtimeAndSeatNumber(showtime, seatNumber)) {
+        // Check if any seat is already booked for this showtime
+        if (!bookingRepository.findBookedSeatCodes(showtimeId, codes).isEmpty()) {
             throw new RuntimeException("Seat already booked!");
         }
 
-        // Fetch Seat
-        Seat seat = seatRepository.findAll().stream()
-                .filter(s -> s.getSeatNumber().equals(seatNumber))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Seat not found"));
+        List<Booking> bookings = new ArrayList<>(seatCodes.length);
+        for (int seatCode : seatCodes) {
+            Seat seat = findSeat(seats, seatCode);
+            if (seat == null) {
+                throw new RuntimeException("Seat not found");
+            }
 
-        if (!seat.isAvailable()) {
-            throw new RuntimeException("Seat is already marked unavailable!");
+            // Seat.available is hall-wide and means the seat is in service
+            if (!seat.isAvailable()) {
+                throw new RuntimeException("Seat is out of service!");
+            }
+
+            // Create booking
+            bookings.add(Booking.builder()
+                    .user(user)
+                    .showtime(showtime)
+                    .seatNumber(seat.getSeatNumber())
+                    .seatCode(seatCode)
+                    .price(pricingService.priceOf(showtime, seatCode, seatsLeft))
+                    .bookingTime(LocalDateTime.now())
+                    .build());
         }
 
-        // Mark seat as unavailable
-        seat.setAvailable(false);
-        seatRepository.save(seat);
+        // The unique (showtime_id, seat_code) index catches a concurrent booking
+        // of the same seat that slipped past the check above
+        List<Booking> savedBookings;
+        try {
+            savedBookings = bookingRepository.saveAll(bookings);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Seat already booked!");
+        }
+        for (Booking booking : savedBookings) {
+            reportingService.recordBooking(booking);
+            int seatCode = booking.getSeatCode();
+            Long bookingId = booking.getId();
+            String seatNumber = booking.getSeatNumber();
+            booking.setTicketCode(ticketScanService.ticketCodeFor(booking));
+            TicketRenderService.TicketDetails ticket = ticketDetails(booking);
+            TransactionHooks.afterCommit(() -> {
+                seatMapService.onSeatBooked(showtimeId, seatCode);
+                ticketScanService.onBooked(showtimeId, bookingId, seatNumber);
+                ticketRenderService.submit(ticket);
+            });
+        }
+        // One event for the whole purchase
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("userId", userId);
+        event.put("bookings", savedBookings.stream().map(BookingService::eventPayload).toList());
+        outboxService.publish(OutboxService.BOOKING_CREATED, showtimeId, event);
+        return savedBookings;
+    }
 
-        // Create and save booking
-        Booking booking = Booking.builder()
-                .user(user)
-                .showtime(showtime)
-                .seatNumber(seatNumber)
-                .price(price)
-                .bookingTime(LocalDateTime.now())
-                .build();
+    /**
+     * Parses a seat number at the API boundary; everything below works on seat codes.
+     */
+    private static int parseSeatNumber(String seatNumber) {
+        int seatCode = SeatCode.parse(seatNumber);
+        if (seatCode == SeatCode.INVALID) {
+            throw new RuntimeException("Seat not found");
+        }
+        return seatCode;
+    }
 
-        return bookingRepository.save(booking);
+    // At most a handful of seats per booking, so a scan beats building a map
+    private static Seat findSeat(List<Seat> seats, int seatCode) {
+        for (Seat seat : seats) {
+            if (seat.getSeatCode() != null && seat.getSeatCode() == seatCode) return seat;
+        }
+        return null;
     }
 
     /**
@@ -82,16 +219,51 @@ public class BookingService {
      * @param userId ID of the user
      * @return List of Booking objects
      */
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return bookingRepository.findByUser(user);
+        List<Booking> bookings = bookingRepository.findByUser(user);
+        bookings.forEach(booking -> booking.setTicketCode(ticketScanService.ticketCodeFor(booking)));
+        return bookings;
+    }
+
+    /**
+     * What goes on the printable ticket of one of the user's bookings. Another
+     * user's booking is reported as not found.
+     * @param userId the authenticated caller, never a client-supplied id
+     */
+    @Transactional(readOnly = true)
+    public TicketRenderService.TicketDetails getTicket(Long id, Long userId) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        if (booking.getUser() == null || !booking.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Booking not found with id: " + id);
+        }
+        booking.setTicketCode(ticketScanService.ticketCodeFor(booking));
+        if (booking.getTicketCode() == null) {
+            throw new RuntimeException("Held seats have no ticket until they are confirmed");
+        }
+        return ticketDetails(booking);
+    }
+
+    /**
+     * Bookings of the user's past showtimes that were rolled over to the
+     * archive, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedBooking> getBookingHistory(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        return archivedBookingRepository.findByUserIdOrderByBookingTimeDesc(userId);
     }
 
     /**
      * Retrieves all bookings (Admin only).
      * @return List of all Booking objects
      */
+    @Transactional(readOnly = true)
     public List<Booking> getAllBookings() {
         System.out.println("✅ BookingService.getAllBookings() called");
         List<Booking> bookings = bookingRepository.findAll();
@@ -104,36 +276,186 @@ public class BookingService {
      * @param id ID of the booking
      * @return Booking object
      */
+    @Transactional(readOnly = true)
     public Booking getBookingById(Long id) {
         System.out.println("✅ BookingService.getBookingById() called with ID: " + id);
-        return bookingRepository.findById(id)
+        Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        booking.setTicketCode(ticketScanService.ticketCodeFor(booking));
+        return booking;
     }
 
     /**
-     * Deletes a booking and marks the seat as available.
+     * Deletes a booking. The seat goes to the first user on the showtime's
+     * waitlist, if any, and otherwise becomes available again.
      * @param id ID of the booking to delete
      */
+    @Transactional
     public void deleteBooking(Long id) {
         System.out.println("✅ BookingService.deleteBooking() called with ID: " + id);
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
 
-        // Mark seat as available again
-        Seat seat = seatRepository.findAll().stream()
-                .filter(s -> s.getSeatNumber().equals(booking.getSeatNumber()))
-                .findFirst()
-                .orElse(null);
-
-        if (seat != null) {
-            seat.setAvailable(true);
-            seatRepository.save(seat);
-            System.out.println("✅ Seat " + booking.getSeatNumber() + " marked as available");
-        }
-
         // Delete the booking
         bookingRepository.delete(booking);
+        reportingService.recordCancellation(booking);
+        outboxService.publish(OutboxService.BOOKING_CANCELLED,
+                booking.getShowtime() != null ? booking.getShowtime().getId() : null, eventPayload(booking));
         System.out.println("✅ Booking deleted with ID: " + id);
+
+        if (booking.getShowtime() != null) {
+            Long showtimeId = booking.getShowtime().getId();
+            TransactionHooks.afterCommit(() -> ticketScanService.onCancelled(showtimeId, id));
+
+            Booking offer = booking.getSeatCode() != null ? offerToWaitlist(booking) : null;
+            if (offer != null) {
+                // The seat never becomes free, so counters and seat maps stay as they are
+                System.out.println("⏳ Seat " + offer.getSeatNumber() + " held for waitlisted user " + offer.getUser().getId()
+                        + " until " + offer.getHeldUntil());
+            } else {
+                // Make the seat available again for this showtime
+                showtimeRepository.releaseSeat(showtimeId);
+                if (booking.getSeatCode() != null) {
+                    int seatCode = booking.getSeatCode();
+                    TransactionHooks.afterCommit(() -> seatMapService.onSeatReleased(showtimeId, seatCode));
+                }
+                System.out.println("✅ Seat " + booking.getSeatNumber() + " marked as available");
+            }
+        }
+    }
+
+    /**
+     * Books the freed seat for the next user on the waitlist, held until they
+     * confirm it or the hold expires.
+     * @return the held booking, or null if nobody is waiting
+     */
+    private Booking offerToWaitlist(Booking freed) {
+        Showtime showtime = freed.getShowtime();
+        Long showtimeId = showtime.getId();
+        LocalDateTime now = LocalDateTime.now();
+        if (!waitlistService.hasWaiters(showtimeId)) return null;
+        if (showtime.getStartTime() != null && !showtime.getStartTime().isAfter(now)) return null;
+
+        Long userId;
+        while ((userId = waitlistService.pollNext(showtimeId)) != null) {
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null) continue;
+
+            LocalDateTime heldUntil = now.plusMinutes(holdMinutes);
+            if (showtime.getStartTime() != null && heldUntil.isAfter(showtime.getStartTime())) {
+                heldUntil = showtime.getStartTime();
+            }
+            int seatCode = freed.getSeatCode();
+            int seatsLeft = showtime.getAvailableSeats() != null ? showtime.getAvailableSeats() + 1 : 1;
+
+            // The freed row has to go before the unique (showtime_id, seat_code) index sees the new one
+            bookingRepository.flush();
+            Booking offer = bookingRepository.save(Booking.builder()
+                    .user(user)
+                    .showtime(showtime)
+                    .seatNumber(freed.getSeatNumber())
+                    .seatCode(seatCode)
+                    .price(pricingService.priceOf(showtime, seatCode, seatsLeft))
+                    .bookingTime(now)
+                    .heldUntil(heldUntil)
+                    .build());
+            reportingService.recordBooking(offer);
+            outboxService.publish(OutboxService.SEAT_HELD, showtimeId, eventPayload(offer));
+            return offer;
+        }
+        return null;
+    }
+
+    // ---------- Waitlist ----------
+
+    /**
+     * Puts the user on the waitlist of a sold-out showtime. When a booking for
+     * it is cancelled, the seat is held for the first user in line.
+     * @return the user's position, starting at 1
+     */
+    @Transactional(readOnly = true)
+    public int joinWaitlist(Long userId, Long showtimeId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new RuntimeException("Showtime not found"));
+        if (showtime.getStartTime() != null && !showtime.getStartTime().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Showtime has already started");
+        }
+        if (showtime.getAvailableSeats() == null || showtime.getAvailableSeats() > 0) {
+            throw new RuntimeException("Seats are still available");
+        }
+        int position = waitlistService.join(showtimeId, showtime.getStartTime(), userId);
+        System.out.println("⏳ User " + userId + " joined the waitlist for showtime " + showtimeId + " at position " + position);
+        return position;
+    }
+
+    public int getWaitlistPosition(Long userId, Long showtimeId) {
+        return waitlistService.position(showtimeId, userId);
+    }
+
+    public void leaveWaitlist(Long userId, Long showtimeId) {
+        waitlistService.leave(showtimeId, userId);
+    }
+
+    /**
+     * Accepts a seat held for the user from the waitlist, turning it into a
+     * normal booking with a ticket code.
+     */
+    @Transactional
+    public Booking confirmHold(Long id, Long userId) {
+        if (bookingRepository.confirmHold(id, userId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("No seat is held for this user, or the hold has expired");
+        }
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        Long showtimeId = booking.getShowtime().getId();
+        String seatNumber = booking.getSeatNumber();
+        booking.setTicketCode(ticketScanService.ticketCodeFor(booking));
+        TicketRenderService.TicketDetails ticket = ticketDetails(booking);
+        TransactionHooks.afterCommit(() -> {
+            ticketScanService.onBooked(showtimeId, id, seatNumber);
+            ticketRenderService.submit(ticket);
+        });
+        outboxService.publish(OutboxService.HOLD_CONFIRMED, showtimeId, eventPayload(booking));
+        System.out.println("✅ User " + userId + " confirmed seat " + seatNumber + " for showtime " + showtimeId);
+        return booking;
+    }
+
+    /**
+     * Turns down a held seat; it moves on to the next user in line.
+     */
+    @Transactional
+    public void declineHold(Long id, Long userId) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        if (booking.getHeldUntil() == null || booking.getUser() == null || !booking.getUser().getId().equals(userId)) {
+            throw new RuntimeException("No seat is held for this user");
+        }
+        deleteBooking(id);
+    }
+
+    /**
+     * Releases holds that were not confirmed in time. Each expired hold is
+     * cancelled like any other booking, which offers the seat to the next
+     * user in line. In cluster mode each node expires the holds of the
+     * showtimes it owns, since only the owner has their waitlists.
+     */
+    @Scheduled(fixedDelayString = "${waitlist.expiry-interval-ms:5000}")
+    public void expireHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingRepository.ExpiredHold hold : bookingRepository.findExpiredHolds(now, Limit.of(100))) {
+            if (!ownsShowtime(hold.getShowtimeId())) continue;
+            Long id = hold.getId();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (bookingRepository.claimExpiredHold(id, now) > 0) deleteBooking(id);
+                });
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Could not expire hold " + id + ": " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -142,21 +464,71 @@ public class BookingService {
      * @param bookingDetails Updated booking details
      * @return Updated Booking object
      */
+    @Transactional
     public Booking updateBooking(Long id, Booking bookingDetails) {
         System.out.println("✅ BookingService.updateBooking() called with ID: " + id);
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
 
+        double oldPrice = booking.getPrice();
         if (bookingDetails.getPrice() > 0) {
             booking.setPrice(bookingDetails.getPrice());
         }
 
-        if (bookingDetails.getSeatNumber() != null && !bookingDetails.getSeatNumber().isEmpty()) {
-            booking.setSeatNumber(bookingDetails.getSeatNumber());
+        String newSeatNumber = bookingDetails.getSeatNumber();
+        if (newSeatNumber != null && !newSeatNumber.isEmpty()) {
+            int newSeatCode = parseSeatNumber(newSeatNumber);
+            Integer oldSeatCode = booking.getSeatCode();
+            if (oldSeatCode == null || oldSeatCode != newSeatCode) {
+                Long showtimeId = booking.getShowtime().getId();
+                if (!bookingRepository.findBookedSeatCodes(showtimeId, List.of(newSeatCode)).isEmpty()) {
+                    throw new RuntimeException("Seat already booked!");
+                }
+                booking.setSeatNumber(newSeatNumber);
+                booking.setSeatCode(newSeatCode);
+                TransactionHooks.afterCommit(() -> {
+                    if (oldSeatCode != null) seatMapService.onSeatMoved(showtimeId, oldSeatCode, newSeatCode);
+                    else seatMapService.onSeatBooked(showtimeId, newSeatCode);
+                    ticketScanService.onSeatMoved(showtimeId, id, newSeatNumber);
+                });
+            }
         }
 
         Booking updatedBooking = bookingRepository.save(booking);
+        reportingService.recordPriceChange(updatedBooking, oldPrice);
+        updatedBooking.setTicketCode(ticketScanService.ticketCodeFor(updatedBooking));
+        if (updatedBooking.getTicketCode() != null) {
+            // The seat or price on the ticket changed, so it is rendered again
+            TicketRenderService.TicketDetails ticket = ticketDetails(updatedBooking);
+            TransactionHooks.afterCommit(() -> ticketRenderService.submit(ticket));
+        }
+        outboxService.publish(OutboxService.BOOKING_UPDATED,
+                updatedBooking.getShowtime() != null ? updatedBooking.getShowtime().getId() : null, eventPayload(updatedBooking));
         System.out.println("✅ Booking updated with ID: " + updatedBooking.getId());
         return updatedBooking;
     }
+
+    private boolean ownsShowtime(Long showtimeId) {
+        ClusterMembership cluster = clusterMembership.getIfAvailable();
+        return cluster == null || cluster.isLocal(showtimeId);
+    }
+
+    // Read inside the transaction, so rendering later touches no lazy state
+    private static TicketRenderService.TicketDetails ticketDetails(Booking booking) {
+        Showtime showtime = booking.getShowtime();
+        return new TicketRenderService.TicketDetails(booking.getId(),
+                showtime.getMovie() != null ? showtime.getMovie().getTitle() : "",
+                showtime.getHall() != null ? showtime.getHall().getName() : "",
+                showtime.getStartTime(), booking.getSeatNumber(), booking.getPrice(), booking.getTicketCode());
+    }
+
+    private static Map<String, Object> eventPayload(Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("userId", booking.getUser() != null ? booking.getUser().getId() : null);
+        payload.put("seatNumber", booking.getSeatNumber());
+        payload.put("price", booking.getPrice());
+        if (booking.getHeldUntil() != null) payload.put("heldUntil", booking.getHeldUntil().toString());
+        return payload;
+    }
 }
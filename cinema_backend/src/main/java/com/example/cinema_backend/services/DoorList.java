@@ -0,0 +1,162 @@
+package com.example.cinema_backend.services;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+/**
+ * The tickets sold for one showtime, held in memory while its doors are open.
+ *
+ * Booking ids live in an open-addressing hash table sized for the whole hall,
+ * so tickets sold after the list was loaded still fit. Each id's slot indexes
+ * a bit set of used tickets. A Bloom filter in front turns away tickets that
+ * were never sold for this showtime before the table is probed. Scanning a
+ * ticket allocates nothing and never touches the database.
+ */
+public final class DoorList {
+
+    public enum Result {
+        ADMITTED, ALREADY_USED, NOT_FOUND
+    }
+
+    public record Counts(int tickets, int used) {
+    }
+
+    private static final long EMPTY = 0;
+    private static final long REMOVED = -1;
+    private static final int BLOOM_BITS_PER_TICKET = 10;
+    private static final int BLOOM_HASHES = 4;
+
+    private final LocalDateTime startTime;
+    private final long[] bookingIds;
+    private final String[] seatNumbers;
+    private final BitSet used;
+    private final long[] bloom;
+    private final int mask;
+    private final int bloomBits;
+
+    /**
+     * @param capacity the most tickets the showtime can have, normally the hall's seat count
+     */
+    public DoorList(LocalDateTime startTime, int capacity) {
+        this.startTime = startTime;
+        // At most half full, so probe sequences stay short
+        int slots = Integer.highestOneBit(Math.max(8, capacity * 2 - 1)) << 1;
+        this.bookingIds = new long[slots];
+        this.seatNumbers = new String[slots];
+        this.used = new BitSet(slots);
+        this.mask = slots - 1;
+        this.bloomBits = Math.max(64, capacity * BLOOM_BITS_PER_TICKET);
+        this.bloom = new long[(bloomBits + 63) >>> 6];
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public synchronized void add(long bookingId, String seatNumber, boolean alreadyUsed) {
+        // Ids come from an auto-increment column; 0 and -1 mark free slots
+        if (bookingId <= 0) return;
+        int slot = find(bookingId);
+        if (slot < 0) {
+            slot = freeSlot(bookingId);
+            bookingIds[slot] = bookingId;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = bloomBit(bookingId, i);
+                bloom[bit >>> 6] |= 1L << bit;
+            }
+        }
+        seatNumbers[slot] = seatNumber;
+        used.set(slot, alreadyUsed);
+    }
+
+    /**
+     * Adds a ticket unless the list has it already, keeping a scan that
+     * happened in the meantime.
+     */
+    public synchronized void addIfAbsent(long bookingId, String seatNumber, boolean alreadyUsed) {
+        if (find(bookingId) < 0) add(bookingId, seatNumber, alreadyUsed);
+    }
+
+    /**
+     * Forgets a cancelled ticket. Its Bloom filter bits stay set, which only
+     * costs a table probe if the ticket is presented anyway.
+     */
+    public synchronized void remove(long bookingId) {
+        int slot = find(bookingId);
+        if (slot < 0) return;
+        bookingIds[slot] = REMOVED;
+        seatNumbers[slot] = null;
+        used.clear(slot);
+    }
+
+    public synchronized void moveSeat(long bookingId, String seatNumber) {
+        int slot = find(bookingId);
+        if (slot >= 0) seatNumbers[slot] = seatNumber;
+    }
+
+    /**
+     * Marks the ticket used if it was sold for this showtime and not used yet.
+     */
+    public synchronized Result admit(long bookingId) {
+        int slot = bookingId > 0 && mightContain(bookingId) ? find(bookingId) : -1;
+        if (slot < 0) return Result.NOT_FOUND;
+        if (used.get(slot)) return Result.ALREADY_USED;
+        used.set(slot);
+        return Result.ADMITTED;
+    }
+
+    public synchronized String seatNumber(long bookingId) {
+        int slot = find(bookingId);
+        return slot < 0 ? null : seatNumbers[slot];
+    }
+
+    public synchronized Counts counts() {
+        int tickets = 0;
+        for (long id : bookingIds) if (id != EMPTY && id != REMOVED) tickets++;
+        return new Counts(tickets, used.cardinality());
+    }
+
+    boolean mightContain(long bookingId) {
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = bloomBit(bookingId, i);
+            if ((bloom[bit >>> 6] & 1L << bit) == 0) return false;
+        }
+        return true;
+    }
+
+    private int find(long bookingId) {
+        for (int slot = spread(bookingId) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long id = bookingIds[slot];
+            if (id == bookingId) return slot;
+            if (id == EMPTY) return -1;
+        }
+        return -1;
+    }
+
+    private int freeSlot(long bookingId) {
+        for (int slot = spread(bookingId) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            if (bookingIds[slot] == EMPTY || bookingIds[slot] == REMOVED) return slot;
+        }
+        throw new IllegalStateException("Door list is full");
+    }
+
+    // Double hashing over two halves of a mixed 64-bit hash
+    private int bloomBit(long bookingId, int i) {
+        long hash = mix(bookingId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, bloomBits);
+    }
+
+    private static int spread(long bookingId) {
+        return (int) mix(bookingId);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a JSON-lines file; a local stand-in for a message broker
+ * that other tools can tail. Off unless outbox.file.enabled=true, since
+ * nothing ever truncates the file.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${outbox.file.path:data/outbox/events.jsonl}")
+    private Path path;
+
+    @Override
+    public synchronized void deliver(List<OutboxEvent> events) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            lines.append(outboxService.toJson(event)).append('\n');
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(lines.toString());
+        }
+    }
+}
@@ -2,10 +2,13 @@ package com.example.cinema_backend.services;
 
 import com.example.cinema_backend.entities.Hall;
 import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
 import com.example.cinema_backend.repositories.HallRepository;
 import com.example.cinema_backend.repositories.SeatRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,6 +21,25 @@ public class HallService {
     @Autowired
     private SeatRepository seatRepository;
 
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
+    @Autowired
+    private MoviePageService moviePageService;
+
+    @Transactional
     public Hall addHall(Hall hall) {
         System.out.println("✅ HallService.addHall() called with: " + hall.getName() + ", seats: " + hall.getTotalSeats());
         Hall savedHall = hallRepository.save(hall);
@@ -31,8 +53,7 @@ public class HallService {
             // Generate seat numbers: A1, A2, ..., A10, B1, B2, etc.
             int row = (i - 1) / 10; // 0-9 = row A, 10-19 = row B, etc.
             int col = (i - 1) % 10 + 1; // 1-10
-            char rowChar = (char) ('A' + row);
-            String seatNumber = rowChar + String.valueOf(col);
+            String seatNumber = SeatCode.format(SeatCode.of(row, col));
 
             Seat seat = Seat.builder()
                     .seatNumber(seatNumber)
@@ -42,11 +63,13 @@ public class HallService {
 
             seatRepository.save(seat);
         }
+        TransactionHooks.afterCommit(() -> responseCache.evict(JsonResponseCache.HALLS));
 
         System.out.println("✅ " + totalSeats + " seats created for hall ID: " + savedHall.getId());
         return savedHall;
     }
 
+    @Transactional(readOnly = true)
     public List<Hall> getAllHalls() {
         List<Hall> halls = hallRepository.findAll();
         System.out.println("✅ HallService.getAllHalls() returned " + halls.size() + " halls");
@@ -56,12 +79,14 @@ public class HallService {
         return halls;
     }
 
+    @Transactional(readOnly = true)
     public Hall getHallById(Long id) {
         System.out.println("✅ HallService.getHallById() called with ID: " + id);
         return hallRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hall not found with id: " + id));
     }
 
+    @Transactional
     public Hall updateHall(Long id, Hall hallDetails) {
         System.out.println("✅ HallService.updateHall() called with ID: " + id);
         Hall hall = hallRepository.findById(id)
@@ -71,12 +96,21 @@ public class HallService {
             hall.setName(hallDetails.getName());
         }
 
+        if (hallDetails.getHallType() != null) {
+            hall.setHallType(hallDetails.getHallType());
+        }
+
         if (hallDetails.getTotalSeats() > 0) {
             int oldTotalSeats = hall.getTotalSeats();
             int newTotalSeats = hallDetails.getTotalSeats();
 
             hall.setTotalSeats(newTotalSeats);
 
+            // Recounted rather than shifted: a counter held at 0 by an earlier shrink has lost the difference
+            if (newTotalSeats != oldTotalSeats) {
+                showtimeRepository.recountAvailableSeatsForHall(id, newTotalSeats);
+            }
+
             // If seats increased, create new seats
             if (newTotalSeats > oldTotalSeats) {
                 System.out.println("🪑 Adding " + (newTotalSeats - oldTotalSeats) + " new seats to hall: " + hall.getName());
@@ -84,8 +118,7 @@ public class HallService {
                 for (int i = oldTotalSeats + 1; i <= newTotalSeats; i++) {
                     int row = (i - 1) / 10;
                     int col = (i - 1) % 10 + 1;
-                    char rowChar = (char) ('A' + row);
-                    String seatNumber = rowChar + String.valueOf(col);
+                    String seatNumber = SeatCode.format(SeatCode.of(row, col));
 
                     Seat seat = Seat.builder()
                             .seatNumber(seatNumber)
@@ -101,23 +134,38 @@ public class HallService {
         }
 
         Hall updatedHall = hallRepository.save(hall);
+        TransactionHooks.afterCommit(() -> {
+            seatMapService.evictHall(id);
+            pricingService.evictHall(id);
+            // Hall name, type and capacity are listed with every showtime
+            responseCache.evict(JsonResponseCache.HALLS);
+            responseCache.evict(JsonResponseCache.SHOWTIMES);
+            moviePageService.evictAll();
+        });
         System.out.println("✅ Hall updated with ID: " + updatedHall.getId());
         return updatedHall;
     }
 
+    @Transactional
     public void deleteHall(Long id) {
         System.out.println("✅ HallService.deleteHall() called with ID: " + id);
         Hall hall = hallRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hall not found with id: " + id));
 
-        // Delete all seats associated with this hall
-        seatRepository.deleteAll(seatRepository.findByHallId(id));
+        // Bookings, showtimes and seats go first, each in bulk
+        int showtimes = showtimeService.deleteShowtimes(showtimeRepository.findIdsByHallId(id));
+        int seats = seatRepository.deleteByHallId(id);
 
         // Delete the hall
         hallRepository.delete(hall);
-        System.out.println("✅ Hall deleted with ID: " + id);
+        TransactionHooks.afterCommit(() -> {
+            seatMapService.evictHall(id);
+            responseCache.evict(JsonResponseCache.HALLS);
+        });
+        System.out.println("✅ Hall deleted with ID: " + id + ", " + seats + " seats and " + showtimes + " showtimes");
     }
 
+    @Transactional(readOnly = true)
     public List<Seat> getSeatsForHall(Long hallId) {
         return seatRepository.findByHallId(hallId);
     }
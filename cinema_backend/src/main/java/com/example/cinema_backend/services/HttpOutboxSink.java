@@ -0,0 +1,57 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to outbox.http.url. Anything but a 2xx
+ * answer, including a 429 or 503 from a consumer that is falling behind,
+ * makes the dispatcher back off and retry.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.http.url")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public HttpOutboxSink(OutboxService outboxService, ObjectMapper objectMapper,
+                          @Value("${outbox.http.url}") String url,
+                          @Value("${outbox.http.timeout-ms:5000}") long timeoutMillis) {
+        this.outboxService = outboxService;
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException, InterruptedException {
+        ArrayNode body = objectMapper.createArrayNode();
+        events.forEach(event -> body.add(outboxService.toJson(event)));
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(url + " answered " + response.statusCode());
+        }
+    }
+}
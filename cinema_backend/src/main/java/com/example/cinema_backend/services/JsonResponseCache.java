@@ -0,0 +1,129 @@
+package com.example.cinema_backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finished responses of the public catalogue endpoints: the JSON bytes, the
+ * same bytes gzipped, and an ETag, written straight to the servlet response.
+ * A cached request walks no object graph and compresses nothing.
+ *
+ * Entries are grouped in regions that the services evict when they write.
+ * Each region has a generation, so a response built from data read before an
+ * eviction is not cached after it. The showtimes region also expires after
+ * response-cache.showtimes-ttl-ms, since it carries seats-left counts and only
+ * lists showtimes that have not started.
+ */
+@Service
+public class JsonResponseCache {
+
+    public static final String MOVIES = "movies";
+    public static final String HALLS = "halls";
+    public static final String SHOWTIMES = "showtimes";
+
+    private record Entry(byte[] json, byte[] gzip, String etag, long loadedAt) {
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${response-cache.showtimes-ttl-ms:1000}")
+    private long showtimesTtlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the cached response for the region and key, loading and
+     * serializing it first when it is missing or expired.
+     */
+    public void serve(String region, String key, HttpServletRequest request, HttpServletResponse response,
+                      Supplier<?> loader) throws IOException {
+        Entry entry = entries.get(region + ":" + key);
+        if (entry == null || isExpired(region, entry)) {
+            entry = load(region, key, loader);
+        }
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(entry.etag())) return;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = entry.json();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        // Tiny bodies such as an empty list grow when gzipped
+        if (acceptEncoding != null && acceptEncoding.contains("gzip") && entry.gzip().length < body.length) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.gzip();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public void evict(String region) {
+        generation(region).incrementAndGet();
+        String prefix = region + ":";
+        entries.keySet().removeIf(cacheKey -> cacheKey.startsWith(prefix));
+    }
+
+    public void evictAll() {
+        for (String region : new String[]{MOVIES, HALLS, SHOWTIMES}) evict(region);
+    }
+
+    private Entry load(String region, String key, Supplier<?> loader) {
+        long generation = generation(region).get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + region + ":" + key, e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        // Weak: the same tag stands for the plain and the gzipped bytes
+        String etag = "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(json.length) + "\"";
+        Entry entry = new Entry(json, gzip(json), etag, System.nanoTime());
+        // Not cached if the region was evicted while loading: the data may predate the write
+        if (generation(region).get() == generation) {
+            entries.put(region + ":" + key, entry);
+            if (generation(region).get() != generation) entries.remove(region + ":" + key, entry);
+        }
+        return entry;
+    }
+
+    private boolean isExpired(String region, Entry entry) {
+        return SHOWTIMES.equals(region)
+                && System.nanoTime() - entry.loadedAt() > TimeUnit.MILLISECONDS.toNanos(showtimesTtlMillis);
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, name -> new AtomicLong());
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
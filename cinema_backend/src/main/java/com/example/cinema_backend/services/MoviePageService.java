@@ -0,0 +1,157 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.repositories.MovieRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything the movie page shows in one response: the movie and its upcoming
+ * showtimes, grouped by day and hall, with seats left and the cheapest price.
+ *
+ * The movie and the showtimes are loaded in parallel, then the showtimes are
+ * priced in parallel, on a small bounded pool; when the pool is saturated the
+ * request thread does the work itself. Pages are cached for
+ * movie-page.cache-ttl-ms, so seats-left counts can be that much behind; the
+ * booking page reads the live seat map. Changes to the movie or its showtimes
+ * evict the page, and a page loaded while an eviction ran is not cached.
+ */
+@Service
+public class MoviePageService {
+
+    public record MoviePage(Movie movie, List<Day> days) {
+    }
+
+    public record Day(LocalDate date, List<HallShowtimes> halls) {
+    }
+
+    public record HallShowtimes(Long hallId, String hallName, Hall.HallType hallType, List<ShowtimeSummary> showtimes) {
+    }
+
+    public record ShowtimeSummary(Long id, LocalDateTime startTime, Integer seatsLeft, Double lowestPrice) {
+    }
+
+    private record CachedPage(MoviePage page, long expiresAt) {
+    }
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private PricingService pricingService;
+
+    private final long cacheTtlNanos;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, CachedPage> cache = new ConcurrentHashMap<>();
+    // Bumped by every eviction, as in JsonResponseCache
+    private final AtomicLong generation = new AtomicLong();
+
+    public MoviePageService(@Value("${movie-page.cache-ttl-ms:5000}") long cacheTtlMillis,
+                            @Value("${movie-page.threads:8}") int threads,
+                            @Value("${movie-page.queue-size:200}") int queueSize) {
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+        AtomicInteger count = new AtomicInteger();
+        // Each task holds a database connection at most briefly; the pool size caps how many
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "movie-page-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public MoviePage getMoviePage(Long movieId) {
+        long now = System.nanoTime();
+        CachedPage cached = cache.get(movieId);
+        if (cached != null && cached.expiresAt() - now > 0) return cached.page();
+
+        long loadedGeneration = generation.get();
+        MoviePage page = load(movieId);
+        // Not cached if an eviction ran while loading: the page may predate the write
+        if (generation.get() == loadedGeneration) {
+            CachedPage entry = new CachedPage(page, now + cacheTtlNanos);
+            cache.put(movieId, entry);
+            if (generation.get() != loadedGeneration) cache.remove(movieId, entry);
+        }
+        return page;
+    }
+
+    public void evict(Long movieId) {
+        if (movieId == null) return;
+        generation.incrementAndGet();
+        cache.remove(movieId);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private MoviePage load(Long movieId) {
+        CompletableFuture<Movie> movie = CompletableFuture.supplyAsync(() -> movieRepository.findById(movieId)
+                .orElseThrow(() -> new RuntimeException("Movie not found with id: " + movieId)), executor);
+        CompletableFuture<List<Showtime>> showtimes = CompletableFuture.supplyAsync(() ->
+                showtimeRepository.findUpcomingByMovieId(movieId, LocalDateTime.now()), executor);
+
+        List<Showtime> upcoming = join(showtimes);
+        // Price tables are cached per showtime; a miss loads the hall's seats
+        List<CompletableFuture<Double>> prices = new ArrayList<>(upcoming.size());
+        for (Showtime showtime : upcoming) {
+            prices.add(CompletableFuture.supplyAsync(() -> pricingService.lowestPrice(showtime), executor));
+        }
+
+        Map<LocalDate, Map<Long, HallShowtimes>> days = new LinkedHashMap<>();
+        for (int i = 0; i < upcoming.size(); i++) {
+            Showtime showtime = upcoming.get(i);
+            Hall hall = showtime.getHall();
+            Long hallId = hall != null ? hall.getId() : null;
+            days.computeIfAbsent(showtime.getStartTime().toLocalDate(), date -> new LinkedHashMap<>())
+                    .computeIfAbsent(hallId, id -> new HallShowtimes(id, hall != null ? hall.getName() : null,
+                            hall != null ? hall.getHallType() : null, new ArrayList<>()))
+                    .showtimes().add(new ShowtimeSummary(showtime.getId(), showtime.getStartTime(),
+                            showtime.getAvailableSeats(), join(prices.get(i))));
+        }
+
+        List<Day> grouped = new ArrayList<>(days.size());
+        days.forEach((date, halls) -> grouped.add(new Day(date, List.copyOf(halls.values()))));
+        return new MoviePage(join(movie), grouped);
+    }
+
+    // Rethrows what the task threw, so a missing movie is the usual RuntimeException
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,8 +2,10 @@ package com.example.cinema_backend.services;
 
 import com.example.cinema_backend.entities.Movie;
 import com.example.cinema_backend.repositories.MovieRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,25 +15,44 @@ public class MovieService {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private MoviePageService moviePageService;
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
+    @Transactional
     public Movie addMovie(Movie movie) {
         System.out.println("✅ MovieService.addMovie() called with: " + movie.getTitle());
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        TransactionHooks.afterCommit(() -> responseCache.evict(JsonResponseCache.MOVIES));
+        return savedMovie;
     }
 
+    @Transactional(readOnly = true)
     public List<Movie> getAllMovies() {
         return movieRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Movie> searchByTitle(String title) {
         return movieRepository.findByTitleContainingIgnoreCase(title);
     }
 
+    @Transactional(readOnly = true)
     public Movie getMovieById(Long id) {
         System.out.println("✅ MovieService.getMovieById() called with ID: " + id);
         return movieRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Movie not found with id: " + id));
     }
 
+    @Transactional
     public Movie updateMovie(Long id, Movie movieDetails) {
         System.out.println("✅ MovieService.updateMovie() called with ID: " + id);
         Movie movie = movieRepository.findById(id)
@@ -54,12 +75,26 @@ public class MovieService {
         }
 
         Movie updatedMovie = movieRepository.save(movie);
+        TransactionHooks.afterCommit(() -> {
+            moviePageService.evict(id);
+            // Showtimes are listed with their movie
+            responseCache.evict(JsonResponseCache.MOVIES);
+            responseCache.evict(JsonResponseCache.SHOWTIMES);
+        });
         System.out.println("✅ Movie updated with ID: " + updatedMovie.getId());
         return updatedMovie;
     }
 
+    @Transactional
     public void deleteMovie(Long id) {
         System.out.println("✅ MovieService.deleteMovie() called with ID: " + id);
+        // Bookings and showtimes go first, in bulk, instead of cascading entity by entity
+        int showtimes = showtimeService.deleteShowtimes(showtimeRepository.findIdsByMovieId(id));
         movieRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> {
+            moviePageService.evict(id);
+            responseCache.evict(JsonResponseCache.MOVIES);
+        });
+        System.out.println("✅ Movie deleted with ID: " + id + " and " + showtimes + " showtimes");
     }
 }
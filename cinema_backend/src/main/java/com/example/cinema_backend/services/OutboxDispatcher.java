@@ -0,0 +1,160 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.configs.ClusterMembership;
+import com.example.cinema_backend.entities.OutboxEvent;
+import com.example.cinema_backend.repositories.OutboxEventRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the outbox table in batches and hands each batch to every
+ * {@link OutboxSink}.
+ *
+ * Events of one showtime are delivered in id order: once one of them is
+ * waiting for a retry, later events of that showtime are held back as well.
+ * When a batch fails it is retried event by event, so one bad event only
+ * holds up its own showtime. Failed events back off exponentially and are
+ * marked DEAD after outbox.max-attempts. A slow or failing sink only lets
+ * the table grow; requests never wait for a sink.
+ */
+@Service
+public class OutboxDispatcher {
+
+    // Events without a showtime are ordered among themselves
+    private static final long NO_SHOWTIME = -1;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // No sinks means events are simply drained
+    @Autowired(required = false)
+    private List<OutboxSink> sinks = List.of();
+
+    // Available in cluster mode only
+    @Autowired
+    private ObjectProvider<ClusterMembership> clusterMembership;
+
+    @Value("${outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry-base-ms:1000}")
+    private long retryBaseMillis;
+
+    @Value("${outbox.retry-max-ms:300000}")
+    private long retryMaxMillis;
+
+    /**
+     * Delivers up to outbox.max-batches-per-run batches, fewer when the table
+     * is drained or everything left is waiting for a retry.
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        if (!isDispatcher()) return;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (dispatchBatch() == 0) break;
+        }
+    }
+
+    /**
+     * @return the number of events delivered
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> heldBack = new HashSet<>();
+        for (Long showtimeId : outboxEventRepository.findShowtimesWaitingForRetry(OutboxEvent.Status.PENDING, now)) {
+            heldBack.add(showtimeId != null ? showtimeId : NO_SHOWTIME);
+        }
+        // NO_SHOWTIME never matches a real id and keeps the IN list non-empty
+        List<Long> excluded = new ArrayList<>(heldBack);
+        excluded.add(NO_SHOWTIME);
+        List<OutboxEvent> pending = outboxEventRepository.findByStatus(OutboxEvent.Status.PENDING, excluded, Limit.of(batchSize));
+        if (pending.isEmpty()) return 0;
+
+        List<OutboxEvent> ready = new ArrayList<>(pending.size());
+        for (OutboxEvent event : pending) {
+            long key = orderingKey(event);
+            if (heldBack.contains(key)) continue;
+            if (event.getNextAttemptAt() != null && event.getNextAttemptAt().isAfter(now)) {
+                heldBack.add(key);
+                continue;
+            }
+            ready.add(event);
+        }
+        if (ready.isEmpty()) return 0;
+
+        List<Long> delivered = new ArrayList<>(ready.size());
+        try {
+            deliver(ready);
+            ready.forEach(event -> delivered.add(event.getId()));
+        } catch (Exception batchFailure) {
+            for (OutboxEvent event : ready) {
+                long key = orderingKey(event);
+                if (heldBack.contains(key)) continue;
+                try {
+                    deliver(List.of(event));
+                    delivered.add(event.getId());
+                } catch (Exception e) {
+                    heldBack.add(key);
+                    recordFailure(event, e, now);
+                }
+            }
+        }
+        if (!delivered.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByIdIn(delivered));
+        }
+        return delivered.size();
+    }
+
+    private void deliver(List<OutboxEvent> events) throws Exception {
+        for (OutboxSink sink : sinks) {
+            sink.deliver(events);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        event.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.DEAD);
+            System.out.println("💀 Outbox event " + event.getId() + " (" + event.getEventType() + ") gave up after "
+                    + attempts + " attempts: " + message);
+        } else {
+            long delay = Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempts - 1, 20));
+            event.setNextAttemptAt(now.plusNanos(delay * 1_000_000));
+            System.out.println("⚠️ Outbox event " + event.getId() + " failed, retry " + attempts + " in " + delay + " ms: " + message);
+        }
+        outboxEventRepository.save(event);
+    }
+
+    // In cluster mode one node drains the table, so two nodes never deliver the same events
+    private boolean isDispatcher() {
+        ClusterMembership cluster = clusterMembership.getIfAvailable();
+        return cluster == null || cluster.isLocal(0);
+    }
+
+    private static long orderingKey(OutboxEvent event) {
+        return event.getShowtimeId() != null ? event.getShowtimeId() : NO_SHOWTIME;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.OutboxEvent;
+import com.example.cinema_backend.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Records booking and showtime events in the outbox table. Publishing is one
+ * insert in the caller's transaction, so an event exists exactly when its
+ * change committed; {@link OutboxDispatcher} delivers it later.
+ */
+@Service
+public class OutboxService {
+
+    public static final String BOOKING_CREATED = "BOOKING_CREATED";
+    public static final String BOOKING_UPDATED = "BOOKING_UPDATED";
+    public static final String BOOKING_CANCELLED = "BOOKING_CANCELLED";
+    public static final String SEAT_HELD = "SEAT_HELD";
+    public static final String HOLD_CONFIRMED = "HOLD_CONFIRMED";
+    public static final String SHOWTIME_CREATED = "SHOWTIME_CREATED";
+    public static final String SHOWTIME_UPDATED = "SHOWTIME_UPDATED";
+    public static final String SHOWTIME_DELETED = "SHOWTIME_DELETED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long showtimeId, Map<String, ?> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + eventType + " event", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .showtimeId(showtimeId)
+                .payload(json)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * The form in which sinks hand an event on: id, type, showtime, time and
+     * the payload as nested JSON. Consumers use the id to drop duplicates.
+     */
+    public ObjectNode toJson(OutboxEvent event) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", event.getId());
+        node.put("type", event.getEventType());
+        if (event.getShowtimeId() != null) node.put("showtimeId", event.getShowtimeId());
+        node.put("createdAt", event.getCreatedAt().toString());
+        try {
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+        } catch (JsonProcessingException e) {
+            node.put("payload", event.getPayload());
+        }
+        return node;
+    }
+}
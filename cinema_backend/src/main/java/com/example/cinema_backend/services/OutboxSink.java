@@ -0,0 +1,18 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * A downstream consumer of outbox events. Every sink bean receives every
+ * event, in id order within a showtime. Delivery is at least once: a batch that
+ * fails anywhere is retried, including on sinks that already took it.
+ */
+public interface OutboxSink {
+
+    /**
+     * Hands over a batch of events; throws to have the batch retried later.
+     */
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,59 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.SeatCode;
+
+/**
+ * Ticket prices of one showtime, compiled by {@link PricingRules} when the
+ * showtime is scheduled. Everything fixed for the showtime (hall type, time of
+ * day, day of week) and every seat's category is already folded in, so pricing
+ * a seat is two array lookups: the surge tier for the current occupancy, then
+ * the seat's price in that tier. Immutable once built.
+ */
+public final class PriceTable {
+
+    static final long NO_PRICE = -1;
+
+    private final int capacity;
+    private final int rows;
+    private final int columns;
+    private final byte[] tierByPercent;
+    // [tier][row][column], flattened; NO_PRICE where the hall has no seat
+    private final long[] cents;
+
+    PriceTable(int capacity, int rows, int columns, byte[] tierByPercent, long[] cents) {
+        this.capacity = capacity;
+        this.rows = rows;
+        this.columns = columns;
+        this.tierByPercent = tierByPercent;
+        this.cents = cents;
+    }
+
+    /**
+     * @param seatsLeft unsold seats before this sale; drives the surge tier
+     * @return the price in cents, or {@link #NO_PRICE} if the hall has no such seat
+     */
+    public long priceCents(int seatCode, int seatsLeft) {
+        int row = SeatCode.row(seatCode);
+        int column = SeatCode.column(seatCode);
+        if (seatCode < 0 || row >= rows || column >= columns) return NO_PRICE;
+        return cents[(tierByPercent[occupancyPercent(seatsLeft)] * rows + row) * columns + column];
+    }
+
+    /**
+     * @return the cheapest seat's price in cents, or {@link #NO_PRICE} if the hall has no seats
+     */
+    public long lowestCents(int seatsLeft) {
+        int from = tierByPercent[occupancyPercent(seatsLeft)] * rows * columns;
+        long lowest = NO_PRICE;
+        for (int i = from; i < from + rows * columns; i++) {
+            if (cents[i] != NO_PRICE && (lowest == NO_PRICE || cents[i] < lowest)) lowest = cents[i];
+        }
+        return lowest;
+    }
+
+    private int occupancyPercent(int seatsLeft) {
+        if (capacity <= 0) return 0;
+        int sold = Math.max(0, Math.min(capacity, capacity - seatsLeft));
+        return sold * 100 / capacity;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+import com.example.cinema_backend.entities.Showtime;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ticket pricing rules: a base price multiplied by factors for the seat
+ * category, hall type, time of day, day of week and an occupancy surge.
+ *
+ * Each rule is configured as comma-separated {@code key=multiplier} pairs;
+ * anything not listed has a multiplier of 1. Time-of-day keys are the hours
+ * at which a band starts, surge keys the occupancy percentage from which a
+ * tier applies. {@link #compile} evaluates the rules once per showtime.
+ */
+public final class PricingRules {
+
+    private final long baseCents;
+    private final double[] categoryMultipliers = ones(Seat.Category.values().length);
+    private final double[] hallTypeMultipliers = ones(Hall.HallType.values().length);
+    private final double[] hourMultipliers = ones(24);
+    private final double[] dayMultipliers = ones(7);
+    private final double[] surgeMultipliers;
+    private final byte[] tierByPercent = new byte[101];
+
+    public PricingRules(double basePrice, String seatCategories, String hallTypes,
+                        String timeOfDay, String daysOfWeek, String surge) {
+        if (!(basePrice > 0)) throw new IllegalArgumentException("Base price must be positive: " + basePrice);
+        this.baseCents = Math.round(basePrice * 100);
+
+        parse(seatCategories).forEach((key, value) ->
+                categoryMultipliers[Seat.Category.valueOf(key.toUpperCase(Locale.ROOT)).ordinal()] = value);
+        parse(hallTypes).forEach((key, value) ->
+                hallTypeMultipliers[Hall.HallType.valueOf(key.toUpperCase(Locale.ROOT)).ordinal()] = value);
+        parse(daysOfWeek).forEach((key, value) ->
+                dayMultipliers[DayOfWeek.valueOf(key.toUpperCase(Locale.ROOT)).ordinal()] = value);
+
+        // Each band runs until the next one starts
+        TreeMap<Integer, Double> bands = new TreeMap<>();
+        parse(timeOfDay).forEach((key, value) -> bands.put(bound(key, 23), value));
+        for (int hour = 0; hour < 24; hour++) {
+            Map.Entry<Integer, Double> band = bands.floorEntry(hour);
+            if (band != null) hourMultipliers[hour] = band.getValue();
+        }
+
+        TreeMap<Integer, Double> tiers = new TreeMap<>();
+        parse(surge).forEach((key, value) -> tiers.put(bound(key, 100), value));
+        if (tiers.size() > Byte.MAX_VALUE) throw new IllegalArgumentException("Too many surge tiers");
+        surgeMultipliers = new double[tiers.size() + 1];
+        surgeMultipliers[0] = 1;
+        int tier = 0;
+        for (Map.Entry<Integer, Double> entry : tiers.entrySet()) {
+            surgeMultipliers[++tier] = entry.getValue();
+            Arrays.fill(tierByPercent, entry.getKey(), tierByPercent.length, (byte) tier);
+        }
+    }
+
+    /**
+     * Prices every seat of the showtime's hall in every surge tier.
+     */
+    public PriceTable compile(Showtime showtime, Iterable<Seat> seats) {
+        Hall hall = showtime.getHall();
+        double fixed = hallTypeMultipliers[(hall == null || hall.getHallType() == null ? Hall.HallType.STANDARD : hall.getHallType()).ordinal()];
+        LocalDateTime startTime = showtime.getStartTime();
+        if (startTime != null) {
+            fixed *= hourMultipliers[startTime.getHour()] * dayMultipliers[startTime.getDayOfWeek().ordinal()];
+        }
+
+        int rows = 0;
+        int columns = 0;
+        for (Seat seat : seats) {
+            if (seat.getSeatCode() == null) continue;
+            rows = Math.max(rows, SeatCode.row(seat.getSeatCode()) + 1);
+            columns = Math.max(columns, SeatCode.column(seat.getSeatCode()) + 1);
+        }
+
+        int tierSize = rows * columns;
+        long[] cents = new long[surgeMultipliers.length * tierSize];
+        Arrays.fill(cents, PriceTable.NO_PRICE);
+        for (Seat seat : seats) {
+            if (seat.getSeatCode() == null) continue;
+            int cell = SeatCode.row(seat.getSeatCode()) * columns + SeatCode.column(seat.getSeatCode());
+            Seat.Category category = seat.getCategory() == null ? Seat.Category.STANDARD : seat.getCategory();
+            double seatPrice = baseCents * fixed * categoryMultipliers[category.ordinal()];
+            for (int tier = 0; tier < surgeMultipliers.length; tier++) {
+                cents[tier * tierSize + cell] = Math.round(seatPrice * surgeMultipliers[tier]);
+            }
+        }
+        return new PriceTable(hall == null ? 0 : hall.getTotalSeats(), rows, columns, tierByPercent, cents);
+    }
+
+    private static Map<String, Double> parse(String spec) {
+        Map<String, Double> pairs = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) return pairs;
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Expected key=multiplier but got: " + pair.trim());
+            double multiplier = Double.parseDouble(parts[1].trim());
+            if (!(multiplier > 0)) throw new IllegalArgumentException("Multiplier must be positive: " + pair.trim());
+            pairs.put(parts[0].trim(), multiplier);
+        }
+        return pairs;
+    }
+
+    private static int bound(String key, int max) {
+        int value = Integer.parseInt(key);
+        if (value < 0 || value > max) throw new IllegalArgumentException(key + " is not between 0 and " + max);
+        return value;
+    }
+
+    private static double[] ones(int length) {
+        double[] values = new double[length];
+        Arrays.fill(values, 1);
+        return values;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.repositories.SeatRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Server-side ticket prices. Each showtime's {@link PriceTable} is compiled from
+ * the {@link PricingRules} when the showtime is scheduled or changed (or on
+ * first use after a restart) and cached, so pricing a seat during a booking
+ * reads no rules and runs no queries. Changes to a hall's type or seats evict
+ * the tables of its showtimes.
+ */
+@Service
+public class PricingService {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Value("${pricing.base-price:10.00}")
+    private double basePrice;
+
+    @Value("${pricing.seat-categories:}")
+    private String seatCategories;
+
+    @Value("${pricing.hall-types:}")
+    private String hallTypes;
+
+    @Value("${pricing.time-of-day:}")
+    private String timeOfDay;
+
+    @Value("${pricing.days-of-week:}")
+    private String daysOfWeek;
+
+    @Value("${pricing.surge:}")
+    private String surge;
+
+    private PricingRules rules;
+
+    private record Entry(PriceTable table, Long hallId, LocalDateTime startTime) {
+    }
+
+    private final Map<Long, Entry> priceTables = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void compileRules() {
+        rules = new PricingRules(basePrice, seatCategories, hallTypes, timeOfDay, daysOfWeek, surge);
+    }
+
+    /**
+     * Compiles the showtime's table now and publishes it once the surrounding
+     * transaction commits. Called when a showtime is created or changed.
+     */
+    public void schedule(Showtime showtime) {
+        Long showtimeId = showtime.getId();
+        Entry entry = compile(showtime);
+        TransactionHooks.afterCommit(() -> priceTables.put(showtimeId, entry));
+    }
+
+    /**
+     * Price of one seat given the seats left before the sale.
+     */
+    public double priceOf(Showtime showtime, int seatCode, int seatsLeft) {
+        long cents = getPriceTable(showtime).priceCents(seatCode, seatsLeft);
+        if (cents == PriceTable.NO_PRICE) {
+            throw new RuntimeException("Seat not found");
+        }
+        return cents / 100.0;
+    }
+
+    /**
+     * Price of the showtime's cheapest seat right now, or null if the hall has no seats.
+     */
+    public Double lowestPrice(Showtime showtime) {
+        if (showtime.getHall() == null) return null;
+        int seatsLeft = showtime.getAvailableSeats() != null ? showtime.getAvailableSeats() : showtime.getHall().getTotalSeats();
+        long cents = getPriceTable(showtime).lowestCents(seatsLeft);
+        return cents == PriceTable.NO_PRICE ? null : cents / 100.0;
+    }
+
+    /**
+     * Current price of every seat of the showtime, by seat number.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Double> getPrices(Long showtimeId) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + showtimeId));
+        if (showtime.getHall() == null) return Map.of();
+        PriceTable table = getPriceTable(showtime);
+        int seatsLeft = showtime.getAvailableSeats() != null ? showtime.getAvailableSeats() : showtime.getHall().getTotalSeats();
+
+        Map<String, Double> prices = new LinkedHashMap<>();
+        for (Seat seat : seatRepository.findByHallId(showtime.getHall().getId())) {
+            if (seat.getSeatCode() == null) continue;
+            long cents = table.priceCents(seat.getSeatCode(), seatsLeft);
+            if (cents != PriceTable.NO_PRICE) prices.put(SeatCode.format(seat.getSeatCode()), cents / 100.0);
+        }
+        return prices;
+    }
+
+    public void evict(Long showtimeId) {
+        priceTables.remove(showtimeId);
+    }
+
+    public void evictHall(Long hallId) {
+        priceTables.values().removeIf(entry -> hallId.equals(entry.hallId()));
+    }
+
+    public void evictAll() {
+        priceTables.clear();
+    }
+
+    public void retainShowtimes(Predicate<Long> owned) {
+        priceTables.keySet().removeIf(showtimeId -> !owned.test(showtimeId));
+    }
+
+    @Scheduled(fixedDelay = 15 * 60 * 1000)
+    public void evictPastShowtimes() {
+        LocalDateTime now = LocalDateTime.now();
+        priceTables.values().removeIf(entry -> entry.startTime() != null && entry.startTime().isBefore(now));
+    }
+
+    private PriceTable getPriceTable(Showtime showtime) {
+        Entry entry = priceTables.get(showtime.getId());
+        if (entry == null) {
+            entry = compile(showtime);
+            priceTables.put(showtime.getId(), entry);
+        }
+        return entry.table();
+    }
+
+    private Entry compile(Showtime showtime) {
+        Long hallId = showtime.getHall() != null ? showtime.getHall().getId() : null;
+        List<Seat> seats = hallId != null ? seatRepository.findByHallId(hallId) : List.of();
+        return new Entry(rules.compile(showtime, seats), hallId, showtime.getStartTime());
+    }
+}
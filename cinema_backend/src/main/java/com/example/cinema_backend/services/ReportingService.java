@@ -0,0 +1,345 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.repositories.ArchivedBookingRepository;
+import com.example.cinema_backend.repositories.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Sales and occupancy reporting.
+ *
+ * Dashboards are served from in-memory counters that BookingService updates
+ * after each booking, cancellation and price change commits, and that
+ * ShowtimeService updates for bookings it deletes or moves in bulk. The counters are
+ * rebuilt from GROUP BY queries on startup and on a nightly schedule, which
+ * also corrects any drift. The rebuild covers both the live bookings table and
+ * bookings_archive, so rolling bookings over does not change any totals.
+ * Updates that commit while a rebuild runs are also kept aside and replayed
+ * onto the rebuilt counters when they are swapped in.
+ */
+@Service
+public class ReportingService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    public record ReportRow(String key, String label, long tickets, double revenue, Double occupancy) {
+    }
+
+    public record SalesSummary(long tickets, double revenue, LocalDateTime reconciledAt) {
+    }
+
+    private volatile Counters counters = new Counters();
+
+    // Updates apply under the read lock, so many at once; the rebuilt counters are swapped in under the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Updates made while reconcile() runs its queries, to replay onto its result
+    private Queue<Consumer<Counters>> replay;
+    private final Object reconcileLock = new Object();
+
+    // ---------- Incremental updates (called by BookingService) ----------
+
+    public void recordBooking(Booking booking) {
+        Delta delta = Delta.of(booking);
+        long cents = toCents(booking.getPrice());
+        applyAfterCommit(current -> current.apply(delta, 1, cents));
+    }
+
+    public void recordCancellation(Booking booking) {
+        Delta delta = Delta.of(booking);
+        long cents = toCents(booking.getPrice());
+        applyAfterCommit(current -> current.apply(delta, -1, -cents));
+    }
+
+    public void recordPriceChange(Booking booking, double oldPrice) {
+        Delta delta = Delta.of(booking);
+        long cents = toCents(booking.getPrice()) - toCents(oldPrice);
+        if (cents != 0) applyAfterCommit(current -> current.apply(delta, 0, cents));
+    }
+
+    // ---------- Dashboards (served from counters) ----------
+
+    public SalesSummary getSummary() {
+        Counters current = counters;
+        return new SalesSummary(current.total.tickets.sum(), fromCents(current.total.revenueCents.sum()), current.reconciledAt);
+    }
+
+    public ReportRow getShowtimeStats(Long showtimeId) {
+        Tally tally = counters.showtimes.get(showtimeId);
+        if (tally == null) return new ReportRow(String.valueOf(showtimeId), null, 0, 0, 0.0);
+        return tally.toRow(String.valueOf(showtimeId));
+    }
+
+    public List<ReportRow> getRevenueByMovie() {
+        return rows(counters.movies, Comparator.comparingDouble(ReportRow::revenue).reversed());
+    }
+
+    public List<ReportRow> getOccupancyByShowtime() {
+        return rows(counters.showtimes, Comparator.comparing(ReportRow::occupancy, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    public List<ReportRow> getRevenueByHall() {
+        return rows(counters.halls, Comparator.comparingDouble(ReportRow::revenue).reversed());
+    }
+
+    public List<ReportRow> getSalesByDay() {
+        return rows(counters.days, Comparator.comparing(ReportRow::key));
+    }
+
+    public List<ReportRow> getPeakHours() {
+        return rows(counters.hours, Comparator.comparingLong(ReportRow::tickets).reversed());
+    }
+
+    // ---------- Reconciliation ----------
+
+    /**
+     * Recomputes all counters with aggregate queries and swaps them in, with
+     * the updates that committed meanwhile replayed onto them. An update whose
+     * booking committed just before the queries started, but whose counters
+     * were only updated after, is counted twice until the next reconcile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${reporting.reconcile-cron:0 0 4 * * *}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            long start = System.currentTimeMillis();
+            Counters rebuilt = new Counters();
+            Queue<Consumer<Counters>> committed = new ConcurrentLinkedQueue<>();
+            swapLock.writeLock().lock();
+            try {
+                replay = committed;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            boolean loaded = false;
+            try {
+                // Live bookings plus the ones the roll-over job moved to the archive
+                loadSales(rebuilt, bookingRepository.sumSalesByMovie(), bookingRepository.sumSalesByShowtime(),
+                        bookingRepository.sumSalesByHall(), bookingRepository.sumSalesByDay(), bookingRepository.sumSalesByHour());
+                loadSales(rebuilt, archivedBookingRepository.sumSalesByMovie(), archivedBookingRepository.sumSalesByShowtime(),
+                        archivedBookingRepository.sumSalesByHall(), archivedBookingRepository.sumSalesByDay(), archivedBookingRepository.sumSalesByHour());
+                rebuilt.showtimes.values().forEach(tally -> rebuilt.total.add(tally.tickets.sum(), tally.revenueCents.sum()));
+                loaded = true;
+            } finally {
+                swapLock.writeLock().lock();
+                try {
+                    // No update is applied meanwhile, so each one is either replayed here or applied to the new counters
+                    if (loaded) {
+                        committed.forEach(change -> change.accept(rebuilt));
+                        counters = rebuilt;
+                    }
+                    replay = null;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            }
+            System.out.println("📊 Reporting counters reconciled in " + (System.currentTimeMillis() - start) + " ms"
+                    + (committed.isEmpty() ? "" : ", " + committed.size() + " updates replayed"));
+        }
+    }
+
+    /**
+     * Takes out the sales of bookings a bulk delete drops without loading
+     * them, summed per key before the delete, once it commits.
+     */
+    public void recordDroppedSales(List<BookingRepository.SalesGroup> groups) {
+        List<Sales> dropped = groups.stream().map(Sales::of).toList();
+        if (!dropped.isEmpty()) {
+            applyAfterCommit(current -> dropped.forEach(sales -> current.apply(sales.delta(), -sales.tickets(), -sales.cents())));
+        }
+    }
+
+    /**
+     * Moves a showtime's sales, summed per key before it changed movie or
+     * hall, over to its new ones once the change commits.
+     */
+    public void recordShowtimeMove(List<BookingRepository.SalesGroup> groups, Showtime moved) {
+        List<Sales> before = groups.stream().map(Sales::of).toList();
+        List<Sales> after = before.stream().map(sales -> sales.rekeyed(moved)).toList();
+        if (!before.isEmpty()) {
+            applyAfterCommit(current -> {
+                before.forEach(sales -> current.apply(sales.delta(), -sales.tickets(), -sales.cents()));
+                after.forEach(sales -> current.apply(sales.delta(), sales.tickets(), sales.cents()));
+            });
+        }
+    }
+
+    // ---------- Internals ----------
+
+    private void applyAfterCommit(Consumer<Counters> change) {
+        TransactionHooks.afterCommit(() -> {
+            swapLock.readLock().lock();
+            try {
+                change.accept(counters);
+                Queue<Consumer<Counters>> pending = replay;
+                if (pending != null) pending.add(change);
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        });
+    }
+
+    private static void loadSales(Counters rebuilt,
+                                  List<BookingRepository.SalesTotal> byMovie,
+                                  List<BookingRepository.SalesTotal> byShowtime,
+                                  List<BookingRepository.SalesTotal> byHall,
+                                  List<BookingRepository.SalesTotal> byDay,
+                                  List<BookingRepository.SalesTotal> byHour) {
+        for (BookingRepository.SalesTotal row : byMovie) {
+            rebuilt.load(rebuilt.movies, ((Number) row.getGroupKey()).longValue(), row, 0);
+        }
+        for (BookingRepository.SalesTotal row : byShowtime) {
+            int capacity = row.getCapacity() == null ? 0 : row.getCapacity();
+            rebuilt.load(rebuilt.showtimes, ((Number) row.getGroupKey()).longValue(), row, capacity);
+        }
+        for (BookingRepository.SalesTotal row : byHall) {
+            rebuilt.load(rebuilt.halls, ((Number) row.getGroupKey()).longValue(), row, 0);
+        }
+        for (BookingRepository.SalesTotal row : byDay) {
+            rebuilt.load(rebuilt.days, toLocalDate(row.getGroupKey()), row, 0);
+        }
+        for (BookingRepository.SalesTotal row : byHour) {
+            rebuilt.load(rebuilt.hours, ((Number) row.getGroupKey()).intValue(), row, 0);
+        }
+    }
+
+    private static <K> List<ReportRow> rows(Map<K, Tally> tallies, Comparator<ReportRow> order) {
+        List<ReportRow> rows = new ArrayList<>(tallies.size());
+        tallies.forEach((key, tally) -> rows.add(tally.toRow(String.valueOf(key))));
+        rows.sort(order);
+        return rows;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static final class Tally {
+        final LongAdder tickets = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+        volatile String label;
+        volatile int capacity;
+
+        void add(long ticketDelta, long centsDelta) {
+            if (ticketDelta != 0) tickets.add(ticketDelta);
+            if (centsDelta != 0) revenueCents.add(centsDelta);
+        }
+
+        ReportRow toRow(String key) {
+            long sold = tickets.sum();
+            Double occupancy = capacity > 0 ? (double) sold / capacity : null;
+            return new ReportRow(key, label, sold, fromCents(revenueCents.sum()), occupancy);
+        }
+    }
+
+    /**
+     * The grouping keys of one booking, captured while the entity graph is still loaded.
+     */
+    private record Delta(Long movieId, String movieTitle, Long showtimeId, int capacity,
+                         Long hallId, String hallName, LocalDate day, Integer hour) {
+
+        static Delta of(Booking booking) {
+            LocalDateTime bookedAt = booking.getBookingTime();
+            return of(booking.getShowtime(), bookedAt != null ? bookedAt.toLocalDate() : null,
+                    bookedAt != null ? bookedAt.getHour() : null);
+        }
+
+        static Delta of(Showtime showtime, LocalDate day, Integer hour) {
+            Movie movie = showtime != null ? showtime.getMovie() : null;
+            Hall hall = showtime != null ? showtime.getHall() : null;
+            return new Delta(
+                    movie != null ? movie.getId() : null,
+                    movie != null ? movie.getTitle() : null,
+                    showtime != null ? showtime.getId() : null,
+                    hall != null ? hall.getTotalSeats() : 0,
+                    hall != null ? hall.getId() : null,
+                    hall != null ? hall.getName() : null,
+                    day,
+                    hour);
+        }
+    }
+
+    /**
+     * Tickets and revenue of one {@link BookingRepository.SalesGroup}, with its keys.
+     */
+    private record Sales(Delta delta, long tickets, long cents) {
+
+        static Sales of(BookingRepository.SalesGroup group) {
+            Integer hour = group.getBookedAtHour() != null ? group.getBookedAtHour().intValue() : null;
+            Delta delta = new Delta(group.getMovieId(), null, group.getShowtimeId(), 0, group.getHallId(), null,
+                    toLocalDate(group.getBookedOn()), hour);
+            return new Sales(delta, group.getTickets(), toCents(group.getRevenue() == null ? 0 : group.getRevenue()));
+        }
+
+        Sales rekeyed(Showtime showtime) {
+            return new Sales(Delta.of(showtime, delta.day(), delta.hour()), tickets, cents);
+        }
+    }
+
+    private static final class Counters {
+        final Map<Long, Tally> movies = new ConcurrentHashMap<>();
+        final Map<Long, Tally> showtimes = new ConcurrentHashMap<>();
+        final Map<Long, Tally> halls = new ConcurrentHashMap<>();
+        final Map<LocalDate, Tally> days = new ConcurrentHashMap<>();
+        final Map<Integer, Tally> hours = new ConcurrentHashMap<>();
+        final Tally total = new Tally();
+        final LocalDateTime reconciledAt = LocalDateTime.now();
+
+        void apply(Delta delta, long ticketDelta, long centsDelta) {
+            total.add(ticketDelta, centsDelta);
+            if (delta.movieId() != null) tally(movies, delta.movieId(), delta.movieTitle(), 0).add(ticketDelta, centsDelta);
+            if (delta.showtimeId() != null) tally(showtimes, delta.showtimeId(), delta.movieTitle(), delta.capacity()).add(ticketDelta, centsDelta);
+            if (delta.hallId() != null) tally(halls, delta.hallId(), delta.hallName(), 0).add(ticketDelta, centsDelta);
+            if (delta.day() != null) tally(days, delta.day(), null, 0).add(ticketDelta, centsDelta);
+            if (delta.hour() != null) tally(hours, delta.hour(), null, 0).add(ticketDelta, centsDelta);
+        }
+
+        <K> void load(Map<K, Tally> target, K key, BookingRepository.SalesTotal row, int capacity) {
+            String label = row.getLabel() == null || row.getLabel().isEmpty() ? null : row.getLabel();
+            long revenue = toCents(row.getRevenue() == null ? 0 : row.getRevenue());
+            tally(target, key, label, capacity).add(row.getTickets(), revenue);
+        }
+
+        private static <K> Tally tally(Map<K, Tally> target, K key, String label, int capacity) {
+            Tally tally = target.computeIfAbsent(key, k -> new Tally());
+            if (label != null) tally.label = label;
+            if (capacity > 0) tally.capacity = capacity;
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,494 @@
+package com.example.cinema_backend.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Local append-only journal of the booked seats of each tracked showtime, so a
+ * restarted node gets its seat maps back without reading every booking.
+ *
+ * A showtime is tracked from the moment its bookings are first loaded from the
+ * database: that state is written as a snapshot file, and every later book,
+ * cancel or move is appended as a fixed-size record to memory-mapped segment
+ * files. Snapshots of changed showtimes are rewritten periodically, after which
+ * segments they fully cover are deleted. On startup the snapshots are loaded
+ * and only the records after each snapshot are replayed.
+ *
+ * The database stays the source of truth. Events are journaled after commit,
+ * and SeatMapService compares tracked showtimes with BookingRepository in the
+ * background, re-seeding any that have drifted.
+ */
+@Component
+public class SeatJournal {
+
+    static final byte BOOK = 1;
+    static final byte CANCEL = 2;
+    static final byte MOVE = 3;
+
+    // sequence(8) showtimeId(8) seatCode(4) fromSeatCode(4) type(1) padding(3) crc(4)
+    static final int RECORD_BYTES = 32;
+    private static final int CHECKED_BYTES = 28;
+    private static final int SNAPSHOT_MAGIC = 0x53454154;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private volatile boolean enabled;
+
+    private final Map<Long, ShowtimeState> states = new ConcurrentHashMap<>();
+
+    // Guards the segments, the sequence counter and the checksum
+    private final Object appendLock = new Object();
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+    private long lastSequence;
+
+    public SeatJournal(@Value("${seat-journal.enabled:true}") boolean enabled,
+                       @Value("${seat-journal.dir:data/seat-journal}") String directory,
+                       @Value("${seat-journal.segment-bytes:16777216}") int segmentBytes) {
+        if (segmentBytes < RECORD_BYTES)
+            throw new IllegalStateException("seat-journal.segment-bytes must hold at least one record");
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes - segmentBytes % RECORD_BYTES;
+    }
+
+    // ---------- Recovery ----------
+
+    /**
+     * Loads the snapshots and replays the journal tail on top of them.
+     */
+    @PostConstruct
+    public void recover() {
+        if (!enabled) return;
+        long start = System.currentTimeMillis();
+        int replayed = 0;
+        try {
+            Files.createDirectories(directory);
+            for (Path file : list("showtime-*.snap")) {
+                ShowtimeState state = readSnapshot(file);
+                if (state != null) states.put(state.showtimeId, state);
+            }
+
+            synchronized (appendLock) {
+                for (Path file : list("segment-*.journal")) {
+                    Segment segment = Segment.open(file);
+                    replayed += replay(segment);
+                    segments.add(segment);
+                }
+                // Segments covered by snapshots may all be gone; never reuse their numbers
+                for (ShowtimeState state : states.values()) {
+                    lastSequence = Math.max(lastSequence, state.sequence);
+                }
+            }
+        } catch (IOException e) {
+            disable(e);
+            return;
+        }
+        System.out.println("🪑 Seat journal recovered " + states.size() + " showtimes, replayed "
+                + replayed + " events in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private int replay(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int replayed = 0;
+        int position = 0;
+        while (position + RECORD_BYTES <= buffer.capacity()) {
+            long sequence = buffer.getLong(position);
+            byte type = buffer.get(position + 24);
+            // A zeroed, torn or out-of-order record marks the end of the written part
+            if (type == 0 || sequence <= lastSequence || checksum(buffer, position) != buffer.getInt(position + CHECKED_BYTES)) break;
+
+            ShowtimeState state = states.get(buffer.getLong(position + 8));
+            if (state != null && sequence > state.sequence) {
+                state.apply(type, buffer.getInt(position + 16), buffer.getInt(position + 20), sequence);
+                replayed++;
+            }
+            lastSequence = sequence;
+            segment.lastSequence = sequence;
+            position += RECORD_BYTES;
+        }
+        segment.position = position;
+        return replayed;
+    }
+
+    // ---------- Tracking ----------
+
+    /**
+     * @return the booked seat codes of a tracked showtime, or null if the
+     * journal does not track it and the database has to be read
+     */
+    public int[] bookedSeatCodes(Long showtimeId) {
+        ShowtimeState state = states.get(showtimeId);
+        return state == null ? null : state.toArray();
+    }
+
+    public List<Long> trackedShowtimes() {
+        return new ArrayList<>(states.keySet());
+    }
+
+    /**
+     * Starts (or restarts) tracking a showtime from its bookings as read from
+     * the database.
+     */
+    public void track(Long showtimeId, int[] bookedSeatCodes) {
+        if (!enabled) return;
+        ShowtimeState state = new ShowtimeState(showtimeId);
+        synchronized (appendLock) {
+            state.reset(bookedSeatCodes, lastSequence);
+            ShowtimeState previous = states.put(showtimeId, state);
+            if (previous != null) previous.drop();
+        }
+        writeSnapshot(state);
+    }
+
+    /**
+     * Stops tracking a showtime; its next seat map load reads the database.
+     */
+    public void forget(Long showtimeId) {
+        ShowtimeState state = states.remove(showtimeId);
+        if (state == null) return;
+        state.drop();
+        try {
+            Files.deleteIfExists(snapshotPath(showtimeId));
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not delete seat journal snapshot of showtime " + showtimeId + ": " + e.getMessage());
+        }
+    }
+
+    // ---------- Appending ----------
+
+    public void booked(Long showtimeId, int seatCode) {
+        append(BOOK, showtimeId, seatCode, 0);
+    }
+
+    public void cancelled(Long showtimeId, int seatCode) {
+        append(CANCEL, showtimeId, seatCode, 0);
+    }
+
+    public void moved(Long showtimeId, int fromSeatCode, int toSeatCode) {
+        append(MOVE, showtimeId, toSeatCode, fromSeatCode);
+    }
+
+    private void append(byte type, Long showtimeId, int seatCode, int fromSeatCode) {
+        // Untracked showtimes have no baseline to apply the event to
+        ShowtimeState state = states.get(showtimeId);
+        if (!enabled || state == null) return;
+
+        synchronized (appendLock) {
+            Segment segment;
+            try {
+                segment = activeSegment();
+            } catch (IOException e) {
+                disable(e);
+                return;
+            }
+            long sequence = ++lastSequence;
+            MappedByteBuffer buffer = segment.buffer;
+            int position = segment.position;
+            buffer.putLong(position, sequence);
+            buffer.putLong(position + 8, showtimeId);
+            buffer.putInt(position + 16, seatCode);
+            buffer.putInt(position + 20, fromSeatCode);
+            buffer.put(position + 24, type);
+            buffer.putInt(position + CHECKED_BYTES, checksum(buffer, position));
+            segment.position = position + RECORD_BYTES;
+            segment.lastSequence = sequence;
+
+            state.apply(type, seatCode, fromSeatCode, sequence);
+        }
+    }
+
+    private Segment activeSegment() throws IOException {
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active != null && active.position + RECORD_BYTES <= active.buffer.capacity()) return active;
+
+        if (active != null) active.buffer.force();
+        Segment next = Segment.create(directory.resolve(String.format("segment-%020d.journal", lastSequence + 1)), segmentBytes);
+        segments.add(next);
+        return next;
+    }
+
+    private int checksum(MappedByteBuffer buffer, int position) {
+        crc.reset();
+        crc.update(buffer.slice(position, CHECKED_BYTES));
+        return (int) crc.getValue();
+    }
+
+    // ---------- Snapshots and maintenance ----------
+
+    /**
+     * Forces written records to disk; the page cache already survives a
+     * process crash, this covers the machine going down.
+     */
+    @Scheduled(fixedDelayString = "${seat-journal.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) return;
+        synchronized (appendLock) {
+            if (!segments.isEmpty()) segments.get(segments.size() - 1).buffer.force();
+        }
+    }
+
+    /**
+     * Rewrites the snapshot of every showtime that changed, then deletes the
+     * segments whose records are all covered by snapshots. A showtime whose
+     * snapshot could not be written keeps the segments after its last one.
+     */
+    @Scheduled(fixedDelayString = "${seat-journal.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!enabled) return;
+        long covered;
+        synchronized (appendLock) {
+            covered = lastSequence;
+        }
+        for (ShowtimeState state : states.values()) {
+            if (state.isDirty() && !writeSnapshot(state)) covered = Math.min(covered, state.savedSequence());
+        }
+
+        synchronized (appendLock) {
+            Iterator<Segment> it = segments.iterator();
+            while (it.hasNext()) {
+                Segment segment = it.next();
+                boolean active = segment == segments.get(segments.size() - 1);
+                if (active || segment.lastSequence > covered) break;
+                segment.close();
+                it.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) return;
+        snapshot();
+        flush();
+    }
+
+    /**
+     * @return false if the snapshot could not be written; the showtime stays
+     * dirty and its previous snapshot, if any, stays in place
+     */
+    private boolean writeSnapshot(ShowtimeState state) {
+        long sequence;
+        int[] codes;
+        synchronized (state) {
+            if (state.dropped) return true;
+            sequence = state.sequence;
+            codes = state.toArray();
+            state.dirty = false;
+        }
+
+        Path target = snapshotPath(state.showtimeId);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), new CRC32());
+            try (DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(state.showtimeId);
+                out.writeLong(sequence);
+                out.writeInt(codes.length);
+                for (int code : codes) out.writeInt(code);
+                out.writeLong(checked.getChecksum().getValue());
+            }
+            synchronized (state) {
+                // A showtime forgotten while the file was written must not come back
+                if (state.dropped) {
+                    Files.deleteIfExists(temp);
+                } else {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    state.savedSequence = sequence;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            synchronized (state) {
+                state.dirty = true;
+            }
+            System.out.println("⚠️ Could not write seat journal snapshot of showtime " + state.showtimeId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private ShowtimeState readSnapshot(Path file) {
+        CheckedInputStream checked;
+        try {
+            checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)), new CRC32());
+        } catch (IOException e) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("bad magic");
+            ShowtimeState state = new ShowtimeState(in.readLong());
+            long sequence = in.readLong();
+            int[] codes = new int[in.readInt()];
+            for (int i = 0; i < codes.length; i++) codes[i] = in.readInt();
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) throw new IOException("checksum mismatch");
+            state.reset(codes, sequence);
+            state.dirty = false;
+            return state;
+        } catch (IOException e) {
+            // The showtime is simply reloaded from the database
+            System.out.println("⚠️ Ignoring unreadable seat journal snapshot " + file.getFileName() + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    private Path snapshotPath(Long showtimeId) {
+        return directory.resolve("showtime-" + showtimeId + ".snap");
+    }
+
+    private List<Path> list(String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            stream.forEach(files::add);
+        }
+        // Segment names are zero-padded first sequence numbers, so this is replay order
+        files.sort(null);
+        return files;
+    }
+
+    private void disable(IOException e) {
+        enabled = false;
+        states.clear();
+        System.out.println("⚠️ Seat journal disabled, seat maps will load from the database: " + e.getMessage());
+    }
+
+    /**
+     * One memory-mapped journal file.
+     */
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int position;
+        long lastSequence;
+
+        private Segment(Path path, FileChannel channel, int size) throws IOException {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        static Segment create(Path path, int size) throws IOException {
+            return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE), size);
+        }
+
+        static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            return new Segment(path, channel, (int) (size - size % RECORD_BYTES));
+        }
+
+        void close() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not delete seat journal segment " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Booked seat codes of one showtime as a sorted primitive array.
+     */
+    static final class ShowtimeState {
+        final long showtimeId;
+        private int[] codes = new int[16];
+        private int size;
+        private long sequence;
+        // Sequence of the snapshot on disk; replay needs every record after it
+        private long savedSequence;
+        private boolean dirty;
+        private boolean dropped;
+
+        ShowtimeState(long showtimeId) {
+            this.showtimeId = showtimeId;
+        }
+
+        synchronized void apply(byte type, int seatCode, int fromSeatCode, long sequence) {
+            switch (type) {
+                case BOOK -> add(seatCode);
+                case CANCEL -> remove(seatCode);
+                case MOVE -> {
+                    remove(fromSeatCode);
+                    add(seatCode);
+                }
+                default -> {
+                }
+            }
+            this.sequence = sequence;
+            dirty = true;
+        }
+
+        synchronized void reset(int[] bookedSeatCodes, long sequence) {
+            size = 0;
+            for (int code : bookedSeatCodes) add(code);
+            this.sequence = sequence;
+            savedSequence = sequence;
+            dirty = true;
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(codes, size);
+        }
+
+        synchronized boolean isDirty() {
+            return dirty;
+        }
+
+        synchronized long savedSequence() {
+            return savedSequence;
+        }
+
+        synchronized void drop() {
+            dropped = true;
+        }
+
+        private void add(int code) {
+            int i = Arrays.binarySearch(codes, 0, size, code);
+            if (i >= 0) return;
+            i = -i - 1;
+            if (size == codes.length) codes = Arrays.copyOf(codes, size * 2);
+            System.arraycopy(codes, i, codes, i + 1, size - i);
+            codes[i] = code;
+            size++;
+        }
+
+        private void remove(int code) {
+            int i = Arrays.binarySearch(codes, 0, size, code);
+            if (i < 0) return;
+            System.arraycopy(codes, i + 1, codes, i, size - i - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.SeatRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps a {@link ShowtimeSeatMap} per showtime, built on first use from the
+ * hall's seats and the showtime's bookings, and kept in step by BookingService.
+ * Anything that changes a hall's layout or a showtime's hall evicts the map so
+ * it is rebuilt from the database.
+ *
+ * Booked seats are also recorded in the {@link SeatJournal}, so after a restart
+ * maps are rebuilt from the journal instead of each showtime's bookings. A
+ * background check compares the journal with the database.
+ */
+@Service
+public class SeatMapService {
+
+    private static final int MAX_BLOCK_SIZE = 20;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SeatJournal seatJournal;
+
+    private final Map<Long, ShowtimeSeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public List<ShowtimeSeatMap.SeatStatus> getSeatStatuses(Long showtimeId) {
+        return getSeatMap(showtimeId).getSeatStatuses();
+    }
+
+    public List<String> findBestBlock(Long showtimeId, int count) {
+        validateCount(count);
+        ShowtimeSeatMap.Block block = getSeatMap(showtimeId).findBestBlock(count);
+        if (block == null)
+            throw new RuntimeException("No block of " + count + " adjacent seats available");
+        return block.seatNumbers();
+    }
+
+    /**
+     * Marks the best block as taken in memory so no concurrent caller is offered
+     * it. The caller must book it or call {@link #invalidate(Long)} on failure.
+     */
+    public int[] holdBestBlock(Long showtimeId, int count) {
+        validateCount(count);
+        ShowtimeSeatMap.Block block = getSeatMap(showtimeId).reserveBestBlock(count);
+        if (block == null)
+            throw new RuntimeException("No block of " + count + " adjacent seats available");
+        return block.seatCodes();
+    }
+
+    public void onSeatBooked(Long showtimeId, int seatCode) {
+        seatJournal.booked(showtimeId, seatCode);
+        ShowtimeSeatMap seatMap = seatMaps.get(showtimeId);
+        if (seatMap != null) seatMap.markTaken(seatCode);
+    }
+
+    public void onSeatReleased(Long showtimeId, int seatCode) {
+        seatJournal.cancelled(showtimeId, seatCode);
+        ShowtimeSeatMap seatMap = seatMaps.get(showtimeId);
+        if (seatMap != null) seatMap.markFree(seatCode);
+    }
+
+    public void onSeatMoved(Long showtimeId, int fromSeatCode, int toSeatCode) {
+        seatJournal.moved(showtimeId, fromSeatCode, toSeatCode);
+        ShowtimeSeatMap seatMap = seatMaps.get(showtimeId);
+        if (seatMap != null) {
+            seatMap.markFree(fromSeatCode);
+            seatMap.markTaken(toSeatCode);
+        }
+    }
+
+    /**
+     * Drops the map but keeps the journaled bookings, for layout changes.
+     */
+    public void evict(Long showtimeId) {
+        seatMaps.remove(showtimeId);
+    }
+
+    /**
+     * Drops the map and the journaled bookings, so both are reloaded from the
+     * database; for deleted showtimes and bookings that failed against the map.
+     */
+    public void invalidate(Long showtimeId) {
+        seatMaps.remove(showtimeId);
+        seatJournal.forget(showtimeId);
+    }
+
+    public void evictHall(Long hallId) {
+        seatMaps.values().removeIf(seatMap -> hallId.equals(seatMap.getHallId()));
+    }
+
+    public void evictAll() {
+        seatMaps.clear();
+    }
+
+    /**
+     * Drops the maps and journaled bookings of showtimes this node no longer
+     * owns; another node books them now, so both would go stale.
+     */
+    public void retainShowtimes(Predicate<Long> owned) {
+        for (Long showtimeId : seatJournal.trackedShowtimes()) {
+            if (!owned.test(showtimeId)) invalidate(showtimeId);
+        }
+        seatMaps.keySet().removeIf(showtimeId -> !owned.test(showtimeId));
+    }
+
+    @Scheduled(fixedDelay = 15 * 60 * 1000)
+    public void evictPastShowtimes() {
+        LocalDateTime now = LocalDateTime.now();
+        seatMaps.entrySet().removeIf(entry -> {
+            LocalDateTime startTime = entry.getValue().getStartTime();
+            if (startTime == null || !startTime.isBefore(now)) return false;
+            seatJournal.forget(entry.getKey());
+            return true;
+        });
+    }
+
+    /**
+     * Compares the journaled bookings of every tracked showtime with the
+     * database. Showtimes that drifted are re-seeded from the database, and
+     * deleted or past showtimes stop being tracked.
+     */
+    @Scheduled(initialDelayString = "${seat-journal.verify-interval-ms:300000}", fixedDelayString = "${seat-journal.verify-interval-ms:300000}")
+    public void verifyJournal() {
+        LocalDateTime now = LocalDateTime.now();
+        int repaired = 0;
+        List<Long> tracked = seatJournal.trackedShowtimes();
+        if (tracked.isEmpty()) return;
+        for (Long showtimeId : tracked) {
+            // On the primary: a lagging replica would report false mismatches
+            int[] booked = transactionTemplate.execute(status -> {
+                Showtime showtime = showtimeRepository.findById(showtimeId).orElse(null);
+                if (showtime == null || (showtime.getStartTime() != null && showtime.getStartTime().isBefore(now))) return null;
+                return bookedSeatCodesFromDatabase(showtimeId);
+            });
+            if (booked == null) {
+                invalidate(showtimeId);
+                continue;
+            }
+
+            int[] journaled = seatJournal.bookedSeatCodes(showtimeId);
+            Arrays.sort(booked);
+            if (journaled != null && !Arrays.equals(booked, journaled)) {
+                System.out.println("⚠️ Seat journal of showtime " + showtimeId + " differed from the database, re-seeding");
+                seatJournal.track(showtimeId, booked);
+                evict(showtimeId);
+                repaired++;
+            }
+        }
+        System.out.println("🪑 Seat journal verified " + tracked.size() + " showtimes, repaired " + repaired);
+    }
+
+    private ShowtimeSeatMap getSeatMap(Long showtimeId) {
+        ShowtimeSeatMap seatMap = seatMaps.get(showtimeId);
+        if (seatMap != null) return seatMap;
+        return seatMaps.computeIfAbsent(showtimeId, this::load);
+    }
+
+    /**
+     * Reads the showtime, its hall's seats and its bookings (unless journaled) on
+     * one primary connection; a lagging replica could hand out seats that are
+     * already sold.
+     */
+    private ShowtimeSeatMap load(Long showtimeId) {
+        return transactionTemplate.execute(status -> {
+            Showtime showtime = showtimeRepository.findById(showtimeId)
+                    .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + showtimeId));
+            if (showtime.getHall() == null)
+                throw new RuntimeException("Showtime " + showtimeId + " has no hall");
+
+            int[] booked = seatJournal.bookedSeatCodes(showtimeId);
+            if (booked == null) {
+                booked = bookedSeatCodesFromDatabase(showtimeId);
+                seatJournal.track(showtimeId, booked);
+            }
+            return new ShowtimeSeatMap(showtime.getHall().getId(), showtime.getStartTime(),
+                    seatRepository.findByHallId(showtime.getHall().getId()), booked);
+        });
+    }
+
+    private int[] bookedSeatCodesFromDatabase(Long showtimeId) {
+        return bookingRepository.findSeatCodesByShowtimeId(showtimeId).stream()
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void validateCount(int count) {
+        if (count < 1 || count > MAX_BLOCK_SIZE)
+            throw new RuntimeException("Seat count must be between 1 and " + MAX_BLOCK_SIZE);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.cinema_backend.entities.Seat;
 import com.example.cinema_backend.repositories.SeatRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,14 +14,42 @@ public class SeatService {
     @Autowired
     private SeatRepository seatRepository;
 
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Transactional(readOnly = true)
     public List<Seat> getAvailableSeats(Long hallId) {
         return seatRepository.findByIsAvailableTrueAndHallId(hallId);
     }
 
+    @Transactional
     public Seat updateSeatAvailability(Long seatId, boolean available) {
         Seat seat = seatRepository.findById(seatId)
                 .orElseThrow(() -> new RuntimeException("Seat not found"));
         seat.setAvailable(available);
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        // Taking a seat in or out of service changes every showtime in the hall
+        if (seat.getHall() != null) {
+            Long hallId = seat.getHall().getId();
+            TransactionHooks.afterCommit(() -> seatMapService.evictHall(hallId));
+        }
+        return savedSeat;
+    }
+
+    @Transactional
+    public Seat updateSeatCategory(Long seatId, Seat.Category category) {
+        Seat seat = seatRepository.findById(seatId)
+                .orElseThrow(() -> new RuntimeException("Seat not found"));
+        seat.setCategory(category);
+        Seat savedSeat = seatRepository.save(seat);
+        // Reprice every showtime in the hall
+        if (seat.getHall() != null) {
+            Long hallId = seat.getHall().getId();
+            TransactionHooks.afterCommit(() -> pricingService.evictHall(hallId));
+        }
+        return savedSeat;
     }
 }
@@ -0,0 +1,573 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.configs.ShowtimeRoutingFilter;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.ShowtimeJob;
+import com.example.cinema_backend.entities.ShowtimeJobItem;
+import com.example.cinema_backend.entities.ShowtimeJobOutcome;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.HallRepository;
+import com.example.cinema_backend.repositories.SeatRepository;
+import com.example.cinema_backend.repositories.ShowtimeJobItemRepository;
+import com.example.cinema_backend.repositories.ShowtimeJobOutcomeRepository;
+import com.example.cinema_backend.repositories.ShowtimeJobRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cancels or reschedules many showtimes at once, in the background.
+ *
+ * A submitted job is stored with one item per showtime and picked up by a
+ * worker thread. Each showtime is handled in short transactions: one that
+ * closes sales (and, for a reschedule, moves the showtime), one per chunk of
+ * showtime-jobs.chunk-size bookings, and a last one that reopens sales or, for
+ * a cancellation, deletes the showtime. Every chunk writes an outcome row per
+ * booking and moves the item's checkpoint in the same transaction, so a job
+ * stopped by a failure or a crash picks up after the last committed chunk.
+ *
+ * On a reschedule a booking keeps its seat if the new hall has it, is moved to
+ * the nearest free seat otherwise, and is cancelled when the hall is full.
+ *
+ * The worker holds a lease on the job, renewed every chunk; a job whose lease
+ * ran out is taken over by the next poll, on this node or another.
+ */
+@Service
+public class ShowtimeJobService {
+
+    public record JobRequest(ShowtimeJob.Type type, List<Long> showtimeIds, Long hallId, LocalDateTime from,
+                             LocalDateTime to, Long targetHallId, Integer shiftMinutes) {
+    }
+
+    private static final List<ShowtimeJob.Status> CLAIMABLE = List.of(ShowtimeJob.Status.PENDING, ShowtimeJob.Status.RUNNING);
+
+    private static final int MAX_OUTCOMES_PAGE = 1000;
+
+    @Autowired
+    private ShowtimeJobRepository jobRepository;
+
+    @Autowired
+    private ShowtimeJobItemRepository itemRepository;
+
+    @Autowired
+    private ShowtimeJobOutcomeRepository outcomeRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private HallRepository hallRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private TicketScanService ticketScanService;
+
+    @Autowired
+    private TicketRenderService ticketRenderService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private MoviePageService moviePageService;
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Only in cluster mode
+    @Autowired
+    private ObjectProvider<ShowtimeRoutingFilter> routingFilter;
+
+    @Value("${showtime-jobs.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${showtime-jobs.lease-ms:120000}")
+    private long leaseMillis;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "showtime-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean working = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    // The lease a worker holds on a job; every renewal is checked against it
+    private static final class Lease {
+        final Long jobId;
+        LocalDateTime until;
+
+        Lease(Long jobId, LocalDateTime until) {
+            this.jobId = jobId;
+            this.until = until;
+        }
+    }
+
+    // What one chunk did, added to the job's counters
+    private record Tally(int kept, int reseated, int cancelled) {
+    }
+
+    /**
+     * Stores a job for the showtimes given by id, or for those of a hall
+     * starting in [from, to) (from now on by default), and starts the worker
+     * once it commits.
+     */
+    @Transactional
+    public ShowtimeJob submit(JobRequest request) {
+        if (request.type() == null) {
+            throw new RuntimeException("Job type is required (CANCEL or RESCHEDULE)");
+        }
+        int shiftMinutes = request.shiftMinutes() != null ? request.shiftMinutes() : 0;
+        if (request.type() == ShowtimeJob.Type.RESCHEDULE) {
+            if (request.targetHallId() == null && shiftMinutes == 0) {
+                throw new RuntimeException("A reschedule needs a target hall or a time shift");
+            }
+            if (request.targetHallId() != null && !hallRepository.existsById(request.targetHallId())) {
+                throw new RuntimeException("Hall not found with id: " + request.targetHallId());
+            }
+        }
+        List<Long> showtimeIds = selectShowtimes(request);
+        if (showtimeIds.isEmpty()) {
+            throw new RuntimeException("No showtimes selected");
+        }
+
+        LocalDateTime now = now();
+        boolean reschedule = request.type() == ShowtimeJob.Type.RESCHEDULE;
+        ShowtimeJob job = jobRepository.save(ShowtimeJob.builder()
+                .type(request.type())
+                .targetHallId(reschedule ? request.targetHallId() : null)
+                .shiftMinutes(reschedule ? shiftMinutes : 0)
+                .totalShowtimes(showtimeIds.size())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        itemRepository.saveAll(showtimeIds.stream()
+                .map(showtimeId -> ShowtimeJobItem.builder().jobId(job.getId()).showtimeId(showtimeId).build())
+                .toList());
+        TransactionHooks.afterCommit(this::wakeUp);
+        System.out.println("🗓️ Showtime job " + job.getId() + " queued: " + job.getType() + " of " + showtimeIds.size() + " showtimes");
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public ShowtimeJob getJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Showtime job not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShowtimeJobItem> getItems(Long id) {
+        getJob(id);
+        return itemRepository.findByJobIdOrderById(id);
+    }
+
+    /**
+     * Per-booking outcomes in the order they were produced, a page of at most
+     * limit after the outcome with id afterId.
+     */
+    @Transactional(readOnly = true)
+    public List<ShowtimeJobOutcome> getOutcomes(Long id, long afterId, int limit) {
+        getJob(id);
+        return outcomeRepository.findByJobIdAndIdGreaterThanOrderById(id, afterId,
+                Limit.of(Math.max(1, Math.min(limit, MAX_OUTCOMES_PAGE))));
+    }
+
+    /**
+     * Queues a failed job again; it continues from the checkpoints of its
+     * showtimes.
+     */
+    @Transactional
+    public ShowtimeJob resume(Long id) {
+        ShowtimeJob job = getJob(id);
+        if (job.getStatus() != ShowtimeJob.Status.FAILED) {
+            throw new RuntimeException("Only a failed job can be resumed; job " + id + " is " + job.getStatus());
+        }
+        job.setStatus(ShowtimeJob.Status.PENDING);
+        job.setLastError(null);
+        job.setLeaseUntil(null);
+        job.setUpdatedAt(now());
+        TransactionHooks.afterCommit(this::wakeUp);
+        System.out.println("🗓️ Showtime job " + id + " resumed");
+        return jobRepository.save(job);
+    }
+
+    /**
+     * Starts the worker unless it is busy. Also runs every
+     * showtime-jobs.poll-interval-ms, which picks up jobs left behind by a
+     * restart or by a node whose lease ran out.
+     */
+    @Scheduled(fixedDelayString = "${showtime-jobs.poll-interval-ms:30000}")
+    public void wakeUp() {
+        wakeRequested.set(true);
+        if (!working.compareAndSet(false, true)) return;
+        try {
+            worker.execute(this::work);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            working.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // ---------- Worker ----------
+
+    private void work() {
+        try {
+            while (wakeRequested.getAndSet(false)) {
+                for (Lease lease = claimNext(); lease != null; lease = claimNext()) {
+                    run(lease);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Showtime job worker stopped: " + e.getMessage());
+        } finally {
+            working.set(false);
+        }
+        // A wake-up that came in while the worker was finishing
+        if (wakeRequested.get() && !worker.isShutdown()) wakeUp();
+    }
+
+    private Lease claimNext() {
+        LocalDateTime now = now();
+        for (Long jobId : jobRepository.findClaimable(CLAIMABLE, now, Limit.of(10))) {
+            LocalDateTime until = now.plus(leaseMillis, ChronoUnit.MILLIS);
+            Integer claimed = transactionTemplate.execute(status ->
+                    jobRepository.claim(jobId, CLAIMABLE, ShowtimeJob.Status.RUNNING, now, until));
+            if (claimed != null && claimed == 1) return new Lease(jobId, until);
+        }
+        return null;
+    }
+
+    private void run(Lease lease) {
+        long start = System.currentTimeMillis();
+        ShowtimeJob job = jobRepository.findById(lease.jobId).orElseThrow();
+        System.out.println("🗓️ Showtime job " + job.getId() + " (" + job.getType() + ") running");
+        try {
+            for (ShowtimeJobItem item : itemRepository.findByJobIdAndStatusNotOrderById(job.getId(), ShowtimeJobItem.Status.DONE)) {
+                if (job.getType() == ShowtimeJob.Type.CANCEL) {
+                    cancel(job, item, lease);
+                } else {
+                    reschedule(job, item, lease);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.finish(job.getId(), ShowtimeJob.Status.COMPLETED, null, lease.until, now()));
+            ShowtimeJob done = jobRepository.findById(job.getId()).orElse(job);
+            System.out.println("✅ Showtime job " + job.getId() + " finished in " + (System.currentTimeMillis() - start) + " ms: "
+                    + done.getDoneShowtimes() + " showtimes, " + done.getKept() + " kept, " + done.getReseated() + " reseated, "
+                    + done.getCancelled() + " cancelled");
+        } catch (RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            String error = message.length() > 500 ? message.substring(0, 500) : message;
+            // Does nothing if another worker has taken the job over
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.finish(job.getId(), ShowtimeJob.Status.FAILED, error, lease.until, now()));
+            System.out.println("❌ Showtime job " + job.getId() + " failed, resume to continue: " + message);
+        }
+    }
+
+    // ---------- Cancel ----------
+
+    private void cancel(ShowtimeJob job, ShowtimeJobItem item, Lease lease) {
+        Long showtimeId = item.getShowtimeId();
+        if (item.getStatus() == ShowtimeJobItem.Status.PENDING && !start(job, item, lease)) return;
+
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<Booking> bookings = nextChunk(item);
+            if (bookings.isEmpty()) return false;
+            List<Long> ids = bookings.stream().map(Booking::getId).toList();
+            // Not archived: cancelled bookings are neither history nor revenue
+            bookingRepository.deleteByIdIn(ids);
+            List<ShowtimeJobOutcome> outcomes = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                reportingService.recordCancellation(booking);
+                outboxService.publish(OutboxService.BOOKING_CANCELLED, showtimeId, bookingPayload(booking));
+                outcomes.add(outcome(job, booking, ShowtimeJobOutcome.Outcome.CANCELLED, null));
+            }
+            outcomeRepository.saveAll(outcomes);
+            TransactionHooks.afterCommit(() -> ids.forEach(id -> ticketScanService.onCancelled(showtimeId, id)));
+            checkpoint(item, bookings, lease, new Tally(0, 0, bookings.size()));
+            return true;
+        })));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Also takes any booking made before sales were closed
+            showtimeService.deleteShowtimes(List.of(showtimeId));
+            done(item, lease);
+        });
+    }
+
+    // ---------- Reschedule ----------
+
+    private void reschedule(ShowtimeJob job, ShowtimeJobItem item, Lease lease) {
+        Long showtimeId = item.getShowtimeId();
+        if (item.getStatus() == ShowtimeJobItem.Status.PENDING && !start(job, item, lease)) return;
+
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<Booking> bookings = nextChunk(item);
+            if (bookings.isEmpty()) return false;
+            Showtime showtime = bookings.get(0).getShowtime();
+            List<Seat> seats = showtime.getHall() != null ? seatRepository.findByHallId(showtime.getHall().getId()).stream()
+                    .filter(seat -> seat.isAvailable() && seat.getSeatCode() != null && seat.getSeatCode() != SeatCode.INVALID)
+                    .sorted(Comparator.comparing(Seat::getSeatCode))
+                    .toList() : List.of();
+            Set<Integer> layout = new HashSet<>();
+            seats.forEach(seat -> layout.add(seat.getSeatCode()));
+            // Every booking of the showtime, including the chunks still to come
+            Set<Integer> taken = new HashSet<>(bookingRepository.findSeatCodesByShowtimeId(showtimeId));
+
+            int kept = 0;
+            List<ShowtimeJobOutcome> outcomes = new ArrayList<>(bookings.size());
+            List<Booking> cancelled = new ArrayList<>();
+            List<TicketRenderService.TicketDetails> tickets = new ArrayList<>();
+            Map<Long, String> moved = new LinkedHashMap<>();
+            for (Booking booking : bookings) {
+                Integer seatCode = booking.getSeatCode();
+                if (seatCode != null && layout.contains(seatCode)) {
+                    kept++;
+                    outcomes.add(outcome(job, booking, ShowtimeJobOutcome.Outcome.KEPT, booking.getSeatNumber()));
+                } else {
+                    Seat seat = nearestFreeSeat(seats, taken, seatCode);
+                    if (seat == null) {
+                        cancelled.add(booking);
+                        outcomes.add(outcome(job, booking, ShowtimeJobOutcome.Outcome.CANCELLED, null));
+                        continue;
+                    }
+                    outcomes.add(outcome(job, booking, ShowtimeJobOutcome.Outcome.RESEATED, seat.getSeatNumber()));
+                    if (seatCode != null) taken.remove(seatCode);
+                    taken.add(seat.getSeatCode());
+                    booking.setSeatNumber(seat.getSeatNumber());
+                    booking.setSeatCode(seat.getSeatCode());
+                    moved.put(booking.getId(), seat.getSeatNumber());
+                    outboxService.publish(OutboxService.BOOKING_UPDATED, showtimeId, bookingPayload(booking));
+                }
+                // Hall, time or seat on the ticket changed, so it is rendered again
+                booking.setTicketCode(ticketScanService.ticketCodeFor(booking));
+                if (booking.getTicketCode() != null) tickets.add(ticketDetails(booking));
+            }
+
+            if (!cancelled.isEmpty()) {
+                bookingRepository.deleteByIdIn(cancelled.stream().map(Booking::getId).toList());
+                for (Booking booking : cancelled) {
+                    reportingService.recordCancellation(booking);
+                    outboxService.publish(OutboxService.BOOKING_CANCELLED, showtimeId, bookingPayload(booking));
+                }
+            }
+            outcomeRepository.saveAll(outcomes);
+            List<Long> cancelledIds = cancelled.stream().map(Booking::getId).toList();
+            TransactionHooks.afterCommit(() -> {
+                moved.forEach((id, seatNumber) -> ticketScanService.onSeatMoved(showtimeId, id, seatNumber));
+                cancelledIds.forEach(id -> ticketScanService.onCancelled(showtimeId, id));
+                tickets.forEach(ticketRenderService::submit);
+                reloadSeats(showtimeId);
+            });
+            checkpoint(item, bookings, lease, new Tally(kept, moved.size(), cancelled.size()));
+            return true;
+        })));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Reopens sales with the new hall's capacity
+            showtimeRepository.recountAvailableSeats(showtimeId);
+            Long movieId = showtimeRepository.findById(showtimeId)
+                    .map(showtime -> showtime.getMovie() != null ? showtime.getMovie().getId() : null).orElse(null);
+            TransactionHooks.afterCommit(() -> {
+                reloadSeats(showtimeId);
+                moviePageService.evict(movieId);
+                responseCache.evict(JsonResponseCache.SHOWTIMES);
+            });
+            done(item, lease);
+        });
+    }
+
+    /**
+     * Drops the showtime's seat map and journaled seats, here and on the other
+     * members, so whichever node owns it rebuilds both from the database rather
+     * than patching them seat by seat.
+     */
+    private void reloadSeats(Long showtimeId) {
+        seatMapService.invalidate(showtimeId);
+        ShowtimeRoutingFilter filter = routingFilter.getIfAvailable();
+        if (filter != null) filter.broadcastShowtimeEviction(showtimeId);
+    }
+
+    /**
+     * Closes sales and, for a reschedule, moves the showtime. Returns false,
+     * with the item done, when the showtime no longer exists.
+     */
+    private boolean start(ShowtimeJob job, ShowtimeJobItem item, Lease lease) {
+        Long showtimeId = item.getShowtimeId();
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Showtime showtime = showtimeRepository.findById(showtimeId).orElse(null);
+            if (showtime == null) {
+                done(item, lease);
+                return false;
+            }
+            if (job.getType() == ShowtimeJob.Type.RESCHEDULE) {
+                Showtime changes = Showtime.builder()
+                        .startTime(job.getShiftMinutes() != 0 && showtime.getStartTime() != null
+                                ? showtime.getStartTime().plusMinutes(job.getShiftMinutes()) : null)
+                        .hall(job.getTargetHallId() != null ? Hall.builder().id(job.getTargetHallId()).build() : null)
+                        .build();
+                showtimeService.moveShowtime(showtimeId, changes);
+            }
+            showtimeRepository.closeSales(showtimeId);
+            item.setStatus(ShowtimeJobItem.Status.STARTED);
+            itemRepository.save(item);
+            renewLease(lease, new Tally(0, 0, 0), 0);
+            return true;
+        }));
+    }
+
+    // Sales are closed again first: a cancellation since the last chunk gives a seat back
+    private List<Booking> nextChunk(ShowtimeJobItem item) {
+        showtimeRepository.closeSales(item.getShowtimeId());
+        return bookingRepository.findByShowtimeIdAfter(item.getShowtimeId(), item.getLastBookingId(), Limit.of(chunkSize));
+    }
+
+    private void checkpoint(ShowtimeJobItem item, List<Booking> bookings, Lease lease, Tally tally) {
+        item.setLastBookingId(bookings.get(bookings.size() - 1).getId());
+        itemRepository.save(item);
+        renewLease(lease, tally, 0);
+    }
+
+    private void done(ShowtimeJobItem item, Lease lease) {
+        item.setStatus(ShowtimeJobItem.Status.DONE);
+        itemRepository.save(item);
+        renewLease(lease, new Tally(0, 0, 0), 1);
+    }
+
+    // Rolls the surrounding transaction back if another worker has taken the job over
+    private void renewLease(Lease lease, Tally tally, int done) {
+        LocalDateTime now = now();
+        LocalDateTime renewed = now.plus(leaseMillis, ChronoUnit.MILLIS);
+        if (jobRepository.recordProgress(lease.jobId, tally.kept(), tally.reseated(), tally.cancelled(), done,
+                lease.until, renewed, now) == 0) {
+            throw new RuntimeException("Lost the lease on showtime job " + lease.jobId);
+        }
+        LocalDateTime held = lease.until;
+        lease.until = renewed;
+        TransactionHooks.afterRollback(() -> lease.until = held);
+    }
+
+    /**
+     * The free seat closest to the booking's old position, counting rows and
+     * columns apart; the front left seat first for a booking without one.
+     */
+    private static Seat nearestFreeSeat(List<Seat> seats, Set<Integer> taken, Integer seatCode) {
+        boolean positioned = seatCode != null && seatCode != SeatCode.INVALID;
+        Seat best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Seat seat : seats) {
+            if (taken.contains(seat.getSeatCode())) continue;
+            int distance = positioned
+                    ? Math.abs(SeatCode.row(seat.getSeatCode()) - SeatCode.row(seatCode))
+                    + Math.abs(SeatCode.column(seat.getSeatCode()) - SeatCode.column(seatCode))
+                    : 0;
+            if (distance < bestDistance) {
+                best = seat;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    // ---------- Helpers ----------
+
+    private List<Long> selectShowtimes(JobRequest request) {
+        if (request.showtimeIds() != null && !request.showtimeIds().isEmpty()) {
+            List<Long> ids = request.showtimeIds().stream().distinct().toList();
+            Set<Long> existing = new HashSet<>(showtimeRepository.findExistingIds(ids));
+            for (Long id : ids) {
+                if (!existing.contains(id)) throw new RuntimeException("Showtime not found with id: " + id);
+            }
+            return ids;
+        }
+        if (request.hallId() != null) {
+            LocalDateTime from = request.from() != null ? request.from() : LocalDateTime.now();
+            LocalDateTime to = request.to() != null ? request.to() : from.plusYears(100);
+            return showtimeRepository.findIdsByHallIdAndStartTimeBetween(request.hallId(), from, to);
+        }
+        throw new RuntimeException("Select showtimes by showtimeIds, or by hallId with an optional from/to window");
+    }
+
+    private static ShowtimeJobOutcome outcome(ShowtimeJob job, Booking booking, ShowtimeJobOutcome.Outcome outcome, String newSeat) {
+        return ShowtimeJobOutcome.builder()
+                .jobId(job.getId())
+                .showtimeId(booking.getShowtime().getId())
+                .bookingId(booking.getId())
+                .userId(booking.getUser() != null ? booking.getUser().getId() : null)
+                .outcome(outcome)
+                .oldSeat(booking.getSeatNumber())
+                .newSeat(newSeat)
+                .price(booking.getPrice())
+                .build();
+    }
+
+    private static TicketRenderService.TicketDetails ticketDetails(Booking booking) {
+        Showtime showtime = booking.getShowtime();
+        return new TicketRenderService.TicketDetails(booking.getId(),
+                showtime.getMovie() != null ? showtime.getMovie().getTitle() : "",
+                showtime.getHall() != null ? showtime.getHall().getName() : "",
+                showtime.getStartTime(), booking.getSeatNumber(), booking.getPrice(), booking.getTicketCode());
+    }
+
+    private static Map<String, Object> bookingPayload(Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("userId", booking.getUser() != null ? booking.getUser().getId() : null);
+        payload.put("seatNumber", booking.getSeatNumber());
+        payload.put("price", booking.getPrice());
+        return payload;
+    }
+
+    // Matches what DATETIME(6) keeps, so the lease compares equal once read back
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory seat occupancy of one showtime, used to answer best-available
+ * queries without touching the database.
+ *
+ * Seats are laid out by the row and column of their {@link SeatCode}, and every
+ * lookup is keyed by that code, so marking a seat allocates nothing. Each row
+ * keeps a segment tree over its columns that tracks the longest run of free
+ * seats, so rows that cannot fit a block are skipped in O(1) and marking a
+ * seat costs O(log columns). Searches take a read lock
+ * and run concurrently; reservations take the write lock.
+ */
+public class ShowtimeSeatMap {
+
+    public record Block(int row, int startColumn, int[] seatCodes, List<String> seatNumbers) {
+    }
+
+    public record SeatStatus(Long id, String seatNumber, boolean available) {
+    }
+
+    private final Long hallId;
+    private final LocalDateTime startTime;
+    private final String[][] labels;
+    private final Long[][] seatIds;
+    private final int[][] codes;
+    private final RowTree[] rows;
+    private final int[] rowsByDistance;
+    // Row part of a seat code -> index into rows, or -1 if the hall has no such row
+    private final int[] rowIndexByCodeRow;
+    private final int seatCount;
+    private final double rowCentre;
+    private final double columnCentre;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param seats all seats of the hall; seats that are out of service count as taken
+     * @param bookedSeatCodes codes of the seats already booked for this showtime
+     */
+    public ShowtimeSeatMap(Long hallId, LocalDateTime startTime, Collection<Seat> seats, int[] bookedSeatCodes) {
+        this.hallId = hallId;
+        this.startTime = startTime;
+
+        int maxRow = -1;
+        int width = 0;
+        for (Seat seat : seats) {
+            int code = codeOf(seat);
+            if (code == SeatCode.INVALID) continue;
+            maxRow = Math.max(maxRow, SeatCode.row(code));
+            width = Math.max(width, SeatCode.column(code));
+        }
+
+        // Compact the rows that exist, in row order
+        rowIndexByCodeRow = new int[maxRow + 1];
+        Arrays.fill(rowIndexByCodeRow, -1);
+        for (Seat seat : seats) {
+            int code = codeOf(seat);
+            if (code != SeatCode.INVALID) rowIndexByCodeRow[SeatCode.row(code)] = 0;
+        }
+        int rowCount = 0;
+        for (int r = 0; r <= maxRow; r++) {
+            if (rowIndexByCodeRow[r] == 0) rowIndexByCodeRow[r] = rowCount++;
+        }
+
+        labels = new String[rowCount][width];
+        seatIds = new Long[rowCount][width];
+        codes = new int[rowCount][width];
+        boolean[][] free = new boolean[rowCount][width];
+
+        int count = 0;
+        for (Seat seat : seats) {
+            int code = codeOf(seat);
+            if (code == SeatCode.INVALID) continue;
+            int r = rowIndexByCodeRow[SeatCode.row(code)];
+            int c = SeatCode.column(code) - 1;
+            if (labels[r][c] == null) count++;
+            labels[r][c] = seat.getSeatNumber();
+            seatIds[r][c] = seat.getId();
+            codes[r][c] = code;
+            free[r][c] = seat.isAvailable();
+        }
+        seatCount = count;
+        for (int code : bookedSeatCodes) {
+            int r = rowOf(code);
+            if (r >= 0) free[r][SeatCode.column(code) - 1] = false;
+        }
+
+        rows = new RowTree[rowCount];
+        for (int r = 0; r < rows.length; r++) {
+            rows[r] = new RowTree(free[r]);
+        }
+
+        rowCentre = (rows.length - 1) / 2.0;
+        columnCentre = (width - 1) / 2.0;
+        rowsByDistance = IntStream.range(0, rows.length).boxed()
+                .sorted(Comparator.comparingDouble(r -> Math.abs(r - rowCentre)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    public Long getHallId() {
+        return hallId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Finds the block of {@code count} adjacent free seats in one row closest to
+     * the centre of the hall, or null if there is none.
+     */
+    public Block findBestBlock(int count) {
+        lock.readLock().lock();
+        try {
+            return search(count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best block and marks it taken in one atomic step, so concurrent
+     * callers never receive overlapping blocks.
+     */
+    public Block reserveBestBlock(int count) {
+        lock.writeLock().lock();
+        try {
+            Block block = search(count);
+            if (block != null) {
+                for (int i = 0; i < count; i++) {
+                    rows[block.row()].set(block.startColumn() + i, false);
+                }
+            }
+            return block;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markTaken(int seatCode) {
+        set(seatCode, false);
+    }
+
+    public void markFree(int seatCode) {
+        set(seatCode, true);
+    }
+
+    public boolean isAvailable(int seatCode) {
+        int r = rowOf(seatCode);
+        if (r < 0) return false;
+        lock.readLock().lock();
+        try {
+            return rows[r].isFree(SeatCode.column(seatCode) - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All seats in row and column order with their availability for this showtime.
+     */
+    public List<SeatStatus> getSeatStatuses() {
+        List<SeatStatus> statuses = new ArrayList<>(seatCount);
+        lock.readLock().lock();
+        try {
+            for (int r = 0; r < rows.length; r++) {
+                for (int c = 0; c < labels[r].length; c++) {
+                    if (labels[r][c] != null) {
+                        statuses.add(new SeatStatus(seatIds[r][c], labels[r][c], rows[r].isFree(c)));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return statuses;
+    }
+
+    private void set(int seatCode, boolean free) {
+        int r = rowOf(seatCode);
+        if (r < 0) return;
+        lock.writeLock().lock();
+        try {
+            rows[r].set(SeatCode.column(seatCode) - 1, free);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the row index of a seat code that belongs to this hall, or -1
+     */
+    private int rowOf(int seatCode) {
+        if (seatCode == SeatCode.INVALID) return -1;
+        int codeRow = SeatCode.row(seatCode);
+        if (codeRow >= rowIndexByCodeRow.length) return -1;
+        int r = rowIndexByCodeRow[codeRow];
+        int c = SeatCode.column(seatCode) - 1;
+        return r >= 0 && c < labels[r].length && labels[r][c] != null ? r : -1;
+    }
+
+    private static int codeOf(Seat seat) {
+        return seat.getSeatCode() != null ? seat.getSeatCode() : SeatCode.parse(seat.getSeatNumber());
+    }
+
+    private Block search(int count) {
+        int bestRow = -1;
+        int bestStart = -1;
+        double bestScore = Double.MAX_VALUE;
+        double idealStart = columnCentre - (count - 1) / 2.0;
+
+        for (int r : rowsByDistance) {
+            double dy = Math.abs(r - rowCentre);
+            // Rows are visited nearest-first, so no later row can beat the current best
+            if (dy * dy >= bestScore) break;
+            if (rows[r].longestFreeRun() < count) continue;
+
+            int start = closestStartInRow(rows[r], count, idealStart);
+            double dx = start - idealStart;
+            double score = dx * dx + dy * dy;
+            if (score < bestScore) {
+                bestScore = score;
+                bestRow = r;
+                bestStart = start;
+            }
+        }
+
+        if (bestRow < 0) return null;
+        int[] seatCodes = Arrays.copyOfRange(codes[bestRow], bestStart, bestStart + count);
+        List<String> seatNumbers = Arrays.asList(Arrays.copyOfRange(labels[bestRow], bestStart, bestStart + count));
+        return new Block(bestRow, bestStart, seatCodes, seatNumbers);
+    }
+
+    /**
+     * Walks the free runs of a row and returns the start column of the block
+     * nearest to the ideal start; within a run the nearest start is the ideal
+     * one clamped to the run.
+     */
+    private static int closestStartInRow(RowTree row, int count, double idealStart) {
+        int bestStart = -1;
+        double bestDistance = Double.MAX_VALUE;
+        int width = row.width();
+        int c = 0;
+        while (c < width) {
+            if (!row.isFree(c)) {
+                c++;
+                continue;
+            }
+            int runStart = c;
+            while (c < width && row.isFree(c)) c++;
+            int lastStart = c - count;
+            if (lastStart < runStart) continue;
+
+            for (int candidate : new int[]{(int) Math.floor(idealStart), (int) Math.ceil(idealStart)}) {
+                int start = Math.max(runStart, Math.min(lastStart, candidate));
+                double distance = Math.abs(start - idealStart);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestStart = start;
+                }
+            }
+        }
+        return bestStart;
+    }
+
+    /**
+     * Segment tree over the columns of one row. Each node stores the free-run
+     * length at its left edge, at its right edge and the longest inside it.
+     */
+    static final class RowTree {
+
+        private final boolean[] free;
+        private final int[] prefix;
+        private final int[] suffix;
+        private final int[] longest;
+
+        RowTree(boolean[] free) {
+            this.free = free.clone();
+            int size = Math.max(1, 4 * free.length);
+            prefix = new int[size];
+            suffix = new int[size];
+            longest = new int[size];
+            if (free.length > 0) build(1, 0, free.length - 1);
+        }
+
+        int width() {
+            return free.length;
+        }
+
+        boolean isFree(int column) {
+            return free[column];
+        }
+
+        int longestFreeRun() {
+            return free.length == 0 ? 0 : longest[1];
+        }
+
+        void set(int column, boolean isFree) {
+            if (free[column] == isFree) return;
+            free[column] = isFree;
+            update(1, 0, free.length - 1, column);
+        }
+
+        private void build(int node, int lo, int hi) {
+            if (lo == hi) {
+                leaf(node, lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            build(2 * node, lo, mid);
+            build(2 * node + 1, mid + 1, hi);
+            pull(node, lo, mid, hi);
+        }
+
+        private void update(int node, int lo, int hi, int column) {
+            if (lo == hi) {
+                leaf(node, lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (column <= mid) update(2 * node, lo, mid, column);
+            else update(2 * node + 1, mid + 1, hi, column);
+            pull(node, lo, mid, hi);
+        }
+
+        private void leaf(int node, int column) {
+            int value = free[column] ? 1 : 0;
+            prefix[node] = value;
+            suffix[node] = value;
+            longest[node] = value;
+        }
+
+        private void pull(int node, int lo, int mid, int hi) {
+            int left = 2 * node;
+            int right = 2 * node + 1;
+            int leftLength = mid - lo + 1;
+            int rightLength = hi - mid;
+            prefix[node] = prefix[left] == leftLength ? leftLength + prefix[right] : prefix[left];
+            suffix[node] = suffix[right] == rightLength ? rightLength + suffix[left] : suffix[right];
+            longest[node] = Math.max(Math.max(longest[left], longest[right]), suffix[left] + prefix[right]);
+        }
+    }
+}
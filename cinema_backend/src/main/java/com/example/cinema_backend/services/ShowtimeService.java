@@ -6,11 +6,18 @@ import com.example.cinema_backend.entities.Hall;
 import com.example.cinema_backend.repositories.ShowtimeRepository;
 import com.example.cinema_backend.repositories.MovieRepository;
 import com.example.cinema_backend.repositories.HallRepository;
+import com.example.cinema_backend.repositories.BookingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ShowtimeService {
@@ -24,6 +31,40 @@ public class ShowtimeService {
     @Autowired
     private HallRepository hallRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private TicketScanService ticketScanService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private MoviePageService moviePageService;
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
+    // Keeps the IN lists of the bulk deletes to a reasonable size
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    @Transactional
     public Showtime addShowtime(Showtime showtime) {
         // Fetch the actual Movie and Hall entities from database
         if (showtime.getMovie() != null && showtime.getMovie().getId() != null) {
@@ -38,54 +79,191 @@ public class ShowtimeService {
             showtime.setHall(hall);
         }
 
-        return showtimeRepository.save(showtime);
+        // Every seat starts out available
+        showtime.setAvailableSeats(showtime.getHall() != null ? showtime.getHall().getTotalSeats() : 0);
+        Showtime savedShowtime = showtimeRepository.save(showtime);
+        pricingService.schedule(savedShowtime);
+        outboxService.publish(OutboxService.SHOWTIME_CREATED, savedShowtime.getId(), eventPayload(savedShowtime));
+        evictListings(savedShowtime.getMovie());
+        return savedShowtime;
+    }
+
+    /**
+     * Fills in the seats-left counter for showtimes created before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillAvailableSeats() {
+        int updated = showtimeRepository.backfillAvailableSeats();
+        if (updated > 0) {
+            System.out.println("🪑 Initialized seats-left counter for " + updated + " showtimes");
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<Showtime> getUpcomingShowtimes() {
         return showtimeRepository.findByStartTimeAfter(LocalDateTime.now());
     }
 
+    @Transactional(readOnly = true)
     public List<Showtime> getShowtimesByMovie(Long movieId) {
         return showtimeRepository.findByMovieId(movieId);
     }
 
+    /**
+     * All showtimes starting on the given day, with movie, hall and seats left, in one query.
+     */
+    @Transactional(readOnly = true)
+    public List<Showtime> getShowtimesForDate(LocalDate date) {
+        return showtimeRepository.findByStartTimeBetweenOrderByStartTime(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    @Transactional(readOnly = true)
     public Showtime getShowtimeById(Long id) {
         System.out.println("✅ ShowtimeService.getShowtimeById() called with ID: " + id);
         return showtimeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + id));
     }
 
+    /**
+     * Changes a showtime's time, movie or hall. Moving a showtime that has
+     * bookings to another hall is left to a reschedule job, which re-seats them.
+     */
+    @Transactional
     public Showtime updateShowtime(Long id, Showtime showtimeDetails) {
         System.out.println("✅ ShowtimeService.updateShowtime() called with ID: " + id);
         Showtime showtime = showtimeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + id));
 
+        Hall newHall = showtimeDetails.getHall();
+        boolean movesHall = newHall != null && newHall.getId() != null
+                && (showtime.getHall() == null || !newHall.getId().equals(showtime.getHall().getId()));
+        if (movesHall && bookingRepository.countByShowtime(showtime) > 0) {
+            throw new RuntimeException("Showtime " + id + " has bookings; move it to another hall with a RESCHEDULE job (POST /api/showtime-jobs)");
+        }
+        return applyChanges(showtime, showtimeDetails);
+    }
+
+    /**
+     * Moves a showtime whatever its bookings; for ShowtimeJobService, which
+     * re-seats them afterwards. Joins the caller's transaction.
+     */
+    Showtime moveShowtime(Long id, Showtime showtimeDetails) {
+        Showtime showtime = showtimeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + id));
+        return applyChanges(showtime, showtimeDetails);
+    }
+
+    private Showtime applyChanges(Showtime showtime, Showtime showtimeDetails) {
+        Long id = showtime.getId();
+        // Sales summed per key while they still count for the old movie and hall
+        List<BookingRepository.SalesGroup> movedSales = changesMovieOrHall(showtime, showtimeDetails)
+                ? bookingRepository.sumSalesByShowtimeIdIn(List.of(id)) : List.of();
         if (showtimeDetails.getStartTime() != null) {
             showtime.setStartTime(showtimeDetails.getStartTime());
         }
 
+        evictListings(showtime.getMovie());
         if (showtimeDetails.getMovie() != null && showtimeDetails.getMovie().getId() != null) {
             Movie movie = movieRepository.findById(showtimeDetails.getMovie().getId())
                     .orElseThrow(() -> new RuntimeException("Movie not found with id: " + showtimeDetails.getMovie().getId()));
             showtime.setMovie(movie);
         }
 
+        boolean hallChanged = false;
         if (showtimeDetails.getHall() != null && showtimeDetails.getHall().getId() != null) {
             Hall hall = hallRepository.findById(showtimeDetails.getHall().getId())
                     .orElseThrow(() -> new RuntimeException("Hall not found with id: " + showtimeDetails.getHall().getId()));
+            hallChanged = showtime.getHall() == null || !hall.getId().equals(showtime.getHall().getId());
             showtime.setHall(hall);
         }
 
-        Showtime updatedShowtime = showtimeRepository.save(showtime);
+        Showtime updatedShowtime = showtimeRepository.saveAndFlush(showtime);
+        reportingService.recordShowtimeMove(movedSales, updatedShowtime);
+
+        // A different hall means a different capacity, so recount seats left
+        if (hallChanged) {
+            showtimeRepository.recountAvailableSeats(id);
+            updatedShowtime.setAvailableSeats(updatedShowtime.getHall().getTotalSeats()
+                    - (int) bookingRepository.countByShowtime(updatedShowtime));
+            TransactionHooks.afterCommit(() -> seatMapService.evict(id));
+        }
+        // Start time and hall both feed into the prices
+        pricingService.schedule(updatedShowtime);
+        outboxService.publish(OutboxService.SHOWTIME_UPDATED, id, eventPayload(updatedShowtime));
+        evictListings(updatedShowtime.getMovie());
         System.out.println("✅ Showtime updated with ID: " + updatedShowtime.getId());
         return updatedShowtime;
     }
 
+    @Transactional
     public void deleteShowtime(Long id) {
         System.out.println("✅ ShowtimeService.deleteShowtime() called with ID: " + id);
-        Showtime showtime = showtimeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + id));
-        showtimeRepository.delete(showtime);
+        if (!showtimeRepository.existsById(id)) {
+            throw new RuntimeException("Showtime not found with id: " + id);
+        }
+        deleteShowtimes(List.of(id));
         System.out.println("✅ Showtime deleted with ID: " + id);
     }
+
+    /**
+     * Deletes showtimes and their bookings with a few bulk statements per chunk
+     * of ids (bookings first), archiving the bookings when archival is enabled.
+     * Joins the caller's transaction.
+     *
+     * @return the number of showtimes deleted
+     */
+    @Transactional
+    public int deleteShowtimes(List<Long> ids) {
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE));
+            if (bookingArchiveService.isEnabled()) bookingArchiveService.archiveShowtimes(chunk);
+            // The bookings are not loaded, so the counters drop their sales summed per key
+            reportingService.recordDroppedSales(bookingRepository.sumSalesByShowtimeIdIn(chunk));
+            bookingRepository.deleteByShowtimeIdIn(chunk);
+            deleted += showtimeRepository.deleteByIdIn(chunk);
+        }
+        for (Long showtimeId : ids) {
+            outboxService.publish(OutboxService.SHOWTIME_DELETED, showtimeId, Map.of("showtimeId", showtimeId));
+        }
+        List<Long> removed = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> removed.forEach(showtimeId -> {
+            seatMapService.invalidate(showtimeId);
+            pricingService.evict(showtimeId);
+            ticketScanService.closeDoors(showtimeId);
+            waitlistService.evict(showtimeId);
+        }));
+        // Only ids are known here; showtimes are rarely deleted
+        TransactionHooks.afterCommit(() -> {
+            moviePageService.evictAll();
+            responseCache.evict(JsonResponseCache.SHOWTIMES);
+        });
+        return deleted;
+    }
+
+    private static boolean changesMovieOrHall(Showtime showtime, Showtime details) {
+        Long movieId = details.getMovie() != null ? details.getMovie().getId() : null;
+        Long hallId = details.getHall() != null ? details.getHall().getId() : null;
+        return (movieId != null && (showtime.getMovie() == null || !movieId.equals(showtime.getMovie().getId())))
+                || (hallId != null && (showtime.getHall() == null || !hallId.equals(showtime.getHall().getId())));
+    }
+
+    private void evictListings(Movie movie) {
+        Long movieId = movie != null ? movie.getId() : null;
+        TransactionHooks.afterCommit(() -> {
+            moviePageService.evict(movieId);
+            responseCache.evict(JsonResponseCache.SHOWTIMES);
+        });
+    }
+
+    private static Map<String, Object> eventPayload(Showtime showtime) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("showtimeId", showtime.getId());
+        payload.put("movieId", showtime.getMovie() != null ? showtime.getMovie().getId() : null);
+        payload.put("hallId", showtime.getHall() != null ? showtime.getHall().getId() : null);
+        payload.put("startTime", showtime.getStartTime() != null ? showtime.getStartTime().toString() : null);
+        payload.put("availableSeats", showtime.getAvailableSeats());
+        return payload;
+    }
 }
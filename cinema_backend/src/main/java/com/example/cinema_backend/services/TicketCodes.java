@@ -0,0 +1,87 @@
+package com.example.cinema_backend.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signed ticket codes printed on (or shown as a QR code for) each booking.
+ *
+ * A code is the booking id and showtime id followed by a truncated
+ * HMAC-SHA256 over both, URL-safe base64 encoded. Checking the signature needs
+ * nothing but the key, so forged or mistyped codes are rejected at the door
+ * without a lookup.
+ */
+@Component
+public class TicketCodes {
+
+    public record Ticket(long bookingId, long showtimeId) {
+    }
+
+    private static final int PAYLOAD_BYTES = 16;
+    private static final int MAC_BYTES = 10;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // Mac instances are not thread-safe; one per scanning thread
+    private final ThreadLocal<Mac> macs;
+
+    // No default: anyone who knows the key can forge codes that open the doors
+    public TicketCodes(@Value("${tickets.secret:}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("tickets.secret must be set to a private key for signing ticket codes");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+        macs.get();
+    }
+
+    public String issue(long bookingId, long showtimeId) {
+        byte[] code = new byte[PAYLOAD_BYTES + MAC_BYTES];
+        ByteBuffer.wrap(code).putLong(bookingId).putLong(showtimeId);
+        System.arraycopy(sign(code), 0, code, PAYLOAD_BYTES, MAC_BYTES);
+        return ENCODER.encodeToString(code);
+    }
+
+    /**
+     * @return the ticket, or null if the code is malformed or its signature does not match
+     */
+    public Ticket verify(String code) {
+        if (code == null) return null;
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(code.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length != PAYLOAD_BYTES + MAC_BYTES) return null;
+
+        byte[] expected = Arrays.copyOf(sign(bytes), MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_BYTES, bytes.length))) return null;
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        return new Ticket(payload.getLong(), payload.getLong());
+    }
+
+    private byte[] sign(byte[] code) {
+        Mac mac = macs.get();
+        mac.update(code, 0, PAYLOAD_BYTES);
+        return mac.doFinal();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cinema_backend.services;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes a one-page PDF ticket with the standard Helvetica and Courier fonts,
+ * so no fonts or PDF library are needed. The output depends only on the
+ * ticket details.
+ */
+final class TicketPdf {
+
+    private static final DateTimeFormatter START_TIME = DateTimeFormatter.ofPattern("EEE d MMM yyyy, HH:mm", Locale.ENGLISH);
+
+    private TicketPdf() {
+    }
+
+    static byte[] render(TicketRenderService.TicketDetails ticket) {
+        StringBuilder content = new StringBuilder();
+        text(content, "F1", 22, 40, 250, "Cinema Ticket");
+        text(content, "F1", 16, 40, 215, ticket.movieTitle());
+        text(content, "F1", 12, 40, 190, ticket.startTime() != null ? START_TIME.format(ticket.startTime()) : "");
+        text(content, "F1", 12, 40, 170, ticket.hallName() + "  -  Seat " + ticket.seatNumber());
+        text(content, "F1", 12, 40, 150, String.format(Locale.ENGLISH, "Price: %.2f", ticket.price()));
+        text(content, "F1", 10, 40, 105, "Show this code at the door:");
+        text(content, "F2", 13, 40, 85, ticket.ticketCode());
+        text(content, "F1", 8, 40, 40, "Booking #" + ticket.bookingId());
+
+        List<String> objects = new ArrayList<>();
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+        objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 420 290] "
+                + "/Resources << /Font << /F1 4 0 R /F2 5 0 R >> >> /Contents 6 0 R >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+        byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        objects.add("<< /Length " + stream.length + " >>\nstream\n" + content + "endstream");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        write(out, "%PDF-1.4\n");
+        int[] offsets = new int[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[i] = out.size();
+            write(out, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+        int xref = out.size();
+        StringBuilder trailer = new StringBuilder("xref\n0 " + (objects.size() + 1) + "\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            trailer.append(String.format("%010d 00000 n \n", offset));
+        }
+        trailer.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        write(out, trailer.toString());
+        return out.toByteArray();
+    }
+
+    private static void text(StringBuilder content, String font, int size, int x, int y, String value) {
+        content.append("BT /").append(font).append(' ').append(size).append(" Tf ")
+                .append(x).append(' ').append(y).append(" Td (").append(escape(value)).append(") Tj ET\n");
+    }
+
+    // Latin-1 only; anything else is printed as '?'
+    private static String escape(String value) {
+        if (value == null) return "";
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') escaped.append('\\').append(c);
+            else if (c < 0x20 || c > 0xff) escaped.append('?');
+            else escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static void write(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.cinema_backend.services;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders PDF tickets on a small worker pool, off the booking request path.
+ *
+ * Committed bookings are queued for rendering; the queue is bounded, and when
+ * it is full the ticket is rendered on its first download instead. Files are
+ * named after a SHA-256 of everything printed on the ticket, so a ticket is
+ * rendered once, every download after that is served from disk, and a moved
+ * seat or a changed showtime simply gets a new file.
+ */
+@Service
+public class TicketRenderService {
+
+    /**
+     * Everything printed on a ticket.
+     */
+    public record TicketDetails(Long bookingId, String movieTitle, String hallName, LocalDateTime startTime,
+                                String seatNumber, double price, String ticketCode) {
+    }
+
+    // Bump when the layout changes so old files are not served for new tickets
+    private static final String LAYOUT_VERSION = "1";
+
+    private final Path dir;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public TicketRenderService(@Value("${tickets.render.dir:data/tickets}") Path dir,
+                               @Value("${tickets.render.threads:2}") int threads,
+                               @Value("${tickets.render.queue-size:1000}") int queueSize) {
+        this.dir = dir;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-render-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a ticket for rendering. Never blocks; a full queue is only logged.
+     */
+    public void submit(TicketDetails ticket) {
+        String key = keyOf(ticket);
+        CompletableFuture<Path> pending = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, pending) != null) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    pending.complete(render(ticket, key));
+                } catch (RuntimeException e) {
+                    System.out.println("⚠️ Could not render ticket for booking " + ticket.bookingId() + ": " + e.getMessage());
+                    pending.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, pending);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, pending);
+            pending.complete(null);
+            System.out.println("⚠️ Ticket render queue full, booking " + ticket.bookingId() + " renders on download");
+        }
+    }
+
+    /**
+     * The rendered ticket, rendered now if the workers have not got to it yet.
+     */
+    public Path documentFor(TicketDetails ticket) {
+        String key = keyOf(ticket);
+        Path path = pathOf(key);
+        if (Files.exists(path)) return path;
+        CompletableFuture<Path> pending = inFlight.get(key);
+        if (pending != null) {
+            try {
+                Path rendered = pending.join();
+                if (rendered != null) return rendered;
+            } catch (RuntimeException e) {
+                // The worker failed; try once more on this thread
+            }
+        }
+        return render(ticket, key);
+    }
+
+    /**
+     * Content hash the ticket's file is named after; usable as an ETag.
+     */
+    public String keyOf(TicketDetails ticket) {
+        String canonical = String.join("\n", LAYOUT_VERSION, String.valueOf(ticket.bookingId()), ticket.movieTitle(),
+                ticket.hallName(), String.valueOf(ticket.startTime()), ticket.seatNumber(),
+                String.valueOf(ticket.price()), ticket.ticketCode());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Path render(TicketDetails ticket, String key) {
+        Path path = pathOf(key);
+        if (Files.exists(path)) return path;
+        try {
+            Files.createDirectories(path.getParent());
+            // Write aside and move into place, so readers never see half a file
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try {
+                Files.write(temp, TicketPdf.render(ticket));
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write ticket " + path, e);
+        }
+    }
+
+    // Two-character subdirectories keep directory listings short
+    private Path pathOf(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ".pdf");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.configs.ClusterMembership;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * Validates tickets at the door.
+ *
+ * Shortly before each showtime its sold tickets are loaded into a
+ * {@link DoorList}; scans then check the code's signature and the list, both in
+ * memory. Used tickets are queued and written to bookings.used_at in batches
+ * by a background job, so a scan never waits for the database. Bookings and
+ * cancellations made while the doors are open are applied to the list after
+ * they commit. A booking that commits while the list is being loaded misses
+ * both, so a signed code the list does not know is looked up before it is
+ * turned away.
+ */
+@Service
+public class TicketScanService {
+
+    public enum Status {
+        ADMITTED, ALREADY_USED, WRONG_SHOWTIME, INVALID
+    }
+
+    public record ScanResult(Status status, Long bookingId, Long showtimeId, String seatNumber) {
+    }
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TicketCodes ticketCodes;
+
+    // Available in cluster mode only; scans are routed to the showtime's owner
+    @Autowired
+    private ObjectProvider<ClusterMembership> clusterMembership;
+
+    @Value("${tickets.open-minutes-before:60}")
+    private long openMinutesBefore;
+
+    @Value("${tickets.close-minutes-after:180}")
+    private long closeMinutesAfter;
+
+    private final Map<Long, DoorList> doorLists = new ConcurrentHashMap<>();
+    private final Queue<Long> pendingUsed = new ConcurrentLinkedQueue<>();
+
+    public String ticketCodeFor(Booking booking) {
+        if (booking.getId() == null || booking.getShowtime() == null || booking.getHeldUntil() != null) return null;
+        return ticketCodes.issue(booking.getId(), booking.getShowtime().getId());
+    }
+
+    /**
+     * Checks a ticket code presented at the door of a showtime and admits it
+     * at most once. Only the first scan of a showtime whose doors have not been
+     * opened yet, and a signed code missing from its list, read the database.
+     */
+    public ScanResult scan(Long showtimeId, String code) {
+        TicketCodes.Ticket ticket = ticketCodes.verify(code);
+        if (ticket == null) return new ScanResult(Status.INVALID, null, showtimeId, null);
+        if (ticket.showtimeId() != showtimeId) {
+            return new ScanResult(Status.WRONG_SHOWTIME, ticket.bookingId(), ticket.showtimeId(), null);
+        }
+
+        DoorList doorList = openDoors(showtimeId);
+        DoorList.Result result = doorList.admit(ticket.bookingId());
+        if (result == DoorList.Result.NOT_FOUND && addFromDatabase(doorList, showtimeId, ticket.bookingId())) {
+            result = doorList.admit(ticket.bookingId());
+        }
+        return switch (result) {
+            case ADMITTED -> {
+                pendingUsed.add(ticket.bookingId());
+                yield new ScanResult(Status.ADMITTED, ticket.bookingId(), showtimeId, doorList.seatNumber(ticket.bookingId()));
+            }
+            case ALREADY_USED -> new ScanResult(Status.ALREADY_USED, ticket.bookingId(), showtimeId, doorList.seatNumber(ticket.bookingId()));
+            // Validly signed but cancelled
+            case NOT_FOUND -> new ScanResult(Status.INVALID, ticket.bookingId(), showtimeId, null);
+        };
+    }
+
+    /**
+     * Loads the showtime's tickets unless they are already in memory.
+     */
+    public DoorList openDoors(Long showtimeId) {
+        DoorList doorList = doorLists.get(showtimeId);
+        if (doorList != null) return doorList;
+        return doorLists.computeIfAbsent(showtimeId, this::load);
+    }
+
+    public DoorList.Counts getCounts(Long showtimeId) {
+        return openDoors(showtimeId).counts();
+    }
+
+    public void closeDoors(Long showtimeId) {
+        doorLists.remove(showtimeId);
+    }
+
+    public void retainShowtimes(Predicate<Long> owned) {
+        doorLists.keySet().removeIf(showtimeId -> !owned.test(showtimeId));
+    }
+
+    // ---------- Kept in step by BookingService after commit ----------
+
+    public void onBooked(Long showtimeId, Long bookingId, String seatNumber) {
+        DoorList doorList = doorLists.get(showtimeId);
+        if (doorList != null) doorList.add(bookingId, seatNumber, false);
+    }
+
+    public void onCancelled(Long showtimeId, Long bookingId) {
+        DoorList doorList = doorLists.get(showtimeId);
+        if (doorList != null) doorList.remove(bookingId);
+    }
+
+    public void onSeatMoved(Long showtimeId, Long bookingId, String seatNumber) {
+        DoorList doorList = doorLists.get(showtimeId);
+        if (doorList != null) doorList.moveSeat(bookingId, seatNumber);
+    }
+
+    // ---------- Background jobs ----------
+
+    /**
+     * Opens the doors of showtimes starting soon and drops the lists of
+     * showtimes that started long ago.
+     */
+    @Scheduled(fixedDelayString = "${tickets.preload-interval-ms:60000}")
+    public void preload() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime closed = now.minusMinutes(closeMinutesAfter);
+        doorLists.values().removeIf(doorList -> doorList.getStartTime() != null && doorList.getStartTime().isBefore(closed));
+
+        List<Long> upcoming = transactionTemplate.execute(status ->
+                showtimeRepository.findByStartTimeBetweenOrderByStartTime(now, now.plusMinutes(openMinutesBefore))
+                        .stream().map(Showtime::getId).toList());
+        if (upcoming == null) return;
+        int opened = 0;
+        for (Long showtimeId : upcoming) {
+            if (doorLists.containsKey(showtimeId)) continue;
+            if (!ownsShowtime(showtimeId)) continue;
+            openDoors(showtimeId);
+            opened++;
+        }
+        if (opened > 0) System.out.println("🎟️ Opened doors for " + opened + " showtimes");
+    }
+
+    /**
+     * Writes queued scans to bookings.used_at. The stored time is when the
+     * batch is written, within one flush interval of the scan.
+     */
+    @Scheduled(fixedDelayString = "${tickets.flush-interval-ms:1000}")
+    public void flush() {
+        while (!pendingUsed.isEmpty()) {
+            List<Long> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            Long bookingId;
+            while (batch.size() < FLUSH_BATCH_SIZE && (bookingId = pendingUsed.poll()) != null) batch.add(bookingId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> bookingRepository.markUsed(batch, LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                // Keep the scans and retry on the next run
+                pendingUsed.addAll(batch);
+                System.out.println("⚠️ Could not record " + batch.size() + " ticket scans: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // On the primary, like load
+    private boolean addFromDatabase(DoorList doorList, Long showtimeId, long bookingId) {
+        BookingRepository.DoorEntry entry = transactionTemplate.execute(status ->
+                bookingRepository.findDoorEntry(bookingId, showtimeId).orElse(null));
+        if (entry == null) return false;
+        doorList.addIfAbsent(entry.getId(), entry.getSeatNumber(), entry.getUsedAt() != null);
+        return true;
+    }
+
+    // On the primary: a lagging replica could miss the last tickets sold
+    private DoorList load(Long showtimeId) {
+        return transactionTemplate.execute(status -> {
+            Showtime showtime = showtimeRepository.findById(showtimeId)
+                    .orElseThrow(() -> new RuntimeException("Showtime not found with id: " + showtimeId));
+            List<BookingRepository.DoorEntry> entries = bookingRepository.findDoorEntries(showtimeId);
+            int capacity = Math.max(entries.size(), showtime.getHall() != null ? showtime.getHall().getTotalSeats() : 0);
+            DoorList doorList = new DoorList(showtime.getStartTime(), capacity);
+            for (BookingRepository.DoorEntry entry : entries) {
+                doorList.add(entry.getId(), entry.getSeatNumber(), entry.getUsedAt() != null);
+            }
+            return doorList;
+        });
+    }
+
+    private boolean ownsShowtime(Long showtimeId) {
+        ClusterMembership cluster = clusterMembership.getIfAvailable();
+        return cluster == null || cluster.isLocal(showtimeId);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.cinema_backend.entities.User;
 import com.example.cinema_backend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,6 +17,7 @@ public class UserService {
     /**
      * Get all registered users
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         System.out.println("✅ UserService.getAllUsers() called");
         List<User> users = userRepository.findAll();
@@ -26,6 +28,7 @@ public class UserService {
     /**
      * Get user by ID
      */
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         System.out.println("✅ UserService.getUserById() called with ID: " + id);
         return userRepository.findById(id)
@@ -35,6 +38,7 @@ public class UserService {
     /**
      * Get user by email
      */
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         System.out.println("✅ UserService.getUserByEmail() called with email: " + email);
         return userRepository.findByEmail(email)
@@ -44,6 +48,7 @@ public class UserService {
     /**
      * Update user role (Admin only)
      */
+    @Transactional
     public User updateUserRole(Long id, String role) {
         System.out.println("✅ UserService.updateUserRole() called with ID: " + id + ", role: " + role);
         User user = userRepository.findById(id)
@@ -63,6 +68,7 @@ public class UserService {
     /**
      * Delete user
      */
+    @Transactional
     public void deleteUser(Long id) {
         System.out.println("✅ UserService.deleteUser() called with ID: " + id);
         User user = userRepository.findById(id)
@@ -0,0 +1,125 @@
+package com.example.cinema_backend.services;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Predicate;
+
+/**
+ * First-come, first-served waitlists for sold-out showtimes, held in memory.
+ *
+ * Each showtime has a lock-free queue of entries plus the entry each waiting
+ * user currently holds; leaving only forgets the user's entry and the queued
+ * one is skipped when it reaches the front. Joining again queues a new entry
+ * at the back. {@link BookingService} takes the next
+ * waiter inside the transaction that frees a seat and puts them back at the
+ * front if that transaction rolls back. Like the seat maps, waitlists do not
+ * survive a restart.
+ */
+@Service
+public class WaitlistService {
+
+    private record Waitlist(LocalDateTime startTime, Deque<Entry> queue, Map<Long, Entry> waiting) {
+
+        boolean isWaiting(Entry entry) {
+            return waiting.get(entry.userId) == entry;
+        }
+    }
+
+    // Compared by identity, so an entry left behind by an earlier join stays stale
+    private static final class Entry {
+        final Long userId;
+
+        Entry(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private final Map<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the user to the end of the showtime's waitlist.
+     * @return the user's position, starting at 1
+     */
+    public int join(Long showtimeId, LocalDateTime startTime, Long userId) {
+        Waitlist waitlist = waitlists.computeIfAbsent(showtimeId, id ->
+                new Waitlist(startTime, new ConcurrentLinkedDeque<>(), new ConcurrentHashMap<>()));
+        Entry entry = new Entry(userId);
+        if (waitlist.waiting().putIfAbsent(userId, entry) != null) {
+            throw new RuntimeException("Already on the waitlist");
+        }
+        waitlist.queue().addLast(entry);
+        return position(showtimeId, userId);
+    }
+
+    public void leave(Long showtimeId, Long userId) {
+        Waitlist waitlist = waitlists.get(showtimeId);
+        if (waitlist == null || waitlist.waiting().remove(userId) == null) {
+            throw new RuntimeException("Not on the waitlist");
+        }
+    }
+
+    /**
+     * @return the user's position, starting at 1, or 0 if not waiting
+     */
+    public int position(Long showtimeId, Long userId) {
+        Waitlist waitlist = waitlists.get(showtimeId);
+        Entry own = waitlist != null ? waitlist.waiting().get(userId) : null;
+        if (own == null) return 0;
+        int position = 0;
+        for (Entry entry : waitlist.queue()) {
+            if (!waitlist.isWaiting(entry)) continue;
+            position++;
+            if (entry == own) return position;
+        }
+        return 0;
+    }
+
+    public boolean hasWaiters(Long showtimeId) {
+        Waitlist waitlist = waitlists.get(showtimeId);
+        return waitlist != null && !waitlist.waiting().isEmpty();
+    }
+
+    /**
+     * Takes the next waiting user off the showtime's waitlist. Must be called in
+     * a transaction: the user is returned to the front if it rolls back.
+     * @return the user id, or null if nobody is waiting
+     */
+    public Long pollNext(Long showtimeId) {
+        Waitlist waitlist = waitlists.get(showtimeId);
+        if (waitlist == null) return null;
+        Entry entry;
+        while ((entry = waitlist.queue().pollFirst()) != null) {
+            if (!waitlist.waiting().remove(entry.userId, entry)) continue;
+            Entry polled = entry;
+            TransactionHooks.afterRollback(() -> {
+                if (waitlist.waiting().putIfAbsent(polled.userId, polled) == null) waitlist.queue().addFirst(polled);
+            });
+            return entry.userId;
+        }
+        return null;
+    }
+
+    public void evict(Long showtimeId) {
+        waitlists.remove(showtimeId);
+    }
+
+    /**
+     * Drops the waitlists of showtimes another node owns now. Their waiters
+     * have to join again there.
+     */
+    public void retainShowtimes(Predicate<Long> owned) {
+        waitlists.keySet().removeIf(showtimeId -> !owned.test(showtimeId));
+    }
+
+    @Scheduled(fixedDelay = 15 * 60 * 1000)
+    public void evictPastShowtimes() {
+        LocalDateTime now = LocalDateTime.now();
+        waitlists.values().removeIf(waitlist -> waitlist.startTime() != null && waitlist.startTime().isBefore(now));
+    }
+}
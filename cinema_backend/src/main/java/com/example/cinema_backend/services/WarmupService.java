@@ -0,0 +1,261 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.configs.ClusterMembership;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms a freshly started node before it takes traffic: loads the seat maps
+ * and price tables of upcoming showtimes, one task per hall in parallel, and
+ * the catalogue, then sends the hot read endpoints a burst of requests over
+ * loopback so the JIT compiles them and the response caches fill.
+ *
+ * Runs in the ApplicationReadyEvent, so Spring Boot reports the readiness
+ * state ACCEPTING_TRAFFIC only after it; the warmup health indicator, part of
+ * the readiness group, reports the progress. Warm-up is cut short after
+ * warmup.max-duration-ms, and a failure only leaves the node cold: it never
+ * keeps it out of the load balancer.
+ */
+@Service
+public class WarmupService {
+
+    public enum State { PENDING, PRELOADING, EXERCISING, DONE, FAILED, DISABLED }
+
+    public record Progress(State state, int showtimes, int showtimesWarmed, int halls, int requests,
+                           int requestsSent, int requestsFailed, long elapsedMillis, String error) {
+    }
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private HallService hallService;
+
+    @Autowired
+    private ObjectProvider<ClusterMembership> clusterMembership;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.threads:0}")
+    private int threads;
+
+    @Value("${warmup.horizon-hours:72}")
+    private long horizonHours;
+
+    @Value("${warmup.requests:2000}")
+    private int requests;
+
+    @Value("${warmup.sample-showtimes:20}")
+    private int sampleShowtimes;
+
+    @Value("${warmup.max-duration-ms:60000}")
+    private long maxDurationMillis;
+
+    private volatile State state = State.PENDING;
+    private volatile String error;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int showtimes;
+    private volatile int halls;
+    private final AtomicInteger showtimesWarmed = new AtomicInteger();
+    private final AtomicInteger requestsSent = new AtomicInteger();
+    private final AtomicInteger requestsFailed = new AtomicInteger();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        // No web server in mock-environment tests; only the preload runs then
+        String baseUrl = event.getApplicationContext() instanceof WebServerApplicationContext web && web.getWebServer() != null
+                ? "http://localhost:" + web.getWebServer().getPort() : null;
+        warmUp(baseUrl);
+    }
+
+    /**
+     * Preloads, then exercises the endpoints at baseUrl unless it is null.
+     * Returns when done or after warmup.max-duration-ms.
+     */
+    public void warmUp(String baseUrl) {
+        startedAt = System.nanoTime();
+        finishedAt = 0;
+        error = null;
+        showtimesWarmed.set(0);
+        requestsSent.set(0);
+        requestsFailed.set(0);
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers(), runnable -> {
+            Thread thread = new Thread(runnable, "warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            state = State.PRELOADING;
+            List<Showtime> upcoming = upcomingShowtimes();
+            Map<Long, List<Showtime>> byHall = new LinkedHashMap<>();
+            for (Showtime showtime : upcoming) {
+                byHall.computeIfAbsent(showtime.getHall().getId(), id -> new ArrayList<>()).add(showtime);
+            }
+            showtimes = upcoming.size();
+            halls = byHall.size();
+
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            tasks.add(CompletableFuture.runAsync(() -> {
+                movieService.getAllMovies();
+                hallService.getAllHalls();
+            }, executor));
+            // A hall's showtimes share its seats, so they are loaded together
+            for (List<Showtime> hallShowtimes : byHall.values()) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    for (Showtime showtime : hallShowtimes) {
+                        if (System.nanoTime() - deadline > 0) return;
+                        try {
+                            seatMapService.getSeatStatuses(showtime.getId());
+                            pricingService.lowestPrice(showtime);
+                            showtimesWarmed.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            // Deleted since it was listed; anything else shows up again on first use
+                        }
+                    }
+                }, executor));
+            }
+            await(tasks, deadline);
+
+            if (baseUrl != null && requests > 0 && System.nanoTime() - deadline < 0) {
+                state = State.EXERCISING;
+                exercise(baseUrl, hotPaths(upcoming), executor, deadline);
+            }
+            state = State.DONE;
+            System.out.println("🔥 Warm-up finished in " + elapsedMillis() + " ms: " + showtimesWarmed.get() + "/" + showtimes
+                    + " showtimes in " + halls + " halls, " + requestsSent.get() + " requests");
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            state = State.FAILED;
+            System.out.println("⚠️ Warm-up failed after " + elapsedMillis() + " ms, starting cold: " + e.getMessage());
+        } finally {
+            finishedAt = System.nanoTime();
+            executor.shutdownNow();
+        }
+    }
+
+    public Progress getProgress() {
+        return new Progress(state, showtimes, showtimesWarmed.get(), halls, requests,
+                requestsSent.get(), requestsFailed.get(), elapsedMillis(), error);
+    }
+
+    // ---------- Internals ----------
+
+    // Showtimes another node owns are booked there, so their state is not kept here
+    private List<Showtime> upcomingShowtimes() {
+        LocalDateTime now = LocalDateTime.now();
+        ClusterMembership cluster = clusterMembership.getIfAvailable();
+        return showtimeRepository.findByStartTimeBetweenOrderByStartTime(now, now.plusHours(horizonHours)).stream()
+                .filter(showtime -> showtime.getHall() != null)
+                .filter(showtime -> cluster == null || cluster.isLocal(showtime.getId()))
+                .toList();
+    }
+
+    private List<String> hotPaths(List<Showtime> upcoming) {
+        List<String> paths = new ArrayList<>(List.of("/api/movies/public/all", "/api/halls/all", "/api/showtimes/upcoming"));
+        // Spread over the list: the first showtimes alone may all be in one hall
+        int step = Math.max(1, upcoming.size() / Math.max(1, sampleShowtimes));
+        for (int i = 0; i < upcoming.size() && paths.size() < 3 + 5 * sampleShowtimes; i += step) {
+            Showtime showtime = upcoming.get(i);
+            paths.add("/api/showtimes/" + showtime.getId());
+            paths.add("/api/showtimes/" + showtime.getId() + "/seats");
+            paths.add("/api/showtimes/" + showtime.getId() + "/prices");
+            paths.add("/api/showtimes/" + showtime.getId() + "/best-seats?count=2");
+            if (showtime.getMovie() != null) paths.add("/api/movies/" + showtime.getMovie().getId() + "/page");
+        }
+        return paths;
+    }
+
+    // Read-only requests: bookings would have to be undone and would reach the outbox
+    private void exercise(String baseUrl, List<String> paths, ExecutorService executor, long deadline) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        AtomicInteger next = new AtomicInteger();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers(); w++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    if (System.nanoTime() - deadline > 0) return;
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(i % paths.size())))
+                            .header("Accept-Encoding", "gzip").timeout(Duration.ofSeconds(10)).build();
+                    try {
+                        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 400) requestsFailed.incrementAndGet();
+                    } catch (IOException e) {
+                        requestsFailed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    requestsSent.incrementAndGet();
+                }
+            }, executor));
+        }
+        await(tasks, deadline);
+    }
+
+    private int workers() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static void await(List<CompletableFuture<Void>> tasks, long deadline) {
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("⏱️ Warm-up ran out of time, continuing with what is loaded");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Warm-up interrupted", e);
+        }
+    }
+
+    private long elapsedMillis() {
+        if (startedAt == 0) return 0;
+        long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startedAt);
+    }
+}
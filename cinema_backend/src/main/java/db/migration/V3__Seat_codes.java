@@ -0,0 +1,64 @@
+package db.migration;
+
+import com.example.cinema_backend.entities.SeatCode;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds the packed seat_code column to seats and bookings, fills it from the
+ * seat numbers, and moves the seat indexes from seat_number over to it.
+ *
+ * Written in Java so the backfill uses the same parser as the application
+ * instead of string functions that differ between MySQL and H2.
+ */
+public class V3__Seat_codes extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE seats ADD COLUMN seat_code INT");
+            statement.execute("ALTER TABLE bookings ADD COLUMN seat_code INT");
+        }
+
+        backfill(connection, "seats");
+        backfill(connection, "bookings");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE UNIQUE INDEX ux_bookings_showtime_seat_code ON bookings (showtime_id, seat_code)");
+            statement.execute("CREATE INDEX ix_seats_hall_seat_code ON seats (hall_id, seat_code)");
+            // Superseded by the smaller integer indexes above. Bookings can only be
+            // made for seats whose number parses, so seat_code carries the guarantee.
+            statement.execute("DROP INDEX ux_bookings_showtime_seat ON bookings");
+            statement.execute("DROP INDEX ix_seats_hall_seat_number ON seats");
+        }
+    }
+
+    private static void backfill(Connection connection, String table) throws SQLException {
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, seat_number FROM " + table);
+             PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET seat_code = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                int code = SeatCode.parse(rows.getString(2));
+                if (code == SeatCode.INVALID) continue;
+                update.setInt(1, code);
+                update.setLong(2, rows.getLong(1));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) update.executeBatch();
+        }
+    }
+}
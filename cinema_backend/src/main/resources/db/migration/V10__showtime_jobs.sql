@@ -0,0 +1,44 @@
+-- Bulk showtime cancel/reschedule jobs run by ShowtimeJobService: one row per
+-- job, one per showtime with its checkpoint, and one outcome per booking
+CREATE TABLE showtime_jobs (
+    id              BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    job_type        VARCHAR(10)  NOT NULL,
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING',
+    target_hall_id  BIGINT,
+    shift_minutes   INT          NOT NULL DEFAULT 0,
+    total_showtimes INT          NOT NULL DEFAULT 0,
+    done_showtimes  INT          NOT NULL DEFAULT 0,
+    kept            INT          NOT NULL DEFAULT 0,
+    reseated        INT          NOT NULL DEFAULT 0,
+    cancelled       INT          NOT NULL DEFAULT 0,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6),
+    lease_until     DATETIME(6),
+    last_error      VARCHAR(500)
+);
+CREATE INDEX ix_showtime_jobs_status_id ON showtime_jobs (status, id);
+
+-- showtime_id has no foreign key: cancelled showtimes are deleted
+CREATE TABLE showtime_job_items (
+    id              BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    job_id          BIGINT       NOT NULL,
+    showtime_id     BIGINT       NOT NULL,
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING',
+    last_booking_id BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT fk_showtime_job_items_job FOREIGN KEY (job_id) REFERENCES showtime_jobs (id),
+    CONSTRAINT uk_showtime_job_items_job_showtime UNIQUE (job_id, showtime_id)
+);
+
+CREATE TABLE showtime_job_outcomes (
+    id              BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    job_id          BIGINT       NOT NULL,
+    showtime_id     BIGINT       NOT NULL,
+    booking_id      BIGINT       NOT NULL,
+    user_id         BIGINT,
+    outcome         VARCHAR(10)  NOT NULL,
+    old_seat        VARCHAR(255),
+    new_seat        VARCHAR(255),
+    price           DOUBLE,
+    CONSTRAINT fk_showtime_job_outcomes_job FOREIGN KEY (job_id) REFERENCES showtime_jobs (id)
+);
+CREATE INDEX ix_showtime_job_outcomes_job_id ON showtime_job_outcomes (job_id, id);
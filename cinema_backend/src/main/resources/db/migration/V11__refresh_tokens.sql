@@ -0,0 +1,11 @@
+-- Refresh tokens issued by AuthService, by JWT id. Each one is exchanged once:
+-- a refresh or a logout sets revoked_at, and expired rows are purged nightly
+CREATE TABLE refresh_tokens (
+    jti        VARCHAR(36) NOT NULL PRIMARY KEY,
+    user_id    BIGINT      NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+CREATE INDEX ix_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX ix_refresh_tokens_expires_at ON refresh_tokens (expires_at);
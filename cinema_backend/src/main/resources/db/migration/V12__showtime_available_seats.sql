@@ -0,0 +1,9 @@
+-- Seats left per showtime, kept in step by bookings so listings need no count.
+-- Not part of the Hibernate-generated schema, so existing databases get it here
+ALTER TABLE showtimes ADD COLUMN available_seats INT;
+
+UPDATE showtimes
+SET available_seats = GREATEST(0,
+        (SELECT h.total_seats FROM halls h WHERE h.id = showtimes.hall_id)
+        - (SELECT COUNT(*) FROM bookings b WHERE b.showtime_id = showtimes.id))
+WHERE hall_id IS NOT NULL;
@@ -0,0 +1,3 @@
+-- is_available used to be cleared when a seat was booked, for every showtime of
+-- the hall. It now only means the seat is in service, so put them all back
+UPDATE seats SET is_available = TRUE WHERE is_available = FALSE;
@@ -0,0 +1,53 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    name     VARCHAR(255),
+    role     VARCHAR(20),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE movies (
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    genre            VARCHAR(255),
+    duration_minutes INT          NOT NULL,
+    release_date     DATE
+);
+
+CREATE TABLE halls (
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    total_seats INT          NOT NULL
+);
+
+CREATE TABLE seats (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    seat_number  VARCHAR(255) NOT NULL,
+    is_available BOOLEAN      NOT NULL,
+    hall_id      BIGINT,
+    CONSTRAINT fk_seats_hall FOREIGN KEY (hall_id) REFERENCES halls (id)
+);
+
+CREATE TABLE showtimes (
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    start_time DATETIME(6),
+    movie_id   BIGINT,
+    hall_id    BIGINT,
+    CONSTRAINT fk_showtimes_movie FOREIGN KEY (movie_id) REFERENCES movies (id),
+    CONSTRAINT fk_showtimes_hall FOREIGN KEY (hall_id) REFERENCES halls (id)
+);
+
+CREATE TABLE bookings (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id      BIGINT,
+    showtime_id  BIGINT,
+    seat_number  VARCHAR(255) NOT NULL,
+    booking_time DATETIME(6),
+    price        DOUBLE       NOT NULL,
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_showtime FOREIGN KEY (showtime_id) REFERENCES showtimes (id)
+);
@@ -0,0 +1,37 @@
+-- The old code could sell a seat twice. The first booking of each seat keeps
+-- it; later ones are set aside in bookings_duplicates (for refunds) and removed
+-- so the unique index below can be built.
+CREATE TABLE bookings_duplicates (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    user_id      BIGINT,
+    showtime_id  BIGINT,
+    seat_number  VARCHAR(255) NOT NULL,
+    booking_time DATETIME(6),
+    price        DOUBLE       NOT NULL
+);
+
+INSERT INTO bookings_duplicates (id, user_id, showtime_id, seat_number, booking_time, price)
+SELECT id, user_id, showtime_id, seat_number, booking_time, price
+FROM bookings
+WHERE showtime_id IS NOT NULL
+  AND id NOT IN (SELECT kept.id FROM (SELECT MIN(id) AS id FROM bookings GROUP BY showtime_id, seat_number) kept);
+
+DELETE FROM bookings WHERE id IN (SELECT id FROM bookings_duplicates);
+
+-- One booking per seat per showtime. Serves existsByShowtimeAndSeatNumber and
+-- the per-showtime seat map load, and closes the check-then-insert race.
+CREATE UNIQUE INDEX ux_bookings_showtime_seat ON bookings (showtime_id, seat_number);
+
+-- findByUser, newest bookings first
+CREATE INDEX ix_bookings_user_time ON bookings (user_id, booking_time);
+
+-- findByStartTimeAfter / findByStartTimeBetweenOrderByStartTime
+CREATE INDEX ix_showtimes_start_time ON showtimes (start_time);
+
+-- findByMovieId and findByHallId, ordered by start time
+CREATE INDEX ix_showtimes_movie_start ON showtimes (movie_id, start_time);
+CREATE INDEX ix_showtimes_hall_start ON showtimes (hall_id, start_time);
+
+-- findByHallId / findByHallIdAndSeatNumberIn. Not unique: shrinking and then
+-- growing a hall has historically re-created seat numbers.
+CREATE INDEX ix_seats_hall_seat_number ON seats (hall_id, seat_number);
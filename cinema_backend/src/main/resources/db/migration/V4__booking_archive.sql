@@ -0,0 +1,21 @@
+-- Bookings of past showtimes, moved out of bookings in batches by
+-- BookingArchiveService. Denormalized so rows outlive the showtime, movie and
+-- hall they belonged to; no foreign keys for the same reason.
+CREATE TABLE bookings_archive (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    user_id      BIGINT,
+    showtime_id  BIGINT,
+    movie_id     BIGINT,
+    hall_id      BIGINT,
+    movie_title  VARCHAR(255),
+    hall_name    VARCHAR(255),
+    start_time   DATETIME(6),
+    seat_number  VARCHAR(255) NOT NULL,
+    seat_code    INT,
+    price        DOUBLE       NOT NULL,
+    booking_time DATETIME(6),
+    archived_at  DATETIME(6)  NOT NULL
+);
+
+-- A user's booking history, newest first
+CREATE INDEX ix_bookings_archive_user_time ON bookings_archive (user_id, booking_time);
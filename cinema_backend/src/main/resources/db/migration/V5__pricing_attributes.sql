@@ -0,0 +1,3 @@
+-- Inputs of the pricing rules: the kind of hall and the category of each seat
+ALTER TABLE halls ADD COLUMN hall_type VARCHAR(20) NOT NULL DEFAULT 'STANDARD';
+ALTER TABLE seats ADD COLUMN category VARCHAR(20) NOT NULL DEFAULT 'STANDARD';
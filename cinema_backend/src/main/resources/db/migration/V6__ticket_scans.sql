@@ -0,0 +1,3 @@
+-- When a ticket was scanned at the door; written in batches by TicketScanService
+ALTER TABLE bookings ADD COLUMN used_at DATETIME(6);
+ALTER TABLE bookings_archive ADD COLUMN used_at DATETIME(6);
@@ -0,0 +1,3 @@
+-- Seat offered to the next user on a showtime's waitlist, kept until confirmed or expired
+ALTER TABLE bookings ADD COLUMN held_until DATETIME(6);
+CREATE INDEX ix_bookings_held_until ON bookings (held_until);
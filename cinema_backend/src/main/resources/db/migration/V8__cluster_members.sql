@@ -0,0 +1,5 @@
+-- Live backend nodes in cluster mode; each node refreshes its own heartbeat
+CREATE TABLE cluster_members (
+    url          VARCHAR(255) NOT NULL PRIMARY KEY,
+    heartbeat_at DATETIME(6)  NOT NULL
+);
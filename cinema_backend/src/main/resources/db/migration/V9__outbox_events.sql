@@ -0,0 +1,14 @@
+-- Transactional outbox: booking and showtime events written with the change
+-- itself and drained by OutboxDispatcher
+CREATE TABLE outbox_events (
+    id              BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_type      VARCHAR(40)   NOT NULL,
+    showtime_id     BIGINT,
+    payload         VARCHAR(4000) NOT NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    status          VARCHAR(10)   NOT NULL DEFAULT 'PENDING',
+    attempts        INT           NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6),
+    last_error      VARCHAR(500)
+);
+CREATE INDEX ix_outbox_events_status_id ON outbox_events (status, id);
@@ -0,0 +1,100 @@
+package com.example.cinema_backend;
+
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.HallRepository;
+import com.example.cinema_backend.repositories.MovieRepository;
+import com.example.cinema_backend.repositories.UserRepository;
+import com.example.cinema_backend.services.HallService;
+import com.example.cinema_backend.services.MovieService;
+import com.example.cinema_backend.services.ShowtimeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Users, halls, movies and showtimes for one test, created through the
+ * services and removed again by {@link #cleanUp()}. The H2 database is shared
+ * with the other test classes, so names are unique per fixture.
+ * A new fixture is injected into each test instance.
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class CinemaFixture {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HallService hallService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private HallRepository hallRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String suffix = String.valueOf(System.nanoTime());
+    private final List<User> users = new ArrayList<>();
+    private final List<Hall> halls = new ArrayList<>();
+    private final List<Movie> movies = new ArrayList<>();
+
+    public User user(String name) {
+        return user(name, User.Role.USER);
+    }
+
+    public User user(String name, User.Role role) {
+        User user = userRepository.save(User.builder().email(name + suffix + "@test").password("x").role(role).build());
+        users.add(user);
+        return user;
+    }
+
+    public Hall hall(String name, int totalSeats) {
+        Hall hall = hallService.addHall(Hall.builder().name(name + " " + suffix).totalSeats(totalSeats).build());
+        halls.add(hall);
+        return hall;
+    }
+
+    public Movie movie(String title) {
+        Movie movie = movieService.addMovie(Movie.builder().title(title + " " + suffix).durationMinutes(90).build());
+        movies.add(movie);
+        return movie;
+    }
+
+    public Showtime showtime(Movie movie, Hall hall, LocalDateTime startTime) {
+        return showtimeService.addShowtime(Showtime.builder().movie(Movie.builder().id(movie.getId()).build())
+                .hall(Hall.builder().id(hall.getId()).build()).startTime(startTime).build());
+    }
+
+    /**
+     * Deletes what this fixture created, including bookings its users have in
+     * the archive. Tests may already have deleted some of it themselves.
+     */
+    public void cleanUp() {
+        movies.forEach(movie -> {
+            if (movieRepository.existsById(movie.getId())) movieService.deleteMovie(movie.getId());
+        });
+        halls.forEach(hall -> {
+            if (hallRepository.existsById(hall.getId())) hallService.deleteHall(hall.getId());
+        });
+        users.forEach(user -> jdbcTemplate.update("DELETE FROM bookings_archive WHERE user_id = ?", user.getId()));
+        userRepository.deleteAll(users);
+    }
+}
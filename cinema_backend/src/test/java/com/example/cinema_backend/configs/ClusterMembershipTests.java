@@ -0,0 +1,60 @@
+package com.example.cinema_backend.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cluster mode with members registered in the database, the other node being
+ * a row whose heartbeat the test controls.
+ */
+@SpringBootTest(properties = {
+        "cluster.enabled=true",
+        "cluster.self-url=http://localhost:18080",
+        "cluster.secret=test-cluster-secret",
+        "cluster.heartbeat-interval-ms=3600000"
+})
+class ClusterMembershipTests {
+
+    private static final String OTHER = "http://localhost:18081";
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM cluster_members");
+        clusterMembership.refresh();
+    }
+
+    @Test
+    void membersComeAndGoWithTheirHeartbeats() {
+        assertEquals(List.of("http://localhost:18080"), clusterMembership.getMembers());
+
+        jdbcTemplate.update("INSERT INTO cluster_members (url, heartbeat_at) VALUES (?, ?)", OTHER, Timestamp.valueOf(LocalDateTime.now()));
+        clusterMembership.refresh();
+        assertEquals(List.of("http://localhost:18080", OTHER), clusterMembership.getMembers());
+        long foreign = 0;
+        for (long showtimeId = 1; showtimeId <= 100; showtimeId++) {
+            if (!clusterMembership.isLocal(showtimeId)) foreign++;
+        }
+        assertTrue(foreign > 20 && foreign < 80, "foreign showtimes: " + foreign);
+
+        // A node that stopped sending heartbeats drops out and its showtimes come back
+        jdbcTemplate.update("UPDATE cluster_members SET heartbeat_at = ? WHERE url = ?", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), OTHER);
+        clusterMembership.refresh();
+        assertEquals(List.of("http://localhost:18080"), clusterMembership.getMembers());
+        assertTrue(clusterMembership.isLocal(42));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.cinema_backend.configs;
+
+import com.example.cinema_backend.services.HallService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ConnectionPoolMetricsTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HallService hallService;
+
+    @Test
+    void openSessionInViewIsDisabled() {
+        assertEquals("false", environment.getProperty("spring.jpa.open-in-view"));
+    }
+
+    @Test
+    void recordsConnectionHoldTimeWithPercentiles() {
+        hallService.getAllHalls();
+
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        assertNotNull(usage);
+        assertTrue(usage.count() > 0);
+        assertEquals(3, usage.takeSnapshot().percentileValues().length);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.cinema_backend.configs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTests {
+
+    private static final List<String> THREE = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+    private static final int KEYS = 30_000;
+
+    @Test
+    void spreadsShowtimesEvenly() {
+        HashRing ring = new HashRing(THREE, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long showtimeId = 1; showtimeId <= KEYS; showtimeId++) {
+            counts.merge(ring.ownerOf(showtimeId), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 3) < KEYS / 3 * 0.2, "unbalanced: " + counts));
+    }
+
+    @Test
+    void addingAMemberOnlyMovesShowtimesToIt() {
+        HashRing before = new HashRing(THREE, 128);
+        HashRing after = new HashRing(List.of("http://c:8080", "http://a:8080", "http://b:8080", "http://d:8080"), 128);
+        int moved = 0;
+        for (long showtimeId = 1; showtimeId <= KEYS; showtimeId++) {
+            String owner = after.ownerOf(showtimeId);
+            if (owner.equals(before.ownerOf(showtimeId))) continue;
+            assertEquals("http://d:8080", owner);
+            moved++;
+        }
+        assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, "moved " + moved);
+    }
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(new HashRing(List.of(), 128).ownerOf(1));
+    }
+}
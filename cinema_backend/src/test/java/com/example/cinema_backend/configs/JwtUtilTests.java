@@ -0,0 +1,53 @@
+package com.example.cinema_backend.configs;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTests {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void refusesToStartWithoutAKey() {
+        assertThrows(IllegalStateException.class, () -> jwtUtil("", "", ""));
+        assertThrows(IllegalStateException.class, () -> jwtUtil("", "2026-10:new", "2026-04"));
+    }
+
+    @Test
+    void oldKeysKeepVerifyingAfterRotation() {
+        String oldToken = jwtUtil("", "2026-04:old", "").generateToken(1L, "a@test", "USER");
+        JwtUtil rotated = jwtUtil("", "2026-10:new,2026-04:old", "2026-10");
+
+        assertEquals("a@test", rotated.verifyAccessToken(oldToken).getSubject());
+        assertEquals("2026-10", JWT.decode(rotated.generateToken(1L, "a@test", "USER")).getKeyId());
+        assertNull(jwtUtil("", "2026-10:new", "").verifyAccessToken(oldToken));
+    }
+
+    @Test
+    void tokensWithoutKeyIdNeedTheLegacySecret() {
+        String legacyToken = JWT.create().withSubject("a@test").withClaim("role", "USER")
+                .withExpiresAt(new Date(System.currentTimeMillis() + HOUR)).sign(Algorithm.HMAC256("old_single_secret"));
+
+        assertNotNull(jwtUtil("old_single_secret", "2026-10:new", "").verifyAccessToken(legacyToken));
+        assertNull(jwtUtil("", "2026-10:new", "").verifyAccessToken(legacyToken));
+    }
+
+    @Test
+    void refreshTokensAreNotAccessTokens() {
+        JwtUtil jwtUtil = jwtUtil("", "2026-10:new", "");
+        String refreshToken = jwtUtil.generateRefreshToken(1L, "a@test");
+
+        assertNull(jwtUtil.verifyAccessToken(refreshToken));
+        assertNotNull(jwtUtil.verifyRefreshToken(refreshToken).getId());
+        assertThrows(RuntimeException.class, () -> jwtUtil.verifyRefreshToken(jwtUtil.generateToken(1L, "a@test", "USER")));
+    }
+
+    private static JwtUtil jwtUtil(String legacySecret, String keyring, String activeKeyId) {
+        return new JwtUtil(legacySecret, keyring, activeKeyId, HOUR, 24 * HOUR);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.cinema_backend.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordCostCalibratorTests {
+
+    @Test
+    void readsTheCostOfABcryptHash() {
+        assertEquals(5, PasswordCostCalibrator.costOf(new BCryptPasswordEncoder(5).encode("pw")));
+        assertEquals(12, PasswordCostCalibrator.costOf("$2a$12$abcdefghijklmnopqrstuv"));
+        assertEquals(-1, PasswordCostCalibrator.costOf("{noop}pw"));
+        assertEquals(-1, PasswordCostCalibrator.costOf(null));
+    }
+
+    @Test
+    void asksForARehashWheneverTheCostDiffers() {
+        PasswordCostCalibrator.TunedBCryptPasswordEncoder encoder = new PasswordCostCalibrator.TunedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("pw")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw")));
+        // Lowering the cost applies to existing users too
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw")));
+        assertFalse(encoder.upgradeEncoding("not a hash"));
+    }
+
+    @Test
+    void neverCalibratesBelowTheMinimumCost() {
+        // No cost verifies in 0 ms
+        assertEquals(PasswordCostCalibrator.MIN_STRENGTH, PasswordCostCalibrator.calibrate(0));
+    }
+}
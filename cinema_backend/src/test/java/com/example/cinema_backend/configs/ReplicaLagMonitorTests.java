@@ -0,0 +1,36 @@
+package com.example.cinema_backend.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks an in-memory H2 database with lag queries standing in for SHOW REPLICA STATUS.
+ */
+class ReplicaLagMonitorTests {
+
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:lag" + System.nanoTime(), "sa", "");
+
+    @Test
+    void replicaWithinTheAllowedLagIsUsable() {
+        assertTrue(checked(new ReplicaLagMonitor(replica, "SELECT 1 AS Seconds_Behind_Source", 2, false)));
+        assertFalse(checked(new ReplicaLagMonitor(replica, "SELECT 5 AS Seconds_Behind_Source", 2, false)));
+        assertFalse(checked(new ReplicaLagMonitor(replica, "SELECT CAST(NULL AS INT) AS Seconds_Behind_Source", 2, false)));
+    }
+
+    @Test
+    void serverWithoutReplicationStatusIsOnlyUsableWhenAllowed() {
+        String noRows = "SELECT 0 AS Seconds_Behind_Source WHERE 1 = 0";
+        assertFalse(checked(new ReplicaLagMonitor(replica, noRows, 2, false)));
+        assertTrue(checked(new ReplicaLagMonitor(replica, noRows, 2, true)));
+    }
+
+    private static boolean checked(ReplicaLagMonitor monitor) {
+        monitor.check();
+        return monitor.isUsable();
+    }
+}
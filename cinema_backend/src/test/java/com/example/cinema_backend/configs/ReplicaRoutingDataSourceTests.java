@@ -0,0 +1,100 @@
+package com.example.cinema_backend.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes between two in-memory H2 databases that each know their own name.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                routingDataSource(primary, replica));
+
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void writeTransactionsGoToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsUnusable() {
+        replicaUsable.set(false);
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        loginAs("alice@example.com");
+        readWrite.execute(status -> whoAmI());
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        loginAs("bob@example.com");
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(DataSource primary, DataSource replica) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, replicaUsable::get, 60_000);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void loginAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
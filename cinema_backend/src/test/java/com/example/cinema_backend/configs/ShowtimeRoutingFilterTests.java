@@ -0,0 +1,143 @@
+package com.example.cinema_backend.configs;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache evictions between nodes, the other node being a stub HTTP server that
+ * turns the first eviction down.
+ */
+@SpringBootTest(properties = {
+        "cluster.enabled=true",
+        "cluster.self-url=http://localhost:18090",
+        "cluster.secret=" + ShowtimeRoutingFilterTests.SECRET,
+        "cluster.heartbeat-interval-ms=3600000",
+        "cluster.evict-retry-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ShowtimeRoutingFilterTests {
+
+    static final String SECRET = "test-cluster-secret";
+
+    private static final List<Headers> evictions = new CopyOnWriteArrayList<>();
+    private static final List<Headers> forwarded = new CopyOnWriteArrayList<>();
+    private static final HttpServer peer = startPeer();
+
+    @Autowired
+    private ShowtimeRoutingFilter showtimeRoutingFilter;
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void members(DynamicPropertyRegistry registry) {
+        registry.add("cluster.members", () -> "http://localhost:18090,http://localhost:" + peer.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopPeer() {
+        peer.stop(0);
+    }
+
+    @Test
+    void evictionsAreOnlyAcceptedWithTheClusterSecret() throws Exception {
+        mockMvc.perform(post("/api/cluster/evict").param("scope", "catalog"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/cluster/evict").param("scope", "catalog").header(ClusterMembership.SECRET_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/cluster/evict").param("scope", "catalog").header(ClusterMembership.SECRET_HEADER, SECRET))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/cluster/evict").param("scope", "showtime").param("showtimeId", "5")
+                        .header(ClusterMembership.SECRET_HEADER, SECRET))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aUsersSeatChangeIsPassedOnWithTheSecretUntilThePeerAcceptsIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/seats/5/availability");
+        request.addHeader("Authorization", "Bearer user-token");
+        showtimeRoutingFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (evictions.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            showtimeRoutingFilter.retryEvictions();
+        }
+        assertEquals(2, evictions.size());
+        for (Headers headers : evictions) {
+            assertEquals(SECRET, headers.getFirst(ClusterMembership.SECRET_HEADER));
+            assertNull(headers.getFirst("Authorization"));
+        }
+
+        // Accepted, so there is nothing left to send
+        Thread.sleep(200);
+        showtimeRoutingFilter.retryEvictions();
+        Thread.sleep(200);
+        assertEquals(2, evictions.size());
+    }
+
+    @Test
+    void onlyRequestsForwardedByAMemberSkipRouting() throws Exception {
+        long showtimeId = 1;
+        while (membership.isLocal(showtimeId)) showtimeId++;
+        AtomicBoolean handledHere = new AtomicBoolean();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/showtimes/" + showtimeId + "/seats");
+        request.addHeader(ShowtimeRoutingFilter.FORWARDED_HEADER, "http://client");
+        showtimeRoutingFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> handledHere.set(true));
+        assertFalse(handledHere.get());
+        assertEquals(1, forwarded.size());
+        assertEquals(SECRET, forwarded.get(0).getFirst(ClusterMembership.SECRET_HEADER));
+
+        request = new MockHttpServletRequest("GET", "/api/showtimes/" + showtimeId + "/seats");
+        request.addHeader(ShowtimeRoutingFilter.FORWARDED_HEADER, "http://localhost:18091");
+        request.addHeader(ClusterMembership.SECRET_HEADER, SECRET);
+        showtimeRoutingFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> handledHere.set(true));
+        assertTrue(handledHere.get());
+        assertEquals(1, forwarded.size());
+    }
+
+    private static HttpServer startPeer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/cluster/evict", exchange -> {
+                evictions.add(exchange.getRequestHeaders());
+                exchange.sendResponseHeaders(evictions.size() == 1 ? 503 : 200, -1);
+                exchange.close();
+            });
+            server.createContext("/api/showtimes", exchange -> {
+                forwarded.add(exchange.getRequestHeaders());
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
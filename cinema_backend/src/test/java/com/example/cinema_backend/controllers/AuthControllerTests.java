@@ -0,0 +1,61 @@
+package com.example.cinema_backend.controllers;
+
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.UserRepository;
+import com.example.cinema_backend.services.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = authService.register("authapi" + System.nanoTime() + "@test", "secret-password", "Auth", User.Role.USER);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void refreshTokensTravelInAHeaderOnly() throws Exception {
+        String refreshToken = authService.login(user.getEmail(), "secret-password").refreshToken();
+
+        // Query strings end up in access logs and browser history
+        mockMvc.perform(post("/api/auth/refresh").param("refreshToken", refreshToken))
+                .andExpect(status().isBadRequest());
+        String rotated = mockMvc.perform(post("/api/auth/refresh").header(AuthController.REFRESH_TOKEN_HEADER, refreshToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(AuthController.REFRESH_TOKEN_HEADER))
+                .andReturn().getResponse().getHeader(AuthController.REFRESH_TOKEN_HEADER);
+        assertNotEquals(refreshToken, rotated);
+
+        mockMvc.perform(post("/api/auth/logout").header(AuthController.REFRESH_TOKEN_HEADER, rotated))
+                .andExpect(status().isOk());
+        assertThrows(RuntimeException.class, () -> authService.refresh(rotated));
+    }
+}
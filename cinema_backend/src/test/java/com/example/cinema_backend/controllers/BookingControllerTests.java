@@ -0,0 +1,138 @@
+package com.example.cinema_backend.controllers;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.configs.JwtUtil;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.SeatRepository;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    private User alice;
+    private User bob;
+    private User admin;
+    private Showtime showtime;
+
+    @BeforeEach
+    void seed() {
+        alice = fixture.user("alice");
+        bob = fixture.user("bob");
+        admin = fixture.user("admin", User.Role.ADMIN);
+        showtime = fixture.showtime(fixture.movie("Owner"), fixture.hall("Owner", 10), LocalDateTime.now().plusDays(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void bookingsAreOnlyListedForTheirOwnerOrAnAdmin() throws Exception {
+        mockMvc.perform(get("/api/bookings/user/" + bob.getId()).header("Authorization", bearer(alice)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookings/user/" + bob.getId() + "/history").header("Authorization", bearer(alice)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookings/user/" + bob.getId()).header("Authorization", bearer(bob)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/bookings/user/" + bob.getId()).header("Authorization", bearer(admin)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ticketsAreOnlyServedToTheBookingsOwner() throws Exception {
+        Booking booking = book(bob, "A1");
+
+        mockMvc.perform(get("/api/bookings/" + booking.getId() + "/ticket").header("Authorization", bearer(bob)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/pdf"));
+        // A user id in the query no longer picks whose ticket it is
+        ServletException denied = assertThrows(ServletException.class, () -> mockMvc.perform(
+                get("/api/bookings/" + booking.getId() + "/ticket").param("userId", bob.getId().toString())
+                        .header("Authorization", bearer(alice))));
+        assertTrue(denied.getCause().getMessage().contains("Booking not found"), denied.getMessage());
+    }
+
+    @Test
+    void onlyTheHolderCanDeclineAHeldSeat() throws Exception {
+        Booking hold = bookingRepository.save(Booking.builder().user(bob).showtime(showtime).seatNumber("A2").price(10)
+                .bookingTime(LocalDateTime.now()).heldUntil(LocalDateTime.now().plusMinutes(10)).build());
+
+        ServletException denied = assertThrows(ServletException.class, () -> mockMvc.perform(
+                post("/api/bookings/" + hold.getId() + "/decline").param("userId", bob.getId().toString())
+                        .header("Authorization", bearer(alice))));
+        assertTrue(denied.getCause().getMessage().contains("No seat is held for this user"), denied.getMessage());
+        assertTrue(bookingRepository.existsById(hold.getId()));
+
+        mockMvc.perform(post("/api/bookings/" + hold.getId() + "/decline").header("Authorization", bearer(bob)))
+                .andExpect(status().isOk());
+        assertFalse(bookingRepository.existsById(hold.getId()));
+    }
+
+    @Test
+    void bestAvailableSeatsAreBookedForTheCaller() throws Exception {
+        // A user id in the query no longer picks who the seats are for
+        mockMvc.perform(post("/api/bookings/best-available").param("showtimeId", showtime.getId().toString())
+                        .param("count", "2").param("userId", bob.getId().toString()).header("Authorization", bearer(alice)))
+                .andExpect(status().isOk());
+
+        assertEquals(2, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getShowtime().getId().equals(showtime.getId()))
+                .filter(booking -> booking.getUser().getId().equals(alice.getId())).count());
+    }
+
+    @Test
+    void onlyAnAdminTakesSeatsOutOfService() throws Exception {
+        Long seatId = seatRepository.findByHallId(showtime.getHall().getId()).get(0).getId();
+
+        mockMvc.perform(put("/api/seats/" + seatId + "/availability").param("available", "false").header("Authorization", bearer(alice)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/seats/" + seatId + "/availability").param("available", "false").header("Authorization", bearer(admin)))
+                .andExpect(status().isOk());
+        assertFalse(seatRepository.findById(seatId).orElseThrow().isAvailable());
+    }
+
+    private Booking book(User user, String seatNumber) {
+        return bookingRepository.save(Booking.builder().user(user).showtime(showtime).seatNumber(seatNumber)
+                .price(10).bookingTime(LocalDateTime.now()).build());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+    }
+}
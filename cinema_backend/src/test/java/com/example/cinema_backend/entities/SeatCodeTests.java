@@ -0,0 +1,32 @@
+package com.example.cinema_backend.entities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeatCodeTests {
+
+    @Test
+    void roundTripsSeatNumbers() {
+        for (String seatNumber : new String[]{"A1", "A10", "C7", "Z65535", "[3"}) {
+            assertEquals(seatNumber, SeatCode.format(SeatCode.parse(seatNumber)));
+        }
+    }
+
+    @Test
+    void packsRowAndColumn() {
+        int code = SeatCode.parse("C10");
+        assertEquals(2, SeatCode.row(code));
+        assertEquals(10, SeatCode.column(code));
+        assertEquals(code, SeatCode.of(2, 10));
+        // Codes order by row, then column
+        assertEquals(-1, Integer.signum(SeatCode.parse("B10") - SeatCode.parse("C1")));
+    }
+
+    @Test
+    void rejectsMalformedSeatNumbers() {
+        for (String seatNumber : new String[]{null, "", "A", "1A", "A0", "A-1", "AB1", "A1x", "A65536"}) {
+            assertEquals(SeatCode.INVALID, SeatCode.parse(seatNumber), seatNumber);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.cinema_backend.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database created by Hibernate before migrations existed, the way
+ * the application does: baselined at V1, then the later scripts.
+ */
+class MigrationTests {
+
+    @Test
+    void upgradesAHibernateSchemaWithDoubleSoldSeats() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // V1 is that schema, as Hibernate generated it
+        String baseline = new String(Objects.requireNonNull(getClass().getResourceAsStream("/db/migration/V1__baseline.sql"))
+                .readAllBytes(), StandardCharsets.UTF_8);
+        for (String statement : baseline.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) jdbc.execute(statement);
+        }
+        jdbc.update("INSERT INTO users (id, email, password, role) VALUES (1, 'old@test', 'x', 'USER')");
+        jdbc.update("INSERT INTO movies (id, title, duration_minutes) VALUES (1, 'Old', 90)");
+        jdbc.update("INSERT INTO halls (id, name, total_seats) VALUES (1, 'Old', 10)");
+        // Booking a seat used to take it out of service in every showtime
+        jdbc.update("INSERT INTO seats (id, seat_number, is_available, hall_id) VALUES (1, 'A1', FALSE, 1)");
+        jdbc.update("INSERT INTO showtimes (id, start_time, movie_id, hall_id) VALUES (1, CURRENT_TIMESTAMP, 1, 1)");
+        // The same seat sold twice, before the unique index existed
+        jdbc.update("INSERT INTO bookings (id, user_id, showtime_id, seat_number, price) VALUES (1, 1, 1, 'A1', 10)");
+        jdbc.update("INSERT INTO bookings (id, user_id, showtime_id, seat_number, price) VALUES (2, 1, 1, 'A1', 10)");
+        jdbc.update("INSERT INTO bookings (id, user_id, showtime_id, seat_number, price) VALUES (3, 1, 1, 'A2', 10)");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(List.of(1L, 3L), jdbc.queryForList("SELECT id FROM bookings ORDER BY id", Long.class));
+        assertEquals(List.of(2L), jdbc.queryForList("SELECT id FROM bookings_duplicates", Long.class));
+        assertEquals(Boolean.TRUE, jdbc.queryForObject("SELECT is_available FROM seats WHERE id = 1", Boolean.class));
+        assertEquals(8, jdbc.queryForObject("SELECT available_seats FROM showtimes WHERE id = 1", Integer.class));
+    }
+}
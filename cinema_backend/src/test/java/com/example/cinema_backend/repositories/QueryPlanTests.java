@@ -0,0 +1,176 @@
+package com.example.cinema_backend.repositories;
+
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every derived and custom repository query, EXPLAINs the SQL Hibernate
+ * generated for it against the migrated H2 schema and fails if any of the
+ * large tables is read with a full table scan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.cinema_backend.repositories.StatementRecorder")
+class QueryPlanTests {
+
+    private static final List<String> LARGE_TABLES = List.of("BOOKINGS", "SHOWTIMES", "SEATS", "USERS");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HallRepository hallRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Hall hall;
+    private Movie movie;
+    private Showtime showtime;
+    private Booking booking;
+
+    @BeforeEach
+    void seed() {
+        String suffix = String.valueOf(System.nanoTime());
+        user = userRepository.save(User.builder().email("plan" + suffix + "@test").password("x").role(User.Role.USER).build());
+        hall = hallRepository.save(Hall.builder().name("Plan " + suffix).totalSeats(2).build());
+        movie = movieRepository.save(Movie.builder().title("Plan " + suffix).durationMinutes(90).build());
+        seatRepository.save(Seat.builder().seatNumber("A1").isAvailable(true).hall(hall).build());
+        seatRepository.save(Seat.builder().seatNumber("A2").isAvailable(true).hall(hall).build());
+        showtime = showtimeRepository.save(Showtime.builder().movie(movie).hall(hall)
+                .startTime(LocalDateTime.now().plusDays(1)).availableSeats(2).build());
+        booking = bookingRepository.save(Booking.builder().user(user).showtime(showtime).seatNumber("A1")
+                .price(10).bookingTime(LocalDateTime.now()).build());
+    }
+
+    // The H2 database is shared with the other test classes
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.delete(booking);
+        showtimeRepository.delete(showtime);
+        seatRepository.deleteAll(seatRepository.findByHallId(hall.getId()));
+        movieRepository.delete(movie);
+        hallRepository.delete(hall);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() {
+        assertIndexed("findByUser", () -> bookingRepository.findByUser(user));
+        assertIndexed("findByShowtime", () -> bookingRepository.findByShowtime(showtime));
+        assertIndexed("countByShowtime", () -> bookingRepository.countByShowtime(showtime));
+        assertIndexed("findBookedSeatCodes", () -> bookingRepository.findBookedSeatCodes(showtime.getId(), List.of(SeatCode.parse("A1"))));
+        assertIndexed("findSeatCodesByShowtimeId", () -> bookingRepository.findSeatCodesByShowtimeId(showtime.getId()));
+        assertIndexed("findDoorEntries", () -> bookingRepository.findDoorEntries(showtime.getId()));
+        assertIndexed("findDoorEntry", () -> bookingRepository.findDoorEntry(booking.getId(), showtime.getId()));
+        assertIndexed("markUsed", () -> bookingRepository.markUsed(List.of(booking.getId()), LocalDateTime.now()));
+        assertIndexed("findShowtimeIdById", () -> bookingRepository.findShowtimeIdById(booking.getId()));
+        assertIndexed("findExpiredHolds", () -> bookingRepository.findExpiredHolds(LocalDateTime.now(), Limit.of(10)));
+        assertIndexed("confirmHold", () -> bookingRepository.confirmHold(booking.getId(), user.getId(), LocalDateTime.now()));
+        assertIndexed("claimExpiredHold", () -> bookingRepository.claimExpiredHold(booking.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    void bulkDeleteAndArchiveQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> showtimeIds = List.of(showtime.getId());
+        List<Long> bookingIds = List.of(booking.getId());
+        assertIndexed("findIdsStartedBefore", () -> bookingRepository.findIdsStartedBefore(now, Limit.of(10)));
+        assertIndexed("archiveByIdIn", () -> bookingRepository.archiveByIdIn(bookingIds, now));
+        assertIndexed("archiveStartedByShowtimeIdIn", () -> bookingRepository.archiveStartedByShowtimeIdIn(showtimeIds, now));
+        assertIndexed("deleteByIdIn", () -> bookingRepository.deleteByIdIn(bookingIds));
+        assertIndexed("deleteByShowtimeIdIn", () -> bookingRepository.deleteByShowtimeIdIn(showtimeIds));
+        assertIndexed("findIdsByMovieId", () -> showtimeRepository.findIdsByMovieId(movie.getId()));
+        assertIndexed("findIdsByHallId", () -> showtimeRepository.findIdsByHallId(hall.getId()));
+        assertIndexed("seats.deleteByHallId", () -> seatRepository.deleteByHallId(hall.getId()));
+    }
+
+    @Test
+    void showtimeQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed("findByMovieId", () -> showtimeRepository.findByMovieId(movie.getId()));
+        assertIndexed("findUpcomingByMovieId", () -> showtimeRepository.findUpcomingByMovieId(movie.getId(), now));
+        assertIndexed("findByHallId", () -> showtimeRepository.findByHallId(hall.getId()));
+        assertIndexed("findByStartTimeAfter", () -> showtimeRepository.findByStartTimeAfter(now));
+        assertIndexed("findByStartTimeBetweenOrderByStartTime", () -> showtimeRepository.findByStartTimeBetweenOrderByStartTime(now, now.plusDays(2)));
+        assertIndexed("claimSeats", () -> showtimeRepository.claimSeats(showtime.getId(), 1));
+        assertIndexed("releaseSeat", () -> showtimeRepository.releaseSeat(showtime.getId()));
+        assertIndexed("recountAvailableSeatsForHall", () -> showtimeRepository.recountAvailableSeatsForHall(hall.getId(), 2));
+        assertIndexed("recountAvailableSeats", () -> showtimeRepository.recountAvailableSeats(showtime.getId()));
+    }
+
+    @Test
+    void seatAndUserQueriesUseIndexes() {
+        assertIndexed("findByHallId", () -> seatRepository.findByHallId(hall.getId()));
+        assertIndexed("findByIsAvailableTrueAndHallId", () -> seatRepository.findByIsAvailableTrueAndHallId(hall.getId()));
+        assertIndexed("findByHallIdAndSeatCodeIn", () -> seatRepository.findByHallIdAndSeatCodeIn(hall.getId(), List.of(SeatCode.parse("A1"), SeatCode.parse("A2"))));
+        assertIndexed("findByEmail", () -> userRepository.findByEmail(user.getEmail()));
+        assertIndexed("existsByEmail", () -> userRepository.existsByEmail(user.getEmail()));
+    }
+
+    /**
+     * Runs the query in a rolled-back transaction and checks the plan of every
+     * statement it issued.
+     */
+    private void assertIndexed(String name, Runnable query) {
+        StatementRecorder.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            List<String> statements = StatementRecorder.stop();
+            assertFalse(statements.isEmpty(), name + " issued no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                for (String table : LARGE_TABLES) {
+                    assertFalse(plan.contains("PUBLIC." + table + ".tableScan"),
+                            name + " scans " + table + ":\n" + plan);
+                }
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        // Parameter values do not change which indexes are usable
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertTrue(plan != null && !plan.isEmpty());
+        return plan.toUpperCase(Locale.ROOT).replace("TABLESCAN", "tableScan");
+    }
+}
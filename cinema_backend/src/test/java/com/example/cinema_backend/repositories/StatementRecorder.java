@@ -0,0 +1,31 @@
+package com.example.cinema_backend.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the SQL Hibernate sends while recording is on, so tests can EXPLAIN it.
+ */
+public class StatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) statements.add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.configs.PasswordCostCalibrator;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AuthServiceTests {
+
+    private static final String PASSWORD = "secret-password";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = authService.register("auth" + System.nanoTime() + "@test", PASSWORD, "Auth", User.Role.USER);
+    }
+
+    // The H2 database is shared with the other test classes; refresh tokens go with the user
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void loginRehashesPasswordsStoredWithAnotherCost() {
+        // Hashed before the cost changed (tests run at cost 4), without an encoder id
+        user.setPassword(new BCryptPasswordEncoder(5).encode(PASSWORD));
+        userRepository.save(user);
+
+        authService.login(user.getEmail(), PASSWORD);
+
+        String rehashed = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("{bcrypt}"), rehashed);
+        assertEquals(4, PasswordCostCalibrator.costOf(rehashed.substring("{bcrypt}".length())));
+        authService.login(user.getEmail(), PASSWORD);
+        assertEquals(rehashed, userRepository.findById(user.getId()).orElseThrow().getPassword());
+        assertThrows(RuntimeException.class, () -> authService.login(user.getEmail(), "wrong-password"));
+    }
+
+    @Test
+    void refreshRotatesTheRefreshToken() {
+        AuthService.AuthTokens login = authService.login(user.getEmail(), PASSWORD);
+        AuthService.AuthTokens refreshed = authService.refresh(login.refreshToken());
+
+        assertNotEquals(login.refreshToken(), refreshed.refreshToken());
+        assertNotNull(authService.refresh(refreshed.refreshToken()).accessToken());
+    }
+
+    @Test
+    void reusingARefreshTokenRevokesTheUsersSessions() {
+        AuthService.AuthTokens login = authService.login(user.getEmail(), PASSWORD);
+        AuthService.AuthTokens otherDevice = authService.login(user.getEmail(), PASSWORD);
+        AuthService.AuthTokens refreshed = authService.refresh(login.refreshToken());
+
+        assertThrows(RuntimeException.class, () -> authService.refresh(login.refreshToken()));
+        assertThrows(RuntimeException.class, () -> authService.refresh(refreshed.refreshToken()));
+        assertThrows(RuntimeException.class, () -> authService.refresh(otherDevice.refreshToken()));
+    }
+
+    @Test
+    void logoutRevokesTheRefreshToken() {
+        AuthService.AuthTokens login = authService.login(user.getEmail(), PASSWORD);
+        AuthService.AuthTokens otherDevice = authService.login(user.getEmail(), PASSWORD);
+
+        authService.logout(login.refreshToken());
+
+        assertThrows(RuntimeException.class, () -> authService.refresh(login.refreshToken()));
+        // Reusing a logged-out token counts as reuse too, so the other session ends as well
+        assertThrows(RuntimeException.class, () -> authService.refresh(otherDevice.refreshToken()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.MovieRepository;
+import com.example.cinema_backend.repositories.SeatRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "booking-archive.batch-size=2")
+class BookingArchiveServiceTests {
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private HallService hallService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Hall hall;
+    private Movie movie;
+
+    @BeforeEach
+    void seed() {
+        user = fixture.user("archive");
+        hall = fixture.hall("Archive", 20);
+        movie = fixture.movie("Archive");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void movesBookingsOfPastShowtimesInBatches() {
+        Showtime past = showtime(LocalDateTime.now().minusDays(3));
+        Showtime recent = showtime(LocalDateTime.now().minusHours(2));
+        for (int i = 1; i <= 5; i++) book(past, "A" + i);
+        Booking kept = book(recent, "A1");
+
+        assertTrue(bookingArchiveService.archivePastBookings() >= 5);
+
+        assertEquals(0, bookingRepository.countByShowtime(past));
+        assertTrue(bookingRepository.existsById(kept.getId()));
+        assertEquals(5, archivedFor(past));
+        assertEquals(movie.getTitle(), jdbcTemplate.queryForObject(
+                "SELECT DISTINCT movie_title FROM bookings_archive WHERE showtime_id = ?", String.class, past.getId()));
+    }
+
+    @Test
+    void archivedBookingsStayInHistoryAndReports() {
+        Showtime past = showtime(LocalDateTime.now().minusDays(3));
+        book(past, "A1");
+        book(past, "A2");
+        bookingArchiveService.archivePastBookings();
+
+        reportingService.reconcile();
+        ReportingService.ReportRow stats = reportingService.getShowtimeStats(past.getId());
+        assertEquals(2, stats.tickets());
+        assertEquals(20.0, stats.revenue());
+        assertEquals(0.1, stats.occupancy());
+        assertEquals(2, bookingService.getBookingHistory(user.getId()).size());
+        assertTrue(bookingService.getBookingsByUser(user.getId()).isEmpty());
+    }
+
+    @Test
+    void deletingAMovieArchivesOnlyBookingsOfShowtimesThatTookPlace() {
+        Showtime played = showtime(LocalDateTime.now().minusHours(3));
+        Showtime upcoming = showtime(LocalDateTime.now().plusDays(2));
+        book(played, "A1");
+        book(upcoming, "B2");
+        reportingService.reconcile();
+        assertEquals(1, reportingService.getShowtimeStats(upcoming.getId()).tickets());
+
+        movieService.deleteMovie(movie.getId());
+
+        assertFalse(movieRepository.existsById(movie.getId()));
+        assertFalse(showtimeRepository.existsById(played.getId()));
+        assertFalse(showtimeRepository.existsById(upcoming.getId()));
+        assertEquals(1, archivedFor(played));
+        assertEquals(0, archivedFor(upcoming));
+        assertEquals(1, bookingService.getBookingHistory(user.getId()).size());
+        // Reports drop the cancelled booking and keep the one that took place
+        assertEquals(0, reportingService.getShowtimeStats(upcoming.getId()).tickets());
+        assertEquals(1, reportingService.getShowtimeStats(played.getId()).tickets());
+    }
+
+    @Test
+    void deletingAHallRemovesItsSeatsAndShowtimes() {
+        Showtime showtime = showtime(LocalDateTime.now().plusDays(1));
+        book(showtime, "A1");
+        Long hallId = hall.getId();
+
+        hallService.deleteHall(hallId);
+
+        assertTrue(seatRepository.findByHallId(hallId).isEmpty());
+        assertFalse(showtimeRepository.existsById(showtime.getId()));
+        assertEquals(0, archivedFor(showtime));
+    }
+
+    private Showtime showtime(LocalDateTime startTime) {
+        return fixture.showtime(movie, hall, startTime);
+    }
+
+    private Booking book(Showtime showtime, String seatNumber) {
+        return bookingRepository.save(Booking.builder().user(user).showtime(showtime).seatNumber(seatNumber)
+                .price(10).bookingTime(LocalDateTime.now()).build());
+    }
+
+    private int archivedFor(Showtime showtime) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings_archive WHERE showtime_id = ?", Integer.class, showtime.getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JsonResponseCacheTests {
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
+    @AfterEach
+    void cleanUp() {
+        responseCache.evictAll();
+    }
+
+    @Test
+    void servesSerializedAndGzippedBytesUntilEvicted() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Movie>> loader = () -> {
+            loads.incrementAndGet();
+            // Big enough for gzip to pay off
+            return IntStream.range(0, 20).mapToObj(i -> Movie.builder().id((long) i)
+                    .title("Cached " + loads.get()).genre("Drama").durationMinutes(90).build()).toList();
+        };
+
+        MockHttpServletResponse plain = serve(null, null, loader);
+        assertEquals("application/json", plain.getContentType());
+        assertTrue(plain.getContentAsString().contains("\"title\":\"Cached 1\""), plain.getContentAsString());
+
+        MockHttpServletResponse gzipped = serve("gzip, deflate", null, loader);
+        assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertEquals(plain.getContentAsString(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // A client holding the current version gets no body
+        MockHttpServletResponse notModified = serve(null, plain.getHeader("ETag"), loader);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+        assertEquals(1, loads.get());
+
+        responseCache.evict(JsonResponseCache.MOVIES);
+        assertTrue(serve(null, plain.getHeader("ETag"), loader).getContentAsString().contains("Cached 2"));
+    }
+
+    @Test
+    void doesNotCacheWhatWasLoadedBeforeAnEviction() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> loader = () -> {
+            // A write commits while this request is still reading
+            if (loads.incrementAndGet() == 1) responseCache.evict(JsonResponseCache.MOVIES);
+            return List.of("load " + loads.get());
+        };
+
+        assertEquals("[\"load 1\"]", serve(null, null, loader).getContentAsString());
+        assertEquals("[\"load 2\"]", serve(null, null, loader).getContentAsString());
+        assertEquals("[\"load 2\"]", serve(null, null, loader).getContentAsString());
+    }
+
+    private MockHttpServletResponse serve(String acceptEncoding, String ifNoneMatch, Supplier<?> loader) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies/public/all");
+        if (acceptEncoding != null) request.addHeader("Accept-Encoding", acceptEncoding);
+        if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCache.serve(JsonResponseCache.MOVIES, "test", request, response, loader);
+        return response;
+    }
+}
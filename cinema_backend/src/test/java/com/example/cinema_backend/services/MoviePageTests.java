@@ -0,0 +1,97 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+class MoviePageTests {
+
+    @Autowired
+    private MoviePageService moviePageService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    // Calls through; one test evicts the page from inside a load
+    @MockitoSpyBean
+    private PricingService pricingService;
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void groupsUpcomingShowtimesByDayAndHall() {
+        Movie movie = fixture.movie("Page");
+        Hall small = fixture.hall("Small", 20);
+        Hall big = fixture.hall("Big", 40);
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        fixture.showtime(movie, small, tomorrow.atTime(18, 0));
+        fixture.showtime(movie, big, tomorrow.atTime(20, 0));
+        fixture.showtime(movie, small, tomorrow.atTime(21, 0));
+        fixture.showtime(movie, big, tomorrow.plusDays(1).atTime(19, 0));
+        fixture.showtime(movie, small, LocalDateTime.now().minusHours(3));
+
+        MoviePageService.MoviePage page = moviePageService.getMoviePage(movie.getId());
+        assertEquals(movie.getTitle(), page.movie().getTitle());
+        assertEquals(List.of(tomorrow, tomorrow.plusDays(1)), page.days().stream().map(MoviePageService.Day::date).toList());
+
+        List<MoviePageService.HallShowtimes> firstDay = page.days().get(0).halls();
+        assertEquals(List.of(small.getId(), big.getId()), firstDay.stream().map(MoviePageService.HallShowtimes::hallId).toList());
+        assertEquals(2, firstDay.get(0).showtimes().size());
+        MoviePageService.ShowtimeSummary showtime = firstDay.get(1).showtimes().get(0);
+        assertEquals(40, showtime.seatsLeft());
+        assertNotNull(showtime.lowestPrice());
+
+        // Served from the cache until the movie or its showtimes change
+        assertSame(page, moviePageService.getMoviePage(movie.getId()));
+        fixture.showtime(movie, big, tomorrow.plusDays(2).atTime(19, 0));
+        assertEquals(3, moviePageService.getMoviePage(movie.getId()).days().size());
+        movieService.updateMovie(movie.getId(), Movie.builder().title("Renamed " + movie.getTitle()).build());
+        assertEquals("Renamed " + movie.getTitle(), moviePageService.getMoviePage(movie.getId()).movie().getTitle());
+    }
+
+    @Test
+    void aPageLoadedAcrossAnEvictionIsNotCached() {
+        Movie movie = fixture.movie("Racing");
+        Hall hall = fixture.hall("Racing", 20);
+        fixture.showtime(movie, hall, LocalDate.now().plusDays(1).atTime(18, 0));
+
+        // The movie changes while its page is being built
+        doAnswer(invocation -> {
+            moviePageService.evict(movie.getId());
+            return invocation.callRealMethod();
+        }).when(pricingService).lowestPrice(any());
+        MoviePageService.MoviePage stale = moviePageService.getMoviePage(movie.getId());
+
+        doAnswer(invocation -> invocation.callRealMethod()).when(pricingService).lowestPrice(any());
+        MoviePageService.MoviePage fresh = moviePageService.getMoviePage(movie.getId());
+        assertNotSame(stale, fresh);
+        assertSame(fresh, moviePageService.getMoviePage(movie.getId()));
+    }
+
+    @Test
+    void missingMovieIsAnError() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> moviePageService.getMoviePage(-1L));
+        assertEquals("Movie not found with id: -1", e.getMessage());
+    }
+}
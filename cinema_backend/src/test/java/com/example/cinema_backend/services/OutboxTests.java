@@ -0,0 +1,154 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.OutboxEvent;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "outbox.file.enabled=true",
+        "outbox.file.path=target/outbox-tests/events.jsonl"
+})
+class OutboxTests {
+
+    /**
+     * Records what it is given and fails any batch containing an event of the
+     * poisoned showtime.
+     */
+    static class RecordingSink implements OutboxSink {
+        final List<OutboxEvent> delivered = new CopyOnWriteArrayList<>();
+        volatile Long poisoned;
+
+        @Override
+        public void deliver(List<OutboxEvent> events) {
+            if (events.stream().anyMatch(event -> event.getShowtimeId() != null && event.getShowtimeId().equals(poisoned))) {
+                throw new IllegalStateException("consumer unavailable");
+            }
+            delivered.addAll(events);
+        }
+    }
+
+    @TestConfiguration
+    static class Sinks {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Hall hall;
+    private Movie movie;
+
+    @BeforeEach
+    void seed() throws IOException {
+        Files.deleteIfExists(Path.of("target/outbox-tests/events.jsonl"));
+        // Events left behind by other test classes sharing the database
+        outboxDispatcher.dispatch();
+        sink.delivered.clear();
+
+        user = fixture.user("outbox");
+        hall = fixture.hall("Outbox", 10);
+        movie = fixture.movie("Outbox");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sink.poisoned = null;
+        fixture.cleanUp();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void deliversEventsOfEachShowtimeInOrder() throws IOException {
+        Showtime showtime = addShowtime();
+        Booking booking = bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+        bookingService.deleteBooking(booking.getId());
+
+        outboxDispatcher.dispatch();
+
+        assertEquals(List.of(OutboxService.SHOWTIME_CREATED, OutboxService.BOOKING_CREATED, OutboxService.BOOKING_CANCELLED),
+                typesFor(showtime));
+        assertEquals(0, outboxEventRepository.count());
+        List<String> lines = Files.readAllLines(Path.of("target/outbox-tests/events.jsonl"));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains("\"seatNumber\":\"A1\""), lines.get(1));
+    }
+
+    @Test
+    void failingShowtimeIsRetriedWithoutHoldingUpOthers() {
+        Showtime stuck = addShowtime();
+        Showtime healthy = addShowtime();
+        sink.poisoned = stuck.getId();
+        bookingService.bookSeat(user.getId(), stuck.getId(), "A1");
+        bookingService.bookSeat(user.getId(), healthy.getId(), "A1");
+
+        outboxDispatcher.dispatch();
+
+        assertEquals(List.of(OutboxService.SHOWTIME_CREATED, OutboxService.BOOKING_CREATED), typesFor(healthy));
+        assertTrue(typesFor(stuck).isEmpty());
+        List<OutboxEvent> waiting = outboxEventRepository.findAll();
+        assertEquals(2, waiting.size());
+        assertEquals(1, waiting.get(0).getAttempts());
+        assertNotNull(waiting.get(0).getNextAttemptAt());
+        // The later event was held back, not attempted
+        assertEquals(0, waiting.get(1).getAttempts());
+
+        // Once the consumer is back and the backoff has passed, both go out in order
+        sink.poisoned = null;
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ?", LocalDateTime.now().minusSeconds(1));
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(OutboxService.SHOWTIME_CREATED, OutboxService.BOOKING_CREATED), typesFor(stuck));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private Showtime addShowtime() {
+        return fixture.showtime(movie, hall, LocalDateTime.now().plusDays(1));
+    }
+
+    private List<String> typesFor(Showtime showtime) {
+        return sink.delivered.stream()
+                .filter(event -> showtime.getId().equals(event.getShowtimeId()))
+                .map(OutboxEvent::getEventType)
+                .toList();
+    }
+}
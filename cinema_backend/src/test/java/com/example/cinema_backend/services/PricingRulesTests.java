@@ -0,0 +1,75 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+import com.example.cinema_backend.entities.Showtime;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingRulesTests {
+
+    private final PricingRules rules = new PricingRules(10.00,
+            "ECONOMY=0.8,PREMIUM=1.5", "IMAX=1.4", "0=0.8,17=1.0", "SATURDAY=1.2", "70=1.1,90=1.25");
+
+    // A Wednesday evening and a Saturday afternoon
+    private static final LocalDateTime WEDNESDAY_EVENING = LocalDateTime.of(2026, 1, 7, 20, 0);
+    private static final LocalDateTime SATURDAY_AFTERNOON = LocalDateTime.of(2026, 1, 10, 14, 0);
+
+    private static final int A1 = SeatCode.parse("A1");
+    private static final int A2 = SeatCode.parse("A2");
+    private static final int B1 = SeatCode.parse("B1");
+
+    @Test
+    void appliesSeatHallTimeAndDayMultipliers() {
+        PriceTable standard = compile(Hall.HallType.STANDARD, WEDNESDAY_EVENING);
+        assertEquals(1000, standard.priceCents(A1, 10));
+        assertEquals(800, standard.priceCents(A2, 10));
+        assertEquals(1500, standard.priceCents(B1, 10));
+
+        // 10.00 x 1.5 (premium) x 1.4 (IMAX) x 0.8 (matinee) x 1.2 (Saturday)
+        assertEquals(2016, compile(Hall.HallType.IMAX, SATURDAY_AFTERNOON).priceCents(B1, 10));
+    }
+
+    @Test
+    void surgesWithOccupancy() {
+        PriceTable table = compile(Hall.HallType.STANDARD, WEDNESDAY_EVENING);
+        assertEquals(1000, table.priceCents(A1, 4));  // 60% sold
+        assertEquals(1100, table.priceCents(A1, 3));  // 70% sold
+        assertEquals(1250, table.priceCents(A1, 1));  // 90% sold
+        assertEquals(1250, table.priceCents(A1, -5)); // counter out of range
+    }
+
+    @Test
+    void seatsOutsideTheHallHaveNoPrice() {
+        PriceTable table = compile(Hall.HallType.STANDARD, WEDNESDAY_EVENING);
+        assertEquals(PriceTable.NO_PRICE, table.priceCents(SeatCode.parse("B2"), 10));
+        assertEquals(PriceTable.NO_PRICE, table.priceCents(SeatCode.parse("Z9"), 10));
+        assertEquals(PriceTable.NO_PRICE, table.priceCents(SeatCode.INVALID, 10));
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalArgumentException.class, () -> new PricingRules(10, "GOLD=2", "", "", "", ""));
+        assertThrows(IllegalArgumentException.class, () -> new PricingRules(10, "", "", "25=1.1", "", ""));
+        assertThrows(IllegalArgumentException.class, () -> new PricingRules(10, "", "", "", "", "50"));
+        assertThrows(IllegalArgumentException.class, () -> new PricingRules(0, "", "", "", "", ""));
+    }
+
+    private PriceTable compile(Hall.HallType hallType, LocalDateTime startTime) {
+        Hall hall = Hall.builder().id(1L).totalSeats(10).hallType(hallType).build();
+        Showtime showtime = Showtime.builder().id(1L).hall(hall).startTime(startTime).build();
+        return rules.compile(showtime, List.of(
+                seat("A1", Seat.Category.STANDARD),
+                seat("A2", Seat.Category.ECONOMY),
+                seat("B1", Seat.Category.PREMIUM)));
+    }
+
+    private static Seat seat(String seatNumber, Seat.Category category) {
+        return Seat.builder().seatNumber(seatNumber).seatCode(SeatCode.parse(seatNumber)).category(category).build();
+    }
+}
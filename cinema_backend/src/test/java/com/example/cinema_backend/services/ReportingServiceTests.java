@@ -0,0 +1,132 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReportingServiceTests {
+
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Hall hall;
+    private Movie movie;
+    private Showtime showtime;
+
+    @BeforeEach
+    void seed() {
+        user = fixture.user("reports");
+        hall = fixture.hall("Reports", 10);
+        movie = fixture.movie("Reports");
+        showtime = fixture.showtime(movie, hall, LocalDateTime.now().plusDays(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void countersFollowBookingsPriceChangesAndCancellations() {
+        ReportingService.SalesSummary before = reportingService.getSummary();
+        Booking first = bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+        Booking second = bookingService.bookSeat(user.getId(), showtime.getId(), "A2");
+        double revenue = first.getPrice() + second.getPrice();
+
+        ReportingService.ReportRow stats = reportingService.getShowtimeStats(showtime.getId());
+        assertEquals(2, stats.tickets());
+        assertEquals(revenue, stats.revenue(), 0.001);
+        assertEquals(0.2, stats.occupancy(), 0.001);
+        assertEquals(movie.getTitle(), row(reportingService.getRevenueByMovie(), movie.getId()).label());
+        assertEquals(hall.getName(), row(reportingService.getRevenueByHall(), hall.getId()).label());
+        assertEquals(before.tickets() + 2, reportingService.getSummary().tickets());
+
+        bookingService.updateBooking(first.getId(), Booking.builder().price(first.getPrice() + 5).build());
+        assertEquals(revenue + 5, reportingService.getShowtimeStats(showtime.getId()).revenue(), 0.001);
+
+        bookingService.deleteBooking(second.getId());
+        stats = reportingService.getShowtimeStats(showtime.getId());
+        assertEquals(1, stats.tickets());
+        assertEquals(first.getPrice() + 5, stats.revenue(), 0.001);
+        assertEquals(before.tickets() + 1, reportingService.getSummary().tickets());
+    }
+
+    @Test
+    void reconcileRebuildsTheCountersFromTheDatabase() {
+        bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+        // Written behind the counters' back
+        bookingRepository.save(Booking.builder().user(user).showtime(showtime).seatNumber("A2")
+                .price(12.5).bookingTime(LocalDateTime.now()).build());
+        assertEquals(1, reportingService.getShowtimeStats(showtime.getId()).tickets());
+
+        reportingService.reconcile();
+
+        ReportingService.ReportRow stats = reportingService.getShowtimeStats(showtime.getId());
+        assertEquals(2, stats.tickets());
+        assertEquals(0.2, stats.occupancy(), 0.001);
+        assertEquals(2, row(reportingService.getRevenueByMovie(), movie.getId()).tickets());
+        assertNotNull(reportingService.getSummary().reconciledAt());
+    }
+
+    @Test
+    void salesFollowAShowtimeThatIsMovedOrDeleted() {
+        ReportingService.SalesSummary before = reportingService.getSummary();
+        Booking booking = bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+        Movie sequel = fixture.movie("Reports sequel");
+        Hall bigger = fixture.hall("Reports bigger", 20);
+
+        // As a reschedule job does, which may move showtimes with bookings
+        transactionTemplate.executeWithoutResult(status -> showtimeService.moveShowtime(showtime.getId(),
+                Showtime.builder().movie(Movie.builder().id(sequel.getId()).build())
+                        .hall(Hall.builder().id(bigger.getId()).build()).build()));
+
+        assertEquals(0, row(reportingService.getRevenueByMovie(), movie.getId()).tickets());
+        assertEquals(1, row(reportingService.getRevenueByMovie(), sequel.getId()).tickets());
+        assertEquals(0, row(reportingService.getRevenueByHall(), hall.getId()).tickets());
+        assertEquals(booking.getPrice(), row(reportingService.getRevenueByHall(), bigger.getId()).revenue(), 0.001);
+        assertEquals(0.05, reportingService.getShowtimeStats(showtime.getId()).occupancy(), 0.001);
+
+        // Not started, so the booking is dropped rather than archived
+        showtimeService.deleteShowtime(showtime.getId());
+
+        assertEquals(0, row(reportingService.getRevenueByMovie(), sequel.getId()).tickets());
+        assertEquals(0, reportingService.getShowtimeStats(showtime.getId()).tickets());
+        assertEquals(before.tickets(), reportingService.getSummary().tickets());
+    }
+
+    private static ReportingService.ReportRow row(List<ReportingService.ReportRow> rows, Long id) {
+        return rows.stream().filter(row -> row.key().equals(String.valueOf(id))).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.cinema_backend.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEventsAfterRestart() {
+        SeatJournal journal = open(1024);
+        journal.track(7L, new int[]{3, 1});
+        journal.booked(7L, 5);
+        journal.cancelled(7L, 1);
+        journal.moved(7L, 3, 4);
+        // Not tracked, so not journaled
+        journal.booked(8L, 1);
+        journal.flush();
+
+        SeatJournal restarted = open(1024);
+        assertArrayEquals(new int[]{4, 5}, restarted.bookedSeatCodes(7L));
+        assertNull(restarted.bookedSeatCodes(8L));
+    }
+
+    @Test
+    void snapshotsReplaceCoveredSegments() throws IOException {
+        // Two records per segment
+        SeatJournal journal = open(2 * SeatJournal.RECORD_BYTES);
+        journal.track(7L, new int[0]);
+        for (int code = 1; code <= 5; code++) journal.booked(7L, code);
+        assertEquals(3, count("segment-*.journal"));
+
+        journal.snapshot();
+        assertEquals(1, count("segment-*.journal"));
+
+        journal.booked(7L, 6);
+        journal.flush();
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6}, open(2 * SeatJournal.RECORD_BYTES).bookedSeatCodes(7L));
+    }
+
+    @Test
+    void keepsTheSegmentsAFailedSnapshotStillNeeds() throws IOException {
+        // Two records per segment
+        SeatJournal journal = open(2 * SeatJournal.RECORD_BYTES);
+        journal.track(7L, new int[0]);
+        journal.track(8L, new int[0]);
+        journal.booked(7L, 1);
+        journal.booked(8L, 1);
+        journal.booked(7L, 2);
+        journal.booked(8L, 2);
+        journal.booked(7L, 3);
+
+        // Showtime 8's snapshot cannot be written, so its bookings only live in the segments
+        Files.createDirectories(directory.resolve("showtime-8.snap.tmp").resolve("blocked"));
+        journal.snapshot();
+        assertEquals(3, count("segment-*.journal"));
+
+        journal.flush();
+        SeatJournal restarted = open(2 * SeatJournal.RECORD_BYTES);
+        assertArrayEquals(new int[]{1, 2, 3}, restarted.bookedSeatCodes(7L));
+        assertArrayEquals(new int[]{1, 2}, restarted.bookedSeatCodes(8L));
+    }
+
+    @Test
+    void sequenceContinuesAfterAllSegmentsWereDropped() {
+        SeatJournal journal = open(SeatJournal.RECORD_BYTES);
+        journal.track(7L, new int[0]);
+        journal.booked(7L, 1);
+        journal.booked(7L, 2);
+        journal.snapshot();
+
+        SeatJournal restarted = open(SeatJournal.RECORD_BYTES);
+        restarted.booked(7L, 3);
+        restarted.flush();
+        assertArrayEquals(new int[]{1, 2, 3}, open(SeatJournal.RECORD_BYTES).bookedSeatCodes(7L));
+    }
+
+    @Test
+    void ignoresATornTailRecord() throws IOException {
+        SeatJournal journal = open(1024);
+        journal.track(7L, new int[0]);
+        journal.booked(7L, 1);
+        journal.booked(7L, 2);
+        journal.flush();
+
+        // Corrupt the second record's seat code without fixing its checksum
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(p -> p.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(SeatJournal.RECORD_BYTES + 16);
+            file.writeInt(99);
+        }
+
+        SeatJournal restarted = open(1024);
+        assertArrayEquals(new int[]{1}, restarted.bookedSeatCodes(7L));
+        // New events overwrite the torn record
+        restarted.booked(7L, 3);
+        restarted.flush();
+        assertArrayEquals(new int[]{1, 3}, open(1024).bookedSeatCodes(7L));
+    }
+
+    @Test
+    void forgottenShowtimesStayForgotten() {
+        SeatJournal journal = open(1024);
+        journal.track(7L, new int[]{1});
+        journal.forget(7L);
+        journal.booked(7L, 2);
+        journal.snapshot();
+
+        assertNull(open(1024).bookedSeatCodes(7L));
+    }
+
+    private SeatJournal open(int segmentBytes) {
+        SeatJournal journal = new SeatJournal(true, directory.toString(), segmentBytes);
+        journal.recover();
+        return journal;
+    }
+
+    private long count(String glob) throws IOException {
+        try (var files = Files.newDirectoryStream(directory, glob)) {
+            long count = 0;
+            for (Path ignored : files) count++;
+            return count;
+        }
+    }
+}
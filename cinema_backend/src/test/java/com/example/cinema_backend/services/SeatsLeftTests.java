@@ -0,0 +1,99 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The seats-left counter on showtimes, which bookings claim from and
+ * cancellations and hall changes give back to.
+ */
+@SpringBootTest
+class SeatsLeftTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HallService hallService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    private User user;
+    private Hall hall;
+    private Movie movie;
+    private Showtime showtime;
+
+    @BeforeEach
+    void seed() {
+        user = fixture.user("seats");
+        hall = fixture.hall("Seats", 5);
+        movie = fixture.movie("Seats");
+        showtime = fixture.showtime(movie, hall, LocalDateTime.now().plusDays(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void bookingsClaimSeatsAndCancellationsReleaseThem() {
+        assertEquals(5, seatsLeft());
+        Booking first = bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+        bookingService.bookSeat(user.getId(), showtime.getId(), "A2");
+        assertEquals(3, seatsLeft());
+
+        bookingService.deleteBooking(first.getId());
+        assertEquals(4, seatsLeft());
+    }
+
+    @Test
+    void aShowtimeWithNoSeatsLeftIsSoldOut() {
+        for (int seat = 1; seat <= 5; seat++) bookingService.bookSeat(user.getId(), showtime.getId(), "A" + seat);
+        assertEquals(0, seatsLeft());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> bookingService.bookSeat(user.getId(), showtime.getId(), "A1"));
+        assertEquals("Showtime is sold out!", e.getMessage());
+        assertEquals(0, seatsLeft());
+    }
+
+    @Test
+    void hallResizesMoveTheCounterButNeverBelowZero() {
+        for (int seat = 1; seat <= 3; seat++) bookingService.bookSeat(user.getId(), showtime.getId(), "A" + seat);
+
+        hallService.updateHall(hall.getId(), Hall.builder().totalSeats(8).build());
+        assertEquals(5, seatsLeft());
+
+        // Shrunk below the three seats already sold
+        hallService.updateHall(hall.getId(), Hall.builder().totalSeats(2).build());
+        assertEquals(0, seatsLeft());
+        assertThrows(RuntimeException.class, () -> bookingService.bookSeat(user.getId(), showtime.getId(), "A4"));
+
+        // Growing again leaves room for exactly the seats not sold
+        hallService.updateHall(hall.getId(), Hall.builder().totalSeats(8).build());
+        assertEquals(5, seatsLeft());
+    }
+
+    private int seatsLeft() {
+        return showtimeRepository.findById(showtime.getId()).orElseThrow().getAvailableSeats();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.ShowtimeJob;
+import com.example.cinema_backend.entities.ShowtimeJobItem;
+import com.example.cinema_backend.entities.ShowtimeJobOutcome;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.ShowtimeJobItemRepository;
+import com.example.cinema_backend.repositories.ShowtimeJobRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "showtime-jobs.chunk-size=2")
+class ShowtimeJobTests {
+
+    // With the journal on, a re-seated showtime's seat map is only right if its journal is dropped too
+    @DynamicPropertySource
+    static void seatJournal(DynamicPropertyRegistry registry) {
+        registry.add("seat-journal.enabled", () -> "true");
+        registry.add("seat-journal.dir", () -> {
+            try {
+                return Files.createTempDirectory("showtime-job-journal").toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Autowired
+    private ShowtimeJobService showtimeJobService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private ShowtimeJobRepository jobRepository;
+
+    @Autowired
+    private ShowtimeJobItemRepository itemRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Movie movie;
+    private Hall large;
+    private Hall small;
+
+    @BeforeEach
+    void seed() {
+        user = fixture.user("jobs");
+        movie = fixture.movie("Jobs");
+        large = fixture.hall("Jobs large", 20);
+        small = fixture.hall("Jobs small", 3);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void rescheduleIntoASmallerHallKeepsReseatsAndCancels() throws InterruptedException {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MINUTES);
+        Showtime showtime = showtime(startTime);
+        Booking a1 = bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+        Booking a2 = bookingService.bookSeat(user.getId(), showtime.getId(), "A2");
+        Booking b5 = bookingService.bookSeat(user.getId(), showtime.getId(), "B5");
+        Booking b6 = bookingService.bookSeat(user.getId(), showtime.getId(), "B6");
+        // Loaded, and journaled, before the job
+        assertEquals(16, seatMapService.getSeatStatuses(showtime.getId()).stream().filter(ShowtimeSeatMap.SeatStatus::available).count());
+
+        assertThrows(RuntimeException.class, () -> showtimeJobService.submit(new ShowtimeJobService.JobRequest(
+                ShowtimeJob.Type.RESCHEDULE, List.of(showtime.getId()), null, null, null, null, 0)));
+        ShowtimeJob job = showtimeJobService.submit(new ShowtimeJobService.JobRequest(
+                ShowtimeJob.Type.RESCHEDULE, List.of(showtime.getId()), null, null, null, small.getId(), 30));
+        job = awaitFinished(job.getId());
+
+        assertEquals(ShowtimeJob.Status.COMPLETED, job.getStatus(), job.getLastError());
+        assertEquals(1, job.getDoneShowtimes());
+        assertEquals(2, job.getKept());
+        assertEquals(1, job.getReseated());
+        assertEquals(1, job.getCancelled());
+
+        // A1 and A2 exist in the small hall, A3 is the free seat closest to B5, and B6 finds nothing
+        Map<Long, ShowtimeJobOutcome> outcomes = showtimeJobService.getOutcomes(job.getId(), 0, 100).stream()
+                .collect(Collectors.toMap(ShowtimeJobOutcome::getBookingId, Function.identity()));
+        assertEquals(ShowtimeJobOutcome.Outcome.KEPT, outcomes.get(a1.getId()).getOutcome());
+        assertEquals(ShowtimeJobOutcome.Outcome.KEPT, outcomes.get(a2.getId()).getOutcome());
+        assertEquals(ShowtimeJobOutcome.Outcome.RESEATED, outcomes.get(b5.getId()).getOutcome());
+        assertEquals("B5", outcomes.get(b5.getId()).getOldSeat());
+        assertEquals("A3", outcomes.get(b5.getId()).getNewSeat());
+        assertEquals(ShowtimeJobOutcome.Outcome.CANCELLED, outcomes.get(b6.getId()).getOutcome());
+
+        Showtime moved = showtimeRepository.findById(showtime.getId()).orElseThrow();
+        assertEquals(small.getId(), moved.getHall().getId());
+        assertEquals(startTime.plusMinutes(30), moved.getStartTime());
+        assertEquals(0, moved.getAvailableSeats());
+        assertEquals("A3", bookingRepository.findById(b5.getId()).orElseThrow().getSeatNumber());
+        assertFalse(bookingRepository.existsById(b6.getId()));
+        assertEquals(3, bookingRepository.countByShowtime(moved));
+        // The seat map follows the moved bookings
+        assertEquals(List.of("A1", "A2", "A3"), seatMapService.getSeatStatuses(showtime.getId()).stream()
+                .filter(seat -> !seat.available()).map(ShowtimeSeatMap.SeatStatus::seatNumber).toList());
+    }
+
+    @Test
+    void aShowtimeWithBookingsIsOnlyMovedToAnotherHallByAJob() {
+        Showtime showtime = showtime(LocalDateTime.now().plusDays(2));
+        bookingService.bookSeat(user.getId(), showtime.getId(), "A1");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> showtimeService.updateShowtime(showtime.getId(),
+                Showtime.builder().hall(Hall.builder().id(small.getId()).build()).build()));
+        assertTrue(e.getMessage().contains("RESCHEDULE job"), e.getMessage());
+        assertEquals(large.getId(), showtimeRepository.findById(showtime.getId()).orElseThrow().getHall().getId());
+    }
+
+    @Test
+    void cancelTakenOverAfterACrashContinuesFromTheCheckpoint() throws InterruptedException {
+        Showtime showtime = showtime(LocalDateTime.now().plusDays(3));
+        List<Booking> bookings = List.of(
+                bookingService.bookSeat(user.getId(), showtime.getId(), "A1"),
+                bookingService.bookSeat(user.getId(), showtime.getId(), "A2"),
+                bookingService.bookSeat(user.getId(), showtime.getId(), "A3"),
+                bookingService.bookSeat(user.getId(), showtime.getId(), "A4"));
+
+        // A worker handled the first chunk, then died holding the lease
+        LocalDateTime now = LocalDateTime.now();
+        ShowtimeJob job = jobRepository.save(ShowtimeJob.builder().type(ShowtimeJob.Type.CANCEL)
+                .status(ShowtimeJob.Status.RUNNING).totalShowtimes(1).cancelled(2)
+                .createdAt(now.minusMinutes(10)).leaseUntil(now.minusMinutes(1)).build());
+        itemRepository.save(ShowtimeJobItem.builder().jobId(job.getId()).showtimeId(showtime.getId())
+                .status(ShowtimeJobItem.Status.STARTED).lastBookingId(bookings.get(1).getId()).build());
+
+        showtimeJobService.wakeUp();
+        job = awaitFinished(job.getId());
+
+        assertEquals(ShowtimeJob.Status.COMPLETED, job.getStatus(), job.getLastError());
+        assertEquals(4, job.getCancelled());
+        assertEquals(List.of(bookings.get(2).getId(), bookings.get(3).getId()),
+                showtimeJobService.getOutcomes(job.getId(), 0, 100).stream().map(ShowtimeJobOutcome::getBookingId).toList());
+        assertEquals(ShowtimeJobItem.Status.DONE, showtimeJobService.getItems(job.getId()).get(0).getStatus());
+        assertFalse(showtimeRepository.existsById(showtime.getId()));
+        bookings.forEach(booking -> assertFalse(bookingRepository.existsById(booking.getId())));
+        // Cancelled bookings are not history
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings_archive WHERE showtime_id = ?", Integer.class, showtime.getId()));
+    }
+
+    private Showtime showtime(LocalDateTime startTime) {
+        return fixture.showtime(movie, large, startTime);
+    }
+
+    private ShowtimeJob awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            ShowtimeJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == ShowtimeJob.Status.COMPLETED || job.getStatus() == ShowtimeJob.Status.FAILED) return job;
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Showtime job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.entities.Seat;
+import com.example.cinema_backend.entities.SeatCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShowtimeSeatMapTests {
+
+    @Test
+    void picksCentralBlockInEmptyHall() {
+        // Rows A-E, 10 seats each: the centre is row C between seats 5 and 6
+        ShowtimeSeatMap seatMap = seatMap(50, List.of());
+        assertEquals(List.of("C4", "C5", "C6", "C7"), seatMap.findBestBlock(4).seatNumbers());
+    }
+
+    @Test
+    void movesAsideWhenCentreIsTaken() {
+        ShowtimeSeatMap seatMap = seatMap(50, List.of("C5", "C6"));
+        // The same seats one row forward beat shifting sideways within row C
+        assertEquals(List.of("B5", "B6"), seatMap.findBestBlock(2).seatNumbers());
+        // A block of four only fits sideways in row C, so the adjacent rows win
+        assertEquals(List.of("B4", "B5", "B6", "B7"), seatMap.findBestBlock(4).seatNumbers());
+    }
+
+    @Test
+    void returnsNullWhenNoRowFitsTheBlock() {
+        // Free runs of 3, 2 and 3 in both rows
+        ShowtimeSeatMap seatMap = seatMap(20, List.of("A4", "A7", "B4", "B7"));
+        assertNull(seatMap.findBestBlock(4));
+        assertNotNull(seatMap.findBestBlock(3));
+    }
+
+    @Test
+    void releasedSeatsBecomeAvailableAgain() {
+        ShowtimeSeatMap seatMap = seatMap(10, List.of());
+        ShowtimeSeatMap.Block block = seatMap.reserveBestBlock(10);
+        assertNotNull(block);
+        assertNull(seatMap.findBestBlock(1));
+
+        seatMap.markFree(SeatCode.parse("A3"));
+        assertEquals(List.of("A3"), seatMap.findBestBlock(1).seatNumbers());
+    }
+
+    @Test
+    void blocksCarryTheirSeatCodes() {
+        ShowtimeSeatMap.Block block = seatMap(50, List.of()).findBestBlock(2);
+        assertArrayEquals(new int[]{SeatCode.parse("C5"), SeatCode.parse("C6")}, block.seatCodes());
+    }
+
+    @Test
+    void seatsOutsideTheHallAreIgnored() {
+        ShowtimeSeatMap seatMap = seatMap(10, List.of("Z9", "A11"));
+        assertFalse(seatMap.isAvailable(SeatCode.parse("B1")));
+        assertTrue(seatMap.isAvailable(SeatCode.parse("A10")));
+        seatMap.markTaken(SeatCode.parse("A11"));
+        assertEquals(10, seatMap.getSeatStatuses().stream().filter(ShowtimeSeatMap.SeatStatus::available).count());
+    }
+
+    @Test
+    void outOfServiceSeatsAreNeverOffered() {
+        List<Seat> seats = seats(10);
+        seats.get(4).setAvailable(false);
+        ShowtimeSeatMap seatMap = new ShowtimeSeatMap(1L, null, seats, new int[0]);
+        assertFalse(seatMap.isAvailable(SeatCode.parse("A5")));
+        assertFalse(seatMap.findBestBlock(1).seatNumbers().contains("A5"));
+    }
+
+    @Test
+    void concurrentReservationsNeverOverlap() throws Exception {
+        ShowtimeSeatMap seatMap = seatMap(2000, List.of());
+        Set<String> reserved = Collections.synchronizedSet(new HashSet<>());
+        List<String> duplicates = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 600; i++) {
+            pool.submit(() -> {
+                ShowtimeSeatMap.Block block = seatMap.reserveBestBlock(3);
+                if (block == null) return;
+                for (String seat : block.seatNumbers()) {
+                    if (!reserved.add(seat)) duplicates.add(seat);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(duplicates.isEmpty(), "Seats handed out twice: " + duplicates);
+        // Three blocks of three fit in each row of ten
+        assertEquals(600 * 3, reserved.size());
+    }
+
+    private static ShowtimeSeatMap seatMap(int totalSeats, List<String> booked) {
+        int[] bookedCodes = booked.stream().mapToInt(SeatCode::parse).toArray();
+        return new ShowtimeSeatMap(1L, null, seats(totalSeats), bookedCodes);
+    }
+
+    // Same numbering as HallService: rows of ten, A1..A10, B1..B10, ...
+    private static List<Seat> seats(int totalSeats) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 1; i <= totalSeats; i++) {
+            char row = (char) ('A' + (i - 1) / 10);
+            int column = (i - 1) % 10 + 1;
+            seats.add(Seat.builder().id((long) i).seatNumber(row + String.valueOf(column)).isAvailable(true).build());
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.cinema_backend.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketRenderTests {
+
+    @TempDir
+    Path dir;
+
+    private TicketRenderService service;
+
+    private static TicketRenderService.TicketDetails ticket(String seatNumber) {
+        return new TicketRenderService.TicketDetails(42L, "Dune (Part Two)", "IMAX Hall",
+                LocalDateTime.of(2030, 5, 1, 20, 15), seatNumber, 12.5, "ticket-code");
+    }
+
+    @AfterEach
+    void stop() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void rendersOnceAndNamesFilesByContent() throws IOException {
+        service = new TicketRenderService(dir, 1, 10);
+
+        Path first = service.documentFor(ticket("A1"));
+        String pdf = new String(Files.readAllBytes(first), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF-1.4"));
+        assertTrue(pdf.contains("(Dune \\(Part Two\\)) Tj"), pdf);
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        assertEquals(service.keyOf(ticket("A1")) + ".pdf", first.getFileName().toString());
+
+        // A second download is served from the existing file
+        FileTime written = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(first, written);
+        assertEquals(first, service.documentFor(ticket("A1")));
+        assertEquals(written, Files.getLastModifiedTime(first));
+
+        // A moved seat is a different ticket
+        assertNotEquals(first, service.documentFor(ticket("B7")));
+    }
+
+    @Test
+    void downloadWaitsForQueuedRender() throws IOException {
+        service = new TicketRenderService(dir, 1, 10);
+        service.submit(ticket("C3"));
+
+        Path path = service.documentFor(ticket("C3"));
+        assertTrue(Files.exists(path));
+        try (var files = Files.walk(dir)) {
+            // No temp files left behind
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TicketScanServiceTests {
+
+    @Autowired
+    private TicketScanService ticketScanService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User user;
+    private Showtime showtime;
+
+    @BeforeEach
+    void seed() {
+        user = fixture.user("scan");
+        showtime = fixture.showtime(fixture.movie("Scan"), fixture.hall("Scan", 5), LocalDateTime.now().plusMinutes(30));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ticketScanService.flush();
+        fixture.cleanUp();
+    }
+
+    @Test
+    void admitsATicketSoldWhileTheDoorListWasLoading() {
+        ticketScanService.openDoors(showtime.getId());
+        // Committed without reaching the door list, as if during its load
+        Booking booking = book("A1");
+        String code = ticketScanService.ticketCodeFor(booking);
+
+        TicketScanService.ScanResult first = ticketScanService.scan(showtime.getId(), code);
+        assertEquals(TicketScanService.Status.ADMITTED, first.status());
+        assertEquals("A1", first.seatNumber());
+        assertEquals(TicketScanService.Status.ALREADY_USED, ticketScanService.scan(showtime.getId(), code).status());
+        assertEquals(1, ticketScanService.getCounts(showtime.getId()).tickets());
+    }
+
+    @Test
+    void rejectsASignedCodeOfACancelledBooking() {
+        Booking booking = book("A2");
+        String code = ticketScanService.ticketCodeFor(booking);
+        ticketScanService.openDoors(showtime.getId());
+        bookingRepository.delete(booking);
+        ticketScanService.onCancelled(showtime.getId(), booking.getId());
+
+        assertEquals(TicketScanService.Status.INVALID, ticketScanService.scan(showtime.getId(), code).status());
+    }
+
+    private Booking book(String seatNumber) {
+        return bookingRepository.save(Booking.builder().user(user).showtime(showtime).seatNumber(seatNumber)
+                .price(10).bookingTime(LocalDateTime.now()).build());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.cinema_backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketScanTests {
+
+    private final TicketCodes codes = new TicketCodes("test-secret");
+
+    @Test
+    void codesRoundTripAndRejectTampering() {
+        String code = codes.issue(42, 7);
+        assertEquals(new TicketCodes.Ticket(42, 7), codes.verify(code));
+
+        char last = code.charAt(code.length() - 1);
+        String tampered = code.substring(0, code.length() - 1) + (last == 'A' ? 'B' : 'A');
+        assertNull(codes.verify(tampered));
+        assertNull(codes.verify(new TicketCodes("other-secret").issue(42, 7)));
+        assertNull(codes.verify("not a ticket"));
+        assertNull(codes.verify(null));
+    }
+
+    @Test
+    void admitsEachTicketOnce() {
+        DoorList doorList = new DoorList(LocalDateTime.now(), 4);
+        doorList.add(1, "A1", false);
+        doorList.add(2, "A2", true);
+
+        assertEquals(DoorList.Result.ADMITTED, doorList.admit(1));
+        assertEquals(DoorList.Result.ALREADY_USED, doorList.admit(1));
+        assertEquals(DoorList.Result.ALREADY_USED, doorList.admit(2));
+        assertEquals(DoorList.Result.NOT_FOUND, doorList.admit(3));
+        assertEquals(new DoorList.Counts(2, 2), doorList.counts());
+    }
+
+    @Test
+    void followsCancellationsAndSeatChanges() {
+        DoorList doorList = new DoorList(LocalDateTime.now(), 4);
+        for (long id = 1; id <= 4; id++) doorList.add(id, "A" + id, false);
+
+        doorList.remove(2);
+        doorList.moveSeat(3, "B1");
+        assertEquals(DoorList.Result.NOT_FOUND, doorList.admit(2));
+        assertEquals("B1", doorList.seatNumber(3));
+
+        // A ticket sold after the cancellation reuses the freed slot
+        doorList.add(5, "A2", false);
+        assertEquals(DoorList.Result.ADMITTED, doorList.admit(5));
+        assertEquals(new DoorList.Counts(4, 1), doorList.counts());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.entities.Booking;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Showtime;
+import com.example.cinema_backend.entities.User;
+import com.example.cinema_backend.repositories.BookingRepository;
+import com.example.cinema_backend.repositories.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Holds are expired by calling the job directly
+@SpringBootTest(properties = "waitlist.expiry-interval-ms=3600000")
+class WaitlistTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Showtime showtime;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 3; i++) users.add(fixture.user("wait" + i + "-"));
+        Hall hall = fixture.hall("Waitlist", 1);
+        showtime = fixture.showtime(fixture.movie("Waitlist"), hall, LocalDateTime.now().plusDays(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void cancelledSeatIsHeldForTheNextWaiterAndCascadesOnExpiry() {
+        Booking first = bookingService.bookSeat(users.get(0).getId(), showtime.getId(), "A1");
+        assertThrows(RuntimeException.class, () -> bookingService.bookSeat(users.get(1).getId(), showtime.getId(), "A1"));
+        assertEquals(1, bookingService.joinWaitlist(users.get(1).getId(), showtime.getId()));
+        assertEquals(2, bookingService.joinWaitlist(users.get(2).getId(), showtime.getId()));
+
+        bookingService.deleteBooking(first.getId());
+
+        Booking held = heldFor(users.get(1));
+        assertNotNull(held.getHeldUntil());
+        assertNull(held.getTicketCode());
+        assertEquals(0, showtimeRepository.findById(showtime.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(1, bookingService.getWaitlistPosition(users.get(2).getId(), showtime.getId()));
+
+        // Let the hold lapse; the seat moves on to the next user in line
+        jdbcTemplate.update("UPDATE bookings SET held_until = ? WHERE id = ?", LocalDateTime.now().minusMinutes(1), held.getId());
+        bookingService.expireHolds();
+
+        assertFalse(bookingRepository.existsById(held.getId()));
+        Booking next = heldFor(users.get(2));
+        Booking confirmed = bookingService.confirmHold(next.getId(), users.get(2).getId());
+        assertNull(confirmed.getHeldUntil());
+        assertNotNull(confirmed.getTicketCode());
+    }
+
+    @Test
+    void seatIsReleasedWhenNobodyIsWaiting() {
+        Booking booking = bookingService.bookSeat(users.get(0).getId(), showtime.getId(), "A1");
+        bookingService.joinWaitlist(users.get(1).getId(), showtime.getId());
+        bookingService.leaveWaitlist(users.get(1).getId(), showtime.getId());
+
+        bookingService.deleteBooking(booking.getId());
+
+        assertEquals(1, showtimeRepository.findById(showtime.getId()).orElseThrow().getAvailableSeats());
+        assertThrows(RuntimeException.class, () -> bookingService.joinWaitlist(users.get(1).getId(), showtime.getId()));
+    }
+
+    @Test
+    void joiningAgainQueuesAtTheBack() {
+        bookingService.bookSeat(users.get(0).getId(), showtime.getId(), "A1");
+        bookingService.joinWaitlist(users.get(1).getId(), showtime.getId());
+        bookingService.joinWaitlist(users.get(2).getId(), showtime.getId());
+
+        bookingService.leaveWaitlist(users.get(1).getId(), showtime.getId());
+        assertEquals(0, bookingService.getWaitlistPosition(users.get(1).getId(), showtime.getId()));
+        assertEquals(2, bookingService.joinWaitlist(users.get(1).getId(), showtime.getId()));
+        assertEquals(1, bookingService.getWaitlistPosition(users.get(2).getId(), showtime.getId()));
+    }
+
+    private Booking heldFor(User user) {
+        List<Booking> bookings = bookingService.getBookingsByUser(user.getId());
+        assertEquals(1, bookings.size());
+        return bookings.get(0);
+    }
+}
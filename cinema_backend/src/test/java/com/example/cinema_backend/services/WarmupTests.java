@@ -0,0 +1,65 @@
+package com.example.cinema_backend.services;
+
+import com.example.cinema_backend.CinemaFixture;
+import com.example.cinema_backend.configs.WarmupHealthIndicator;
+import com.example.cinema_backend.entities.Hall;
+import com.example.cinema_backend.entities.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class WarmupTests {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private WarmupHealthIndicator warmupHealthIndicator;
+
+    @Autowired
+    private CinemaFixture fixture;
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void preloadsUpcomingShowtimesOfEveryHall() {
+        Movie movie = fixture.movie("Warm");
+        List<Hall> halls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Hall hall = fixture.hall("Warm " + i, 10);
+            halls.add(hall);
+            fixture.showtime(movie, hall, LocalDateTime.now().plusHours(2 + i));
+            fixture.showtime(movie, hall, LocalDateTime.now().plusHours(30 + i));
+        }
+        // Outside the horizon and in the past: left alone
+        fixture.showtime(movie, halls.get(0), LocalDateTime.now().plusDays(30));
+        fixture.showtime(movie, halls.get(0), LocalDateTime.now().minusHours(1));
+
+        warmupService.warmUp(null);
+
+        WarmupService.Progress progress = warmupService.getProgress();
+        assertEquals(WarmupService.State.DONE, progress.state());
+        assertEquals(progress.showtimes(), progress.showtimesWarmed());
+        assertTrue(progress.showtimes() >= 6, "showtimes: " + progress.showtimes());
+        assertTrue(progress.halls() >= 3, "halls: " + progress.halls());
+        // No server in this context, so nothing to exercise
+        assertEquals(0, progress.requestsSent());
+
+        Health health = warmupHealthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(WarmupService.State.DONE, health.getDetails().get("state"));
+    }
+}
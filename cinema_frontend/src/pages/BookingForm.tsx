@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { Seat, Showtime, User } from '../types';
-import { seatService, bookingService, showtimeService, userService } from '../services/api';
+import { bookingService, showtimeService, userService } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import LoadingSpinner from '../components/LoadingSpinner';
 import ErrorMessage from '../components/ErrorMessage';
@@ -16,7 +16,7 @@ const BookingForm: React.FC = () => {
   const [showtime, setShowtime] = useState<Showtime | null>(null);
   const [seats, setSeats] = useState<Seat[]>([]);
   const [selectedSeat, setSelectedSeat] = useState<Seat | null>(null);
-  const [price, setPrice] = useState(0);
+  const [prices, setPrices] = useState<Record<string, number>>({});
   const [loading, setLoading] = useState(true);
   const [submitting, setSubmitting] = useState(false);
   const [error, setError] = useState('');
@@ -24,6 +24,7 @@ const BookingForm: React.FC = () => {
   const [allUsers, setAllUsers] = useState<User[]>([]);
   const [selectedUserId, setSelectedUserId] = useState<number | null>(null);
   const [userSearchEmail, setUserSearchEmail] = useState('');
+  const [waitlistPosition, setWaitlistPosition] = useState(0);
 
   useEffect(() => {
     if (!user) {
@@ -64,12 +65,20 @@ const BookingForm: React.FC = () => {
       console.log('✅ Showtime fetched:', showtimeData);
       setShowtime(showtimeData);
 
-      // Step 2: Fetch seats for the hall
+      // Step 2: Fetch the hall's seats with their availability for this showtime
       if (showtimeData.hall && showtimeData.hall.id) {
-        console.log('🔄 Fetching seats for hall ID:', showtimeData.hall.id);
-        const seatsData = await seatService.getAvailableSeats(showtimeData.hall.id);
+        console.log('🔄 Fetching seat map for showtime ID:', showtimeId);
+        const [seatsData, pricesData] = await Promise.all([
+          showtimeService.getSeatMap(parseInt(showtimeId!)),
+          showtimeService.getPrices(parseInt(showtimeId!)),
+        ]);
         console.log('✅ Seats fetched:', seatsData);
         setSeats(seatsData);
+        setPrices(pricesData);
+
+        if (showtimeData.availableSeats === 0 && user && user.role !== 'ADMIN') {
+          setWaitlistPosition(await bookingService.getWaitlistPosition(parseInt(showtimeId!)));
+        }
       } else {
         throw new Error('Hall information not available in showtime');
       }
@@ -117,11 +126,6 @@ const BookingForm: React.FC = () => {
       return;
     }
 
-    if (price <= 0) {
-      setError('Please enter a valid price');
-      return;
-    }
-
     setSubmitting(true);
 
     try {
@@ -129,7 +133,6 @@ const BookingForm: React.FC = () => {
         userId: selectedUserId,
         showtimeId: parseInt(showtimeId!),
         seatNumber: selectedSeat.seatNumber,
-        price,
       });
 
       setSuccess('Booking successful!');
@@ -159,6 +162,23 @@ const BookingForm: React.FC = () => {
     }
   };
 
+  const handleWaitlist = async () => {
+    if (!user) return;
+    setError('');
+    try {
+      if (waitlistPosition > 0) {
+        await bookingService.leaveWaitlist(parseInt(showtimeId!));
+        setWaitlistPosition(0);
+      } else {
+        const position = await bookingService.joinWaitlist(parseInt(showtimeId!));
+        setWaitlistPosition(position);
+        setSuccess(`You are number ${position} on the waitlist. A freed seat will be held for you under My Bookings.`);
+      }
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Waitlist request failed');
+    }
+  };
+
   if (loading) {
     return <LoadingSpinner message="Loading seats..." />;
   }
@@ -190,6 +210,18 @@ const BookingForm: React.FC = () => {
         )}
         {success && <SuccessMessage message={success} />}
 
+        {showtime?.availableSeats === 0 && user?.role !== 'ADMIN' && (
+          <div className="waitlist-info">
+            <p>
+              This showtime is sold out.
+              {waitlistPosition > 0 && <> You are number <strong>{waitlistPosition}</strong> on the waitlist.</>}
+            </p>
+            <button type="button" className="btn-primary" onClick={handleWaitlist}>
+              {waitlistPosition > 0 ? 'Leave Waitlist' : 'Join Waitlist'}
+            </button>
+          </div>
+        )}
+
         <form onSubmit={handleSubmit}>
           {user?.role === 'ADMIN' && (
             <div className="form-group">
@@ -248,23 +280,12 @@ const BookingForm: React.FC = () => {
           {selectedSeat && (
             <div className="selected-seat-info">
               <p>Selected Seat: <strong>{selectedSeat.seatNumber}</strong></p>
+              {prices[selectedSeat.seatNumber] !== undefined && (
+                <p>Price: <strong>${prices[selectedSeat.seatNumber].toFixed(2)}</strong></p>
+              )}
             </div>
           )}
 
-          <div className="form-group">
-            <label htmlFor="price">Price</label>
-            <input
-              id="price"
-              type="number"
-              value={price}
-              onChange={(e) => setPrice(parseFloat(e.target.value))}
-              placeholder="Enter ticket price"
-              step="0.01"
-              min="0"
-              required
-            />
-          </div>
-
           <button type="submit" className="btn-primary" disabled={!selectedSeat}>
             Confirm Booking
           </button>
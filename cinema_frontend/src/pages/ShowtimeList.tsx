@@ -83,6 +83,7 @@ const ShowtimeList: React.FC = () => {
                 <th>Movie</th>
                 <th>Hall</th>
                 <th>Start Time</th>
+                <th>Seats Left</th>
                 <th>Action</th>
                 {user?.role === 'ADMIN' && <th>Admin Actions</th>}
               </tr>
@@ -93,6 +94,7 @@ const ShowtimeList: React.FC = () => {
                   <td>{showtime.movie?.title || 'N/A'}</td>
                   <td>{showtime.hall?.name || 'N/A'}</td>
                   <td>{formatDateTime(showtime.startTime)}</td>
+                  <td>{showtime.availableSeats ?? 'N/A'}</td>
                   <td>
                     <Link to={`/booking/${showtime.id}`} className="btn-primary">
                       Book Ticket
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useParams, Link, useNavigate } from 'react-router-dom';
-import { Showtime } from '../types';
-import { showtimeService } from '../services/api';
+import { MoviePage } from '../types';
+import { movieService, showtimeService } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import LoadingSpinner from '../components/LoadingSpinner';
 import ErrorMessage from '../components/ErrorMessage';
@@ -12,7 +12,7 @@ const ShowtimesByMovie: React.FC = () => {
   const { movieId } = useParams<{ movieId: string }>();
   const { user } = useAuth();
   const navigate = useNavigate();
-  const [showtimes, setShowtimes] = useState<Showtime[]>([]);
+  const [page, setPage] = useState<MoviePage | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
@@ -27,8 +27,9 @@ const ShowtimesByMovie: React.FC = () => {
   const fetchShowtimes = async () => {
     try {
       setLoading(true);
-      const data = await showtimeService.getShowtimesByMovie(parseInt(movieId!));
-      setShowtimes(data);
+      // One call for the movie, its showtimes and their seats left
+      const data = await movieService.getMoviePage(parseInt(movieId!));
+      setPage(data);
       setError('');
     } catch (err) {
       setError(err instanceof Error ? err.message : 'Failed to fetch showtimes');
@@ -37,8 +38,12 @@ const ShowtimesByMovie: React.FC = () => {
     }
   };
 
-  const formatDateTime = (dateTime: string) => {
-    return new Date(dateTime).toLocaleString();
+  const formatDate = (date: string) => {
+    return new Date(`${date}T00:00:00`).toLocaleDateString(undefined, { weekday: 'long', day: 'numeric', month: 'long' });
+  };
+
+  const formatTime = (dateTime: string) => {
+    return new Date(dateTime).toLocaleTimeString(undefined, { hour: '2-digit', minute: '2-digit' });
   };
 
   const handleDeleteShowtime = async (showtimeId: number) => {
@@ -71,13 +76,13 @@ const ShowtimesByMovie: React.FC = () => {
 
   return (
     <div className="showtime-list-container">
-      <h1>Showtimes for Movie</h1>
+      <h1>Showtimes for {page?.movie.title ?? 'Movie'}</h1>
 
       {error && <ErrorMessage message={error} onClose={() => setError('')} />}
       {success && <SuccessMessage message={success} />}
 
-      {showtimes.length === 0 ? (
-        <p className="no-data">No showtimes available for this movie</p>
+      {!page || page.days.length === 0 ? (
+        <p className="no-data">No upcoming showtimes for this movie</p>
       ) : (
         <div className="showtimes-table">
           <table>
@@ -85,31 +90,44 @@ const ShowtimesByMovie: React.FC = () => {
               <tr>
                 <th>Hall</th>
                 <th>Start Time</th>
+                <th>Seats Left</th>
+                <th>From</th>
                 <th>Action</th>
                 {user?.role === 'ADMIN' && <th>Admin Actions</th>}
               </tr>
             </thead>
             <tbody>
-              {showtimes.map((showtime) => (
-                <tr key={showtime.id}>
-                  <td>{showtime.hall?.name || 'N/A'}</td>
-                  <td>{formatDateTime(showtime.startTime)}</td>
-                  <td>
-                    <Link to={`/booking/${showtime.id}`} className="btn-primary">
-                      Book Ticket
-                    </Link>
-                  </td>
-                  {user?.role === 'ADMIN' && (
-                    <td className="admin-actions">
-                      <button className="btn-secondary" onClick={() => handleEditShowtime(showtime.id!)}>
-                        ✏️ Edit
-                      </button>
-                      <button className="btn-danger" onClick={() => handleDeleteShowtime(showtime.id!)} disabled={deleting === showtime.id}>
-                        {deleting === showtime.id ? '🗑️ Deleting...' : '🗑️ Delete'}
-                      </button>
-                    </td>
+              {page.days.map((day) => (
+                <React.Fragment key={day.date}>
+                  <tr>
+                    <th colSpan={user?.role === 'ADMIN' ? 6 : 5}>{formatDate(day.date)}</th>
+                  </tr>
+                  {day.halls.flatMap((hall) =>
+                    hall.showtimes.map((showtime) => (
+                      <tr key={showtime.id}>
+                        <td>{hall.hallName || 'N/A'}</td>
+                        <td>{formatTime(showtime.startTime)}</td>
+                        <td>{showtime.seatsLeft ?? 'N/A'}</td>
+                        <td>{showtime.lowestPrice != null ? `$${showtime.lowestPrice.toFixed(2)}` : 'N/A'}</td>
+                        <td>
+                          <Link to={`/booking/${showtime.id}`} className="btn-primary">
+                            Book Ticket
+                          </Link>
+                        </td>
+                        {user?.role === 'ADMIN' && (
+                          <td className="admin-actions">
+                            <button className="btn-secondary" onClick={() => handleEditShowtime(showtime.id)}>
+                              ✏️ Edit
+                            </button>
+                            <button className="btn-danger" onClick={() => handleDeleteShowtime(showtime.id)} disabled={deleting === showtime.id}>
+                              {deleting === showtime.id ? '🗑️ Deleting...' : '🗑️ Delete'}
+                            </button>
+                          </td>
+                        )}
+                      </tr>
+                    ))
                   )}
-                </tr>
+                </React.Fragment>
               ))}
             </tbody>
           </table>
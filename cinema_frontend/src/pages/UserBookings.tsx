@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { Booking } from '../types';
+import { ArchivedBooking, Booking } from '../types';
 import { bookingService } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import LoadingSpinner from '../components/LoadingSpinner';
@@ -12,6 +12,7 @@ const UserBookings: React.FC = () => {
   const { user } = useAuth();
   const navigate = useNavigate();
   const [bookings, setBookings] = useState<Booking[]>([]);
+  const [history, setHistory] = useState<ArchivedBooking[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
@@ -39,6 +40,7 @@ const UserBookings: React.FC = () => {
       } else {
         console.log('👤 Fetching user bookings');
         data = await bookingService.getUserBookings(user!.id!);
+        setHistory(await bookingService.getUserBookingHistory(user!.id!));
       }
 
       setBookings(data);
@@ -66,6 +68,32 @@ const UserBookings: React.FC = () => {
     }
   };
 
+  const handleHold = async (bookingId: number, accept: boolean) => {
+    try {
+      if (accept) {
+        await bookingService.confirmHold(bookingId);
+        setSuccess('Seat confirmed!');
+      } else {
+        await bookingService.declineHold(bookingId);
+        setSuccess('Seat passed on to the next person in line.');
+      }
+      fetchBookings();
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Failed to update held seat');
+    }
+  };
+
+  const handleDownloadTicket = async (bookingId: number) => {
+    try {
+      const pdf = await bookingService.getTicketPdf(bookingId);
+      const url = URL.createObjectURL(pdf);
+      window.open(url, '_blank');
+      setTimeout(() => URL.revokeObjectURL(url), 60000);
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Failed to download ticket');
+    }
+  };
+
   const handleDeleteBooking = async (bookingId: number) => {
     if (!window.confirm('Are you sure you want to delete this booking?')) {
       return;
@@ -158,6 +186,7 @@ const UserBookings: React.FC = () => {
                 <th>Showtime</th>
                 <th>Booking Time</th>
                 <th>Price</th>
+                {!isAdmin && <th>Ticket</th>}
                 {isAdmin && <th>Actions</th>}
               </tr>
             </thead>
@@ -197,6 +226,28 @@ const UserBookings: React.FC = () => {
                       <span>${booking.price.toFixed(2)}</span>
                     )}
                   </td>
+                  {!isAdmin && (
+                    <td>
+                      {booking.heldUntil ? (
+                        <div className="hold-actions">
+                          <span>Held until {formatDateTime(booking.heldUntil)}</span>
+                          <button className="btn-save" onClick={() => handleHold(booking.id!, true)}>
+                            Confirm
+                          </button>
+                          <button className="btn-cancel" onClick={() => handleHold(booking.id!, false)}>
+                            Decline
+                          </button>
+                        </div>
+                      ) : booking.usedAt ? 'Used' : booking.ticketCode ? (
+                        <div className="hold-actions">
+                          <code>{booking.ticketCode}</code>
+                          <button className="btn-edit" onClick={() => handleDownloadTicket(booking.id!)}>
+                            PDF
+                          </button>
+                        </div>
+                      ) : 'N/A'}
+                    </td>
+                  )}
                   {isAdmin && (
                     <td className="admin-actions">
                       <button
@@ -224,6 +275,38 @@ const UserBookings: React.FC = () => {
           </table>
         </div>
       )}
+
+      {history.length > 0 && (
+        <>
+          <h2>Past Bookings</h2>
+          <div className="bookings-table">
+            <table>
+              <thead>
+                <tr>
+                  <th>Movie</th>
+                  <th>Hall</th>
+                  <th>Seat</th>
+                  <th>Showtime</th>
+                  <th>Booking Time</th>
+                  <th>Price</th>
+                </tr>
+              </thead>
+              <tbody>
+                {history.map((booking) => (
+                  <tr key={booking.id}>
+                    <td>{booking.movieTitle || 'N/A'}</td>
+                    <td>{booking.hallName || 'N/A'}</td>
+                    <td>{booking.seatNumber}</td>
+                    <td>{formatDateTime(booking.startTime)}</td>
+                    <td>{formatDateTime(booking.bookingTime)}</td>
+                    <td>${booking.price.toFixed(2)}</td>
+                  </tr>
+                ))}
+              </tbody>
+            </table>
+          </div>
+        </>
+      )}
     </div>
   );
 };
@@ -1,12 +1,14 @@
 import axios from 'axios';
-import type { AxiosInstance, AxiosError } from 'axios';
+import type { AxiosInstance, AxiosError, InternalAxiosRequestConfig } from 'axios';
 import type {
   User,
   Movie,
+  MoviePage,
   Hall,
   Seat,
   Showtime,
   Booking,
+  ArchivedBooking,
   AddMovieRequest,
   AddHallRequest,
   AddShowtimeRequest,
@@ -113,14 +115,47 @@ apiClient.interceptors.request.use((config) => {
 
 // ============ RESPONSE INTERCEPTOR ============
 
+// Single in-flight refresh shared by all requests that failed with 401
+let refreshInFlight: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshInFlight) {
+    refreshInFlight = authService.refresh().finally(() => {
+      refreshInFlight = null;
+    });
+  }
+  return refreshInFlight;
+};
+
 // Handle responses and errors globally
 apiClient.interceptors.response.use(
   (response) => response,
-  (error: AxiosError) => {
+  async (error: AxiosError) => {
+    const original = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined;
+
+    // Expired access token - exchange the refresh token once and replay the request
+    if (
+      error.response?.status === 401 &&
+      original &&
+      !original._retried &&
+      !original.url?.includes('/auth/') &&
+      localStorage.getItem('refreshToken')
+    ) {
+      original._retried = true;
+      try {
+        const token = await refreshAccessToken();
+        original.headers.Authorization = `Bearer ${token}`;
+        return apiClient(original);
+      } catch {
+        // Fall through to the logout handling below
+      }
+    }
+
     // Handle 401 Unauthorized - redirect to login
     if (error.response?.status === 401) {
       // Clear auth data
       localStorage.removeItem('authToken');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('user');
 
       // Redirect to login if not already there
@@ -138,6 +173,12 @@ apiClient.interceptors.response.use(
 
 // ============ AUTH ENDPOINTS ============
 
+const storeRefreshToken = (refreshToken: string | undefined) => {
+  if (refreshToken) {
+    localStorage.setItem('refreshToken', refreshToken);
+  }
+};
+
 export const authService = {
   login: async (email: string, password: string): Promise<string> => {
     const response = await apiClient.post<string>(
@@ -145,9 +186,28 @@ export const authService = {
       {},
       { params: { email, password } }
     );
+    storeRefreshToken(response.headers['x-refresh-token']);
+    return response.data;
+  },
+
+  refresh: async (): Promise<string> => {
+    const response = await apiClient.post<string>(
+      '/auth/refresh',
+      {},
+      { headers: { 'X-Refresh-Token': localStorage.getItem('refreshToken') ?? '' } }
+    );
+    localStorage.setItem('authToken', response.data);
+    storeRefreshToken(response.headers['x-refresh-token']);
     return response.data;
   },
 
+  // Revokes the refresh token on the server; the caller clears local storage
+  logout: async (): Promise<void> => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) return;
+    await apiClient.post('/auth/logout', {}, { headers: { 'X-Refresh-Token': refreshToken } });
+  },
+
   register: async (user: User): Promise<User> => {
     const response = await apiClient.post<User>('/auth/register', user);
     return response.data;
@@ -211,6 +271,12 @@ export const movieService = {
     }
   },
 
+  // Movie, upcoming showtimes by day and hall, seats left and lowest prices
+  getMoviePage: async (movieId: number): Promise<MoviePage> => {
+    const response = await apiClient.get<MoviePage>(`/movies/${movieId}/page`);
+    return response.data;
+  },
+
   addMovie: async (movie: AddMovieRequest): Promise<Movie> => {
     try {
       const response = await apiClient.post<Movie>('/movies/add', movie);
@@ -385,6 +451,24 @@ export const showtimeService = {
     return response.data;
   },
 
+  getSeatMap: async (showtimeId: number): Promise<Seat[]> => {
+    const response = await apiClient.get<Seat[]>(`/showtimes/${showtimeId}/seats`);
+    return response.data;
+  },
+
+  // Current server-side price of each seat, by seat number
+  getPrices: async (showtimeId: number): Promise<Record<string, number>> => {
+    const response = await apiClient.get<Record<string, number>>(`/showtimes/${showtimeId}/prices`);
+    return response.data;
+  },
+
+  getBestSeats: async (showtimeId: number, count: number): Promise<string[]> => {
+    const response = await apiClient.get<string[]>(`/showtimes/${showtimeId}/best-seats`, {
+      params: { count },
+    });
+    return response.data;
+  },
+
   getShowtimeById: async (showtimeId: number): Promise<Showtime> => {
     try {
       console.log('🔄 Fetching showtime:', showtimeId);
@@ -450,18 +534,53 @@ export const bookingService = {
           userId: booking.userId,
           showtimeId: booking.showtimeId,
           seatNumber: booking.seatNumber,
-          price: booking.price,
         },
       }
     );
     return response.data;
   },
 
+  // Waitlist of a sold-out showtime; a cancelled seat is held for the first in line
+  joinWaitlist: async (showtimeId: number): Promise<number> => {
+    const response = await apiClient.post<number>('/bookings/waitlist', {}, { params: { showtimeId } });
+    return response.data;
+  },
+
+  getWaitlistPosition: async (showtimeId: number): Promise<number> => {
+    const response = await apiClient.get<number>('/bookings/waitlist', { params: { showtimeId } });
+    return response.data;
+  },
+
+  leaveWaitlist: async (showtimeId: number): Promise<string> => {
+    const response = await apiClient.delete<string>('/bookings/waitlist', { params: { showtimeId } });
+    return response.data;
+  },
+
+  confirmHold: async (bookingId: number): Promise<Booking> => {
+    const response = await apiClient.post<Booking>(`/bookings/${bookingId}/confirm`);
+    return response.data;
+  },
+
+  declineHold: async (bookingId: number): Promise<string> => {
+    const response = await apiClient.post<string>(`/bookings/${bookingId}/decline`);
+    return response.data;
+  },
+
+  getTicketPdf: async (bookingId: number): Promise<Blob> => {
+    const response = await apiClient.get<Blob>(`/bookings/${bookingId}/ticket`, { responseType: 'blob' });
+    return response.data;
+  },
+
   getUserBookings: async (userId: number): Promise<Booking[]> => {
     const response = await apiClient.get<Booking[]>(`/bookings/user/${userId}`);
     return response.data;
   },
 
+  getUserBookingHistory: async (userId: number): Promise<ArchivedBooking[]> => {
+    const response = await apiClient.get<ArchivedBooking[]>(`/bookings/user/${userId}/history`);
+    return response.data;
+  },
+
   getAllBookings: async (): Promise<Booking[]> => {
     try {
       console.log('🔄 Fetching all bookings (Admin)...');
@@ -64,9 +64,30 @@ export interface Showtime {
   startTime: string;
   movie?: Movie;
   hall?: Hall;
+  availableSeats?: number;
   bookings?: Booking[];
 }
 
+// Movie page: upcoming showtimes by day and hall, in one response
+export interface MoviePageShowtime {
+  id: number;
+  startTime: string;
+  seatsLeft?: number;
+  lowestPrice?: number;
+}
+
+export interface MoviePageHall {
+  hallId?: number;
+  hallName?: string;
+  hallType?: string;
+  showtimes: MoviePageShowtime[];
+}
+
+export interface MoviePage {
+  movie: Movie;
+  days: { date: string; halls: MoviePageHall[] }[];
+}
+
 export interface AddShowtimeRequest {
   startTime: string;
   movieId: number;
@@ -81,13 +102,30 @@ export interface Booking {
   seatNumber: string;
   bookingTime?: string;
   price: number;
+  // Signed code shown at the door; only on the owner's own bookings
+  ticketCode?: string;
+  usedAt?: string;
+  // Seat offered from the waitlist; must be confirmed before this time
+  heldUntil?: string;
 }
 
+// Booking of a past showtime, moved to the archive by the backend
+export interface ArchivedBooking {
+  id: number;
+  showtimeId?: number;
+  movieTitle?: string;
+  hallName?: string;
+  startTime?: string;
+  seatNumber: string;
+  bookingTime?: string;
+  price: number;
+}
+
+// The price is set by the server
 export interface BookSeatRequest {
   userId: number;
   showtimeId: number;
   seatNumber: string;
-  price: number;
 }
 
 // API Response Types
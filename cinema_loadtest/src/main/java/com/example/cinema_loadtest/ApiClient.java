@@ -0,0 +1,120 @@
+package com.example.cinema_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thin HTTP client for the backend that times every call per endpoint.
+ */
+final class ApiClient {
+
+    /**
+     * @param status the HTTP status, or -1 if the request failed or timed out
+     */
+    record Response(int status, String body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    ApiClient(String baseUrl, Duration timeout, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    Response get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET());
+    }
+
+    Response post(String endpoint, String path, String token, Object body) {
+        HttpRequest.Builder builder = request(path, token);
+        if (body == null) {
+            builder.POST(HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json");
+            try {
+                builder.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Could not serialize request body", e);
+            }
+        }
+        return send(endpoint, builder);
+    }
+
+    JsonNode json(Response response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Not JSON: " + response.body(), e);
+        }
+    }
+
+    static String query(Map<String, ?> params) {
+        StringJoiner query = new StringJoiner("&", "?", "");
+        params.forEach((key, value) -> query.add(key + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return query.toString();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<String> reply = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            response = new Response(reply.statusCode(), reply.body());
+        } catch (IOException e) {
+            response = new Response(-1, String.valueOf(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = new Response(-1, "interrupted");
+        }
+        long elapsed = System.nanoTime() - start;
+        stats.computeIfAbsent(endpoint, EndpointStats::new).record(elapsed, outcomeOf(response));
+        return response;
+    }
+
+    /**
+     * The backend answers a lost race with an error status; its message (with
+     * server.error.include-message=always) tells it apart from a real failure.
+     */
+    static EndpointStats.Outcome outcomeOf(Response response) {
+        if (response.ok()) return EndpointStats.Outcome.OK;
+        if (isConflict(response)) return EndpointStats.Outcome.CONFLICT;
+        return EndpointStats.Outcome.ERROR;
+    }
+
+    static boolean isConflict(Response response) {
+        String body = response.body();
+        return response.status() > 0 && body != null
+                && (body.contains("already booked") || body.contains("sold out") || body.contains("Already on the waitlist"));
+    }
+}
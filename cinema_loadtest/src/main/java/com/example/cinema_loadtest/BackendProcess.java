@@ -0,0 +1,175 @@
+package com.example.cinema_loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Runs the backend jar in a child JVM against an in-memory H2 database in
+ * MySQL mode, the same stand-in the backend's own tests use. H2 is not in the
+ * backend jar, so an executable jar is started through Spring Boot's
+ * PropertiesLauncher with this module's H2 jar on its loader path. The
+ * app.jar of an extracted jar ({@code -Djarmode=tools extract}) is put on the
+ * class path next to H2 instead, which is what class-data sharing needs.
+ */
+final class BackendProcess implements AutoCloseable {
+
+    private static final String IN_MEMORY_DB = "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String BOOT_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    private final Process process;
+    private final String baseUrl;
+    private final long startedAt;
+
+    private BackendProcess(Process process, String baseUrl, long startedAt) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+        this.startedAt = startedAt;
+    }
+
+    static BackendProcess start(Path jar, Path workDir) throws IOException, InterruptedException {
+        BackendProcess backend = launch(jar, workDir, IN_MEMORY_DB, List.of(), List.of());
+        try {
+            backend.awaitHealthy(Duration.ofMinutes(2));
+        } catch (RuntimeException | InterruptedException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    /**
+     * Starts the backend without waiting for it.
+     *
+     * @param jvmArgs JVM options, placed before the main class
+     * @param appArgs extra Spring arguments, which win over the defaults
+     */
+    static BackendProcess launch(Path jar, Path workDir, String dbUrl, List<String> jvmArgs, List<String> appArgs)
+            throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Backend jar not found at " + jar.toAbsolutePath()
+                    + "; run mvn package in cinema_backend or pass --target=<url>");
+        }
+        Files.createDirectories(workDir);
+        int port = freePort();
+        String mainClass = mainClass(jar);
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        if (mainClass.startsWith("org.springframework.boot.loader.")) {
+            command.addAll(List.of("-Dloader.path=" + h2Jar(), "-cp", jar.toAbsolutePath().toString(), BOOT_LAUNCHER));
+        } else {
+            command.addAll(List.of("-cp", jar.toAbsolutePath() + File.pathSeparator + h2Jar(), mainClass));
+        }
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + dbUrl,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                // Conflicts are told apart from failures by the error message
+                "--server.error.include-message=always",
+                "--security.password.bcrypt-strength=4",
+                "--seat-journal.enabled=false",
+                "--tickets.secret=loadtest-ticket-secret",
+                "--jwt.keys=loadtest:loadtest-jwt-secret",
+                "--tickets.render.dir=" + workDir.resolve("tickets").toAbsolutePath(),
+                "--logging.level.root=WARN"));
+        command.addAll(appArgs);
+
+        Path log = workDir.resolve("backend.log");
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        System.out.println("🚀 Starting backend on port " + port + " (log: " + log + ")");
+        return new BackendProcess(process, "http://localhost:" + port, startedAt);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * {@link System#nanoTime()} just before the process was started.
+     */
+    long startedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Waits for the process to end by itself, e.g. after
+     * {@code -Dspring.context.exit=onRefresh}.
+     */
+    int awaitExit(Duration limit) throws InterruptedException {
+        if (!process.waitFor(limit.toMillis(), TimeUnit.MILLISECONDS)) {
+            close();
+            throw new IllegalStateException("Backend did not exit within " + limit.toSeconds() + " s");
+        }
+        return process.exitValue();
+    }
+
+    void awaitHealthy(Duration limit) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + limit.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + process.exitValue() + " during startup");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + limit.toSeconds() + " s");
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(15, TimeUnit.SECONDS)) process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String mainClass(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Manifest manifest = jarFile.getManifest();
+            String mainClass = manifest != null ? manifest.getMainAttributes().getValue("Main-Class") : null;
+            if (mainClass == null) throw new IllegalStateException("No Main-Class in " + jar);
+            return mainClass;
+        }
+    }
+
+    private static String h2Jar() {
+        try {
+            return Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the H2 jar", e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.cinema_loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the backend's database with a production-sized synthetic dataset:
+ * users, movies, halls with their seats, showtimes and bookings, appended
+ * after the rows already there.
+ *
+ * Each table is cut into chunks that are generated and loaded in parallel,
+ * every chunk on its own connection. On MySQL a chunk is streamed to a CSV
+ * file and loaded with LOAD DATA LOCAL INFILE, with foreign key and unique
+ * checks off for the session; elsewhere, or with {@code --mode=batch}, it is
+ * inserted with JDBC batches. The output depends only on the settings, so a
+ * run can be repeated on an empty database to get the same data.
+ *
+ * <pre>
+ * java -cp target/cinema_loadtest-0.0.1-SNAPSHOT.jar -Dloader.main=com.example.cinema_loadtest.DataGen \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher --jdbc-url=jdbc:mysql://localhost:3306/cinema_db
+ * </pre>
+ */
+public final class DataGen {
+
+    private static final DateTimeFormatter CSV_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS", Locale.ROOT);
+
+    private final DataGenConfig config;
+    private final boolean mysql;
+    private final boolean loadData;
+
+    private DataGen(DataGenConfig config, boolean mysql) {
+        this.config = config;
+        this.mysql = mysql;
+        this.loadData = switch (config.mode()) {
+            case "auto" -> mysql;
+            case "load-data" -> {
+                if (!mysql) throw new IllegalArgumentException("mode=load-data needs a MySQL database");
+                yield true;
+            }
+            case "batch" -> false;
+            default -> throw new IllegalArgumentException("Unknown mode " + config.mode() + ", expected auto, load-data or batch");
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(DataGenConfig.load(args));
+    }
+
+    /**
+     * @return rows written per table, in load order
+     */
+    static List<Long> run(DataGenConfig config) throws Exception {
+        Dataset.Offsets offsets;
+        boolean mysql;
+        try (Connection connection = connect(config)) {
+            mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+            offsets = new Dataset.Offsets(maxId(connection, "users"), maxId(connection, "movies"), maxId(connection, "halls"),
+                    maxId(connection, "seats"), maxId(connection, "showtimes"),
+                    Math.max(maxId(connection, "bookings"), maxId(connection, "bookings_archive")));
+        }
+        return new DataGen(config, mysql).generate(offsets);
+    }
+
+    private List<Long> generate(Dataset.Offsets offsets) throws Exception {
+        // One real hash for everyone: hashing a million passwords would take longer than loading them
+        String passwordHash = "{bcrypt}" + BCrypt.hashpw(config.userPassword(), BCrypt.gensalt(config.bcryptCost()));
+        Dataset dataset = new Dataset(config, offsets, passwordHash, LocalDateTime.now());
+        System.out.println("🎬 Generating into " + config.jdbcUrl() + " with " + config.threads() + " writers ("
+                + (loadData ? "LOAD DATA" : "JDBC batches") + ")");
+
+        List<Long> written = new ArrayList<>();
+        long started = System.nanoTime();
+        ExecutorService writers = Executors.newFixedThreadPool(config.threads());
+        try {
+            // Table by table, so every foreign key points at rows that are already there
+            for (Dataset.Table table : dataset.tables()) {
+                written.add(load(writers, table));
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        if (mysql) analyze(dataset.tables());
+        System.out.printf("✅ Done in %.1f s%n", (System.nanoTime() - started) / 1e9);
+        return written;
+    }
+
+    private long load(ExecutorService writers, Dataset.Table table) throws Exception {
+        long started = System.nanoTime();
+        AtomicInteger index = new AtomicInteger();
+        List<Future<Long>> chunks = new ArrayList<>();
+        for (Dataset.Chunk chunk : table.chunks()) {
+            int number = index.getAndIncrement();
+            chunks.add(writers.submit(() -> loadData
+                    ? loadCsv(table, chunk, config.csvDir().resolve(table.name() + "-" + number + ".csv"))
+                    : loadBatches(table, chunk)));
+        }
+        long rows = 0;
+        for (Future<Long> chunk : chunks) rows += chunk.get();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("  %-10s %,12d rows in %6.1f s (%,.0f rows/s)%n", table.name(), rows, seconds,
+                seconds > 0 ? rows / seconds : 0);
+        return rows;
+    }
+
+    private long loadBatches(Dataset.Table table, Dataset.Chunk chunk) throws Exception {
+        try (Connection connection = connect(config)) {
+            connection.setAutoCommit(false);
+            relaxChecks(connection);
+            String sql = "INSERT INTO " + table.name() + " (" + String.join(", ", table.columns()) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(table.columns().size(), "?")) + ")";
+            long[] rows = {0};
+            try (PreparedStatement insert = connection.prepareStatement(sql)) {
+                chunk.write(values -> {
+                    for (int i = 0; i < values.length; i++) insert.setObject(i + 1, values[i]);
+                    insert.addBatch();
+                    if (++rows[0] % config.batchSize() == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                });
+                insert.executeBatch();
+                connection.commit();
+            }
+            return rows[0];
+        }
+    }
+
+    private long loadCsv(Dataset.Table table, Dataset.Chunk chunk, Path file) throws Exception {
+        Files.createDirectories(file.getParent());
+        long[] rows = {0};
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(256);
+            chunk.write(values -> {
+                line.setLength(0);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) line.append(',');
+                    appendCsv(line, values[i]);
+                }
+                writer.append(line).append('\n');
+                rows[0]++;
+            });
+        }
+        try (Connection connection = connect(config); Statement statement = connection.createStatement()) {
+            relaxChecks(connection);
+            statement.execute("LOAD DATA LOCAL INFILE '" + file.toAbsolutePath().toString().replace("\\", "/").replace("'", "''")
+                    + "' INTO TABLE " + table.name() + " CHARACTER SET utf8mb4"
+                    + " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' LINES TERMINATED BY '\\n'"
+                    + " (" + String.join(", ", table.columns()) + ")");
+        } finally {
+            if (!config.keepCsv()) Files.deleteIfExists(file);
+        }
+        return rows[0];
+    }
+
+    // MySQL's LOAD DATA defaults: \N is NULL, backslash escapes inside quotes
+    static void appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append("\\N");
+        } else if (value instanceof Boolean flag) {
+            line.append(flag ? '1' : '0');
+        } else if (value instanceof LocalDateTime time) {
+            line.append(CSV_DATE_TIME.format(time));
+        } else if (value instanceof String text) {
+            line.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') line.append('\\');
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(value);
+        }
+    }
+
+    // Rows are generated consistent, and re-checking ten million of them is most of the load time
+    private void relaxChecks(Connection connection) throws SQLException {
+        if (!mysql) return;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET foreign_key_checks = 0, unique_checks = 0");
+        }
+    }
+
+    private void analyze(List<Dataset.Table> tables) throws SQLException {
+        try (Connection connection = connect(config); Statement statement = connection.createStatement()) {
+            for (Dataset.Table table : tables) {
+                statement.execute("ANALYZE TABLE " + table.name());
+            }
+        }
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        } catch (SQLException e) {
+            if (table.equals("bookings_archive")) return 0;
+            throw new IllegalStateException("Could not read " + table + "; has the backend created the schema?", e);
+        }
+    }
+
+    private static Connection connect(DataGenConfig config) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", config.username());
+        properties.setProperty("password", config.password());
+        if (config.jdbcUrl().startsWith("jdbc:mysql:")) {
+            properties.setProperty("allowLoadLocalInfile", "true");
+            properties.setProperty("rewriteBatchedStatements", "true");
+            properties.setProperty("useServerPrepStmts", "false");
+        }
+        return DriverManager.getConnection(config.jdbcUrl(), properties);
+    }
+}
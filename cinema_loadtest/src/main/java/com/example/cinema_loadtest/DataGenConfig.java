@@ -0,0 +1,45 @@
+package com.example.cinema_loadtest;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Settings of a data generation run, from datagen.properties,
+ * {@code -Ddatagen.<key>} and {@code --<key>=<value>}; see {@link Settings}.
+ *
+ * @param mode     {@code load-data} (MySQL LOAD DATA LOCAL INFILE from CSV
+ *                 files), {@code batch} (JDBC batch inserts) or {@code auto}
+ * @param keepCsv  keep the CSV files after loading them
+ */
+record DataGenConfig(String jdbcUrl, String username, String password,
+                     long users, int movies, int halls, int showtimes, long bookings,
+                     int pastDays, int futureDays, int threads, int chunkRows, int batchSize,
+                     String mode, Path csvDir, boolean keepCsv, String userPassword, int bcryptCost, long seed) {
+
+    static DataGenConfig load(String[] args) {
+        return from(Settings.load("/datagen.properties", "datagen.", args));
+    }
+
+    static DataGenConfig from(Properties properties) {
+        return new DataGenConfig(
+                properties.getProperty("jdbc-url", "jdbc:mysql://localhost:3306/cinema_db"),
+                properties.getProperty("username", "root"),
+                properties.getProperty("password", ""),
+                Settings.longOf(properties, "users", 1_000_000),
+                Settings.intOf(properties, "movies", 2_000),
+                Settings.intOf(properties, "halls", 300),
+                Settings.intOf(properties, "showtimes", 50_000),
+                Settings.longOf(properties, "bookings", 10_000_000),
+                Settings.intOf(properties, "past-days", 30),
+                Settings.intOf(properties, "future-days", 90),
+                Settings.intOf(properties, "threads", Runtime.getRuntime().availableProcessors()),
+                Settings.intOf(properties, "chunk-rows", 200_000),
+                Settings.intOf(properties, "batch-size", 5_000),
+                properties.getProperty("mode", "auto").trim(),
+                Path.of(properties.getProperty("csv-dir", "target/datagen")),
+                Boolean.parseBoolean(properties.getProperty("keep-csv", "false")),
+                properties.getProperty("user-password", "password"),
+                Settings.intOf(properties, "bcrypt-cost", 10),
+                Settings.longOf(properties, "seed", 42));
+    }
+}
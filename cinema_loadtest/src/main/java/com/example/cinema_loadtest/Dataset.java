@@ -0,0 +1,287 @@
+package com.example.cinema_loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The rows of a synthetic dataset, split into chunks that can be generated
+ * and loaded independently and in any order within a table.
+ *
+ * Everything is derived from the seed and the id offsets, so chunks need no
+ * coordination: hall sizes, showtime slots and the number of bookings per
+ * showtime are fixed up front, and each chunk seeds its own random from its
+ * first id. Ids are assigned here, after the highest existing id of each
+ * table, so bookings can point at users and showtimes without lookups.
+ */
+final class Dataset {
+
+    /**
+     * Receives the values of one row, in the table's column order.
+     */
+    interface RowSink {
+        void row(Object... values) throws Exception;
+    }
+
+    interface Chunk {
+        long rows();
+
+        void write(RowSink sink) throws Exception;
+    }
+
+    record Table(String name, List<String> columns, List<Chunk> chunks) {
+        long rows() {
+            return chunks.stream().mapToLong(Chunk::rows).sum();
+        }
+    }
+
+    /**
+     * The highest id already in each table; new rows start above it.
+     */
+    record Offsets(long users, long movies, long halls, long seats, long showtimes, long bookings) {
+    }
+
+    // Same layout as HallService: ten seats a row
+    private static final int SEATS_PER_ROW = 10;
+    private static final String[] HALL_TYPES = {"STANDARD", "STANDARD", "STANDARD", "STANDARD", "IMAX", "VIP"};
+    private static final String[] GENRES = {"Action", "Comedy", "Drama", "Horror", "Sci-Fi", "Animation", "Thriller", "Romance", "Documentary"};
+    private static final String[] ADJECTIVES = {"Silent", "Last", "Hidden", "Broken", "Golden", "Midnight", "Crimson", "Frozen", "Lost", "Electric", "Wild", "Distant"};
+    private static final String[] NOUNS = {"Harbor", "Empire", "Signal", "Garden", "Frontier", "Orchard", "Machine", "Kingdom", "River", "Witness", "Horizon", "Station"};
+    private static final String[] FIRST_NAMES = {"Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Jamie", "Riley", "Avery", "Quinn", "Robin", "Charlie"};
+    private static final String[] LAST_NAMES = {"Nguyen", "Smith", "Garcia", "Kim", "Müller", "Rossi", "Tanaka", "Silva", "Novak", "Okafor", "Dubois", "Larsen"};
+
+    private final DataGenConfig config;
+    private final Offsets offsets;
+    private final String passwordHash;
+    private final LocalDateTime now;
+
+    private final int[] hallSeats;
+    private final long[] firstSeatId;
+    private final int[] bookedPerShowtime;
+    private final long[] firstBookingId;
+    private final long showtimeIntervalMinutes;
+
+    Dataset(DataGenConfig config, Offsets offsets, String passwordHash, LocalDateTime now) {
+        this.config = config;
+        this.offsets = offsets;
+        this.passwordHash = passwordHash;
+        this.now = now.truncatedTo(ChronoUnit.HOURS);
+
+        SplittableRandom random = new SplittableRandom(config.seed());
+        hallSeats = new int[config.halls()];
+        firstSeatId = new long[config.halls() + 1];
+        firstSeatId[0] = offsets.seats() + 1;
+        long capacity = 0;
+        for (int h = 0; h < hallSeats.length; h++) {
+            hallSeats[h] = SEATS_PER_ROW * (6 + random.nextInt(21));
+            firstSeatId[h + 1] = firstSeatId[h] + hallSeats[h];
+        }
+        for (int s = 0; s < config.showtimes(); s++) capacity += hallSeats[s % hallSeats.length];
+
+        // Occupancy around the average needed to reach the booking count, +-50%
+        double occupancy = capacity == 0 ? 0 : Math.min(1.0, (double) config.bookings() / capacity);
+        bookedPerShowtime = new int[config.showtimes()];
+        firstBookingId = new long[config.showtimes() + 1];
+        firstBookingId[0] = offsets.bookings() + 1;
+        for (int s = 0; s < bookedPerShowtime.length; s++) {
+            int seats = hallSeats[s % hallSeats.length];
+            double fraction = Math.min(1.0, occupancy * (0.5 + random.nextDouble()));
+            bookedPerShowtime[s] = (int) Math.round(fraction * seats);
+            firstBookingId[s + 1] = firstBookingId[s] + bookedPerShowtime[s];
+        }
+
+        // Each hall plays its showtimes back to back across the window
+        long windowMinutes = (long) (config.pastDays() + config.futureDays()) * 24 * 60;
+        long perHall = Math.max(1, (config.showtimes() + hallSeats.length - 1) / Math.max(1, hallSeats.length));
+        showtimeIntervalMinutes = Math.max(180, windowMinutes / perHall);
+    }
+
+    List<Table> tables() {
+        return List.of(users(), movies(), halls(), seats(), showtimes(), bookings());
+    }
+
+    private Table users() {
+        return new Table("users", List.of("id", "email", "password", "name", "role"),
+                ranges(offsets.users() + 1, config.users(), (first, count, sink) -> {
+                    SplittableRandom random = new SplittableRandom(config.seed() ^ first);
+                    for (long id = first; id < first + count; id++) {
+                        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                        sink.row(id, "user" + id + "@datagen.example", passwordHash, name, "USER");
+                    }
+                }));
+    }
+
+    private Table movies() {
+        return new Table("movies", List.of("id", "title", "genre", "duration_minutes", "release_date"),
+                ranges(offsets.movies() + 1, config.movies(), (first, count, sink) -> {
+                    SplittableRandom random = new SplittableRandom(config.seed() ^ first ^ 0x6d6f76L);
+                    LocalDate today = now.toLocalDate();
+                    for (long id = first; id < first + count; id++) {
+                        String title = "The " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+                        sink.row(id, title, GENRES[random.nextInt(GENRES.length)], 80 + random.nextInt(100),
+                                today.minusDays(random.nextInt(3650)));
+                    }
+                }));
+    }
+
+    private Table halls() {
+        return new Table("halls", List.of("id", "name", "total_seats", "hall_type"),
+                ranges(offsets.halls() + 1, config.halls(), (first, count, sink) -> {
+                    for (long id = first; id < first + count; id++) {
+                        int h = (int) (id - offsets.halls() - 1);
+                        sink.row(id, "Hall " + id, hallSeats[h], hallType(h));
+                    }
+                }));
+    }
+
+    private Table seats() {
+        List<Chunk> chunks = new ArrayList<>();
+        groupBy(hallSeats.length, h -> hallSeats[h], (from, to) -> chunks.add(chunk(firstSeatId[to] - firstSeatId[from], sink -> {
+            for (int h = from; h < to; h++) {
+                long hallId = offsets.halls() + 1 + h;
+                int rows = hallSeats[h] / SEATS_PER_ROW;
+                for (int i = 0; i < hallSeats[h]; i++) {
+                    int row = i / SEATS_PER_ROW;
+                    int column = i % SEATS_PER_ROW + 1;
+                    sink.row(firstSeatId[h] + i, seatNumber(row, column), true, hallId, row << 16 | column, category(row, rows));
+                }
+            }
+        })));
+        return new Table("seats", List.of("id", "seat_number", "is_available", "hall_id", "seat_code", "category"), chunks);
+    }
+
+    private Table showtimes() {
+        return new Table("showtimes", List.of("id", "start_time", "movie_id", "hall_id", "available_seats"),
+                ranges(offsets.showtimes() + 1, config.showtimes(), (first, count, sink) -> {
+                    Zipf popularity = new Zipf(config.movies(), 1.0);
+                    SplittableRandom random = new SplittableRandom(config.seed() ^ first ^ 0x73686fL);
+                    for (long id = first; id < first + count; id++) {
+                        int s = (int) (id - offsets.showtimes() - 1);
+                        int h = s % hallSeats.length;
+                        sink.row(id, startTime(s), offsets.movies() + 1 + popularity.sample(random),
+                                offsets.halls() + 1 + h, hallSeats[h] - bookedPerShowtime[s]);
+                    }
+                }));
+    }
+
+    private Table bookings() {
+        List<Chunk> chunks = new ArrayList<>();
+        groupBy(bookedPerShowtime.length, s -> bookedPerShowtime[s], (from, to) -> chunks.add(chunk(firstBookingId[to] - firstBookingId[from], sink -> {
+            SplittableRandom random = new SplittableRandom(config.seed() ^ firstBookingId[from] ^ 0x626f6fL);
+            int[] order = new int[SEATS_PER_ROW * 26];
+            for (int s = from; s < to; s++) {
+                int h = s % hallSeats.length;
+                int seats = hallSeats[h];
+                int rows = seats / SEATS_PER_ROW;
+                double hallMultiplier = switch (hallType(h)) {
+                    case "IMAX" -> 1.4;
+                    case "VIP" -> 1.8;
+                    default -> 1.0;
+                };
+                LocalDateTime start = startTime(s);
+                boolean past = start.isBefore(now);
+                for (int i = 0; i < seats; i++) order[i] = i;
+                for (int b = 0; b < bookedPerShowtime[s]; b++) {
+                    // Partial Fisher-Yates: distinct random seats
+                    int pick = b + random.nextInt(seats - b);
+                    int seat = order[pick];
+                    order[pick] = order[b];
+                    order[b] = seat;
+
+                    int row = seat / SEATS_PER_ROW;
+                    int column = seat % SEATS_PER_ROW + 1;
+                    double categoryMultiplier = switch (category(row, rows)) {
+                        case "ECONOMY" -> 0.8;
+                        case "PREMIUM" -> 1.5;
+                        default -> 1.0;
+                    };
+                    LocalDateTime bookedAt = start.minusMinutes(30 + random.nextInt(30 * 24 * 60));
+                    LocalDateTime usedAt = past && random.nextInt(10) < 9 ? start.minusMinutes(random.nextInt(20)) : null;
+                    sink.row(firstBookingId[s] + b, offsets.users() + 1 + random.nextLong(config.users()),
+                            offsets.showtimes() + 1 + s, seatNumber(row, column), row << 16 | column,
+                            bookedAt, Math.round(10.0 * hallMultiplier * categoryMultiplier * 100) / 100.0, usedAt);
+                }
+            }
+        })));
+        return new Table("bookings", List.of("id", "user_id", "showtime_id", "seat_number", "seat_code",
+                "booking_time", "price", "used_at"), chunks);
+    }
+
+    private LocalDateTime startTime(int showtime) {
+        long slot = showtime / hallSeats.length;
+        return now.minusDays(config.pastDays()).plusMinutes(slot * showtimeIntervalMinutes + 60L * (showtime % 8));
+    }
+
+    private String hallType(int hall) {
+        return HALL_TYPES[(int) ((config.seed() + hall) % HALL_TYPES.length)];
+    }
+
+    // Front two rows are cheap, back two rows premium
+    private static String category(int row, int rows) {
+        if (row < 2) return "ECONOMY";
+        if (row >= rows - 2) return "PREMIUM";
+        return "STANDARD";
+    }
+
+    private static String seatNumber(int row, int column) {
+        return (char) ('A' + row) + String.valueOf(column);
+    }
+
+    private interface RangeWriter {
+        void write(long first, long count, RowSink sink) throws Exception;
+    }
+
+    private interface Sized {
+        long rowsOf(int index);
+    }
+
+    private interface Group {
+        void add(int from, int to);
+    }
+
+    private interface Body {
+        void write(RowSink sink) throws Exception;
+    }
+
+    private List<Chunk> ranges(long firstId, long count, RangeWriter writer) {
+        List<Chunk> chunks = new ArrayList<>();
+        for (long first = firstId; first < firstId + count; first += config.chunkRows()) {
+            long start = first;
+            long rows = Math.min(config.chunkRows(), firstId + count - first);
+            chunks.add(chunk(rows, sink -> writer.write(start, rows, sink)));
+        }
+        return chunks;
+    }
+
+    // Groups consecutive parents (halls, showtimes) into chunks of about chunk-rows children
+    private void groupBy(int parents, Sized sized, Group group) {
+        int from = 0;
+        long rows = 0;
+        for (int i = 0; i < parents; i++) {
+            rows += sized.rowsOf(i);
+            if (rows >= config.chunkRows()) {
+                group.add(from, i + 1);
+                from = i + 1;
+                rows = 0;
+            }
+        }
+        if (from < parents) group.add(from, parents);
+    }
+
+    private static Chunk chunk(long rows, Body body) {
+        return new Chunk() {
+            @Override
+            public long rows() {
+                return rows;
+            }
+
+            @Override
+            public void write(RowSink sink) throws Exception {
+                body.write(sink);
+            }
+        };
+    }
+}
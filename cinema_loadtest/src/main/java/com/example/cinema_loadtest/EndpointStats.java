@@ -0,0 +1,81 @@
+package com.example.cinema_loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint. Latencies are recorded in
+ * microseconds with three significant digits, up to a minute.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, Outcome outcome) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latencies.getHighestTrackableValue()));
+        switch (outcome) {
+            case OK -> ok.increment();
+            case CONFLICT -> conflicts.increment();
+            case ERROR -> errors.increment();
+        }
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count());
+        summary.put("ok", ok.sum());
+        summary.put("conflicts", conflicts.sum());
+        summary.put("errors", errors.sum());
+        summary.put("p50Ms", percentileMillis(50));
+        summary.put("p90Ms", percentileMillis(90));
+        summary.put("p99Ms", percentileMillis(99));
+        summary.put("p999Ms", percentileMillis(99.9));
+        summary.put("maxMs", latencies.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    /**
+     * Writes the full distribution in HdrHistogram's .hgrm format, in milliseconds.
+     */
+    void writeDistribution(Path dir) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    enum Outcome {
+        OK,
+        // The request lost a race for a seat; expected during an on-sale
+        CONFLICT,
+        ERROR
+    }
+}
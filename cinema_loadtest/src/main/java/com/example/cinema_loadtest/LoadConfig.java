@@ -0,0 +1,66 @@
+package com.example.cinema_loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Settings of a run, from loadtest.properties, {@code -Dloadtest.<key>} and
+ * {@code --<key>=<value>}; see {@link Settings}.
+ *
+ * @param target       base URL of a running backend, or empty to launch one
+ * @param backendJar   the backend's executable jar, launched against in-memory H2
+ * @param thresholds   {@code threshold.*} entries; see {@link Thresholds}
+ */
+record LoadConfig(String target, Path backendJar, int showtimes, int seatsPerShowtime, int users,
+                  double zipfExponent, int rampUpSeconds, double herdFraction, int herdAtSeconds,
+                  int maxBookAttempts, int requestTimeoutMillis, int timeoutSeconds, long seed,
+                  Path outputDir, Map<String, String> thresholds) {
+
+    static LoadConfig load(String[] args) {
+        return from(Settings.load("/loadtest.properties", "loadtest.", args));
+    }
+
+    static LoadConfig from(Properties properties) {
+        Map<String, String> thresholds = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("threshold.")) thresholds.put(key.substring("threshold.".length()), properties.getProperty(key));
+        }
+        return new LoadConfig(
+                properties.getProperty("target", "").trim(),
+                Path.of(properties.getProperty("backend-jar", "../cinema_backend/target/cinema_backend-0.0.1-SNAPSHOT.jar")),
+                Settings.intOf(properties, "showtimes", 20),
+                Settings.intOf(properties, "seats-per-showtime", 100),
+                Settings.intOf(properties, "users", 2000),
+                Double.parseDouble(properties.getProperty("zipf-exponent", "1.1")),
+                Settings.intOf(properties, "ramp-up-seconds", 10),
+                Double.parseDouble(properties.getProperty("herd-fraction", "0.5")),
+                Settings.intOf(properties, "herd-at-seconds", 5),
+                Settings.intOf(properties, "max-book-attempts", 3),
+                Settings.intOf(properties, "request-timeout-ms", 10000),
+                Settings.intOf(properties, "timeout-seconds", 300),
+                Long.parseLong(properties.getProperty("seed", "42")),
+                Path.of(properties.getProperty("output-dir", "target/loadtest")),
+                thresholds);
+    }
+
+    /**
+     * The scenario settings, for the results file.
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("target", target.isEmpty() ? "launched " + backendJar : target);
+        settings.put("showtimes", showtimes);
+        settings.put("seatsPerShowtime", seatsPerShowtime);
+        settings.put("users", users);
+        settings.put("zipfExponent", zipfExponent);
+        settings.put("rampUpSeconds", rampUpSeconds);
+        settings.put("herdFraction", herdFraction);
+        settings.put("herdAtSeconds", herdAtSeconds);
+        settings.put("maxBookAttempts", maxBookAttempts);
+        settings.put("seed", seed);
+        return settings;
+    }
+}
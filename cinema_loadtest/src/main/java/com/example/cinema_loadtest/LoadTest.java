@@ -0,0 +1,111 @@
+package com.example.cinema_loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Rehearses a premiere on-sale against the backend and writes the results to
+ * {@code <output-dir>/results.json}, plus one HdrHistogram .hgrm file per
+ * endpoint. Exits with 1 when a threshold is exceeded, so a CI step running
+ * it fails on a regression.
+ *
+ * <pre>
+ * java -jar target/cinema_loadtest-0.0.1-SNAPSHOT.jar --users=5000 --herd-fraction=0.8
+ * java -jar target/cinema_loadtest-0.0.1-SNAPSHOT.jar --target=http://localhost:8080
+ * </pre>
+ */
+public final class LoadTest {
+
+    // Journey steps; seeding and verification are reported but not judged
+    private static final Set<String> SCENARIO_ENDPOINTS = Set.of("login", "seat-map", "book", "waitlist");
+
+    record Result(boolean passed, List<String> violations, Path resultsFile) {
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Result result = run(LoadConfig.load(args));
+        System.exit(result.passed() ? 0 : 1);
+    }
+
+    static Result run(LoadConfig config) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(config.outputDir());
+
+        BackendProcess backend = config.target().isEmpty() ? BackendProcess.start(config.backendJar(), config.outputDir()) : null;
+        try {
+            String baseUrl = backend != null ? backend.baseUrl() : config.target();
+            ApiClient api = new ApiClient(baseUrl, Duration.ofMillis(config.requestTimeoutMillis()), objectMapper);
+            Seeder seeder = new Seeder(api, config);
+            Seeder.Seeded seeded = seeder.seed();
+
+            Instant startedAt = Instant.now();
+            OnSaleScenario scenario = new OnSaleScenario(api, seeder, config, seeded);
+            scenario.run();
+            int mismatches = scenario.verify();
+
+            long requests = 0;
+            long errors = 0;
+            Map<String, Object> endpoints = new TreeMap<>();
+            Map<String, Double> measured = new LinkedHashMap<>();
+            for (Map.Entry<String, EndpointStats> entry : api.stats().entrySet()) {
+                EndpointStats stats = entry.getValue();
+                endpoints.put(entry.getKey(), stats.summary());
+                stats.writeDistribution(config.outputDir());
+                if (!SCENARIO_ENDPOINTS.contains(entry.getKey())) continue;
+                requests += stats.count();
+                errors += stats.errors();
+                measured.put("p99-ms." + entry.getKey(), stats.percentileMillis(99));
+            }
+            double seconds = scenario.elapsedSeconds();
+            measured.put("error-rate", requests == 0 ? 0.0 : (double) errors / requests);
+            measured.put("double-bookings", (double) scenario.doubleBookings());
+            measured.put("seat-count-mismatches", (double) mismatches);
+            measured.put("bookings-per-second", scenario.succeeded() / seconds);
+            List<String> violations = Thresholds.check(config.thresholds(), measured);
+
+            Map<String, Object> throughput = new LinkedHashMap<>();
+            throughput.put("requestsPerSecond", requests / seconds);
+            throughput.put("bookingsPerSecond", scenario.succeeded() / seconds);
+            Map<String, Object> bookings = scenario.summary();
+            bookings.put("seatCountMismatches", mismatches);
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            results.put("startedAt", startedAt);
+            results.put("durationSeconds", seconds);
+            results.put("config", config.describe());
+            results.put("throughput", throughput);
+            results.put("bookings", bookings);
+            results.put("endpoints", endpoints);
+            results.put("thresholds", config.thresholds());
+            results.put("violations", violations);
+            results.put("passed", violations.isEmpty());
+            Path resultsFile = config.outputDir().resolve("results.json");
+            objectMapper.writeValue(resultsFile.toFile(), results);
+
+            System.out.println(objectMapper.writeValueAsString(Map.of("throughput", throughput, "bookings", bookings, "endpoints", endpoints)));
+            if (violations.isEmpty()) {
+                System.out.println("✅ On-sale rehearsal passed; results in " + resultsFile);
+            } else {
+                violations.forEach(violation -> System.out.println("❌ " + violation));
+            }
+            return new Result(violations.isEmpty(), violations, resultsFile);
+        } finally {
+            if (backend != null) backend.close();
+        }
+    }
+}
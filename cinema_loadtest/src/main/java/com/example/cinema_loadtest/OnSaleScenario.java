@@ -0,0 +1,193 @@
+package com.example.cinema_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One virtual thread per user walking the on-sale journey:
+ * login, then pick a showtime by Zipf popularity, read its seat map and book
+ * a free seat, picking another one after losing a race, or join the
+ * waitlist once it is sold out.
+ *
+ * Users not in the herd arrive evenly over the ramp-up; the herd waits on a
+ * latch and is released all at once at the on-sale moment.
+ */
+final class OnSaleScenario {
+
+    private final ApiClient api;
+    private final Seeder seeder;
+    private final LoadConfig config;
+    private final Seeder.Seeded seeded;
+    private final Zipf popularity;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder waitlisted = new LongAdder();
+    private final LongAdder gaveUp = new LongAdder();
+    // "showtimeId/seat" -> booking id; a second booking of the same key is a double booking
+    private final Map<String, Long> sold = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> soldPerShowtime = new ConcurrentHashMap<>();
+    private final LongAdder doubleBookings = new LongAdder();
+
+    private long elapsedNanos;
+
+    OnSaleScenario(ApiClient api, Seeder seeder, LoadConfig config, Seeder.Seeded seeded) {
+        this.api = api;
+        this.seeder = seeder;
+        this.config = config;
+        this.seeded = seeded;
+        this.popularity = new Zipf(seeded.showtimeIds().size(), config.zipfExponent());
+    }
+
+    void run() throws InterruptedException {
+        List<Seeder.User> users = seeded.users();
+        int herdSize = (int) Math.round(users.size() * config.herdFraction());
+        int trickle = users.size() - herdSize;
+        CountDownLatch onSale = new CountDownLatch(1);
+        SplittableRandom seeds = new SplittableRandom(config.seed());
+        long rampNanos = TimeUnit.SECONDS.toNanos(config.rampUpSeconds());
+
+        System.out.println("🎟️ " + trickle + " users ramping up over " + config.rampUpSeconds() + " s, "
+                + herdSize + " arriving at once after " + config.herdAtSeconds() + " s");
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users.size(); i++) {
+                Seeder.User user = users.get(i);
+                SplittableRandom random = seeds.split();
+                boolean inHerd = i >= trickle;
+                long arriveAt = start + (trickle == 0 ? 0 : rampNanos * i / trickle);
+                executor.submit(() -> {
+                    try {
+                        if (inHerd) onSale.await();
+                        else sleepUntil(arriveAt);
+                        journey(user, random);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            }
+            sleepUntil(start + TimeUnit.SECONDS.toNanos(config.herdAtSeconds()));
+            onSale.countDown();
+            executor.shutdown();
+            if (!executor.awaitTermination(config.timeoutSeconds(), TimeUnit.SECONDS)) {
+                System.out.println("⚠️ Scenario did not finish within " + config.timeoutSeconds() + " s");
+                executor.shutdownNow();
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    private void journey(Seeder.User user, SplittableRandom random) {
+        String token;
+        try {
+            token = seeder.login(user.email());
+        } catch (IllegalStateException e) {
+            gaveUp.increment();
+            return;
+        }
+        long showtimeId = seeded.showtimeIds().get(popularity.sample(random));
+
+        for (int attempt = 0; attempt < config.maxBookAttempts(); attempt++) {
+            ApiClient.Response seatMap = api.get("seat-map", "/api/showtimes/" + showtimeId + "/seats", null);
+            if (!seatMap.ok()) break;
+            List<String> free = new ArrayList<>();
+            for (JsonNode seat : api.json(seatMap)) {
+                if (seat.path("available").asBoolean()) free.add(seat.path("seatNumber").asText());
+            }
+            if (free.isEmpty()) {
+                ApiClient.Response waitlist = api.post("waitlist", "/api/bookings/waitlist"
+                        + ApiClient.query(Map.of("showtimeId", showtimeId)), token, null);
+                if (waitlist.ok()) waitlisted.increment();
+                return;
+            }
+
+            String seatNumber = free.get(random.nextInt(free.size()));
+            attempts.increment();
+            ApiClient.Response booking = api.post("book", "/api/bookings/book"
+                    + ApiClient.query(Map.of("userId", user.id(), "showtimeId", showtimeId, "seatNumber", seatNumber)), token, null);
+            if (booking.ok()) {
+                succeeded.increment();
+                soldPerShowtime.computeIfAbsent(showtimeId, id -> new LongAdder()).increment();
+                if (sold.putIfAbsent(showtimeId + "/" + seatNumber, api.json(booking).path("id").asLong()) != null) {
+                    doubleBookings.increment();
+                }
+                return;
+            }
+            if (!ApiClient.isConflict(booking)) break;
+            conflicts.increment();
+        }
+        gaveUp.increment();
+    }
+
+    /**
+     * Compares what the clients were sold with what the backend reports: the
+     * seat map and the showtime's seat counter must both agree with it.
+     * @return the number of showtimes that disagree
+     */
+    int verify() {
+        int mismatches = 0;
+        for (long showtimeId : seeded.showtimeIds()) {
+            long expected = soldPerShowtime.getOrDefault(showtimeId, new LongAdder()).sum();
+            ApiClient.Response seatMap = api.get("verify", "/api/showtimes/" + showtimeId + "/seats", null);
+            ApiClient.Response showtime = api.get("verify", "/api/showtimes/" + showtimeId, null);
+            if (!seatMap.ok() || !showtime.ok()) {
+                mismatches++;
+                continue;
+            }
+            long taken = 0;
+            for (JsonNode seat : api.json(seatMap)) {
+                if (!seat.path("available").asBoolean()) taken++;
+            }
+            long counted = config.seatsPerShowtime() - api.json(showtime).path("availableSeats").asLong();
+            if (taken != expected || counted != expected) {
+                System.out.println("❌ Showtime " + showtimeId + ": sold " + expected + ", seat map shows " + taken
+                        + ", counter shows " + counted);
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    double elapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    long doubleBookings() {
+        return doubleBookings.sum();
+    }
+
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long tries = attempts.sum();
+        summary.put("attempts", tries);
+        summary.put("succeeded", succeeded.sum());
+        summary.put("conflicts", conflicts.sum());
+        summary.put("conflictRate", tries == 0 ? 0.0 : (double) conflicts.sum() / tries);
+        summary.put("waitlisted", waitlisted.sum());
+        summary.put("gaveUp", gaveUp.sum());
+        summary.put("doubleBookings", doubleBookings.sum());
+        return summary;
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long wait = nanoTime - System.nanoTime();
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.cinema_loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the movie, hall, showtimes and users of a run through the public
+ * API, under names unique to the run so it can target a shared backend.
+ */
+final class Seeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    // Seeding is not what is measured, so it should not swamp the backend
+    private static final int SEED_CONCURRENCY = 16;
+
+    record Seeded(String adminToken, List<Long> showtimeIds, List<User> users) {
+    }
+
+    record User(long id, String email) {
+    }
+
+    private final ApiClient api;
+    private final LoadConfig config;
+
+    Seeder(ApiClient api, LoadConfig config) {
+        this.api = api;
+        this.config = config;
+    }
+
+    Seeded seed() throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        String adminEmail = "loadtest-admin-" + run + "@example.com";
+        register(adminEmail, "ADMIN");
+        String adminToken = login(adminEmail);
+
+        long movieId = created(api.post("seed", "/api/movies/add", adminToken, Map.of(
+                "title", "On-sale rehearsal " + run,
+                "genre", "Load test",
+                "durationMinutes", 150,
+                "releaseDate", LocalDate.now().toString())));
+        long hallId = created(api.post("seed", "/api/halls/add", adminToken, Map.of(
+                "name", "Load test " + run,
+                "totalSeats", config.seatsPerShowtime())));
+
+        // One hall, showtimes three hours apart, all on sale at once
+        LocalDateTime first = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.HOURS);
+        List<Long> showtimeIds = new ArrayList<>(config.showtimes());
+        for (int i = 0; i < config.showtimes(); i++) {
+            showtimeIds.add(created(api.post("seed", "/api/showtimes/add", adminToken, Map.of(
+                    "movie", Map.of("id", movieId),
+                    "hall", Map.of("id", hallId),
+                    "startTime", first.plusHours(3L * i).toString()))));
+        }
+
+        List<User> users = new ArrayList<>(config.users());
+        try (ExecutorService executor = Executors.newFixedThreadPool(SEED_CONCURRENCY, Thread.ofVirtual().factory())) {
+            List<Future<User>> registrations = new ArrayList<>(config.users());
+            for (int i = 0; i < config.users(); i++) {
+                String email = "loadtest-" + run + "-" + i + "@example.com";
+                registrations.add(executor.submit(() -> new User(register(email, "USER"), email)));
+            }
+            for (Future<User> registration : registrations) users.add(registration.get());
+        }
+        System.out.println("🌱 Seeded " + showtimeIds.size() + " showtimes of " + config.seatsPerShowtime()
+                + " seats and " + users.size() + " users");
+        return new Seeded(adminToken, showtimeIds, users);
+    }
+
+    String login(String email) {
+        ApiClient.Response response = api.post("login", "/api/auth/login" + ApiClient.query(Map.of("email", email, "password", PASSWORD)), null, null);
+        if (!response.ok()) throw new IllegalStateException("Login failed for " + email + ": " + response.status());
+        return response.body();
+    }
+
+    private long register(String email, String role) {
+        return created(api.post("seed", "/api/auth/register", null, Map.of(
+                "email", email, "password", PASSWORD, "name", email, "role", role)));
+    }
+
+    private long created(ApiClient.Response response) {
+        if (!response.ok()) throw new IllegalStateException("Seeding failed: " + response.status() + " " + response.body());
+        return api.json(response).get("id").asLong();
+    }
+}
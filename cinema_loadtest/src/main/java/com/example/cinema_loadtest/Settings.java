@@ -0,0 +1,48 @@
+package com.example.cinema_loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Settings of a command: a properties file on the classpath, overridden by
+ * {@code -D<prefix><key>} system properties, overridden by
+ * {@code --<key>=<value>} arguments.
+ */
+final class Settings {
+
+    private Settings() {
+    }
+
+    static Properties load(String resource, String systemPrefix, String[] args) {
+        Properties properties = new Properties();
+        try (InputStream defaults = Settings.class.getResourceAsStream(resource)) {
+            if (defaults != null) properties.load(defaults);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + resource, e);
+        }
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith(systemPrefix)) {
+                properties.setProperty(key.toString().substring(systemPrefix.length()), value.toString());
+            }
+        });
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            properties.setProperty(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return properties;
+    }
+
+    static int intOf(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    static long longOf(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim().replace("_", ""));
+    }
+}
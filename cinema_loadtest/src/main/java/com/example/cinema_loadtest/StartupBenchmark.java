@@ -0,0 +1,172 @@
+package com.example.cinema_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long a freshly started backend takes to sell its first ticket,
+ * which is what matters when a node is added in the middle of an on-sale. The
+ * backend is launched {@code runs} times against one H2 file database, seeded
+ * by an unmeasured launch first. Each run is timed from process start to a
+ * healthy {@code /actuator/health} and to the first successful booking, and
+ * the results go to {@code <output-dir>/startup.json}. Exits with 1 when a
+ * threshold is exceeded.
+ *
+ * <pre>
+ * java -cp target/cinema_loadtest-0.0.1-SNAPSHOT.jar -Dloader.main=com.example.cinema_loadtest.StartupBenchmark \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher --aot=true --cds=true
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_LIMIT = Duration.ofMinutes(2);
+
+    record Run(double healthyMillis, double firstBookingMillis) {
+    }
+
+    record Result(boolean passed, List<String> violations, List<Run> runs, Path resultsFile) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Result result = run(StartupConfig.load(args));
+        System.exit(result.passed() ? 0 : 1);
+    }
+
+    static Result run(StartupConfig config) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Path outputDir = config.outputDir().toAbsolutePath();
+        deleteRecursively(outputDir.resolve("db"));
+        Files.createDirectories(outputDir);
+        String dbUrl = "jdbc:h2:file:" + outputDir.resolve("db/cinema") + ";MODE=MySQL";
+
+        List<String> jvmArgs = new ArrayList<>(config.jvmArgs());
+        if (config.aot()) jvmArgs.add("-Dspring.aot.enabled=true");
+
+        // Migrates the database and creates one showtime with a seat for every run
+        String token;
+        List<String> bookings = new ArrayList<>();
+        try (BackendProcess backend = BackendProcess.launch(config.backendJar(), outputDir.resolve("seed"), dbUrl, jvmArgs, List.of())) {
+            backend.awaitHealthy(STARTUP_LIMIT);
+            ApiClient api = new ApiClient(backend.baseUrl(), Duration.ofSeconds(30), objectMapper);
+            Properties seed = new Properties();
+            seed.setProperty("showtimes", "1");
+            seed.setProperty("seats-per-showtime", Integer.toString(Math.max(config.runs(), 10)));
+            seed.setProperty("users", "1");
+            Seeder seeder = new Seeder(api, LoadConfig.from(seed));
+            Seeder.Seeded seeded = seeder.seed();
+            long showtimeId = seeded.showtimeIds().get(0);
+            Seeder.User user = seeded.users().get(0);
+            token = seeder.login(user.email());
+            for (JsonNode seat : api.json(api.get("seed", "/api/showtimes/" + showtimeId + "/seats", null))) {
+                bookings.add("/api/bookings/book" + ApiClient.query(Map.of(
+                        "userId", user.id(), "showtimeId", showtimeId, "seatNumber", seat.path("seatNumber").asText())));
+            }
+        }
+
+        if (config.cds()) {
+            Path archive = outputDir.resolve("backend.jsa");
+            List<String> training = new ArrayList<>(jvmArgs);
+            training.add("-XX:ArchiveClassesAtExit=" + archive);
+            // Stops once the context is refreshed: every bean class has been loaded by then
+            training.add("-Dspring.context.exit=onRefresh");
+            int exitCode = BackendProcess.launch(config.backendJar(), outputDir.resolve("training"), dbUrl, training, List.of())
+                    .awaitExit(STARTUP_LIMIT);
+            if (exitCode != 0 || !Files.isRegularFile(archive)) {
+                throw new IllegalStateException("CDS training run failed with code " + exitCode + "; see " + outputDir.resolve("training"));
+            }
+            jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+            System.out.println("📦 Recorded class-data sharing archive " + archive);
+        }
+
+        List<Run> runs = new ArrayList<>(config.runs());
+        for (int i = 0; i < config.runs(); i++) {
+            try (BackendProcess backend = BackendProcess.launch(config.backendJar(), outputDir.resolve("run-" + (i + 1)), dbUrl, jvmArgs, List.of())) {
+                backend.awaitHealthy(STARTUP_LIMIT);
+                long healthy = System.nanoTime();
+                ApiClient api = new ApiClient(backend.baseUrl(), Duration.ofSeconds(30), objectMapper);
+                awaitBooking(api, bookings.get(i), token);
+                long booked = System.nanoTime();
+                Run run = new Run(millis(healthy - backend.startedAt()), millis(booked - backend.startedAt()));
+                runs.add(run);
+                System.out.printf("⏱️ Run %d: healthy after %.0f ms, first booking after %.0f ms%n",
+                        i + 1, run.healthyMillis(), run.firstBookingMillis());
+            }
+        }
+
+        Map<String, Double> measured = new LinkedHashMap<>();
+        measured.put("healthy-ms.median", median(runs.stream().map(Run::healthyMillis).toList()));
+        measured.put("healthy-ms.max", runs.stream().mapToDouble(Run::healthyMillis).max().orElse(0));
+        measured.put("first-booking-ms.median", median(runs.stream().map(Run::firstBookingMillis).toList()));
+        measured.put("first-booking-ms.max", runs.stream().mapToDouble(Run::firstBookingMillis).max().orElse(0));
+        List<String> violations = Thresholds.check(config.thresholds(), measured);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("finishedAt", Instant.now());
+        results.put("config", config.describe());
+        results.put("runs", runs);
+        results.put("summary", measured);
+        results.put("thresholds", config.thresholds());
+        results.put("violations", violations);
+        results.put("passed", violations.isEmpty());
+        Path resultsFile = outputDir.resolve("startup.json");
+        objectMapper.writeValue(resultsFile.toFile(), results);
+
+        System.out.println(objectMapper.writeValueAsString(measured));
+        if (violations.isEmpty()) {
+            System.out.println("✅ Startup benchmark passed; results in " + resultsFile);
+        } else {
+            violations.forEach(violation -> System.out.println("❌ " + violation));
+        }
+        return new Result(violations.isEmpty(), violations, runs, resultsFile);
+    }
+
+    // Health can turn green before everything a booking needs is ready, so early failures are retried
+    private static void awaitBooking(ApiClient api, String path, String token) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_LIMIT.toNanos();
+        ApiClient.Response response;
+        do {
+            response = api.post("book", path, token, null);
+            if (response.ok()) return;
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        throw new IllegalStateException("First booking did not succeed: " + response.status() + " " + response.body());
+    }
+
+    static double median(List<Double> values) {
+        if (values.isEmpty()) return 0;
+        List<Double> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+}
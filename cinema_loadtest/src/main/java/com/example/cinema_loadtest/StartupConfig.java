@@ -0,0 +1,51 @@
+package com.example.cinema_loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Settings of a startup benchmark, from startup.properties,
+ * {@code -Dstartup.<key>} and {@code --<key>=<value>}; see {@link Settings}.
+ *
+ * @param aot        start with {@code -Dspring.aot.enabled=true}
+ * @param cds        record a class-data sharing archive first and start from it
+ * @param thresholds {@code threshold.*} entries; see {@link Thresholds}
+ */
+record StartupConfig(Path backendJar, int runs, boolean aot, boolean cds, List<String> jvmArgs,
+                     Path outputDir, Map<String, String> thresholds) {
+
+    static StartupConfig load(String[] args) {
+        return from(Settings.load("/startup.properties", "startup.", args));
+    }
+
+    static StartupConfig from(Properties properties) {
+        Map<String, String> thresholds = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("threshold.")) thresholds.put(key.substring("threshold.".length()), properties.getProperty(key));
+        }
+        String jvmArgs = properties.getProperty("jvm-args", "").trim();
+        return new StartupConfig(
+                Path.of(properties.getProperty("backend-jar", "../cinema_backend/target/cinema_backend-0.0.1-SNAPSHOT.jar")),
+                Settings.intOf(properties, "runs", 5),
+                Boolean.parseBoolean(properties.getProperty("aot", "false").trim()),
+                Boolean.parseBoolean(properties.getProperty("cds", "false").trim()),
+                jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")),
+                Path.of(properties.getProperty("output-dir", "target/startup")),
+                thresholds);
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("backendJar", backendJar.toString());
+        settings.put("runs", runs);
+        settings.put("aot", aot);
+        settings.put("cds", cds);
+        settings.put("jvmArgs", jvmArgs);
+        return settings;
+    }
+}
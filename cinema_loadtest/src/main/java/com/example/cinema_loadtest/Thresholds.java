@@ -0,0 +1,45 @@
+package com.example.cinema_loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pass/fail limits of a run, from the {@code threshold.*} settings:
+ * <ul>
+ *     <li>{@code max-p99-ms.<endpoint>}: 99th percentile latency</li>
+ *     <li>{@code max-error-rate}: failed requests (not conflicts) over all requests</li>
+ *     <li>{@code max-double-bookings}, {@code max-seat-count-mismatches}</li>
+ *     <li>{@code min-bookings-per-second}</li>
+ * </ul>
+ */
+final class Thresholds {
+
+    private Thresholds() {
+    }
+
+    /**
+     * @param measured the run's measurements under the same keys, with
+     *                 {@code p99-ms.<endpoint>} for latencies
+     * @return one message per exceeded limit
+     */
+    static List<String> check(Map<String, String> limits, Map<String, Double> measured) {
+        List<String> violations = new ArrayList<>();
+        limits.forEach((key, limitText) -> {
+            double limit = Double.parseDouble(limitText.trim());
+            boolean minimum = key.startsWith("min-");
+            if (!minimum && !key.startsWith("max-")) throw new IllegalArgumentException("Unknown threshold " + key);
+            String metric = key.substring(4);
+            Double value = measured.get(metric);
+            if (value == null) return;
+            if (minimum ? value < limit : value > limit) {
+                violations.add(metric + " = " + format(value) + (minimum ? " < " : " > ") + format(limit));
+            }
+        });
+        return violations;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : String.format("%.3f", value);
+    }
+}
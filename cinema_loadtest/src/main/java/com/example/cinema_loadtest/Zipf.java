@@ -0,0 +1,35 @@
+package com.example.cinema_loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf-distributed ranks: rank k (0-based) is drawn with probability
+ * proportional to 1 / (k + 1)^exponent, so a few premieres get most of the
+ * traffic and the long tail gets a trickle.
+ */
+final class Zipf {
+
+    private final double[] cumulative;
+
+    Zipf(int size, double exponent) {
+        if (size < 1) throw new IllegalArgumentException("Zipf needs at least one rank");
+        cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) cumulative[k] /= sum;
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) index = -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.cinema_loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataGenTests {
+
+    @Test
+    void generatesConsistentDataInParallelChunks() throws Exception {
+        String url = "jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1;MODE=MySQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, name VARCHAR(255), role VARCHAR(20))");
+            statement.execute("CREATE TABLE movies (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, genre VARCHAR(255), duration_minutes INT NOT NULL, release_date DATE)");
+            statement.execute("CREATE TABLE halls (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, total_seats INT NOT NULL, hall_type VARCHAR(20) NOT NULL)");
+            statement.execute("CREATE TABLE seats (id BIGINT PRIMARY KEY, seat_number VARCHAR(255) NOT NULL, is_available BOOLEAN NOT NULL, hall_id BIGINT REFERENCES halls (id), seat_code INT, category VARCHAR(20) NOT NULL)");
+            statement.execute("CREATE TABLE showtimes (id BIGINT PRIMARY KEY, start_time DATETIME(6), movie_id BIGINT REFERENCES movies (id), hall_id BIGINT REFERENCES halls (id), available_seats INT)");
+            statement.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users (id), showtime_id BIGINT REFERENCES showtimes (id), seat_number VARCHAR(255) NOT NULL, seat_code INT, booking_time DATETIME(6), price DOUBLE NOT NULL, used_at DATETIME(6))");
+            statement.execute("CREATE UNIQUE INDEX ux_bookings_showtime_seat_code ON bookings (showtime_id, seat_code)");
+            // An existing row the generated ones must not collide with
+            statement.execute("INSERT INTO users VALUES (1, 'admin@example.com', 'x', 'Admin', 'ADMIN')");
+
+            Properties properties = new Properties();
+            properties.setProperty("jdbc-url", url);
+            properties.setProperty("username", "sa");
+            properties.setProperty("users", "500");
+            properties.setProperty("movies", "20");
+            properties.setProperty("halls", "7");
+            properties.setProperty("showtimes", "60");
+            properties.setProperty("bookings", "3000");
+            properties.setProperty("threads", "4");
+            properties.setProperty("chunk-rows", "250");
+            properties.setProperty("batch-size", "100");
+            properties.setProperty("bcrypt-cost", "4");
+            List<Long> written = DataGen.run(DataGenConfig.from(properties));
+
+            assertEquals(500, written.get(0));
+            assertEquals(20, written.get(1));
+            assertEquals(7, written.get(2));
+            assertEquals(60, written.get(4));
+            assertEquals(count(statement, "SELECT COUNT(*) FROM bookings"), written.get(5));
+            assertTrue(written.get(5) > 1500 && written.get(5) < 4500, "bookings: " + written.get(5));
+            assertEquals(501, count(statement, "SELECT COUNT(*) FROM users"));
+            assertEquals(count(statement, "SELECT SUM(total_seats) FROM halls"), count(statement, "SELECT COUNT(*) FROM seats"));
+            // Every showtime's free seats match its bookings
+            assertEquals(0, count(statement, "SELECT COUNT(*) FROM showtimes s JOIN halls h ON h.id = s.hall_id"
+                    + " WHERE s.available_seats <> h.total_seats - (SELECT COUNT(*) FROM bookings b WHERE b.showtime_id = s.id)"));
+            // Booked seats exist in the showtime's hall
+            assertEquals(0, count(statement, "SELECT COUNT(*) FROM bookings b JOIN showtimes s ON s.id = b.showtime_id"
+                    + " LEFT JOIN seats t ON t.hall_id = s.hall_id AND t.seat_code = b.seat_code WHERE t.id IS NULL"));
+            assertEquals(0, count(statement, "SELECT COUNT(*) FROM bookings WHERE user_id < 2"));
+        }
+    }
+
+    @Test
+    void writesCsvFieldsTheWayLoadDataReadsThem() {
+        StringBuilder line = new StringBuilder();
+        DataGen.appendCsv(line, null);
+        line.append(',');
+        DataGen.appendCsv(line, true);
+        line.append(',');
+        DataGen.appendCsv(line, "Say \"hi\", C:\\");
+        line.append(',');
+        DataGen.appendCsv(line, LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+
+        assertEquals("\\N,1,\"Say \\\"hi\\\", C:\\\\\",2026-01-02 03:04:05.000000", line.toString());
+    }
+
+    private static long count(Statement statement, String sql) throws Exception {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.cinema_loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadHarnessTests {
+
+    @Test
+    void zipfFavoursTheTopRanks() {
+        Zipf zipf = new Zipf(20, 1.1);
+        int[] hits = new int[20];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) hits[zipf.sample(random)]++;
+
+        assertEquals(zipf.probability(0), hits[0] / 100_000.0, 0.01);
+        assertTrue(hits[0] > 2 * hits[1] * 0.9);
+        assertTrue(hits[19] > 0);
+        assertEquals(1.0, IntStream.range(0, 20).mapToDouble(zipf::probability).sum(), 1e-9);
+    }
+
+    @Test
+    void reportsExceededThresholds() {
+        Map<String, String> limits = Map.of(
+                "max-p99-ms.book", "100",
+                "max-double-bookings", "0",
+                "min-bookings-per-second", "50");
+
+        assertEquals(List.of(), Thresholds.check(limits, Map.of(
+                "p99-ms.book", 80.0, "double-bookings", 0.0, "bookings-per-second", 60.0)));
+        List<String> violations = Thresholds.check(limits, Map.of(
+                "p99-ms.book", 120.5, "double-bookings", 1.0, "bookings-per-second", 60.0));
+        assertEquals(2, violations.size());
+        assertTrue(violations.contains("double-bookings = 1 > 0"), violations.toString());
+    }
+}
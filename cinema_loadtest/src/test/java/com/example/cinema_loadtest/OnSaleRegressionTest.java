@@ -0,0 +1,23 @@
+package com.example.cinema_loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the on-sale rehearsal as part of the build when asked to:
+ * {@code mvn test -Dloadtest.run=true} (launching the packaged backend) or
+ * {@code mvn test -Dloadtest.target=http://...}. Fails on any exceeded threshold.
+ */
+class OnSaleRegressionTest {
+
+    @Test
+    void onSaleStaysWithinThresholds() throws Exception {
+        assumeTrue(Boolean.getBoolean("loadtest.run") || !System.getProperty("loadtest.target", "").isBlank(),
+                "on-sale rehearsal not requested");
+
+        LoadTest.Result result = LoadTest.run(LoadConfig.load(new String[0]));
+        assertTrue(result.passed(), "Thresholds exceeded: " + result.violations() + ", see " + result.resultsFile());
+    }
+}